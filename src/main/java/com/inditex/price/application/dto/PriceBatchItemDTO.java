@@ -0,0 +1,69 @@
+package com.inditex.price.application.dto;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Resultado de una consulta dentro de un lote
+ * Sin precio cuando no hay tarifa aplicable, en lugar de fallar todo el lote
+ */
+@Schema(description = "Resultado de una consulta del lote")
+public class PriceBatchItemDTO {
+
+	@Schema(description = "Fecha de aplicación consultada", example = "2020-06-14T10:00:00")
+	private LocalDateTime applicationDate;
+
+	@Schema(description = "Identificador del producto", example = "35455")
+	private Long productId;
+
+	@Schema(description = "Identificador de la marca/cadena", example = "1")
+	private Long brandId;
+
+	@Schema(description = "Precio aplicable; ausente si no hay tarifa en esa fecha")
+	private PriceQueryResponseDTO price;
+
+	public PriceBatchItemDTO() {
+	}
+
+	public PriceBatchItemDTO(LocalDateTime applicationDate, Long productId, Long brandId,
+			PriceQueryResponseDTO price) {
+		this.applicationDate = applicationDate;
+		this.productId = productId;
+		this.brandId = brandId;
+		this.price = price;
+	}
+
+	// Getters y setters
+	public LocalDateTime getApplicationDate() {
+		return applicationDate;
+	}
+
+	public void setApplicationDate(LocalDateTime applicationDate) {
+		this.applicationDate = applicationDate;
+	}
+
+	public Long getProductId() {
+		return productId;
+	}
+
+	public void setProductId(Long productId) {
+		this.productId = productId;
+	}
+
+	public Long getBrandId() {
+		return brandId;
+	}
+
+	public void setBrandId(Long brandId) {
+		this.brandId = brandId;
+	}
+
+	public PriceQueryResponseDTO getPrice() {
+		return price;
+	}
+
+	public void setPrice(PriceQueryResponseDTO price) {
+		this.price = price;
+	}
+}
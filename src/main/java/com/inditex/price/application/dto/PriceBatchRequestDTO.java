@@ -0,0 +1,31 @@
+package com.inditex.price.application.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO de petición de la consulta de precios por lotes
+ */
+@Schema(description = "Lote de consultas de precio aplicable")
+public class PriceBatchRequestDTO {
+
+	@Schema(description = "Consultas del lote, como máximo 100")
+	private List<PriceQueryRequestDTO> queries;
+
+	public PriceBatchRequestDTO() {
+	}
+
+	public PriceBatchRequestDTO(List<PriceQueryRequestDTO> queries) {
+		this.queries = queries;
+	}
+
+	// Getters y setters
+	public List<PriceQueryRequestDTO> getQueries() {
+		return queries;
+	}
+
+	public void setQueries(List<PriceQueryRequestDTO> queries) {
+		this.queries = queries;
+	}
+}
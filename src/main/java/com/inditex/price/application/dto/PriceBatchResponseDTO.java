@@ -0,0 +1,57 @@
+package com.inditex.price.application.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO de respuesta de la consulta de precios por lotes
+ */
+@Schema(description = "Resultados de un lote de consultas, en el orden de la petición")
+public class PriceBatchResponseDTO {
+
+	@Schema(description = "Resultado de cada consulta")
+	private List<PriceBatchItemDTO> results;
+
+	@Schema(description = "Número de consultas con precio aplicable", example = "2")
+	private int found;
+
+	// Mayor antigüedad de los resultados servidos con la copia de respaldo
+	@JsonIgnore
+	private Long staleAgeSeconds;
+
+	public PriceBatchResponseDTO() {
+	}
+
+	public PriceBatchResponseDTO(List<PriceBatchItemDTO> results, int found) {
+		this.results = results;
+		this.found = found;
+	}
+
+	// Getters y setters
+	public List<PriceBatchItemDTO> getResults() {
+		return results;
+	}
+
+	public void setResults(List<PriceBatchItemDTO> results) {
+		this.results = results;
+	}
+
+	public int getFound() {
+		return found;
+	}
+
+	public void setFound(int found) {
+		this.found = found;
+	}
+
+	public Long getStaleAgeSeconds() {
+		return staleAgeSeconds;
+	}
+
+	public void setStaleAgeSeconds(Long staleAgeSeconds) {
+		this.staleAgeSeconds = staleAgeSeconds;
+	}
+}
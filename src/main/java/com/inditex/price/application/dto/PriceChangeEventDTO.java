@@ -0,0 +1,96 @@
+package com.inditex.price.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO del evento enviado a los suscriptores cuando cambia el precio aplicable
+ * de un producto. Los campos del precio son nulos si deja de haber precio
+ */
+@Schema(description = "Cambio del precio aplicable de un producto")
+public class PriceChangeEventDTO {
+
+	@Schema(description = "Identificador del producto", example = "35455")
+	private Long productId;
+
+	@Schema(description = "Identificador de la marca/cadena", example = "1")
+	private Long brandId;
+
+	@Schema(description = "Instante desde el que aplica el nuevo precio", example = "2020-06-14T15:00:00")
+	private LocalDateTime effectiveAt;
+
+	@Schema(description = "Tarifa aplicada", example = "2")
+	private Integer priceList;
+
+	@Schema(description = "Precio final de venta", example = "25.45")
+	private BigDecimal price;
+
+	@Schema(description = "Moneda", example = "EUR")
+	private String currency;
+
+	public PriceChangeEventDTO() {
+	}
+
+	// Getters y setters
+	public Long getProductId() {
+		return productId;
+	}
+
+	public void setProductId(Long productId) {
+		this.productId = productId;
+	}
+
+	public Long getBrandId() {
+		return brandId;
+	}
+
+	public void setBrandId(Long brandId) {
+		this.brandId = brandId;
+	}
+
+	public LocalDateTime getEffectiveAt() {
+		return effectiveAt;
+	}
+
+	public void setEffectiveAt(LocalDateTime effectiveAt) {
+		this.effectiveAt = effectiveAt;
+	}
+
+	public Integer getPriceList() {
+		return priceList;
+	}
+
+	public void setPriceList(Integer priceList) {
+		this.priceList = priceList;
+	}
+
+	public BigDecimal getPrice() {
+		return price;
+	}
+
+	public void setPrice(BigDecimal price) {
+		this.price = price;
+	}
+
+	public String getCurrency() {
+		return currency;
+	}
+
+	public void setCurrency(String currency) {
+		this.currency = currency;
+	}
+
+	@Override
+	public String toString() {
+		return "PriceChangeEventDTO{" +
+				"productId=" + productId +
+				", brandId=" + brandId +
+				", effectiveAt=" + effectiveAt +
+				", priceList=" + priceList +
+				", price=" + price +
+				", currency='" + currency + '\'' +
+				'}';
+	}
+}
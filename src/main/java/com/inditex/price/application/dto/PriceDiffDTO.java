@@ -0,0 +1,117 @@
+package com.inditex.price.application.dto;
+
+import java.math.BigDecimal;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO de un producto cuyo precio aplicable cambia entre dos instantes
+ * Los campos old* o new* son nulos si en ese instante no hay precio aplicable
+ */
+@Schema(description = "Cambio de precio aplicable de un producto entre dos instantes")
+public class PriceDiffDTO {
+
+	@Schema(description = "Identificador del producto", example = "35455")
+	private Long productId;
+
+	@Schema(description = "Identificador de la marca/cadena", example = "1")
+	private Long brandId;
+
+	@Schema(description = "Tarifa aplicada en el primer instante", example = "1")
+	private Integer oldPriceList;
+
+	@Schema(description = "Precio en el primer instante", example = "35.50")
+	private BigDecimal oldPrice;
+
+	@Schema(description = "Moneda en el primer instante", example = "EUR")
+	private String oldCurrency;
+
+	@Schema(description = "Tarifa aplicada en el segundo instante", example = "2")
+	private Integer newPriceList;
+
+	@Schema(description = "Precio en el segundo instante", example = "25.45")
+	private BigDecimal newPrice;
+
+	@Schema(description = "Moneda en el segundo instante", example = "EUR")
+	private String newCurrency;
+
+	public PriceDiffDTO() {
+	}
+
+	// Getters y setters
+	public Long getProductId() {
+		return productId;
+	}
+
+	public void setProductId(Long productId) {
+		this.productId = productId;
+	}
+
+	public Long getBrandId() {
+		return brandId;
+	}
+
+	public void setBrandId(Long brandId) {
+		this.brandId = brandId;
+	}
+
+	public Integer getOldPriceList() {
+		return oldPriceList;
+	}
+
+	public void setOldPriceList(Integer oldPriceList) {
+		this.oldPriceList = oldPriceList;
+	}
+
+	public BigDecimal getOldPrice() {
+		return oldPrice;
+	}
+
+	public void setOldPrice(BigDecimal oldPrice) {
+		this.oldPrice = oldPrice;
+	}
+
+	public String getOldCurrency() {
+		return oldCurrency;
+	}
+
+	public void setOldCurrency(String oldCurrency) {
+		this.oldCurrency = oldCurrency;
+	}
+
+	public Integer getNewPriceList() {
+		return newPriceList;
+	}
+
+	public void setNewPriceList(Integer newPriceList) {
+		this.newPriceList = newPriceList;
+	}
+
+	public BigDecimal getNewPrice() {
+		return newPrice;
+	}
+
+	public void setNewPrice(BigDecimal newPrice) {
+		this.newPrice = newPrice;
+	}
+
+	public String getNewCurrency() {
+		return newCurrency;
+	}
+
+	public void setNewCurrency(String newCurrency) {
+		this.newCurrency = newCurrency;
+	}
+
+	@Override
+	public String toString() {
+		return "PriceDiff{" +
+				"productId=" + productId +
+				", brandId=" + brandId +
+				", oldPriceList=" + oldPriceList +
+				", oldPrice=" + oldPrice +
+				", newPriceList=" + newPriceList +
+				", newPrice=" + newPrice +
+				'}';
+	}
+}
@@ -0,0 +1,69 @@
+package com.inditex.price.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO de respuesta del historial de precios de un producto
+ */
+@Schema(description = "Página del historial de precios de un producto")
+public class PriceHistoryResponseDTO {
+
+	@Schema(description = "Identificador del producto", example = "35455")
+	private Long productId;
+
+	@Schema(description = "Identificador de la marca/cadena", example = "1")
+	private Long brandId;
+
+	@Schema(description = "Tramos de la página en orden cronológico")
+	private List<PriceSegmentDTO> segments;
+
+	@Schema(description = "Valor de 'from' para pedir la página siguiente; ausente en la última", example = "2020-06-15T00:00:00")
+	private LocalDateTime nextFrom;
+
+	public PriceHistoryResponseDTO() {
+	}
+
+	public PriceHistoryResponseDTO(Long productId, Long brandId, List<PriceSegmentDTO> segments,
+			LocalDateTime nextFrom) {
+		this.productId = productId;
+		this.brandId = brandId;
+		this.segments = segments;
+		this.nextFrom = nextFrom;
+	}
+
+	// Getters y setters
+	public Long getProductId() {
+		return productId;
+	}
+
+	public void setProductId(Long productId) {
+		this.productId = productId;
+	}
+
+	public Long getBrandId() {
+		return brandId;
+	}
+
+	public void setBrandId(Long brandId) {
+		this.brandId = brandId;
+	}
+
+	public List<PriceSegmentDTO> getSegments() {
+		return segments;
+	}
+
+	public void setSegments(List<PriceSegmentDTO> segments) {
+		this.segments = segments;
+	}
+
+	public LocalDateTime getNextFrom() {
+		return nextFrom;
+	}
+
+	public void setNextFrom(LocalDateTime nextFrom) {
+		this.nextFrom = nextFrom;
+	}
+}
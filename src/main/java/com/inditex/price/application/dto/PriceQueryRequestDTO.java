@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 
 import javax.validation.constraints.NotNull;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * DTO para la consulta de precios
  * Representa los parámetros de entrada del endpoint
@@ -19,6 +21,14 @@ public class PriceQueryRequestDTO {
     @NotNull(message = "El ID de la marca es obligatorio")
     private Long brandId;
     
+    // Versión del catálogo con la que resolver la consulta, o null para la actual
+    private Long asOfVersion;
+    
+    // Plazo de la petición en la escala de System.nanoTime(); lo fija el
+    // controlador, nunca el cliente
+    @JsonIgnore
+    private Long deadlineNanos;
+    
     public PriceQueryRequestDTO() {}
     
     public PriceQueryRequestDTO(LocalDateTime applicationDate, Long productId, Long brandId) {
@@ -37,12 +47,19 @@ public class PriceQueryRequestDTO {
     public Long getBrandId() { return brandId; }
     public void setBrandId(Long brandId) { this.brandId = brandId; }
     
+    public Long getAsOfVersion() { return asOfVersion; }
+    public void setAsOfVersion(Long asOfVersion) { this.asOfVersion = asOfVersion; }
+    
+    public Long getDeadlineNanos() { return deadlineNanos; }
+    public void setDeadlineNanos(Long deadlineNanos) { this.deadlineNanos = deadlineNanos; }
+    
     @Override
     public String toString() {
         return "PriceQueryRequest{" +
                 "applicationDate=" + applicationDate +
                 ", productId=" + productId +
                 ", brandId=" + brandId +
+                ", asOfVersion=" + asOfVersion +
                 '}';
     }
 }
\ No newline at end of file
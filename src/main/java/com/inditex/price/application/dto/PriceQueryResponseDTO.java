@@ -2,6 +2,8 @@ package com.inditex.price.application.dto;
 
 import java.math.BigDecimal;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
@@ -34,6 +36,11 @@ public class PriceQueryResponseDTO {
 	@Schema(description = "Código de moneda", example = "EUR")
 	private String currency;
 
+	// Antigüedad de los datos si se respondió con la copia de respaldo; viaja
+	// en cabeceras, no en el cuerpo
+	@JsonIgnore
+	private Long staleAgeSeconds;
+
 	public PriceQueryResponseDTO() {
 	}
 
@@ -87,6 +94,14 @@ public class PriceQueryResponseDTO {
 		this.currency = currency;
 	}
 
+	public Long getStaleAgeSeconds() {
+		return staleAgeSeconds;
+	}
+
+	public void setStaleAgeSeconds(Long staleAgeSeconds) {
+		this.staleAgeSeconds = staleAgeSeconds;
+	}
+
 	@Override
 	public String toString() {
 		return "PriceQueryResponse{" +
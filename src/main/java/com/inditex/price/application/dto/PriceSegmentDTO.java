@@ -0,0 +1,95 @@
+package com.inditex.price.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO de un tramo del historial de precios de un producto
+ */
+@Schema(description = "Tramo del historial durante el que se aplica la misma tarifa")
+public class PriceSegmentDTO {
+
+	@Schema(description = "Inicio del tramo (inclusivo)", example = "2020-06-14T15:00:00")
+	private LocalDateTime startDate;
+
+	@Schema(description = "Fin del tramo (inclusivo)", example = "2020-06-14T18:30:00")
+	private LocalDateTime endDate;
+
+	@Schema(description = "Identificador de la tarifa aplicada", example = "2")
+	private Integer priceList;
+
+	@Schema(description = "Prioridad de la tarifa aplicada", example = "1")
+	private Integer priority;
+
+	@Schema(description = "Precio aplicable", example = "25.45")
+	private BigDecimal price;
+
+	@Schema(description = "Código de moneda", example = "EUR")
+	private String currency;
+
+	public PriceSegmentDTO() {
+	}
+
+	// Getters y setters
+	public LocalDateTime getStartDate() {
+		return startDate;
+	}
+
+	public void setStartDate(LocalDateTime startDate) {
+		this.startDate = startDate;
+	}
+
+	public LocalDateTime getEndDate() {
+		return endDate;
+	}
+
+	public void setEndDate(LocalDateTime endDate) {
+		this.endDate = endDate;
+	}
+
+	public Integer getPriceList() {
+		return priceList;
+	}
+
+	public void setPriceList(Integer priceList) {
+		this.priceList = priceList;
+	}
+
+	public Integer getPriority() {
+		return priority;
+	}
+
+	public void setPriority(Integer priority) {
+		this.priority = priority;
+	}
+
+	public BigDecimal getPrice() {
+		return price;
+	}
+
+	public void setPrice(BigDecimal price) {
+		this.price = price;
+	}
+
+	public String getCurrency() {
+		return currency;
+	}
+
+	public void setCurrency(String currency) {
+		this.currency = currency;
+	}
+
+	@Override
+	public String toString() {
+		return "PriceSegment{" +
+				"startDate=" + startDate +
+				", endDate=" + endDate +
+				", priceList=" + priceList +
+				", priority=" + priority +
+				", price=" + price +
+				", currency='" + currency + '\'' +
+				'}';
+	}
+}
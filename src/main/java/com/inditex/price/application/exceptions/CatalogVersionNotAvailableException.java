@@ -0,0 +1,19 @@
+package com.inditex.price.application.exceptions;
+
+/**
+ * Excepción lanzada cuando se consulta una versión del catálogo que no existe
+ * o que ya no se conserva
+ */
+public class CatalogVersionNotAvailableException extends RuntimeException {
+
+    private final long version;
+
+    public CatalogVersionNotAvailableException(long version) {
+        super("La versión " + version + " del catálogo no está disponible");
+        this.version = version;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,12 @@
+package com.inditex.price.application.exceptions;
+
+/**
+ * Excepción lanzada cuando se pide una versión del catálogo y el servicio no
+ * conserva versiones (price.versions.enabled=false)
+ */
+public class CatalogVersionsDisabledException extends RuntimeException {
+
+    public CatalogVersionsDisabledException() {
+        super("Las consultas por versión del catálogo no están activadas en este servicio");
+    }
+}
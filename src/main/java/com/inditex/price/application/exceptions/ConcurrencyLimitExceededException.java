@@ -0,0 +1,20 @@
+package com.inditex.price.application.exceptions;
+
+/**
+ * Petición rechazada porque el endpoint ha alcanzado su límite de concurrencia
+ * Se crea sin traza de pila: bajo sobrecarga se lanza en cada rechazo
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitExceededException(String endpoint, int limit, long retryAfterSeconds) {
+        super("Límite de " + limit + " peticiones concurrentes alcanzado en la consulta " + endpoint, null,
+                false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
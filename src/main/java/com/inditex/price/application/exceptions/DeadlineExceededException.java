@@ -0,0 +1,19 @@
+package com.inditex.price.application.exceptions;
+
+/**
+ * Excepción lanzada cuando el plazo de la petición se agota antes de un paso
+ * costoso: el cliente ya no espera la respuesta y el trabajo se abandona
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    private final String step;
+
+    public DeadlineExceededException(String step) {
+        super("Plazo de la petición agotado antes de " + step);
+        this.step = step;
+    }
+
+    public String getStep() {
+        return step;
+    }
+}
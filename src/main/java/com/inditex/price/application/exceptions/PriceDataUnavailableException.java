@@ -0,0 +1,19 @@
+package com.inditex.price.application.exceptions;
+
+/**
+ * La base de datos no ha respondido a tiempo o el cortocircuito está abierto,
+ * y no hay una copia de respaldo lo bastante reciente para responder
+ */
+public class PriceDataUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PriceDataUnavailableException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.inditex.price.application.exceptions;
+
+/**
+ * Consulta rechazada porque el pool de consultas de precio y su cola están
+ * llenos. Se crea sin traza de pila: bajo sobrecarga se lanza en cada rechazo
+ */
+public class PriceLookupRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PriceLookupRejectedException(int queueSize, long retryAfterSeconds) {
+        super("Cola de consultas de precio llena (" + queueSize + " en espera)", null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -7,7 +7,9 @@ import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import com.inditex.price.application.dto.PriceQueryResponseDTO;
+import com.inditex.price.application.dto.PriceSegmentDTO;
 import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.model.PriceSegment;
 import com.inditex.price.domain.valueobject.BrandId;
 import com.inditex.price.domain.valueobject.Money;
 import com.inditex.price.domain.valueobject.ProductId;
@@ -29,6 +31,16 @@ public interface PriceMapperDTO {
     @Mapping(target = "brandId", source = "price.brandId.value")
     @Mapping(target = "price", source = "price.price.amount")
     @Mapping(target = "currency", source = "price.price.currency")
+    @Mapping(target = "staleAgeSeconds", ignore = true)
     public PriceQueryResponseDTO toResponseDTO(Price price);
 
+    /**
+     * Convierte un tramo del historial a su DTO
+     */
+    @Mapping(target = "priceList", source = "segment.price.priceList")
+    @Mapping(target = "priority", source = "segment.price.priority.value")
+    @Mapping(target = "price", source = "segment.price.price.amount")
+    @Mapping(target = "currency", source = "segment.price.price.currency")
+    public PriceSegmentDTO toSegmentDTO(PriceSegment segment);
+
 }
\ No newline at end of file
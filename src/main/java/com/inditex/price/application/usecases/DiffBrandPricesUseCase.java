@@ -0,0 +1,139 @@
+package com.inditex.price.application.usecases;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import com.inditex.price.application.dto.PriceDiffDTO;
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.service.PriceDomainService;
+import com.inditex.price.domain.valueobject.BrandId;
+
+/**
+ * Caso de uso para obtener los productos de una marca cuyo precio aplicable
+ * cambia entre dos instantes
+ * Solo se resuelven los productos con algún límite de tarifa entre ambos
+ * instantes, que llegan agrupados en un único recorrido ordenado
+ */
+@Service
+public class DiffBrandPricesUseCase {
+
+    private static final Logger logger = LogManager.getLogger(DiffBrandPricesUseCase.class);
+
+    private final PriceRepository priceRepository;
+
+    public DiffBrandPricesUseCase(PriceRepository priceRepository) {
+        this.priceRepository = priceRepository;
+    }
+
+    /**
+     * Entrega al sink cada producto cuyo precio o tarifa aplicable difiere
+     * 
+     * @param brandId identificador de la marca/cadena
+     * @param from    primer instante
+     * @param to      segundo instante, posterior a from
+     * @param sink    receptor de cada diferencia, en orden de producto
+     * @return número de productos con cambios
+     */
+    public long execute(Long brandId, LocalDateTime from, LocalDateTime to, Consumer<PriceDiffDTO> sink) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("La fecha 'from' debe ser anterior a 'to'");
+        }
+        long startTime = System.currentTimeMillis();
+
+        ProductDiff diff = new ProductDiff(EpochTime.toEpochMicros(from), EpochTime.toEpochMicros(to), sink);
+        priceRepository.forEachPriceOfProductsChangingBetween(new BrandId(brandId), from, to, diff);
+        diff.flush();
+
+        logger.info("Diferencias calculadas - BrandId: {}, Rango: {} a {}, Productos revisados: {}, Con cambios: {}, Tiempo: {}ms",
+                brandId, from, to, diff.visited, diff.changed, System.currentTimeMillis() - startTime);
+        return diff.changed;
+    }
+
+    /**
+     * Acumula las tarifas del producto en curso y, al cambiar de producto,
+     * compara sus ganadoras en ambos instantes
+     */
+    private static final class ProductDiff implements Consumer<Price> {
+
+        private final long fromEpoch;
+        private final long toEpoch;
+        private final Consumer<PriceDiffDTO> sink;
+        private final List<Price> productPrices = new ArrayList<>();
+        private long visited;
+        private long changed;
+
+        private ProductDiff(long fromEpoch, long toEpoch, Consumer<PriceDiffDTO> sink) {
+            this.fromEpoch = fromEpoch;
+            this.toEpoch = toEpoch;
+            this.sink = sink;
+        }
+
+        @Override
+        public void accept(Price price) {
+            if (!productPrices.isEmpty() && !productPrices.get(0).getProductId().equals(price.getProductId())) {
+                flush();
+            }
+            productPrices.add(price);
+        }
+
+        private void flush() {
+            if (productPrices.isEmpty()) {
+                return;
+            }
+            visited++;
+            Price before = winnerAt(fromEpoch);
+            Price after = winnerAt(toEpoch);
+            if (differs(before, after)) {
+                changed++;
+                sink.accept(toDiff(productPrices.get(0), before, after));
+            }
+            productPrices.clear();
+        }
+
+        private Price winnerAt(long epochMicros) {
+            Price winner = null;
+            for (Price price : productPrices) {
+                if (price.isApplicableAt(epochMicros)
+                        && (winner == null || PriceDomainService.PRIORITY_ORDER.compare(price, winner) > 0)) {
+                    winner = price;
+                }
+            }
+            return winner;
+        }
+
+        private static boolean differs(Price before, Price after) {
+            if (before == null || after == null) {
+                return before != after;
+            }
+            return !Objects.equals(before.getPriceList(), after.getPriceList())
+                    || before.getPrice().getAmount().compareTo(after.getPrice().getAmount()) != 0
+                    || !before.getPrice().getCurrency().equals(after.getPrice().getCurrency());
+        }
+
+        private static PriceDiffDTO toDiff(Price any, Price before, Price after) {
+            PriceDiffDTO diff = new PriceDiffDTO();
+            diff.setProductId(any.getProductId().getValue());
+            diff.setBrandId(any.getBrandId().getValue());
+            if (before != null) {
+                diff.setOldPriceList(before.getPriceList());
+                diff.setOldPrice(before.getPrice().getAmount());
+                diff.setOldCurrency(before.getPrice().getCurrency());
+            }
+            if (after != null) {
+                diff.setNewPriceList(after.getPriceList());
+                diff.setNewPrice(after.getPrice().getAmount());
+                diff.setNewCurrency(after.getPrice().getCurrency());
+            }
+            return diff;
+        }
+    }
+}
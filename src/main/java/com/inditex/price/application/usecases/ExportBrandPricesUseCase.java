@@ -0,0 +1,86 @@
+package com.inditex.price.application.usecases;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import com.inditex.price.application.dto.PriceQueryResponseDTO;
+import com.inditex.price.application.mapper.PriceMapperDTO;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.service.PriceDomainService;
+import com.inditex.price.domain.valueobject.BrandId;
+
+/**
+ * Caso de uso para exportar el precio aplicable de todos los productos de una
+ * marca en una fecha
+ * Resuelve cada producto a medida que llegan sus tarifas del recorrido
+ * ordenado, por lo que la memoria no depende del tamaño del catálogo
+ */
+@Service
+public class ExportBrandPricesUseCase {
+
+    private static final Logger logger = LogManager.getLogger(ExportBrandPricesUseCase.class);
+
+    private final PriceRepository priceRepository;
+
+    public ExportBrandPricesUseCase(PriceRepository priceRepository) {
+        this.priceRepository = priceRepository;
+    }
+
+    /**
+     * Entrega al sink el precio aplicable de cada producto de la marca
+     * 
+     * @param brandId         identificador de la marca/cadena
+     * @param applicationDate fecha de aplicación del precio
+     * @param sink            receptor de cada precio resuelto, en orden de producto
+     * @return número de productos exportados
+     */
+    public long execute(Long brandId, LocalDateTime applicationDate, Consumer<PriceQueryResponseDTO> sink) {
+        long startTime = System.currentTimeMillis();
+
+        WinnerPerProduct winners = new WinnerPerProduct(sink);
+        priceRepository.forEachApplicablePrice(new BrandId(brandId), applicationDate, winners);
+        winners.flush();
+
+        logger.info("Exportación completada - BrandId: {}, Fecha: {}, Productos: {}, Tiempo: {}ms",
+                brandId, applicationDate, winners.exported, System.currentTimeMillis() - startTime);
+        return winners.exported;
+    }
+
+    /**
+     * Mantiene la tarifa ganadora del producto en curso y la emite al cambiar
+     * de producto
+     */
+    private static final class WinnerPerProduct implements Consumer<Price> {
+
+        private final Consumer<PriceQueryResponseDTO> sink;
+        private Price winner;
+        private long exported;
+
+        private WinnerPerProduct(Consumer<PriceQueryResponseDTO> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void accept(Price price) {
+            if (winner != null && !winner.getProductId().equals(price.getProductId())) {
+                flush();
+            }
+            if (winner == null || PriceDomainService.PRIORITY_ORDER.compare(price, winner) > 0) {
+                winner = price;
+            }
+        }
+
+        private void flush() {
+            if (winner != null) {
+                sink.accept(PriceMapperDTO.INSTANCE.toResponseDTO(winner));
+                exported++;
+                winner = null;
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.inditex.price.application.usecases;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -9,10 +10,16 @@ import org.springframework.stereotype.Service;
 
 import com.inditex.price.application.dto.PriceQueryRequestDTO;
 import com.inditex.price.application.dto.PriceQueryResponseDTO;
+import com.inditex.price.application.exceptions.CatalogVersionNotAvailableException;
+import com.inditex.price.application.exceptions.CatalogVersionsDisabledException;
+import com.inditex.price.application.exceptions.DeadlineExceededException;
 import com.inditex.price.application.exceptions.PriceNotFoundException;
 import com.inditex.price.application.mapper.PriceMapperDTO;
+import com.inditex.price.domain.model.CurrentPrice;
 import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.CurrentPriceRepository;
 import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.repository.VersionedPriceRepository;
 import com.inditex.price.domain.service.PriceDomainService;
 import com.inditex.price.domain.valueobject.BrandId;
 import com.inditex.price.domain.valueobject.ProductId;
@@ -20,6 +27,12 @@ import com.inditex.price.domain.valueobject.ProductId;
 /**
  * Caso de uso para consultar precios aplicables
  * Orquesta la lógica de aplicación sin contener lógica de negocio
+ * Las fechas cercanas al instante actual se responden desde el precio vigente
+ * materializado, sin búsqueda por rango
+ * Si la base de datos no responde y el precio sale de la copia de respaldo, la
+ * respuesta lleva la antigüedad de esos datos
+ * Con asOfVersion la consulta se resuelve con las tarifas de esa versión del
+ * catálogo, sin pasar por el precio vigente ni por el repositorio
  */
 @Service
 public class FindApplicablePriceUseCase {
@@ -28,43 +41,99 @@ public class FindApplicablePriceUseCase {
 
     private final PriceRepository priceRepository;
     private final PriceDomainService priceDomainService;
+    private final CurrentPriceRepository currentPriceRepository;
+    private final VersionedPriceRepository versionedPriceRepository;
 
     public FindApplicablePriceUseCase(PriceRepository priceRepository,
-            PriceDomainService priceDomainService) {
+            PriceDomainService priceDomainService,
+            CurrentPriceRepository currentPriceRepository,
+            VersionedPriceRepository versionedPriceRepository) {
         this.priceRepository = priceRepository;
         this.priceDomainService = priceDomainService;
+        this.currentPriceRepository = currentPriceRepository;
+        this.versionedPriceRepository = versionedPriceRepository;
     }
 
     /**
      * Ejecuta la consulta de precio aplicable en la fecha indicada
      * 
      * @param request parámetros de consulta
-     * @return precio aplicable con mayor prioridad
+     * @return precio aplicable con mayor prioridad, con la antigüedad de los
+     *         datos si se resolvió con la copia de respaldo de la base de datos
      * @throws PriceNotFoundException si no se encuentra un precio aplicable
+     * @throws CatalogVersionsDisabledException si se pide una versión del
+     *                                           catálogo y no se conservan
+     *                                           versiones
+     * @throws CatalogVersionNotAvailableException si la versión pedida del
+     *                                             catálogo no se conserva
+     * @throws DeadlineExceededException si el plazo de la petición se agota
+     *                                   antes de buscar en el repositorio
      */
     public PriceQueryResponseDTO execute(PriceQueryRequestDTO request) {
+        PriceReadContext.begin(request.getDeadlineNanos() != null ? request.getDeadlineNanos()
+                : PriceReadContext.NO_DEADLINE);
+        try {
+            PriceQueryResponseDTO response = resolve(request);
+            long staleAgeMillis = PriceReadContext.maxStaleAgeMillis();
+            if (staleAgeMillis >= 0) {
+                logger.warn("Precio servido desde la copia de respaldo - ProductId: {}, BrandId: {}, Antigüedad: {}ms",
+                        request.getProductId(), request.getBrandId(), staleAgeMillis);
+                response.setStaleAgeSeconds(TimeUnit.MILLISECONDS.toSeconds(staleAgeMillis));
+            }
+            return response;
+        } finally {
+            PriceReadContext.end();
+        }
+    }
+
+    private PriceQueryResponseDTO resolve(PriceQueryRequestDTO request) {
 
         BrandId brandId = new BrandId(request.getBrandId());
         ProductId productId = new ProductId(request.getProductId());
 
-        // Buscar precios aplicables
-        logger.debug("Buscando precios aplicables en repositorio...");
-        List<Price> applicablePrices = priceRepository.findApplicablePrices(
-                productId, brandId, request.getApplicationDate());
-
-        // Manejar caso de repositorio que devuelve null
-        if (applicablePrices == null) {
-            logger.warn("El repositorio devolvió null para producto {} marca {} en fecha {}",
-                    request.getProductId(), request.getBrandId(), request.getApplicationDate());
-            applicablePrices = java.util.Collections.emptyList();
+        // Camino rápido para fechas cercanas al instante actual, solo con el catálogo actual
+        Optional<CurrentPrice> currentPrice = request.getAsOfVersion() != null ? Optional.empty()
+                : currentPriceRepository.findCurrentPrice(productId, brandId, request.getApplicationDate());
+
+        Optional<Price> selectedPrice;
+        if (request.getAsOfVersion() != null) {
+            if (!versionedPriceRepository.isEnabled()) {
+                throw new CatalogVersionsDisabledException();
+            }
+            List<Price> applicablePrices = versionedPriceRepository.findApplicablePricesAsOf(productId, brandId,
+                    request.getApplicationDate(), request.getAsOfVersion())
+                    .orElseThrow(() -> new CatalogVersionNotAvailableException(request.getAsOfVersion()));
+            logger.debug("Encontrados {} precios aplicables en la versión {} del catálogo",
+                    applicablePrices.size(), request.getAsOfVersion());
+            selectedPrice = priceDomainService.selectHighestPriorityPrice(applicablePrices);
+        } else if (currentPrice.isPresent()) {
+            logger.debug("Precio resuelto desde el precio vigente materializado");
+            selectedPrice = currentPrice.get().getPrice();
+        } else {
+            // La búsqueda puede llegar a base de datos: no se empieza si el cliente ya no espera
+            if (PriceReadContext.remainingNanos() <= 0) {
+                throw new DeadlineExceededException("lookup");
+            }
+
+            // Buscar precios aplicables
+            logger.debug("Buscando precios aplicables en repositorio...");
+            List<Price> applicablePrices = priceRepository.findApplicablePrices(
+                    productId, brandId, request.getApplicationDate());
+
+            // Manejar caso de repositorio que devuelve null
+            if (applicablePrices == null) {
+                logger.warn("El repositorio devolvió null para producto {} marca {} en fecha {}",
+                        request.getProductId(), request.getBrandId(), request.getApplicationDate());
+                applicablePrices = java.util.Collections.emptyList();
+            }
+
+            logger.info("Encontrados {} precios aplicables para producto {} marca {} en fecha {}",
+                    applicablePrices.size(), request.getProductId(), request.getBrandId(), request.getApplicationDate());
+
+            // Seleccionar el precio con mayor prioridad
+            selectedPrice = priceDomainService.selectHighestPriorityPrice(applicablePrices);
         }
 
-        logger.info("Encontrados {} precios aplicables para producto {} marca {} en fecha {}",
-                applicablePrices.size(), request.getProductId(), request.getBrandId(), request.getApplicationDate());
-
-        // Seleccionar el precio con mayor prioridad
-        Optional<Price> selectedPrice = priceDomainService.selectHighestPriorityPrice(applicablePrices);
-
         // Verificar que se encontró un precio
         Price price = selectedPrice.orElseThrow(() -> {
             logger.warn("No se encontró precio aplicable para producto {} de marca {} en fecha {}",
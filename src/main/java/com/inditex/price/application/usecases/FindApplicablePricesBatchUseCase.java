@@ -0,0 +1,176 @@
+package com.inditex.price.application.usecases;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.inditex.price.application.dto.PriceBatchItemDTO;
+import com.inditex.price.application.dto.PriceBatchResponseDTO;
+import com.inditex.price.application.dto.PriceQueryRequestDTO;
+import com.inditex.price.application.dto.PriceQueryResponseDTO;
+import com.inditex.price.application.exceptions.PriceNotFoundException;
+import com.inditex.price.domain.repository.PriceRepository;
+
+/**
+ * Caso de uso para consultar el precio aplicable de varios productos en una
+ * sola petición
+ *
+ * Cada consulta se resuelve como una consulta individual; las que no tienen
+ * tarifa aplicable se devuelven sin precio en lugar de fallar el lote
+ *
+ * Con el catálogo repartido por marca entre varias bases de datos, las
+ * consultas de marcas distintas se resuelven en paralelo por grupos de marca
+ * en el pool de consultas de precio y los resultados se devuelven en el orden
+ * de la petición. El lote ya ocupa un hilo de ese pool, así que no espera a
+ * grupos que sigan en cola: los resuelve él mismo y solo espera a los que otro
+ * hilo ya ha empezado
+ */
+@Service
+public class FindApplicablePricesBatchUseCase {
+
+    private static final Logger logger = LogManager.getLogger(FindApplicablePricesBatchUseCase.class);
+
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private final FindApplicablePriceUseCase findApplicablePriceUseCase;
+    private final Executor lookupExecutor;
+    private final boolean partitionedByBrand;
+
+    public FindApplicablePricesBatchUseCase(FindApplicablePriceUseCase findApplicablePriceUseCase,
+            PriceRepository priceRepository,
+            @Qualifier("priceLookupExecutor") Executor lookupExecutor) {
+        this.findApplicablePriceUseCase = findApplicablePriceUseCase;
+        this.lookupExecutor = lookupExecutor;
+        this.partitionedByBrand = priceRepository.isPartitionedByBrand();
+    }
+
+    /**
+     * Resuelve el lote en el orden de la petición
+     *
+     * @param queries consultas del lote
+     * @return un resultado por consulta y el número de ellas con precio
+     */
+    public PriceBatchResponseDTO execute(List<PriceQueryRequestDTO> queries) {
+        if (queries == null || queries.isEmpty() || queries.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("El lote debe tener entre 1 y " + MAX_BATCH_SIZE + " consultas");
+        }
+        for (PriceQueryRequestDTO query : queries) {
+            if (query == null || query.getApplicationDate() == null || query.getProductId() == null
+                    || query.getBrandId() == null) {
+                throw new IllegalArgumentException(
+                        "Cada consulta del lote requiere applicationDate, productId y brandId");
+            }
+        }
+
+        PriceQueryResponseDTO[] prices = new PriceQueryResponseDTO[queries.size()];
+        Map<Long, List<Integer>> byBrand = new LinkedHashMap<>();
+        for (int i = 0; i < queries.size(); i++) {
+            byBrand.computeIfAbsent(queries.get(i).getBrandId(), brandId -> new ArrayList<>()).add(i);
+        }
+        Collection<List<Integer>> groups = byBrand.values();
+        if (partitionedByBrand && groups.size() > 1) {
+            resolveInParallel(queries, groups, prices);
+        } else {
+            groups.forEach(group -> resolve(queries, group, prices));
+        }
+
+        List<PriceBatchItemDTO> results = new ArrayList<>(queries.size());
+        int found = 0;
+        Long staleAgeSeconds = null;
+        for (int i = 0; i < queries.size(); i++) {
+            PriceQueryRequestDTO query = queries.get(i);
+            PriceQueryResponseDTO price = prices[i];
+            if (price != null) {
+                found++;
+                if (price.getStaleAgeSeconds() != null) {
+                    staleAgeSeconds = Math.max(price.getStaleAgeSeconds(),
+                            staleAgeSeconds == null ? 0L : staleAgeSeconds);
+                }
+            }
+            results.add(new PriceBatchItemDTO(query.getApplicationDate(), query.getProductId(),
+                    query.getBrandId(), price));
+        }
+
+        logger.info("Lote de precios resuelto - Consultas: {}, Con precio: {}", queries.size(), found);
+        PriceBatchResponseDTO response = new PriceBatchResponseDTO(results, found);
+        response.setStaleAgeSeconds(staleAgeSeconds);
+        return response;
+    }
+
+    /**
+     * Reparte los grupos de marca en el pool. Cada grupo lo resuelve quien lo
+     * reclame primero, el pool o este hilo, y este hilo solo espera a los que
+     * ya se están resolviendo, de modo que un pool lleno no bloquea el lote
+     */
+    private void resolveInParallel(List<PriceQueryRequestDTO> queries, Collection<List<Integer>> groups,
+            PriceQueryResponseDTO[] prices) {
+        List<AtomicBoolean> claims = new ArrayList<>(groups.size());
+        List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+        for (List<Integer> group : groups) {
+            AtomicBoolean claimed = new AtomicBoolean();
+            claims.add(claimed);
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            futures.add(future);
+            try {
+                lookupExecutor.execute(() -> {
+                    if (claimed.compareAndSet(false, true)) {
+                        complete(future, () -> resolve(queries, group, prices));
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Pool lleno: el grupo se resuelve en este hilo
+            }
+        }
+
+        int i = 0;
+        for (List<Integer> group : groups) {
+            if (claims.get(i).compareAndSet(false, true)) {
+                complete(futures.get(i), () -> resolve(queries, group, prices));
+            }
+            i++;
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static void complete(CompletableFuture<Void> future, Runnable task) {
+        try {
+            task.run();
+            future.complete(null);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Resuelve las consultas indicadas del lote dejando su precio, o null si
+     * no tienen tarifa aplicable, en la misma posición
+     */
+    private void resolve(List<PriceQueryRequestDTO> queries, List<Integer> indexes, PriceQueryResponseDTO[] prices) {
+        for (int index : indexes) {
+            try {
+                prices[index] = findApplicablePriceUseCase.execute(queries.get(index));
+            } catch (PriceNotFoundException e) {
+                // Sin tarifa aplicable: el resultado va sin precio
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.inditex.price.application.usecases;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import com.inditex.price.application.dto.PriceHistoryResponseDTO;
+import com.inditex.price.application.dto.PriceSegmentDTO;
+import com.inditex.price.application.mapper.PriceMapperDTO;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.model.PriceHistoryPage;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.service.PriceDomainService;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+
+/**
+ * Caso de uso para consultar el historial de precios de un producto en un rango
+ *
+ * Cada página parte de las tarifas aplicables en su instante inicial y lee las
+ * siguientes por bloques paginados por clave (fecha de inicio, id) solo hasta
+ * completar los tramos pedidos. La página siguiente arranca en nextFrom, así
+ * que las páginas profundas cuestan lo mismo que la primera
+ */
+@Service
+public class FindPriceHistoryUseCase {
+
+    private static final Logger logger = LogManager.getLogger(FindPriceHistoryUseCase.class);
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    private final PriceRepository priceRepository;
+    private final PriceDomainService priceDomainService;
+
+    public FindPriceHistoryUseCase(PriceRepository priceRepository, PriceDomainService priceDomainService) {
+        this.priceRepository = priceRepository;
+        this.priceDomainService = priceDomainService;
+    }
+
+    /**
+     * Obtiene una página de tramos del historial
+     * 
+     * @param productId identificador del producto
+     * @param brandId   identificador de la marca/cadena
+     * @param from      inicio del rango (inclusivo)
+     * @param to        fin del rango (inclusivo)
+     * @param pageSize  número máximo de tramos
+     * @return tramos en orden cronológico y cursor de la página siguiente
+     */
+    public PriceHistoryResponseDTO execute(Long productId, Long brandId, LocalDateTime from, LocalDateTime to,
+            int pageSize) {
+
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("La fecha 'from' no puede ser posterior a 'to'");
+        }
+
+        ProductId product = new ProductId(productId);
+        BrandId brand = new BrandId(brandId);
+
+        List<Price> activeAtFrom = priceRepository.findApplicablePrices(product, brand, from);
+        KeysetIterator upcoming = new KeysetIterator(product, brand, from, to, Math.max(pageSize, MIN_CHUNK_SIZE));
+
+        PriceHistoryPage page = priceDomainService.resolveSegments(activeAtFrom, upcoming, from, to, pageSize);
+
+        logger.info("Historial resuelto - ProductId: {}, BrandId: {}, Rango: {} a {}, Tramos: {}, Bloques leídos: {}",
+                productId, brandId, from, to, page.getSegments().size(), upcoming.chunks);
+
+        List<PriceSegmentDTO> segments = page.getSegments().stream()
+                .map(PriceMapperDTO.INSTANCE::toSegmentDTO)
+                .collect(Collectors.toList());
+        return new PriceHistoryResponseDTO(productId, brandId, segments, page.getNextFrom());
+    }
+
+    /**
+     * Recorre perezosamente las tarifas con inicio en (from, to] pidiendo al
+     * repositorio bloques sucesivos a partir de la última (fecha de inicio, id)
+     */
+    private final class KeysetIterator implements Iterator<Price> {
+
+        private final ProductId productId;
+        private final BrandId brandId;
+        private final LocalDateTime until;
+        private final int chunkSize;
+
+        private LocalDateTime afterStartDate;
+        private long afterId;
+        private List<Price> chunk = Collections.emptyList();
+        private int position;
+        private boolean exhausted;
+        private int chunks;
+
+        private KeysetIterator(ProductId productId, BrandId brandId, LocalDateTime from, LocalDateTime until,
+                int chunkSize) {
+            this.productId = productId;
+            this.brandId = brandId;
+            this.until = until;
+            this.chunkSize = chunkSize;
+            // Las tarifas que empiezan justo en from ya llegan como aplicables
+            this.afterStartDate = from;
+            this.afterId = Long.MAX_VALUE;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position < chunk.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            chunk = priceRepository.findPricesStartingAfter(productId, brandId, afterStartDate, afterId, until,
+                    chunkSize);
+            chunks++;
+            position = 0;
+            exhausted = chunk.size() < chunkSize;
+            if (!chunk.isEmpty()) {
+                Price last = chunk.get(chunk.size() - 1);
+                afterStartDate = last.getStartDate();
+                afterId = last.getId();
+            }
+            return !chunk.isEmpty();
+        }
+
+        @Override
+        public Price next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return chunk.get(position++);
+        }
+    }
+}
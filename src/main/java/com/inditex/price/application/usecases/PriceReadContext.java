@@ -0,0 +1,92 @@
+package com.inditex.price.application.usecases;
+
+/**
+ * Plazo y frescura de las lecturas hechas en el hilo actual
+ *
+ * Quien resuelve una consulta fija aquí el plazo de la petición; los
+ * adaptadores de PriceRepository lo leen para no empezar trabajo que ya no
+ * llegaría a tiempo y para limitar la duración de las consultas a base de
+ * datos
+ *
+ * Cuando la base de datos no responde, un adaptador puede servir la última
+ * copia buena que conoce en lugar de fallar y lo anota aquí con su
+ * antigüedad. Quien resuelve la consulta lee la anotación para avisar al
+ * cliente, y las cachés la miran para no guardar datos de respaldo
+ */
+public final class PriceReadContext {
+
+    /**
+     * Valor de plazo para las lecturas sin límite de tiempo
+     */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private static final ThreadLocal<PriceReadContext> CURRENT = ThreadLocal.withInitial(PriceReadContext::new);
+
+    private long deadlineNanos = NO_DEADLINE;
+    private long staleReads;
+    private long maxStaleAgeMillis = -1L;
+
+    private PriceReadContext() {
+    }
+
+    /**
+     * Empieza una consulta sin plazo descartando las anotaciones anteriores
+     * del hilo
+     */
+    public static void begin() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Empieza una consulta que debe terminar antes del instante dado, en la
+     * escala de System.nanoTime(), o sin plazo con NO_DEADLINE
+     */
+    public static void begin(long deadlineNanos) {
+        CURRENT.remove();
+        CURRENT.get().deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Termina la consulta y libera el estado del hilo
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static long deadlineNanos() {
+        return CURRENT.get().deadlineNanos;
+    }
+
+    /**
+     * Tiempo que queda hasta el plazo, negativo si ya ha pasado o
+     * Long.MAX_VALUE si la consulta no tiene plazo
+     */
+    public static long remainingNanos() {
+        long deadline = CURRENT.get().deadlineNanos;
+        return deadline == NO_DEADLINE ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    /**
+     * Anota que se ha servido una copia de respaldo de la antigüedad dada
+     */
+    public static void markStale(long ageMillis) {
+        PriceReadContext context = CURRENT.get();
+        context.staleReads++;
+        context.maxStaleAgeMillis = Math.max(context.maxStaleAgeMillis, Math.max(0L, ageMillis));
+    }
+
+    /**
+     * Número de lecturas de respaldo anotadas en el hilo. Comparar el valor
+     * antes y después de una llamada indica si esa llamada las produjo
+     */
+    public static long staleReads() {
+        return CURRENT.get().staleReads;
+    }
+
+    /**
+     * Antigüedad máxima de lo servido desde begin(), o -1 si todo era fresco
+     */
+    public static long maxStaleAgeMillis() {
+        return CURRENT.get().maxStaleAgeMillis;
+    }
+}
@@ -0,0 +1,47 @@
+package com.inditex.price.domain.model;
+
+import java.util.Optional;
+
+/**
+ * Precio ganador de un producto junto con el intervalo [validFrom, validUntil)
+ * durante el cual no cambia, delimitado por los límites de tarifa más próximos
+ * a cada lado. Los extremos son microsegundos desde epoch (ver EpochTime)
+ */
+public class CurrentPrice {
+
+    private final Price price;
+    private final long validFromEpoch;
+    private final long validUntilEpoch;
+
+    public CurrentPrice(Price price, long validFromEpoch, long validUntilEpoch) {
+        if (validFromEpoch >= validUntilEpoch) {
+            throw new IllegalArgumentException("El intervalo de vigencia no puede estar vacío");
+        }
+        this.price = price;
+        this.validFromEpoch = validFromEpoch;
+        this.validUntilEpoch = validUntilEpoch;
+    }
+
+    /**
+     * Indica si el ganador es válido en el instante dado
+     */
+    public boolean covers(long epochMicros) {
+        return epochMicros >= validFromEpoch && epochMicros < validUntilEpoch;
+    }
+
+    /**
+     * Tarifa ganadora, vacía si en el intervalo no aplica ninguna
+     */
+    public Optional<Price> getPrice() { return Optional.ofNullable(price); }
+    public long getValidFromEpoch() { return validFromEpoch; }
+    public long getValidUntilEpoch() { return validUntilEpoch; }
+
+    @Override
+    public String toString() {
+        return "CurrentPrice{" +
+                "price=" + price +
+                ", validFrom=" + validFromEpoch +
+                ", validUntil=" + validUntilEpoch +
+                '}';
+    }
+}
@@ -0,0 +1,52 @@
+package com.inditex.price.domain.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Conversión entre las fechas de tarifa y su representación primitiva en
+ * microsegundos desde epoch
+ *
+ * Política de zona: las fechas de PRICES y la fecha de aplicación son
+ * LocalDateTime sin zona, todas expresadas en la misma hora local. Se proyectan
+ * con un offset fijo (UTC) para que el orden y la igualdad de los long
+ * coincidan exactamente con los de LocalDateTime, sin huecos ni solapamientos
+ * por cambios de horario. El valor resultante no es un instante real, solo una
+ * posición en esa línea temporal local.
+ *
+ * La precisión es de microsegundos (la de TIMESTAMP en H2), los nanosegundos
+ * sobrantes se truncan. Las fechas fuera del rango representable se saturan a
+ * Long.MIN_VALUE / Long.MAX_VALUE conservando el orden.
+ */
+public final class EpochTime {
+
+    public static final ZoneOffset ZONE = ZoneOffset.UTC;
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final long NANOS_PER_MICRO = 1_000L;
+    private static final long MAX_SECONDS = Long.MAX_VALUE / MICROS_PER_SECOND - 1;
+    private static final long MIN_SECONDS = Long.MIN_VALUE / MICROS_PER_SECOND + 1;
+
+    private EpochTime() {
+    }
+
+    /**
+     * Convierte una fecha local a microsegundos desde epoch según la política de
+     * zona de la clase
+     */
+    public static long toEpochMicros(LocalDateTime dateTime) {
+        long seconds = dateTime.toEpochSecond(ZONE);
+        if (seconds > MAX_SECONDS) return Long.MAX_VALUE;
+        if (seconds < MIN_SECONDS) return Long.MIN_VALUE;
+        return seconds * MICROS_PER_SECOND + dateTime.getNano() / NANOS_PER_MICRO;
+    }
+
+    /**
+     * Operación inversa de toEpochMicros
+     */
+    public static LocalDateTime fromEpochMicros(long epochMicros) {
+        long seconds = Math.floorDiv(epochMicros, MICROS_PER_SECOND);
+        long micros = Math.floorMod(epochMicros, MICROS_PER_SECOND);
+        return LocalDateTime.ofEpochSecond(seconds, (int) (micros * NANOS_PER_MICRO), ZONE);
+    }
+}
@@ -24,6 +24,8 @@ public class Price {
     private final ProductId productId;
     private final Priority priority;
     private final Money price;
+    private final long startEpoch;
+    private final long endEpoch;
     
     public Price(Long id, BrandId brandId, LocalDateTime startDate, LocalDateTime endDate,
                  Integer priceList, ProductId productId, Priority priority, Money price) {
@@ -40,6 +42,8 @@ public class Price {
         this.productId = productId;
         this.priority = priority;
         this.price = price;
+        this.startEpoch = EpochTime.toEpochMicros(startDate);
+        this.endEpoch = EpochTime.toEpochMicros(endDate);
     }
     
     private void validateDates(LocalDateTime startDate, LocalDateTime endDate) {
@@ -69,7 +73,15 @@ public class Price {
      */
     public boolean isApplicableAt(LocalDateTime dateTime) {
         if (dateTime == null) return false;
-        return !dateTime.isBefore(startDate) && !dateTime.isAfter(endDate);
+        return isApplicableAt(EpochTime.toEpochMicros(dateTime));
+    }
+    
+    /**
+     * Variante primitiva de isApplicableAt para fechas ya convertidas con
+     * EpochTime, pensada para convertir la fecha una sola vez por consulta
+     */
+    public boolean isApplicableAt(long epochMicros) {
+        return epochMicros >= startEpoch && epochMicros <= endEpoch;
     }
     
     /**
@@ -95,6 +107,8 @@ public class Price {
     public ProductId getProductId() { return productId; }
     public Priority getPriority() { return priority; }
     public Money getPrice() { return price; }
+    public long getStartEpoch() { return startEpoch; }
+    public long getEndEpoch() { return endEpoch; }
     
     @Override
     public boolean equals(Object o) {
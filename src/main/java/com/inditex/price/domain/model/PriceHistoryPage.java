@@ -0,0 +1,28 @@
+package com.inditex.price.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Página del historial de precios de un producto
+ * nextFrom es el inicio del primer tramo que no cabe en la página, o null si
+ * el rango pedido está completo
+ */
+public class PriceHistoryPage {
+
+    private final List<PriceSegment> segments;
+    private final LocalDateTime nextFrom;
+
+    public PriceHistoryPage(List<PriceSegment> segments, LocalDateTime nextFrom) {
+        this.segments = Collections.unmodifiableList(segments);
+        this.nextFrom = nextFrom;
+    }
+
+    public List<PriceSegment> getSegments() { return segments; }
+    public LocalDateTime getNextFrom() { return nextFrom; }
+
+    public boolean hasNext() {
+        return nextFrom != null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.inditex.price.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tramo continuo del historial de un producto durante el cual gana la misma
+ * tarifa. Los extremos son inclusivos
+ */
+public class PriceSegment {
+
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final Price price;
+
+    public PriceSegment(LocalDateTime startDate, LocalDateTime endDate, Price price) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("El tramo debe tener un inicio no posterior a su fin");
+        }
+        if (price == null) {
+            throw new IllegalArgumentException("El tramo debe tener una tarifa");
+        }
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.price = price;
+    }
+
+    public LocalDateTime getStartDate() { return startDate; }
+    public LocalDateTime getEndDate() { return endDate; }
+    public Price getPrice() { return price; }
+
+    @Override
+    public String toString() {
+        return "PriceSegment{" +
+                "period=" + startDate + " to " + endDate +
+                ", price=" + price +
+                '}';
+    }
+}
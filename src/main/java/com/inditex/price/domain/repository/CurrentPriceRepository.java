@@ -0,0 +1,28 @@
+package com.inditex.price.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import com.inditex.price.domain.model.CurrentPrice;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+
+/**
+ * Repositorio del dominio para el precio vigente materializado (Puerto)
+ * Solo responde fechas cercanas al instante actual; el resto de consultas
+ * deben resolverse con PriceRepository
+ */
+public interface CurrentPriceRepository {
+
+    /**
+     * Obtiene el precio vigente de un producto de una marca si la fecha es
+     * cercana al instante actual
+     * 
+     * @param productId       identificador del producto
+     * @param brandId         identificador de la marca/cadena
+     * @param applicationDate fecha de aplicación del precio
+     * @return precio vigente que cubre la fecha, o vacío si la fecha está lejos
+     *         del instante actual
+     */
+    Optional<CurrentPrice> findCurrentPrice(ProductId productId, BrandId brandId, LocalDateTime applicationDate);
+}
@@ -2,6 +2,7 @@ package com.inditex.price.domain.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.inditex.price.domain.model.Price;
 import com.inditex.price.domain.valueobject.BrandId;
@@ -24,4 +25,67 @@ public interface PriceRepository {
      */
     List<Price> findApplicablePrices(ProductId productId, BrandId brandId, LocalDateTime applicationDate);
 
-}
\ No newline at end of file
+    /**
+     * Obtiene todas las tarifas de un producto de una marca, sin filtrar por
+     * fecha, ordenadas por fecha de inicio
+     * 
+     * @param productId identificador del producto
+     * @param brandId   identificador de la marca/cadena
+     * @return lista de tarifas del producto
+     */
+    List<Price> findAllPrices(ProductId productId, BrandId brandId);
+
+    /**
+     * Recorre las tarifas aplicables en una fecha de todos los productos de una
+     * marca, entregándolas agrupadas por producto en orden ascendente y sin
+     * cargarlas todas en memoria
+     * 
+     * @param brandId         identificador de la marca/cadena
+     * @param applicationDate fecha de aplicación del precio
+     * @param consumer        receptor de cada tarifa aplicable
+     */
+    void forEachApplicablePrice(BrandId brandId, LocalDateTime applicationDate, Consumer<Price> consumer);
+
+    /**
+     * Obtiene, en orden de fecha de inicio e identificador, las tarifas de un
+     * producto situadas estrictamente después de la posición (afterStartDate,
+     * afterId) y que empiezan como muy tarde en until. Permite recorrer
+     * historiales largos por páginas sin offsets
+     * 
+     * @param productId      identificador del producto
+     * @param brandId        identificador de la marca/cadena
+     * @param afterStartDate fecha de inicio de la última tarifa ya leída
+     * @param afterId        identificador de la última tarifa ya leída
+     * @param until          fecha de inicio máxima
+     * @param limit          número máximo de tarifas
+     * @return página de tarifas
+     */
+    List<Price> findPricesStartingAfter(ProductId productId, BrandId brandId, LocalDateTime afterStartDate,
+            long afterId, LocalDateTime until, int limit);
+
+    /**
+     * Recorre, agrupadas por producto en orden ascendente, las tarifas vigentes
+     * en algún momento de [from, to] de los productos de la marca que tienen
+     * algún inicio o fin de tarifa en (from, to]. El resto de productos no
+     * puede cambiar de precio entre ambos instantes y no se visita
+     * 
+     * @param brandId  identificador de la marca/cadena
+     * @param from     primer instante
+     * @param to       segundo instante, posterior a from
+     * @param consumer receptor de cada tarifa
+     */
+    void forEachPriceOfProductsChangingBetween(BrandId brandId, LocalDateTime from, LocalDateTime to,
+            Consumer<Price> consumer);
+
+    /**
+     * Indica si las tarifas de marcas distintas están en almacenes distintos,
+     * de modo que sus consultas pueden resolverse en paralelo sin competir por
+     * la misma base de datos
+     * 
+     * @return true si el almacenamiento está repartido por marca
+     */
+    default boolean isPartitionedByBrand() {
+        return false;
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.inditex.price.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+
+/**
+ * Repositorio del dominio para versiones anteriores del catálogo (Puerto)
+ * Resuelve las consultas con las tarifas que se conocían en una versión
+ * concreta del catálogo en lugar de con las actuales
+ */
+public interface VersionedPriceRepository {
+
+    /**
+     * Indica si se conservan versiones del catálogo
+     *
+     * @return false si las consultas por versión no están disponibles
+     */
+    boolean isEnabled();
+
+    /**
+     * Busca los precios aplicables para un producto de una marca en una fecha
+     * según las tarifas de una versión del catálogo
+     *
+     * @param productId       identificador del producto
+     * @param brandId         identificador de la marca/cadena
+     * @param applicationDate fecha de aplicación del precio
+     * @param version         versión del catálogo
+     * @return lista de precios aplicables en esa versión, o vacío si la
+     *         versión no existe o ya no se conserva
+     */
+    Optional<List<Price>> findApplicablePricesAsOf(ProductId productId, BrandId brandId,
+            LocalDateTime applicationDate, long version);
+}
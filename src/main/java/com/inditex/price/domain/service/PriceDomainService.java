@@ -3,10 +3,18 @@ package com.inditex.price.domain.service;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Service;
+import com.inditex.price.domain.model.CurrentPrice;
+import com.inditex.price.domain.model.EpochTime;
 import com.inditex.price.domain.model.Price;
-import java.util.Comparator;
+import com.inditex.price.domain.model.PriceHistoryPage;
+import com.inditex.price.domain.model.PriceSegment;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -18,6 +26,15 @@ public class PriceDomainService {
 
     private static final Logger logger = LogManager.getLogger(PriceDomainService.class);
 
+    /**
+     * Orden de selección de tarifas: mayor prioridad y, si hay empate, la de
+     * fecha de inicio más tardía. Compara los valores primitivos de epoch en
+     * lugar de los LocalDateTime
+     */
+    public static final Comparator<Price> PRIORITY_ORDER = Comparator
+            .comparingInt((Price price) -> price.getPriority().getValue())
+            .thenComparingLong(Price::getStartEpoch);
+
     /**
      * Selecciona el precio con mayor prioridad
      * 
@@ -33,10 +50,117 @@ public class PriceDomainService {
 
         // Si hay empate en prioridad, se selecciona el más reciente (fecha inicio más
         // tardía)
-        Optional<Price> selectedPrice = applicablePrices.stream()
-                .max(Comparator.comparingInt((Price price) -> price.getPriority().getValue())
-                        .thenComparing(price -> price.getStartDate()));
+        Optional<Price> selectedPrice = applicablePrices.stream().max(PRIORITY_ORDER);
         logger.info("Precio seleccionado con mayor prioridad: {}", selectedPrice.orElse(null));
         return selectedPrice;
     }
-}
\ No newline at end of file
+
+    /**
+     * Resuelve el historial de un producto como tramos consecutivos con su
+     * tarifa ganadora, recorriendo una sola vez los límites de las tarifas
+     * 
+     * @param activeAtFrom tarifas aplicables en from
+     * @param upcoming     tarifas con inicio posterior a from y no posterior a
+     *                     to, en orden de fecha de inicio
+     * @param from         inicio del rango (inclusivo)
+     * @param to           fin del rango (inclusivo)
+     * @param maxSegments  número máximo de tramos de la página
+     * @return tramos del rango y, si no caben todos, el inicio del siguiente
+     */
+    public PriceHistoryPage resolveSegments(List<Price> activeAtFrom, Iterator<Price> upcoming,
+            LocalDateTime from, LocalDateTime to, int maxSegments) {
+
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("El inicio del rango no puede ser posterior a su fin");
+        }
+        if (maxSegments <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo");
+        }
+
+        long cursor = EpochTime.toEpochMicros(from);
+        long last = EpochTime.toEpochMicros(to);
+        List<Price> active = new ArrayList<>(activeAtFrom);
+        Price next = upcoming.hasNext() ? upcoming.next() : null;
+        List<PriceSegment> segments = new ArrayList<>();
+
+        Price openPrice = null;
+        long openStart = 0;
+        long openEnd = 0;
+        while (true) {
+            long now = cursor;
+            active.removeIf(price -> price.getEndEpoch() < now);
+            while (next != null && next.getStartEpoch() <= cursor) {
+                active.add(next);
+                next = upcoming.hasNext() ? upcoming.next() : null;
+            }
+
+            // El ganador no cambia hasta que empieza o termina alguna tarifa
+            Price winner = active.stream().max(PRIORITY_ORDER).orElse(null);
+            long nextBoundary = next != null ? next.getStartEpoch() : Long.MAX_VALUE;
+            for (Price price : active) {
+                nextBoundary = Math.min(nextBoundary, afterEnd(price));
+            }
+            long end = nextBoundary == Long.MAX_VALUE ? last : Math.min(nextBoundary - 1, last);
+
+            if (openPrice != null && winner != null && Objects.equals(openPrice.getId(), winner.getId())) {
+                openEnd = end;
+            } else {
+                if (openPrice != null) {
+                    segments.add(segment(openStart, openEnd, openPrice));
+                }
+                if (winner != null && segments.size() == maxSegments) {
+                    return new PriceHistoryPage(segments, EpochTime.fromEpochMicros(cursor));
+                }
+                openPrice = winner;
+                openStart = cursor;
+                openEnd = end;
+            }
+
+            if (end >= last) {
+                break;
+            }
+            cursor = end + 1;
+        }
+
+        if (openPrice != null) {
+            segments.add(segment(openStart, openEnd, openPrice));
+        }
+        return new PriceHistoryPage(segments, null);
+    }
+
+    /**
+     * Resuelve la tarifa ganadora en un instante junto con el intervalo durante
+     * el cual sigue siéndolo: desde el último límite de tarifa no posterior al
+     * instante hasta el primero posterior
+     * 
+     * @param prices      todas las tarifas del producto
+     * @param epochMicros instante de la consulta
+     * @return ganadora, posiblemente ninguna, y su intervalo de vigencia
+     */
+    public CurrentPrice resolveCurrentPrice(List<Price> prices, long epochMicros) {
+        Price winner = null;
+        long validFrom = Long.MIN_VALUE;
+        long validUntil = Long.MAX_VALUE;
+        for (Price price : prices) {
+            for (long boundary : new long[] { price.getStartEpoch(), afterEnd(price) }) {
+                if (boundary <= epochMicros) {
+                    validFrom = Math.max(validFrom, boundary);
+                } else {
+                    validUntil = Math.min(validUntil, boundary);
+                }
+            }
+            if (price.isApplicableAt(epochMicros) && (winner == null || PRIORITY_ORDER.compare(price, winner) > 0)) {
+                winner = price;
+            }
+        }
+        return new CurrentPrice(winner, validFrom, validUntil);
+    }
+
+    private static long afterEnd(Price price) {
+        return price.getEndEpoch() == Long.MAX_VALUE ? Long.MAX_VALUE : price.getEndEpoch() + 1;
+    }
+
+    private static PriceSegment segment(long start, long end, Price price) {
+        return new PriceSegment(EpochTime.fromEpochMicros(start), EpochTime.fromEpochMicros(end), price);
+    }
+}
@@ -0,0 +1,68 @@
+package com.inditex.price.infrastructure.archive;
+
+import java.time.LocalDateTime;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Horizonte de la partición de archivo PRICES_ARCHIVE
+ *
+ * Las tarifas archivadas terminan como muy tarde en el horizonte, así que solo
+ * una fecha de aplicación no posterior a él puede necesitar el archivo; el
+ * resto de consultas leen únicamente PRICES. El archivador lo adelanta antes
+ * de confirmar cada lote y se relee periódicamente de la tabla para recoger
+ * lo archivado por otras instancias. Nunca retrocede
+ */
+@Component
+public class PriceArchive {
+
+    private static final Logger logger = LogManager.getLogger(PriceArchive.class);
+
+    private static final String HORIZON_SQL = "SELECT MAX(END_DATE) FROM PRICES_ARCHIVE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile LocalDateTime horizon;
+
+    public PriceArchive(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Indica si una consulta en la fecha puede encontrar tarifas archivadas
+     */
+    public boolean covers(LocalDateTime applicationDate) {
+        LocalDateTime current = horizon;
+        return current != null && !applicationDate.isAfter(current);
+    }
+
+    /**
+     * Último fin de tarifa que puede estar archivado, null sin archivo
+     */
+    public LocalDateTime getHorizon() {
+        return horizon;
+    }
+
+    public synchronized void extendTo(LocalDateTime endDate) {
+        if (horizon == null || endDate.isAfter(horizon)) {
+            horizon = endDate;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${price.archive.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            LocalDateTime archived = jdbcTemplate.queryForObject(HORIZON_SQL, LocalDateTime.class);
+            if (archived != null) {
+                extendTo(archived);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("No se pudo leer el horizonte del archivo de tarifas: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.inditex.price.infrastructure.archive;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.inditex.price.infrastructure.changes.PriceChangeLog;
+import com.inditex.price.infrastructure.changes.PriceChangeType;
+import com.inditex.price.infrastructure.persitence.mappers.PriceRowMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Traslada a PRICES_ARCHIVE las tarifas caducadas hace más de retentionDays
+ * días para que PRICES y su índice solo contengan el catálogo vivo
+ *
+ * Cada lote de batchSize tarifas se copia, se registra como borrado en
+ * PRICE_CHANGES y se elimina de PRICES en una única transacción, de modo que
+ * los índices en memoria y las réplicas las descartan como cualquier otro
+ * borrado. El horizonte del archivo se adelanta antes de confirmar el lote:
+ * una consulta histórica nunca deja de ver una tarifa entre las dos tablas
+ */
+@Component
+@ConditionalOnProperty(name = "price.archive.enabled", havingValue = "true")
+public class PriceArchiver {
+
+    private static final Logger logger = LogManager.getLogger(PriceArchiver.class);
+
+    private static final String EXPIRED_SQL = "SELECT ID, BRAND_ID, PRODUCT_ID FROM PRICES "
+            + "WHERE END_DATE < ? ORDER BY ID FETCH FIRST ? ROWS ONLY";
+    private static final String COPY_SQL = "INSERT INTO PRICES_ARCHIVE (" + PriceRowMapper.COLUMNS + ") "
+            + "SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES WHERE ID = ?";
+    private static final String DELETE_SQL = "DELETE FROM PRICES WHERE ID = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PriceChangeLog priceChangeLog;
+    private final PriceArchive priceArchive;
+    private final Clock clock;
+    private final long retentionDays;
+    private final int batchSize;
+    private final Timer archiveTimer;
+    private final Counter archivedRows;
+
+    public PriceArchiver(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            PriceChangeLog priceChangeLog,
+            PriceArchive priceArchive,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${price.archive.retention-days:30}") long retentionDays,
+            @Value("${price.archive.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.priceChangeLog = priceChangeLog;
+        this.priceArchive = priceArchive;
+        this.clock = clock;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+
+        this.archiveTimer = Timer.builder("price.archive")
+                .description("Duración de cada pasada de archivado de tarifas caducadas")
+                .register(meterRegistry);
+        this.archivedRows = Counter.builder("price.archive.rows")
+                .description("Tarifas caducadas trasladadas a PRICES_ARCHIVE")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Archiva por lotes todas las tarifas que terminaron antes del corte
+     *
+     * @return número de tarifas archivadas
+     */
+    @Scheduled(fixedDelayString = "${price.archive.interval-ms:3600000}")
+    public synchronized int archive() {
+        long start = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now(clock).minusDays(retentionDays);
+        int total = 0;
+        int archived;
+        do {
+            archived = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += archived;
+            archivedRows.increment(archived);
+        } while (archived == batchSize);
+
+        archiveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (total > 0) {
+            logger.info("Archivadas {} tarifas terminadas antes de {} en {}ms", total, cutoff,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Object[]> expired = jdbcTemplate.query(EXPIRED_SQL,
+                (rs, rowNum) -> new Object[] { rs.getLong("ID"), rs.getLong("BRAND_ID"), rs.getLong("PRODUCT_ID") },
+                Timestamp.valueOf(cutoff), batchSize);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> ids = new ArrayList<>(expired.size());
+        for (Object[] price : expired) {
+            ids.add(new Object[] { price[0] });
+        }
+        priceArchive.extendTo(cutoff);
+        jdbcTemplate.batchUpdate(COPY_SQL, ids);
+        priceChangeLog.recordAll(PriceChangeType.DELETE, expired);
+        jdbcTemplate.batchUpdate(DELETE_SQL, ids);
+        return expired.size();
+    }
+}
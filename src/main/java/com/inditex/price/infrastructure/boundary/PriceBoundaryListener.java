@@ -0,0 +1,25 @@
+package com.inditex.price.infrastructure.boundary;
+
+import com.inditex.price.infrastructure.index.PriceKey;
+
+/**
+ * Receptor de los límites de tarifa: instantes en los que empieza o deja de
+ * aplicarse alguna tarifa de un producto y, por tanto, puede cambiar su precio
+ */
+public interface PriceBoundaryListener {
+
+    /**
+     * @param key         marca y producto afectados
+     * @param epochMicros instante del límite (ver EpochTime); el precio
+     *                    aplicable desde ese instante es el nuevo
+     */
+    void onPriceBoundary(PriceKey key, long epochMicros);
+
+    /**
+     * Antelación con la que el receptor quiere ser avisado de cada límite. El
+     * aviso llega en epochMicros menos la antelación; por defecto, en el límite
+     */
+    default long leadTimeMicros() {
+        return 0L;
+    }
+}
@@ -0,0 +1,267 @@
+package com.inditex.price.infrastructure.boundary;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangeListener;
+import com.inditex.price.infrastructure.index.PriceKey;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Planificador de límites de tarifa
+ *
+ * Mantiene en una rueda de temporización los instantes en los que empieza o
+ * deja de aplicarse alguna tarifa dentro del horizonte configurado y avisa a
+ * los PriceBoundaryListener cuando llegan, en lugar de sondear la base de
+ * datos. El horizonte se amplía por ventanas consecutivas (a, b], de modo que
+ * cada límite se lee una sola vez, y los cambios capturados en PRICES
+ * programan los límites de las tarifas nuevas o modificadas
+ *
+ * Cada receptor puede pedir ser avisado con antelación; el límite se programa
+ * una vez por cada antelación distinta y el horizonte leído se alarga en la
+ * mayor de ellas. Una tarifa deja de aplicarse un microsegundo después de su
+ * END_DATE, que es inclusiva. Los límites que ya no correspondan a ninguna tarifa (borradas o
+ * modificadas) se entregan igualmente; los receptores comparan el precio a
+ * ambos lados del límite
+ */
+@Component
+@ConditionalOnProperty(name = "price.boundaries.enabled", havingValue = "true", matchIfMissing = true)
+public class PriceBoundaryScheduler implements PriceChangeListener {
+
+    private static final Logger logger = LogManager.getLogger(PriceBoundaryScheduler.class);
+
+    private static final String WINDOW_SQL = "SELECT BRAND_ID, PRODUCT_ID, START_DATE, END_DATE FROM PRICES "
+            + "WHERE (START_DATE > ? AND START_DATE <= ?) OR (END_DATE >= ? AND END_DATE < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, List<PriceBoundaryListener>> listenersByLead = new TreeMap<>();
+    private final long maxLeadMicros;
+    private final Clock clock;
+    private final long tickMillis;
+    private final long horizonMicros;
+    private final long refreshMillis;
+    private final TimerWheel<Boundary> wheel;
+    private final Set<Boundary> scheduled = ConcurrentHashMap.newKeySet();
+    private final Counter firedCounter;
+
+    private ScheduledExecutorService timer;
+    private volatile long loadedUntil;
+
+    public PriceBoundaryScheduler(JdbcTemplate jdbcTemplate,
+            List<PriceBoundaryListener> listeners,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${price.boundaries.tick-ms:100}") long tickMillis,
+            @Value("${price.boundaries.wheel-size:4096}") int wheelSize,
+            @Value("${price.boundaries.horizon-minutes:60}") long horizonMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (PriceBoundaryListener listener : listeners) {
+            listenersByLead.computeIfAbsent(Math.max(0L, listener.leadTimeMicros()), lead -> new ArrayList<>())
+                    .add(listener);
+        }
+        this.maxLeadMicros = listenersByLead.keySet().stream().mapToLong(Long::longValue).max().orElse(0L);
+        this.clock = clock;
+        this.tickMillis = tickMillis;
+        this.horizonMicros = TimeUnit.MINUTES.toMicros(horizonMinutes);
+        this.refreshMillis = Math.max(tickMillis, TimeUnit.MINUTES.toMillis(horizonMinutes) / 2);
+        this.loadedUntil = nowMicros();
+        this.wheel = new TimerWheel<>(TimeUnit.MILLISECONDS.toMicros(tickMillis), wheelSize, loadedUntil);
+        this.firedCounter = Counter.builder("price.boundaries.fired")
+                .description("Límites de tarifa entregados a los receptores")
+                .register(meterRegistry);
+        Gauge.builder("price.boundaries.pending", wheel, TimerWheel::size)
+                .description("Límites de tarifa programados pendientes de llegar")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Arranca el temporizador una vez inicializado el esquema de base de datos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (timer != null) {
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-boundary-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::extendHorizon, 0L, refreshMillis, TimeUnit.MILLISECONDS);
+        timer.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        logger.info("Planificador de límites de tarifa iniciado - Tick: {}ms, Horizonte: {} min",
+                tickMillis, TimeUnit.MICROSECONDS.toMinutes(horizonMicros));
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+        }
+    }
+
+    /**
+     * Programa los límites de las tarifas modificadas que caen dentro del
+     * horizonte ya cargado. Los posteriores se leerán al ampliarlo
+     */
+    @Override
+    public void onPriceChanges(List<PriceChange> changes) {
+        long now = nowMicros();
+        long until = loadedUntil;
+        for (PriceChange change : changes) {
+            Price price = change.getPrice();
+            if (price != null) {
+                scheduleIfWithin(change.getKey(), price.getStartEpoch(), now, until);
+                scheduleIfWithin(change.getKey(), endBoundary(price.getEndEpoch()), now, until);
+            }
+        }
+    }
+
+    /**
+     * Avanza la rueda hasta el instante actual y entrega los límites vencidos
+     *
+     * @return número de límites entregados
+     */
+    public int tick() {
+        try {
+            return wheel.advance(nowMicros(), this::fire);
+        } catch (RuntimeException e) {
+            logger.error("Error entregando límites de tarifa: {}", e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * Lee de PRICES los límites de la ventana (loadedUntil, ahora + horizonte +
+     * mayor antelación]
+     *
+     * @return número de límites programados
+     */
+    public synchronized int extendHorizon() {
+        long from = loadedUntil;
+        long until = nowMicros() + horizonMicros + maxLeadMicros;
+        if (until <= from) {
+            return 0;
+        }
+        Timestamp fromDate = Timestamp.valueOf(EpochTime.fromEpochMicros(from));
+        Timestamp untilDate = Timestamp.valueOf(EpochTime.fromEpochMicros(until));
+        int[] added = new int[1];
+        try {
+            jdbcTemplate.query(WINDOW_SQL, (RowCallbackHandler) rs -> {
+                PriceKey key = new PriceKey(rs.getLong(1), rs.getLong(2));
+                added[0] += scheduleIfWithin(key, EpochTime.toEpochMicros(rs.getTimestamp(3).toLocalDateTime()),
+                        from, until) ? 1 : 0;
+                added[0] += scheduleIfWithin(key,
+                        endBoundary(EpochTime.toEpochMicros(rs.getTimestamp(4).toLocalDateTime())), from, until)
+                                ? 1 : 0;
+            }, fromDate, untilDate, fromDate, untilDate);
+        } catch (RuntimeException e) {
+            logger.error("Error cargando límites de tarifa hasta {}: {}", untilDate, e.getMessage(), e);
+            return 0;
+        }
+        loadedUntil = until;
+        logger.debug("Programados {} límites de tarifa hasta {}", added[0], untilDate);
+        return added[0];
+    }
+
+    public int getPendingBoundaries() {
+        return wheel.size();
+    }
+
+    private boolean scheduleIfWithin(PriceKey key, long epochMicros, long after, long until) {
+        if (epochMicros <= after || epochMicros > until) {
+            return false;
+        }
+        boolean added = false;
+        for (long lead : listenersByLead.keySet()) {
+            Boundary boundary = new Boundary(key, epochMicros, lead);
+            if (scheduled.add(boundary)) {
+                // Si el aviso anticipado ya ha pasado, la rueda lo entrega en el siguiente tick
+                wheel.schedule(epochMicros - lead, boundary);
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    private void fire(Boundary boundary) {
+        scheduled.remove(boundary);
+        firedCounter.increment();
+        for (PriceBoundaryListener listener : listenersByLead.get(boundary.leadMicros)) {
+            try {
+                listener.onPriceBoundary(boundary.key, boundary.epochMicros);
+            } catch (RuntimeException e) {
+                logger.error("Error entregando el límite {} a {}: {}", boundary.key,
+                        listener.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private long nowMicros() {
+        return EpochTime.toEpochMicros(LocalDateTime.now(clock));
+    }
+
+    private static long endBoundary(long endEpoch) {
+        return endEpoch == Long.MAX_VALUE ? Long.MAX_VALUE : endEpoch + 1;
+    }
+
+    /**
+     * Instante en el que puede cambiar el precio de un producto, con la
+     * antelación de los receptores a los que se avisa
+     */
+    private static final class Boundary {
+
+        private final PriceKey key;
+        private final long epochMicros;
+        private final long leadMicros;
+
+        private Boundary(PriceKey key, long epochMicros, long leadMicros) {
+            this.key = key;
+            this.epochMicros = epochMicros;
+            this.leadMicros = leadMicros;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            Boundary that = (Boundary) obj;
+            return epochMicros == that.epochMicros && leadMicros == that.leadMicros && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, epochMicros, leadMicros);
+        }
+    }
+}
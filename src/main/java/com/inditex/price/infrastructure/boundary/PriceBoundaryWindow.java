@@ -0,0 +1,64 @@
+package com.inditex.price.infrastructure.boundary;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.domain.model.EpochTime;
+
+/**
+ * Ventana temporal alrededor de los límites de tarifa próximos
+ *
+ * Se abre desde window segundos antes de un límite hasta window segundos
+ * después; permite separar las métricas de las consultas que llegan junto a un
+ * cambio de tarifa del resto. Los límites se anuncian en orden temporal, por
+ * lo que basta con un único intervalo que se amplía o se reemplaza
+ */
+@Component
+public class PriceBoundaryWindow {
+
+    private final Clock clock;
+    private final long windowMicros;
+
+    private volatile long openFrom = Long.MAX_VALUE;
+    private volatile long openUntil = Long.MIN_VALUE;
+
+    public PriceBoundaryWindow(Clock clock,
+            @Value("${price.prewarm.window-seconds:60}") long windowSeconds) {
+        this.clock = clock;
+        this.windowMicros = TimeUnit.SECONDS.toMicros(windowSeconds);
+    }
+
+    /**
+     * Anuncia un límite próximo
+     */
+    public synchronized void announce(long boundaryEpochMicros) {
+        long from = boundaryEpochMicros - windowMicros;
+        long until = boundaryEpochMicros + windowMicros;
+        if (from > openUntil) {
+            openFrom = from;
+            openUntil = until;
+        } else {
+            openFrom = Math.min(openFrom, from);
+            openUntil = Math.max(openUntil, until);
+        }
+    }
+
+    /**
+     * Indica si el instante actual está cerca de algún límite anunciado
+     */
+    public boolean isOpen() {
+        if (openUntil == Long.MIN_VALUE) {
+            return false;
+        }
+        long now = EpochTime.toEpochMicros(LocalDateTime.now(clock));
+        return now >= openFrom && now <= openUntil;
+    }
+
+    public long getWindowMicros() {
+        return windowMicros;
+    }
+}
@@ -0,0 +1,111 @@
+package com.inditex.price.infrastructure.boundary;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Rueda de temporización (hashed timer wheel) sobre microsegundos de epoch
+ *
+ * Cada plazo se guarda en la casilla de su tick, redondeado hacia arriba para
+ * no vencer nunca antes de tiempo; los plazos de vueltas posteriores comparten
+ * casilla y esperan a su tick. Programar cuesta O(1) desde cualquier hilo y
+ * avanzar solo recorre las casillas de los ticks transcurridos, sin importar
+ * cuántos plazos haya pendientes. advance solo debe llamarse desde un único hilo
+ */
+public final class TimerWheel<T> {
+
+    private final long tickMicros;
+    private final int mask;
+    private final ArrayDeque<Timeout<T>>[] buckets;
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private long processedTick;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMicros, int wheelSize, long startEpochMicros) {
+        if (tickMicros <= 0 || wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("El tick debe ser positivo y el tamaño una potencia de dos");
+        }
+        this.tickMicros = tickMicros;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayDeque[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.processedTick = Math.floorDiv(startEpochMicros, tickMicros);
+    }
+
+    /**
+     * Programa el payload para el instante dado. Un instante ya pasado vence en
+     * el siguiente tick
+     */
+    public void schedule(long deadlineEpochMicros, T payload) {
+        pending.add(new Timeout<>(ceilTick(deadlineEpochMicros), deadlineEpochMicros, payload));
+        size.incrementAndGet();
+    }
+
+    /**
+     * Avanza la rueda hasta el instante dado entregando los payloads vencidos
+     *
+     * @return número de payloads entregados
+     */
+    public int advance(long nowEpochMicros, Consumer<T> onExpired) {
+        long nowTick = Math.floorDiv(nowEpochMicros, tickMicros);
+        transferPending();
+
+        int fired = 0;
+        // Tras un salto mayor que una vuelta basta con visitar cada casilla una vez
+        long ticks = Math.min(nowTick - processedTick, buckets.length);
+        for (long i = 1; i <= ticks; i++) {
+            Iterator<Timeout<T>> bucket = buckets[(int) ((processedTick + i) & mask)].iterator();
+            while (bucket.hasNext()) {
+                Timeout<T> timeout = bucket.next();
+                if (timeout.tick <= nowTick) {
+                    bucket.remove();
+                    size.decrementAndGet();
+                    onExpired.accept(timeout.payload);
+                    fired++;
+                }
+            }
+        }
+        processedTick = Math.max(processedTick, nowTick);
+        return fired;
+    }
+
+    /**
+     * Plazos programados pendientes de vencer
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private void transferPending() {
+        Timeout<T> timeout;
+        while ((timeout = pending.poll()) != null) {
+            // Los plazos de ticks ya procesados van a la siguiente casilla
+            long tick = Math.max(timeout.tick, processedTick + 1);
+            buckets[(int) (tick & mask)].add(new Timeout<>(tick, timeout.deadline, timeout.payload));
+        }
+    }
+
+    private long ceilTick(long epochMicros) {
+        return -Math.floorDiv(-epochMicros, tickMicros);
+    }
+
+    private static final class Timeout<T> {
+
+        private final long tick;
+        private final long deadline;
+        private final T payload;
+
+        private Timeout(long tick, long deadline, T payload) {
+            this.tick = tick;
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+    }
+}
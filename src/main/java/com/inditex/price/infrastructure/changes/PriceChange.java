@@ -0,0 +1,63 @@
+package com.inditex.price.infrastructure.changes;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.infrastructure.index.PriceKey;
+
+/**
+ * Cambio capturado sobre una tarifa de PRICES
+ *
+ * El precio es el estado actual de la fila en el momento de la lectura del
+ * log, no el de la operación original, por lo que aplicar varias veces el
+ * mismo cambio o aplicarlos fuera de orden converge al estado de la base de
+ * datos. Si la fila ya no existe el precio es null y el cambio es un borrado
+ */
+public final class PriceChange {
+
+    private final long changeId;
+    private final PriceChangeType type;
+    private final PriceKey key;
+    private final long priceId;
+    private final Price price;
+
+    public PriceChange(long changeId, PriceChangeType type, PriceKey key, long priceId, Price price) {
+        this.changeId = changeId;
+        this.type = type;
+        this.key = key;
+        this.priceId = priceId;
+        this.price = price;
+    }
+
+    public long getChangeId() {
+        return changeId;
+    }
+
+    public PriceChangeType getType() {
+        return type;
+    }
+
+    public PriceKey getKey() {
+        return key;
+    }
+
+    public long getPriceId() {
+        return priceId;
+    }
+
+    public Price getPrice() {
+        return price;
+    }
+
+    public boolean isDeletion() {
+        return price == null;
+    }
+
+    @Override
+    public String toString() {
+        return "PriceChange{" +
+                "changeId=" + changeId +
+                ", type=" + type +
+                ", key=" + key +
+                ", priceId=" + priceId +
+                '}';
+    }
+}
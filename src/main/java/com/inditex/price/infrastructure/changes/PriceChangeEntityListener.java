@@ -0,0 +1,65 @@
+package com.inditex.price.infrastructure.changes;
+
+import java.util.Objects;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.infrastructure.persitence.entity.PriceJpaEntity;
+
+/**
+ * Listener JPA que registra en el log de cambios cada escritura de
+ * PriceJpaEntity hecha a través de Hibernate
+ * Las escrituras por JDBC directo deben registrar sus cambios explícitamente
+ *
+ * Un UPDATE que cambia la marca o el producto registra además un DELETE con la
+ * clave anterior, para que los consumidores retiren la tarifa de ella
+ */
+@Component
+public class PriceChangeEntityListener {
+
+    private final ObjectProvider<PriceChangeLog> priceChangeLog;
+
+    public PriceChangeEntityListener(ObjectProvider<PriceChangeLog> priceChangeLog) {
+        this.priceChangeLog = priceChangeLog;
+    }
+
+    @PostLoad
+    public void afterLoad(PriceJpaEntity entity) {
+        entity.markPersisted();
+    }
+
+    @PostPersist
+    public void afterInsert(PriceJpaEntity entity) {
+        record(PriceChangeType.INSERT, entity);
+        entity.markPersisted();
+    }
+
+    @PostUpdate
+    public void afterUpdate(PriceJpaEntity entity) {
+        Long previousBrandId = entity.getPersistedBrandId();
+        Long previousProductId = entity.getPersistedProductId();
+        if (previousBrandId != null && previousProductId != null
+                && (!Objects.equals(previousBrandId, entity.getBrandId())
+                        || !Objects.equals(previousProductId, entity.getProductId()))) {
+            priceChangeLog.getObject().record(PriceChangeType.DELETE, entity.getId(), previousBrandId,
+                    previousProductId);
+        }
+        record(PriceChangeType.UPDATE, entity);
+        entity.markPersisted();
+    }
+
+    @PostRemove
+    public void afterDelete(PriceJpaEntity entity) {
+        record(PriceChangeType.DELETE, entity);
+    }
+
+    private void record(PriceChangeType type, PriceJpaEntity entity) {
+        priceChangeLog.getObject().record(type, entity.getId(), entity.getBrandId(), entity.getProductId());
+    }
+}
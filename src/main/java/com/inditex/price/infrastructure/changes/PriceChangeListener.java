@@ -0,0 +1,31 @@
+package com.inditex.price.infrastructure.changes;
+
+import java.util.List;
+
+import org.springframework.core.Ordered;
+
+/**
+ * Receptor de los cambios capturados en PRICES
+ * Los índices y cachés en memoria lo implementan para aplicar deltas por
+ * producto sin reconstruirse
+ */
+public interface PriceChangeListener {
+
+    /**
+     * Orden de los listeners que guardan una copia de las tarifas (réplicas,
+     * almacén clave-valor): aplican los cambios antes de que el índice relea
+     * las tarifas afectadas a través de ellos
+     */
+    int STORAGE_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    /**
+     * Orden del índice de consultas, por delante de los demás listeners
+     */
+    int INDEX_ORDER = STORAGE_ORDER + 1;
+
+    /**
+     * Recibe un lote de cambios en orden de captura. Debe ser idempotente: un
+     * mismo cambio puede entregarse más de una vez
+     */
+    void onPriceChanges(List<PriceChange> changes);
+}
@@ -0,0 +1,72 @@
+package com.inditex.price.infrastructure.changes;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Escritor del log de cambios PRICE_CHANGES
+ * Usa JdbcTemplate para participar en la transacción en curso, de modo que el
+ * registro del cambio se confirma o se deshace junto con la escritura en PRICES
+ */
+@Component
+public class PriceChangeLog {
+
+    private static final String INSERT_SQL = "INSERT INTO PRICE_CHANGES "
+            + "(PRICE_ID, BRAND_ID, PRODUCT_ID, CHANGE_TYPE, CHANGED_AT) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_BY_NATURAL_KEY_SQL = "INSERT INTO PRICE_CHANGES "
+            + "(PRICE_ID, BRAND_ID, PRODUCT_ID, CHANGE_TYPE, CHANGED_AT) "
+            + "SELECT ID, BRAND_ID, PRODUCT_ID, ?, ? FROM PRICES "
+            + "WHERE BRAND_ID = ? AND PRODUCT_ID = ? AND PRICE_LIST = ? AND START_DATE = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PriceChangeLog(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void record(PriceChangeType type, long priceId, long brandId, long productId) {
+        jdbcTemplate.update(INSERT_SQL, priceId, brandId, productId, type.name(),
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Registra en lote los cambios de escrituras JDBC sobre tarifas conocidas
+     *
+     * @param prices ID, BRAND_ID y PRODUCT_ID de cada tarifa
+     */
+    public void recordAll(PriceChangeType type, List<Object[]> prices) {
+        if (prices.isEmpty()) {
+            return;
+        }
+        Timestamp changedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(prices.size());
+        for (Object[] price : prices) {
+            args.add(new Object[] { price[0], price[1], price[2], type.name(), changedAt });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    /**
+     * Registra en lote los cambios de escrituras JDBC que no conocen el ID de
+     * la tarifa, localizándola por su clave natural
+     *
+     * @param naturalKeys BRAND_ID, PRODUCT_ID, PRICE_LIST y START_DATE de cada tarifa
+     */
+    public void recordByNaturalKey(PriceChangeType type, List<Object[]> naturalKeys) {
+        if (naturalKeys.isEmpty()) {
+            return;
+        }
+        Timestamp changedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(naturalKeys.size());
+        for (Object[] key : naturalKeys) {
+            args.add(new Object[] { type.name(), changedAt, key[0], key[1], key[2], key[3] });
+        }
+        jdbcTemplate.batchUpdate(INSERT_BY_NATURAL_KEY_SQL, args);
+    }
+}
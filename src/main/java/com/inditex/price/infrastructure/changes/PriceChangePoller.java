@@ -0,0 +1,229 @@
+package com.inditex.price.infrastructure.changes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.infrastructure.index.PriceKey;
+import com.inditex.price.infrastructure.persitence.entity.PriceChangeJpaEntity;
+import com.inditex.price.infrastructure.persitence.entity.PriceChangeWatermarkJpaEntity;
+import com.inditex.price.infrastructure.persitence.entity.PriceJpaEntity;
+import com.inditex.price.infrastructure.persitence.mappers.PriceEntityMapper;
+import com.inditex.price.infrastructure.persitence.repositories.PriceChangeJpaRepository;
+import com.inditex.price.infrastructure.persitence.repositories.PriceChangeWatermarkJpaRepository;
+import com.inditex.price.infrastructure.persitence.repositories.PriceJpaRepository;
+
+/**
+ * Consumidor del log de cambios PRICE_CHANGES
+ *
+ * Lee por lotes los cambios posteriores a su marca de agua, relee el estado
+ * actual de las filas afectadas y lo entrega a los PriceChangeListener
+ * registrados. Como un identificador de cambio puede confirmarse después de
+ * otro mayor, la marca de agua no avanza sobre un hueco hasta que se rellena o
+ * vence gapTimeout (transacción deshecha); mientras tanto los cambios
+ * posteriores se reentregan, lo que es inocuo porque llevan el estado actual
+ *
+ * El lote y el estado actual se leen en una transacción de lectura y
+ * escritura para que salgan siempre del primario: una réplica de lectura
+ * todavía no tiene los cambios que se van a entregar
+ *
+ * Cada purgeInterval la marca de agua se guarda en PRICE_CHANGE_WATERMARK y se
+ * borran los cambios consumidos fuera de la retención, haya o no escrituras.
+ * Se guarda la marca de agua de la pasada anterior, con un intervalo de margen
+ * para que los listeners que escriben por lotes (log de eventos) hayan hecho
+ * duraderos los cambios entregados. Al arrancar se reanuda desde la marca
+ * guardada; lo que se reentrega de más es inocuo
+ */
+@Component
+@ConditionalOnProperty(name = "price.changes.enabled", havingValue = "true", matchIfMissing = true)
+public class PriceChangePoller {
+
+    private static final Logger logger = LogManager.getLogger(PriceChangePoller.class);
+
+    private final PriceChangeJpaRepository priceChangeJpaRepository;
+    private final PriceChangeWatermarkJpaRepository priceChangeWatermarkJpaRepository;
+    private final PriceJpaRepository priceJpaRepository;
+    private final PriceEntityMapper priceEntityMapper;
+    private final List<PriceChangeListener> listeners;
+    private final TransactionTemplate primaryTransaction;
+    private final int batchSize;
+    private final long gapTimeoutMillis;
+    private final long retentionMinutes;
+
+    private long watermark;
+    private boolean restored;
+    private long pendingGapId = -1;
+    private long pendingGapSince;
+    private long durableWatermark = -1;
+
+    public PriceChangePoller(PriceChangeJpaRepository priceChangeJpaRepository,
+            PriceChangeWatermarkJpaRepository priceChangeWatermarkJpaRepository,
+            PriceJpaRepository priceJpaRepository,
+            PriceEntityMapper priceEntityMapper,
+            List<PriceChangeListener> listeners,
+            PlatformTransactionManager transactionManager,
+            @Value("${price.changes.batch-size:500}") int batchSize,
+            @Value("${price.changes.gap-timeout-ms:5000}") long gapTimeoutMillis,
+            @Value("${price.changes.retention-minutes:60}") long retentionMinutes) {
+        this.priceChangeJpaRepository = priceChangeJpaRepository;
+        this.priceChangeWatermarkJpaRepository = priceChangeWatermarkJpaRepository;
+        this.priceJpaRepository = priceJpaRepository;
+        this.priceEntityMapper = priceEntityMapper;
+        this.listeners = listeners;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    /**
+     * Consume el siguiente lote de cambios
+     *
+     * @return número de cambios entregados a los listeners
+     */
+    @Scheduled(fixedDelayString = "${price.changes.poll-interval-ms:500}")
+    public synchronized int poll() {
+        List<PriceChangeJpaEntity> batch = new ArrayList<>();
+        List<PriceChange> changes = primaryTransaction.execute(status -> {
+            if (!restored) {
+                restoreWatermark();
+            }
+            batch.addAll(priceChangeJpaRepository.findChangesAfter(watermark, PageRequest.of(0, batchSize)));
+            return batch.isEmpty() ? null : toChanges(batch);
+        });
+        if (changes == null) {
+            return 0;
+        }
+
+        for (PriceChangeListener listener : listeners) {
+            try {
+                listener.onPriceChanges(changes);
+            } catch (RuntimeException e) {
+                logger.error("Error aplicando cambios de precios en {}: {}",
+                        listener.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+
+        advanceWatermark(batch);
+        logger.debug("Entregados {} cambios de precios, marca de agua: {}", changes.size(), watermark);
+        return changes.size();
+    }
+
+    public synchronized long getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Guarda como punto de reanudación la marca de agua de la pasada anterior
+     * y elimina los cambios anteriores a ella fuera de la retención
+     */
+    @Scheduled(fixedDelayString = "${price.changes.purge-interval-ms:60000}",
+            initialDelayString = "${price.changes.purge-interval-ms:60000}")
+    public synchronized void purgeConsumed() {
+        if (!restored) {
+            // Sin leer aún la marca guardada, no hay nada consumido que guardar ni borrar
+            return;
+        }
+        long consumed = durableWatermark;
+        durableWatermark = watermark;
+        if (consumed < 0) {
+            return;
+        }
+        priceChangeWatermarkJpaRepository.save(new PriceChangeWatermarkJpaEntity(consumed, LocalDateTime.now()));
+        int purged = priceChangeJpaRepository.deleteConsumed(consumed,
+                LocalDateTime.now().minusMinutes(retentionMinutes));
+        if (purged > 0) {
+            logger.info("Eliminados {} cambios de precios ya consumidos", purged);
+        }
+    }
+
+    /**
+     * Reanuda desde la marca de agua guardada, o desde el principio del log si
+     * no hay ninguna. La purga conserva siempre el último cambio consumido, así
+     * que un log cuyo máximo queda por debajo de la marca se ha recreado y se
+     * lee desde el principio
+     */
+    private void restoreWatermark() {
+        long saved = priceChangeWatermarkJpaRepository.findById(PriceChangeWatermarkJpaEntity.SINGLETON_ID)
+                .map(PriceChangeWatermarkJpaEntity::getChangeId)
+                .orElse(0L);
+        watermark = saved <= priceChangeJpaRepository.findMaxChangeId() ? saved : 0L;
+        restored = true;
+        if (watermark > 0) {
+            logger.info("Log de cambios de precios reanudado desde el cambio {}", watermark);
+        }
+    }
+
+    /**
+     * Convierte el lote en cambios con el estado actual de cada fila, quedándose
+     * con el último registro de cada tarifa y clave. Una tarifa que ha cambiado
+     * de marca o producto se entrega como borrado en la clave anterior
+     */
+    private List<PriceChange> toChanges(List<PriceChangeJpaEntity> batch) {
+        Map<List<Long>, PriceChangeJpaEntity> latestByPriceAndKey = new LinkedHashMap<>();
+        for (PriceChangeJpaEntity change : batch) {
+            List<Long> priceAndKey = List.of(change.getPriceId(), change.getBrandId(), change.getProductId());
+            latestByPriceAndKey.remove(priceAndKey);
+            latestByPriceAndKey.put(priceAndKey, change);
+        }
+
+        Set<Long> priceIds = latestByPriceAndKey.values().stream()
+                .map(PriceChangeJpaEntity::getPriceId)
+                .collect(Collectors.toSet());
+        Map<Long, PriceJpaEntity> currentRows = priceJpaRepository.findAllById(priceIds).stream()
+                .collect(Collectors.toMap(PriceJpaEntity::getId, Function.identity()));
+
+        List<PriceChange> changes = new ArrayList<>(latestByPriceAndKey.size());
+        for (PriceChangeJpaEntity change : latestByPriceAndKey.values()) {
+            PriceJpaEntity row = currentRows.get(change.getPriceId());
+            boolean sameKey = row != null && row.getBrandId().equals(change.getBrandId())
+                    && row.getProductId().equals(change.getProductId());
+            Price current = change.getChangeType() != PriceChangeType.DELETE && sameKey
+                    ? priceEntityMapper.toDomain(row)
+                    : null;
+            changes.add(new PriceChange(change.getId(), change.getChangeType(),
+                    new PriceKey(change.getBrandId(), change.getProductId()), change.getPriceId(), current));
+        }
+        return changes;
+    }
+
+    private void advanceWatermark(List<PriceChangeJpaEntity> batch) {
+        long now = System.currentTimeMillis();
+        for (PriceChangeJpaEntity change : batch) {
+            long expected = watermark + 1;
+            if (change.getId() != expected && !gapExpired(expected, now)) {
+                return;
+            }
+            watermark = change.getId();
+        }
+    }
+
+    private boolean gapExpired(long missingId, long now) {
+        if (pendingGapId != missingId) {
+            pendingGapId = missingId;
+            pendingGapSince = now;
+            return false;
+        }
+        if (now - pendingGapSince < gapTimeoutMillis) {
+            return false;
+        }
+        logger.warn("Se descarta el hueco en el log de cambios a partir del id {}", missingId);
+        return true;
+    }
+}
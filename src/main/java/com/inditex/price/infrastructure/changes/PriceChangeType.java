@@ -0,0 +1,10 @@
+package com.inditex.price.infrastructure.changes;
+
+/**
+ * Tipo de operación registrada en el log de cambios de PRICES
+ */
+public enum PriceChangeType {
+    INSERT,
+    UPDATE,
+    DELETE
+}
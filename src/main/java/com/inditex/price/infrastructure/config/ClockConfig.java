@@ -0,0 +1,20 @@
+package com.inditex.price.infrastructure.config;
+
+import java.time.Clock;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reloj de la aplicación
+ * Las fechas de tarifa son horas locales, por lo que "ahora" se toma en la
+ * zona por defecto del sistema. Se expone como bean para poder fijarlo en tests
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -0,0 +1,31 @@
+package com.inditex.price.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.inditex.price.infrastructure.limit.PriceConcurrencyLimiter;
+
+/**
+ * Registra los límites de concurrencia delante de la consulta de precios
+ * individual y de la consulta por lotes, salvo con price.limiter.enabled=false
+ */
+@Configuration
+@ConditionalOnProperty(name = "price.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final PriceConcurrencyLimiter priceConcurrencyLimiter;
+
+    public ConcurrencyLimitConfig(PriceConcurrencyLimiter priceConcurrencyLimiter) {
+        this.priceConcurrencyLimiter = priceConcurrencyLimiter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(priceConcurrencyLimiter.singleInterceptor())
+                .addPathPatterns("/api/v1/prices");
+        registry.addInterceptor(priceConcurrencyLimiter.batchInterceptor())
+                .addPathPatterns("/api/v1/prices/batch");
+    }
+}
@@ -0,0 +1,30 @@
+package com.inditex.price.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.inditex.price.infrastructure.recording.HotKeyRecorder;
+import com.inditex.price.infrastructure.recording.HotKeyRecordingInterceptor;
+
+/**
+ * Registra la grabación de consultas sobre el endpoint de consulta de precios
+ * cuando price.recorder.enabled está activo
+ */
+@Configuration
+@ConditionalOnProperty(name = "price.recorder.enabled", havingValue = "true")
+public class HotKeyRecordingConfig implements WebMvcConfigurer {
+
+    private final HotKeyRecorder hotKeyRecorder;
+
+    public HotKeyRecordingConfig(HotKeyRecorder hotKeyRecorder) {
+        this.hotKeyRecorder = hotKeyRecorder;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HotKeyRecordingInterceptor(hotKeyRecorder))
+                .addPathPatterns("/api/v1/prices");
+    }
+}
@@ -0,0 +1,24 @@
+package com.inditex.price.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.infrastructure.persitence.adapters.ResilientPriceRepositoryAdapter;
+
+/**
+ * Sin índice en memoria (price.index.enabled=false) las consultas van
+ * directamente a la capa resiliente en lugar de al adaptador JPA
+ */
+@Configuration
+@ConditionalOnProperty(name = "price.index.enabled", havingValue = "false")
+public class PriceRepositoryConfig {
+
+    @Bean
+    @Primary
+    public PriceRepository priceRepository(ResilientPriceRepositoryAdapter resilientPriceRepositoryAdapter) {
+        return resilientPriceRepositoryAdapter;
+    }
+}
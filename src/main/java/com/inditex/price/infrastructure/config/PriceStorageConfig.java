@@ -0,0 +1,64 @@
+package com.inditex.price.infrastructure.config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.infrastructure.archive.PriceArchive;
+import com.inditex.price.infrastructure.kv.PriceKeyValueStore;
+import com.inditex.price.infrastructure.persitence.adapters.KeyValuePriceRepositoryAdapter;
+import com.inditex.price.infrastructure.persitence.adapters.PriceRepositoryAdapter;
+import com.inditex.price.infrastructure.persitence.adapters.ShardedPriceRepositoryAdapter;
+import com.inditex.price.infrastructure.shard.PriceShards;
+
+/**
+ * Acceso directo a la base de datos de precios bajo las capas de índice y
+ * resiliencia: la base de datos principal, los shards por marca con
+ * price.sharding.enabled=true o el almacén clave-valor embebido con
+ * price.kv.enabled=true. El almacén clave-valor es una copia de la base de
+ * datos principal, así que no puede combinarse con los shards
+ *
+ * Los shards son de solo lectura para el servicio: su catálogo se mantiene
+ * fuera de él. La captura de cambios, las ingestas masivas y las recargas
+ * completas del índice solo leen y escriben la base de datos principal, así
+ * que con shards deben quedar desactivadas (price.changes.enabled=false, sin
+ * price.catalog.preload ni ingestas) para no mezclar en el índice tarifas de
+ * la principal con las de los shards
+ */
+@Configuration
+public class PriceStorageConfig {
+
+    private static final Logger logger = LogManager.getLogger(PriceStorageConfig.class);
+
+    public static final String PRICE_STORAGE = "priceStorage";
+
+    @Bean(PRICE_STORAGE)
+    public PriceRepository priceStorage(PriceRepositoryAdapter priceRepositoryAdapter,
+            ObjectProvider<PriceShards> priceShards,
+            ObjectProvider<PriceKeyValueStore> priceKeyValueStore,
+            PriceArchive priceArchive,
+            @Value("${price.changes.enabled:true}") boolean changesEnabled) {
+        PriceKeyValueStore keyValueStore = priceKeyValueStore.getIfAvailable();
+        PriceShards shards = priceShards.getIfAvailable();
+        if (keyValueStore != null && shards != null) {
+            throw new IllegalStateException("price.kv.enabled y price.sharding.enabled no pueden activarse a la vez: "
+                    + "el almacén clave-valor es una copia de la base de datos principal, no de los shards");
+        }
+        if (keyValueStore != null) {
+            return new KeyValuePriceRepositoryAdapter(keyValueStore, priceArchive, priceRepositoryAdapter);
+        }
+        if (shards != null) {
+            if (changesEnabled) {
+                logger.warn("Catálogo repartido en shards con la captura de cambios activa: los cambios de la base "
+                        + "de datos principal se mezclarán en el índice con las tarifas de los shards. "
+                        + "Desactívela con price.changes.enabled=false");
+            }
+            return new ShardedPriceRepositoryAdapter(shards);
+        }
+        return priceRepositoryAdapter;
+    }
+}
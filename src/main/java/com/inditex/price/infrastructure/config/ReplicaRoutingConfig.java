@@ -0,0 +1,41 @@
+package com.inditex.price.infrastructure.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.inditex.price.infrastructure.replica.PriceReplicas;
+import com.inditex.price.infrastructure.replica.ReplicaRoutingDataSource;
+
+/**
+ * Con price.replicas.enabled=true el DataSource de la aplicación enruta las
+ * transacciones de solo lectura a las réplicas. El primario se sigue
+ * configurando con spring.datasource.*; JPA, JdbcTemplate, la inicialización
+ * SQL y las escrituras lo reciben a través del DataSource de enrutado
+ */
+@Configuration
+@ConditionalOnProperty(name = "price.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    public static final String PRIMARY_DATA_SOURCE = "primaryDataSource";
+
+    @Bean(PRIMARY_DATA_SOURCE)
+    public DataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier(PRIMARY_DATA_SOURCE) DataSource primaryDataSource,
+            PriceReplicas priceReplicas) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, priceReplicas);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
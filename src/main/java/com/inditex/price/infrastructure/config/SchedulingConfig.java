@@ -0,0 +1,13 @@
+package com.inditex.price.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas de la aplicación (consumo del log de cambios
+ * de precios, entre otras)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
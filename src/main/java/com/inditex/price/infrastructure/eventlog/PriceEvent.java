@@ -0,0 +1,73 @@
+package com.inditex.price.infrastructure.eventlog;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.infrastructure.index.PriceKey;
+
+/**
+ * Evento del log de eventos de tarifas
+ *
+ * Como los cambios de los que procede, lleva el estado completo de la tarifa
+ * y no la operación, así que aplicar los eventos en orden de secuencia sobre
+ * cualquier estado anterior converge al registrado. En EXPIRE el precio es
+ * null
+ */
+public final class PriceEvent {
+
+    private final long sequence;
+    private final long changeId;
+    private final long recordedAt;
+    private final PriceEventType type;
+    private final PriceKey key;
+    private final long priceId;
+    private final Price price;
+
+    public PriceEvent(long sequence, long changeId, long recordedAt, PriceEventType type, PriceKey key, long priceId,
+            Price price) {
+        this.sequence = sequence;
+        this.changeId = changeId;
+        this.recordedAt = recordedAt;
+        this.type = type;
+        this.key = key;
+        this.priceId = priceId;
+        this.price = price;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getChangeId() {
+        return changeId;
+    }
+
+    public long getRecordedAt() {
+        return recordedAt;
+    }
+
+    public PriceEventType getType() {
+        return type;
+    }
+
+    public PriceKey getKey() {
+        return key;
+    }
+
+    public long getPriceId() {
+        return priceId;
+    }
+
+    public Price getPrice() {
+        return price;
+    }
+
+    @Override
+    public String toString() {
+        return "PriceEvent{" +
+                "sequence=" + sequence +
+                ", changeId=" + changeId +
+                ", type=" + type +
+                ", key=" + key +
+                ", priceId=" + priceId +
+                '}';
+    }
+}
@@ -0,0 +1,150 @@
+package com.inditex.price.infrastructure.eventlog;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.Money;
+import com.inditex.price.domain.valueobject.Priority;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.index.PriceKey;
+
+/**
+ * Formato binario de los eventos en los segmentos del log y en los checkpoints
+ *
+ * Cada registro es [longitud int][CRC32 int][contenido]. El contenido lleva
+ * secuencia, cambio de origen, instante, tipo, tarifa y clave y, salvo en
+ * EXPIRE, el resto de campos con las fechas en microsegundos de EpochTime.
+ * Una longitud imposible, un registro incompleto o un CRC que no coincide
+ * marcan el final de la parte válida: es lo que deja una escritura cortada
+ * por una caída
+ */
+final class PriceEventCodec {
+
+    static final int HEADER_BYTES = 8;
+
+    // Más que cualquier evento real; protege de longitudes basura en un registro corrupto
+    private static final int MAX_PAYLOAD_BYTES = 64 * 1024;
+
+    private PriceEventCodec() {
+    }
+
+    /**
+     * Registro completo, cabecera incluida, listo para escribir
+     */
+    static ByteBuffer encode(PriceEvent event) {
+        byte[] payload = payload(event);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        record.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+        record.flip();
+        return record;
+    }
+
+    /**
+     * Lee el siguiente registro
+     *
+     * @return el evento, o null al final del fichero o de su parte válida
+     */
+    static PriceEvent read(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length <= 0 || length > MAX_PAYLOAD_BYTES) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        int expectedCrc;
+        try {
+            expectedCrc = in.readInt();
+            in.readFully(payload);
+        } catch (EOFException e) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != expectedCrc) {
+            return null;
+        }
+        return decode(new ByteArrayInputStream(payload));
+    }
+
+    private static byte[] payload(PriceEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(event.getSequence());
+            out.writeLong(event.getChangeId());
+            out.writeLong(event.getRecordedAt());
+            out.writeByte(event.getType().ordinal());
+            out.writeLong(event.getPriceId());
+            out.writeLong(event.getKey().getBrandId());
+            out.writeLong(event.getKey().getProductId());
+            Price price = event.getPrice();
+            out.writeBoolean(price != null);
+            if (price != null) {
+                out.writeLong(EpochTime.toEpochMicros(price.getStartDate()));
+                out.writeLong(EpochTime.toEpochMicros(price.getEndDate()));
+                out.writeInt(price.getPriceList());
+                out.writeInt(price.getPriority().getValue());
+                BigDecimal amount = price.getPrice().getAmount();
+                byte[] unscaled = amount.unscaledValue().toByteArray();
+                out.writeInt(amount.scale());
+                out.writeShort(unscaled.length);
+                out.write(unscaled);
+                out.writeUTF(price.getPrice().getCurrency());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static PriceEvent decode(InputStream payload) throws IOException {
+        DataInputStream in = new DataInputStream(payload);
+        long sequence = in.readLong();
+        long changeId = in.readLong();
+        long recordedAt = in.readLong();
+        PriceEventType type = PriceEventType.values()[in.readByte()];
+        long priceId = in.readLong();
+        long brandId = in.readLong();
+        long productId = in.readLong();
+        Price price = null;
+        if (in.readBoolean()) {
+            long startMicros = in.readLong();
+            long endMicros = in.readLong();
+            int priceList = in.readInt();
+            int priority = in.readInt();
+            int scale = in.readInt();
+            byte[] unscaled = new byte[in.readShort()];
+            in.readFully(unscaled);
+            String currency = in.readUTF();
+            price = Price.builder()
+                    .id(priceId)
+                    .brandId(new BrandId(brandId))
+                    .startDate(EpochTime.fromEpochMicros(startMicros))
+                    .endDate(EpochTime.fromEpochMicros(endMicros))
+                    .priceList(priceList)
+                    .productId(new ProductId(productId))
+                    .priority(new Priority(priority))
+                    .price(new Money(new BigDecimal(new BigInteger(unscaled), scale), currency))
+                    .build();
+        }
+        return new PriceEvent(sequence, changeId, recordedAt, type, new PriceKey(brandId, productId), priceId, price);
+    }
+}
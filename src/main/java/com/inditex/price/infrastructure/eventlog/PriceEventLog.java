@@ -0,0 +1,380 @@
+package com.inditex.price.infrastructure.eventlog;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangeListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Log de eventos de tarifas de solo escritura al final, en ficheros binarios
+ *
+ * Cada cambio entregado desde PRICE_CHANGES se añade como un PriceEvent con
+ * una secuencia creciente y su CRC (ver PriceEventCodec) al segmento activo,
+ * que se cierra y se sustituye por otro al superar segmentSizeBytes. Los
+ * segmentos se llaman por la secuencia de su primer evento
+ *
+ * El fsync va por grupos: cada fsyncIntervalMs, o antes si lo pendiente supera
+ * fsyncBatchBytes. Lo que una caída se lleve sin sincronizar sigue en
+ * PRICE_CHANGES y el poller lo vuelve a entregar al arrancar. Al abrir el log
+ * se recorta el final del último segmento a su último registro válido
+ *
+ * El poller empieza de nuevo desde el principio de PRICE_CHANGES en cada
+ * arranque, así que se ignoran los cambios con identificador igual o anterior
+ * al último registrado, que se toma al abrir de los eventos del último
+ * segmento (un segmento solo se abre al escribir en él su primer evento)
+ *
+ * Si una escritura falla, el cambio se pierde para el log: se deja el fichero
+ * incomplete y la recuperación no lo usa hasta que un checkpoint posterior al
+ * fallo vuelva a cubrir PRICES
+ *
+ * Un checkpoint permite borrar los segmentos que cubre, pero solo los que
+ * tienen más de retentionHours: con retención el log conserva el historial
+ * de cambios del periodo aunque ya no haga falta para la recuperación
+ */
+@Component
+@ConditionalOnProperty(name = "price.eventlog.enabled", havingValue = "true")
+public class PriceEventLog implements PriceChangeListener {
+
+    private static final Logger logger = LogManager.getLogger(PriceEventLog.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    private static final String INCOMPLETE_FILE = "incomplete";
+
+    // Cambios ya registrados por tarifa, para no duplicar las reentregas del poller
+    private static final int RECENT_CHANGES = 65_536;
+
+    private final Path directory;
+    private final long segmentSizeBytes;
+    private final long fsyncBatchBytes;
+    private final long retentionMillis;
+    private final Counter appendedEvents;
+    private final Timer fsyncTimer;
+    private final Map<Long, Long> recentChanges = new LinkedHashMap<Long, Long>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > RECENT_CHANGES;
+        }
+    };
+
+    private FileChannel segment;
+    private long nextSequence;
+    private long unsyncedBytes;
+    private long restartChangeId;
+    private volatile long syncedSequence;
+    private volatile long appendFailures;
+
+    public PriceEventLog(MeterRegistry meterRegistry,
+            @Value("${price.eventlog.dir:${price.data-dir:./data}/events}") String directory,
+            @Value("${price.eventlog.segment-size-bytes:67108864}") long segmentSizeBytes,
+            @Value("${price.eventlog.fsync-batch-bytes:1048576}") long fsyncBatchBytes,
+            @Value("${price.eventlog.retention-hours:0}") long retentionHours) throws IOException {
+        this.directory = Paths.get(directory);
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.fsyncBatchBytes = fsyncBatchBytes;
+        this.retentionMillis = TimeUnit.HOURS.toMillis(retentionHours);
+        Files.createDirectories(this.directory);
+        openLog();
+
+        this.appendedEvents = Counter.builder("price.eventlog.events")
+                .description("Eventos de tarifas añadidos al log")
+                .register(meterRegistry);
+        this.fsyncTimer = Timer.builder("price.eventlog.fsync")
+                .description("Duración de cada fsync agrupado del log de eventos")
+                .register(meterRegistry);
+        Gauge.builder("price.eventlog.sequence", this, PriceEventLog::getSyncedSequence)
+                .description("Última secuencia del log de eventos sincronizada en disco")
+                .register(meterRegistry);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getSyncedSequence() {
+        return syncedSequence;
+    }
+
+    public synchronized long getLastSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * Número de escrituras fallidas desde el arranque
+     */
+    public long getAppendFailures() {
+        return appendFailures;
+    }
+
+    /**
+     * false si desde el último checkpoint se ha perdido algún cambio y el log
+     * no basta para reconstruir el catálogo
+     */
+    public boolean isComplete() {
+        return !Files.exists(directory.resolve(INCOMPLETE_FILE));
+    }
+
+    /**
+     * Vuelve a dar el log por completo tras un checkpoint, salvo que haya
+     * fallado alguna escritura mientras se escribía
+     *
+     * @param failuresAtStart valor de getAppendFailures al empezar el checkpoint
+     */
+    public synchronized void checkpointWritten(long failuresAtStart) throws IOException {
+        if (appendFailures == failuresAtStart) {
+            Files.deleteIfExists(directory.resolve(INCOMPLETE_FILE));
+        }
+    }
+
+    @Override
+    public synchronized void onPriceChanges(List<PriceChange> changes) {
+        long now = System.currentTimeMillis();
+        try {
+            for (PriceChange change : changes) {
+                if (change.getChangeId() <= restartChangeId) {
+                    continue;
+                }
+                Long logged = recentChanges.get(change.getPriceId());
+                if (logged != null && logged >= change.getChangeId()) {
+                    continue;
+                }
+                append(new PriceEvent(nextSequence, change.getChangeId(), now, PriceEventType.of(change),
+                        change.getKey(), change.getPriceId(), change.getPrice()));
+                recentChanges.put(change.getPriceId(), change.getChangeId());
+            }
+            if (unsyncedBytes >= fsyncBatchBytes) {
+                sync();
+            }
+        } catch (IOException e) {
+            markIncomplete();
+            throw new UncheckedIOException("No se pudo escribir en el log de eventos " + directory, e);
+        }
+    }
+
+    /**
+     * fsync agrupado de lo escrito desde el anterior
+     */
+    @Scheduled(fixedDelayString = "${price.eventlog.fsync-interval-ms:50}")
+    public synchronized void flush() {
+        try {
+            sync();
+        } catch (IOException e) {
+            // Lo escrito desde el último fsync puede no estar en disco
+            markIncomplete();
+            logger.error("Error sincronizando el log de eventos {}: {}", directory, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Entrega en orden, con lecturas secuenciales, los eventos válidos con
+     * secuencia posterior a afterSequence
+     *
+     * @return número de eventos entregados
+     */
+    public long replay(long afterSequence, Consumer<PriceEvent> consumer) throws IOException {
+        List<Path> segments = segments();
+        long replayed = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            // Un segmento cuyo siguiente empieza antes de afterSequence no tiene nada posterior
+            if (i + 1 < segments.size() && firstSequence(segments.get(i + 1)) <= afterSequence + 1) {
+                continue;
+            }
+            try (DataInputStream in = open(segments.get(i))) {
+                PriceEvent event;
+                while ((event = PriceEventCodec.read(in)) != null) {
+                    if (event.getSequence() > afterSequence) {
+                        consumer.accept(event);
+                        replayed++;
+                    }
+                }
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Borra los segmentos cerrados cuyos eventos son todos anteriores o
+     * iguales a sequence, ya incluidos en un checkpoint, y que han superado la
+     * retención
+     *
+     * @return número de segmentos borrados
+     */
+    public synchronized int deleteSegmentsThrough(long sequence) throws IOException {
+        List<Path> segments = segments();
+        long retainedSince = System.currentTimeMillis() - retentionMillis;
+        int deleted = 0;
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstSequence(segments.get(i + 1)) > sequence + 1) {
+                break;
+            }
+            // La última escritura de un segmento es la de su último evento
+            if (retentionMillis > 0 && Files.getLastModifiedTime(segments.get(i)).toMillis() > retainedSince) {
+                break;
+            }
+            Files.delete(segments.get(i));
+            deleted++;
+        }
+        return deleted;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        sync();
+        segment.close();
+    }
+
+    /**
+     * Añade el evento o, si falla, deja el segmento como estaba antes de
+     * empezar a escribirlo
+     */
+    private void append(PriceEvent event) throws IOException {
+        if (segment.size() >= segmentSizeBytes) {
+            roll();
+        }
+        ByteBuffer record = PriceEventCodec.encode(event);
+        long position = segment.position();
+        try {
+            while (record.hasRemaining()) {
+                segment.write(record);
+            }
+        } catch (IOException e) {
+            try {
+                segment.truncate(position);
+                segment.position(position);
+            } catch (IOException truncateError) {
+                e.addSuppressed(truncateError);
+            }
+            throw e;
+        }
+        unsyncedBytes += record.limit();
+        nextSequence++;
+        appendedEvents.increment();
+    }
+
+    private void markIncomplete() {
+        appendFailures++;
+        try {
+            Path marker = directory.resolve(INCOMPLETE_FILE);
+            if (!Files.exists(marker)) {
+                Files.createFile(marker);
+            }
+        } catch (IOException e) {
+            logger.error("No se pudo marcar el log de eventos {} como incompleto: {}", directory, e.getMessage(), e);
+        }
+    }
+
+    private void sync() throws IOException {
+        if (unsyncedBytes == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        segment.force(false);
+        unsyncedBytes = 0;
+        syncedSequence = nextSequence - 1;
+        fsyncTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void roll() throws IOException {
+        sync();
+        segment.close();
+        segment = openSegment(segmentPath(nextSequence));
+    }
+
+    /**
+     * Abre el último segmento, recorta lo que quedara tras su último registro
+     * válido y continúa la secuencia desde ahí
+     */
+    private void openLog() throws IOException {
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            nextSequence = 1;
+            segment = openSegment(segmentPath(1));
+            return;
+        }
+
+        Path last = segments.get(segments.size() - 1);
+        long lastSequence = firstSequence(last) - 1;
+        long validBytes = 0;
+        try (DataInputStream in = open(last)) {
+            PriceEvent event;
+            while ((event = PriceEventCodec.read(in)) != null) {
+                lastSequence = event.getSequence();
+                restartChangeId = Math.max(restartChangeId, event.getChangeId());
+                validBytes += PriceEventCodec.encode(event).remaining();
+            }
+        }
+        segment = openSegment(last);
+        if (segment.size() > validBytes) {
+            logger.warn("Recortados {} bytes no válidos al final de {}", segment.size() - validBytes, last);
+            segment.truncate(validBytes);
+            segment.force(false);
+        }
+        segment.position(validBytes);
+        nextSequence = lastSequence + 1;
+        syncedSequence = lastSequence;
+        logger.info("Log de eventos abierto en {}: {} segmentos, última secuencia {}, último cambio {}", directory,
+                segments.size(), lastSequence, restartChangeId);
+    }
+
+    private static FileChannel openSegment(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return channel;
+    }
+
+    private static DataInputStream open(Path segment) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), READ_BUFFER_BYTES));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files
+                    .filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            segments.sort((a, b) -> Long.compare(firstSequence(a), firstSequence(b)));
+            return segments;
+        }
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
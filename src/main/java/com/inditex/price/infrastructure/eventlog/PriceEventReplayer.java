@@ -0,0 +1,286 @@
+package com.inditex.price.infrastructure.eventlog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.infrastructure.index.PriceKey;
+import com.inditex.price.infrastructure.index.PriceLookupIndex;
+import com.inditex.price.infrastructure.index.PriceTimeline;
+import com.inditex.price.infrastructure.persitence.mappers.PriceRowMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Checkpoints del catálogo y reconstrucción del catálogo en memoria a partir
+ * de ellos y del log de eventos
+ *
+ * Un checkpoint es una copia completa de PRICES, con el mismo formato de
+ * registro que el log, etiquetada con la última secuencia del log anterior a
+ * la lectura. Se escribe aparte, se sincroniza y se publica con un renombrado
+ * atómico; después se borran el checkpoint anterior y los segmentos que ya
+ * cubre. Los eventos posteriores a esa secuencia llevan el estado completo de
+ * cada tarifa, así que aplicarlos encima converge aunque la lectura de PRICES
+ * ya incluyera alguno
+ *
+ * La recuperación lee el último checkpoint y los segmentos posteriores de
+ * forma secuencial y publica el resultado en PriceLookupIndex como una
+ * recarga completa: su coste en eventos depende de los cambios desde el
+ * último checkpoint y no del tamaño del catálogo. Si el log ha perdido algún
+ * cambio desde el último checkpoint no se recupera y el catálogo se carga de
+ * PRICES
+ */
+@Component
+@ConditionalOnProperty(name = "price.eventlog.enabled", havingValue = "true")
+public class PriceEventReplayer {
+
+    private static final Logger logger = LogManager.getLogger(PriceEventReplayer.class);
+
+    private static final String SELECT_ALL_SQL = "SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES";
+    private static final String CHECKPOINT_PREFIX = "checkpoint-";
+    private static final String CHECKPOINT_SUFFIX = ".bin";
+    private static final int MAGIC = 0x50524350;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final PriceEventLog priceEventLog;
+    private final PriceLookupIndex priceLookupIndex;
+    private final PriceRowMapper priceRowMapper;
+    private final JdbcTemplate scanJdbcTemplate;
+    private final Timer checkpointTimer;
+    private final Timer recoveryTimer;
+
+    public PriceEventReplayer(PriceEventLog priceEventLog,
+            PriceLookupIndex priceLookupIndex,
+            PriceRowMapper priceRowMapper,
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${price.catalog.reload.fetch-size:1000}") int fetchSize) {
+        this.priceEventLog = priceEventLog;
+        this.priceLookupIndex = priceLookupIndex;
+        this.priceRowMapper = priceRowMapper;
+        this.scanJdbcTemplate = new JdbcTemplate(dataSource);
+        this.scanJdbcTemplate.setFetchSize(fetchSize);
+
+        this.checkpointTimer = Timer.builder("price.eventlog.checkpoint")
+                .description("Duración de la escritura de checkpoints del catálogo")
+                .register(meterRegistry);
+        this.recoveryTimer = Timer.builder("price.eventlog.recovery")
+                .description("Duración de la reconstrucción del catálogo desde checkpoint y log de eventos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sin ningún checkpoint la recuperación no es posible: el primero se
+     * escribe nada más arrancar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkpointIfMissing() {
+        try {
+            if (latestCheckpoint() == null) {
+                checkpoint();
+            }
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("No se pudo escribir el checkpoint inicial del catálogo: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${price.eventlog.checkpoint-interval-ms:600000}",
+            initialDelayString = "${price.eventlog.checkpoint-interval-ms:600000}")
+    public void scheduledCheckpoint() {
+        try {
+            checkpoint();
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Error escribiendo el checkpoint del catálogo: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Escribe un checkpoint de PRICES y descarta lo que deja de hacer falta
+     *
+     * @return secuencia del log que cubre el checkpoint
+     */
+    public synchronized long checkpoint() throws IOException {
+        long start = System.nanoTime();
+        long failuresAtStart = priceEventLog.getAppendFailures();
+        long sequence = priceEventLog.getLastSequence();
+        long recordedAt = System.currentTimeMillis();
+        Path target = checkpointPath(sequence);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+
+        long[] written = { 0 };
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, BUFFER_BYTES))) {
+            out.writeInt(MAGIC);
+            out.writeLong(sequence);
+            scanJdbcTemplate.query(SELECT_ALL_SQL, (RowCallbackHandler) rs -> {
+                Price price = priceRowMapper.mapRow(rs, (int) written[0]);
+                ByteBuffer record = PriceEventCodec.encode(new PriceEvent(sequence, 0, recordedAt,
+                        PriceEventType.CREATE, PriceKey.of(price.getBrandId(), price.getProductId()), price.getId(),
+                        price));
+                try {
+                    out.write(record.array(), 0, record.limit());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                written[0]++;
+            });
+            // Pie: longitud 0, número de tarifas y de nuevo la secuencia
+            out.writeInt(0);
+            out.writeLong(written[0]);
+            out.writeLong(sequence);
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        for (Path older : checkpoints()) {
+            if (!older.equals(target)) {
+                Files.delete(older);
+            }
+        }
+        priceEventLog.checkpointWritten(failuresAtStart);
+        int deletedSegments = priceEventLog.deleteSegmentsThrough(sequence);
+
+        long elapsedNanos = System.nanoTime() - start;
+        checkpointTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        logger.info("Checkpoint del catálogo escrito: {} tarifas hasta la secuencia {} en {}ms, {} segmentos borrados",
+                written[0], sequence, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), deletedSegments);
+        return sequence;
+    }
+
+    /**
+     * Reconstruye y publica el catálogo en memoria desde el último checkpoint
+     * válido y los eventos posteriores
+     *
+     * @return resultado de la recuperación, o null si no hay checkpoint válido
+     */
+    public synchronized PriceRecoveryResult recover() {
+        if (!priceEventLog.isComplete()) {
+            logger.warn("El log de eventos de {} ha perdido cambios desde el último checkpoint, no se usa para "
+                    + "reconstruir el catálogo", priceEventLog.getDirectory());
+            return null;
+        }
+        long start = System.nanoTime();
+        priceLookupIndex.beginReload();
+        try {
+            Path checkpoint = latestCheckpoint();
+            Map<Long, Price> prices = new HashMap<>();
+            long sequence = checkpoint == null ? -1 : readCheckpoint(checkpoint, prices);
+            if (sequence < 0) {
+                priceLookupIndex.abortReload();
+                logger.warn("Sin checkpoint válido en {}, no se puede reconstruir el catálogo desde el log",
+                        priceEventLog.getDirectory());
+                return null;
+            }
+            long checkpointPrices = prices.size();
+
+            long replayed = priceEventLog.replay(sequence, event -> {
+                if (event.getPrice() == null) {
+                    prices.remove(event.getPriceId());
+                } else {
+                    prices.put(event.getPriceId(), event.getPrice());
+                }
+            });
+
+            Map<PriceKey, List<Price>> grouped = new HashMap<>();
+            for (Price price : prices.values()) {
+                grouped.computeIfAbsent(PriceKey.of(price.getBrandId(), price.getProductId()),
+                        key -> new ArrayList<>()).add(price);
+            }
+            Map<PriceKey, PriceTimeline> timelines = grouped.entrySet().parallelStream()
+                    .collect(Collectors.toConcurrentMap(Map.Entry::getKey,
+                            entry -> PriceTimeline.of(entry.getValue())));
+            long version = priceLookupIndex.publishReload(timelines);
+
+            long elapsedNanos = System.nanoTime() - start;
+            recoveryTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            PriceRecoveryResult result = new PriceRecoveryResult(sequence, checkpointPrices, replayed, version,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            logger.info("Catálogo reconstruido desde el log de eventos: {}", result);
+            return result;
+
+        } catch (IOException | RuntimeException e) {
+            priceLookupIndex.abortReload();
+            logger.error("Error reconstruyendo el catálogo desde el log de eventos: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Carga las tarifas del checkpoint
+     *
+     * @return secuencia que cubre, o -1 si el fichero no está completo o no
+     *         supera la validación
+     */
+    private static long readCheckpoint(Path checkpoint, Map<Long, Price> prices) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(checkpoint), BUFFER_BYTES))) {
+            if (in.readInt() != MAGIC) {
+                return -1;
+            }
+            long sequence = in.readLong();
+            long read = 0;
+            PriceEvent event;
+            while ((event = PriceEventCodec.read(in)) != null) {
+                prices.put(event.getPriceId(), event.getPrice());
+                read++;
+            }
+            // PriceEventCodec.read ya consumió la longitud 0 del pie
+            boolean complete = in.readLong() == read && in.readLong() == sequence;
+            return complete ? sequence : -1;
+        } catch (EOFException e) {
+            return -1;
+        }
+    }
+
+    private Path latestCheckpoint() throws IOException {
+        List<Path> checkpoints = checkpoints();
+        return checkpoints.isEmpty() ? null : checkpoints.get(checkpoints.size() - 1);
+    }
+
+    private List<Path> checkpoints() throws IOException {
+        try (Stream<Path> files = Files.list(priceEventLog.getDirectory())) {
+            return files
+                    .filter(file -> file.getFileName().toString().startsWith(CHECKPOINT_PREFIX)
+                            && file.getFileName().toString().endsWith(CHECKPOINT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path checkpointPath(long sequence) {
+        return priceEventLog.getDirectory()
+                .resolve(String.format("%s%020d%s", CHECKPOINT_PREFIX, sequence, CHECKPOINT_SUFFIX));
+    }
+}
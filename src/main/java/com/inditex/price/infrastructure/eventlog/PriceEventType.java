@@ -0,0 +1,23 @@
+package com.inditex.price.infrastructure.eventlog;
+
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangeType;
+
+/**
+ * Tipo de evento del log de eventos de tarifas
+ *
+ * EXPIRE registra que la tarifa deja de estar en PRICES, ya sea por un
+ * borrado o por el archivado al caducar
+ */
+public enum PriceEventType {
+    CREATE,
+    UPDATE,
+    EXPIRE;
+
+    static PriceEventType of(PriceChange change) {
+        if (change.isDeletion()) {
+            return EXPIRE;
+        }
+        return change.getType() == PriceChangeType.INSERT ? CREATE : UPDATE;
+    }
+}
@@ -0,0 +1,58 @@
+package com.inditex.price.infrastructure.eventlog;
+
+/**
+ * Resultado de reconstruir el catálogo en memoria desde el último checkpoint
+ * y los eventos posteriores del log
+ */
+public class PriceRecoveryResult {
+
+    private final long checkpointSequence;
+    private final long checkpointPrices;
+    private final long replayedEvents;
+    private final long version;
+    private final long durationMillis;
+
+    public PriceRecoveryResult(long checkpointSequence, long checkpointPrices, long replayedEvents, long version,
+            long durationMillis) {
+        this.checkpointSequence = checkpointSequence;
+        this.checkpointPrices = checkpointPrices;
+        this.replayedEvents = replayedEvents;
+        this.version = version;
+        this.durationMillis = durationMillis;
+    }
+
+    public long getCheckpointSequence() {
+        return checkpointSequence;
+    }
+
+    public long getCheckpointPrices() {
+        return checkpointPrices;
+    }
+
+    /**
+     * Eventos del log aplicados sobre el checkpoint: el coste de la
+     * recuperación que depende de la actividad reciente y no del catálogo
+     */
+    public long getReplayedEvents() {
+        return replayedEvents;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "PriceRecoveryResult{" +
+                "checkpointSequence=" + checkpointSequence +
+                ", checkpointPrices=" + checkpointPrices +
+                ", replayedEvents=" + replayedEvents +
+                ", version=" + version +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
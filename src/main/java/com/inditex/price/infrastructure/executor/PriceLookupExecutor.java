@@ -0,0 +1,114 @@
+package com.inditex.price.infrastructure.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.application.exceptions.PriceLookupRejectedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Pool dedicado a resolver las consultas de precio fuera de los hilos de
+ * Tomcat
+ *
+ * El controlador entrega cada consulta aquí y libera el hilo de la petición,
+ * de modo que una base de datos lenta ocupa hilos de este pool y no los que
+ * aceptan conexiones. Hilos y cola están acotados: con la cola llena la
+ * consulta se rechaza en el acto en lugar de esperar sin límite, y el
+ * cliente recibe un 503 con Retry-After
+ *
+ * Mide por separado el tiempo que cada consulta espera en cola y el que tarda
+ * en ejecutarse, y expone hilos ocupados, consultas en cola y rechazos
+ *
+ * Como Executor lo usan los lotes para repartir sus grupos de marca; ahí un
+ * rechazo es un RejectedExecutionException y quien reparte resuelve el grupo
+ * en su propio hilo
+ */
+@Component
+public class PriceLookupExecutor implements Executor {
+
+    private final ThreadPoolExecutor executor;
+    private final int queueSize;
+    private final long retryAfterSeconds;
+    private final Timer queueTimer;
+    private final Timer executionTimer;
+    private final Counter rejectedCounter;
+
+    public PriceLookupExecutor(MeterRegistry meterRegistry,
+            @Value("${price.executor.threads:32}") int threads,
+            @Value("${price.executor.queue-size:512}") int queueSize,
+            @Value("${price.executor.retry-after-seconds:1}") long retryAfterSeconds) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "price-lookup-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.queueSize = queueSize;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        this.queueTimer = Timer.builder("price.lookup.executor.queue")
+                .description("Tiempo de espera en cola de las consultas de precio")
+                .register(meterRegistry);
+        this.executionTimer = Timer.builder("price.lookup.executor.execution")
+                .description("Tiempo de ejecución de las consultas de precio en el pool")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("price.lookup.executor.rejected")
+                .description("Consultas de precio rechazadas con la cola llena")
+                .register(meterRegistry);
+        Gauge.builder("price.lookup.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hilos del pool resolviendo consultas de precio")
+                .register(meterRegistry);
+        Gauge.builder("price.lookup.executor.queued", executor, pool -> pool.getQueue().size())
+                .description("Consultas de precio en cola")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Encola la consulta y devuelve su resultado futuro
+     *
+     * @throws PriceLookupRejectedException si el pool y la cola están llenos
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> lookup) {
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return lookup.get();
+                } finally {
+                    executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PriceLookupRejectedException(queueSize, retryAfterSeconds);
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
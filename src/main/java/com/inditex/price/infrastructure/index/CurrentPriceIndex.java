@@ -0,0 +1,190 @@
+package com.inditex.price.infrastructure.index;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.application.usecases.PriceReadContext;
+import com.inditex.price.domain.model.CurrentPrice;
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.domain.repository.CurrentPriceRepository;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.service.PriceDomainService;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.boundary.PriceBoundaryListener;
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangeListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Precio vigente materializado por (marca, producto)
+ *
+ * Cada entrada guarda la tarifa ganadora y el intervalo en el que no cambia,
+ * de modo que una consulta cercana al instante actual se responde con una
+ * comparación de dos long, sin búsqueda por rango. Las entradas se crean en la
+ * primera consulta de un producto y el planificador de límites las recalcula
+ * justo al llegar cada inicio o fin de tarifa; los cambios capturados en
+ * PRICES las recalculan al momento
+ *
+ * El intervalo protege la corrección aunque un límite llegue con retraso o
+ * quede fuera del horizonte del planificador: una entrada que no cubre la
+ * fecha consultada se recalcula en lugar de usarse
+ *
+ * Las tarifas se leen siempre fuera de los locks del mapa, para que una base
+ * de datos lenta no bloquee las demás claves de la misma franja; el resultado
+ * se publica después solo si no ha llegado un lote de cambios entretanto
+ */
+@Component
+public class CurrentPriceIndex implements CurrentPriceRepository, PriceBoundaryListener, PriceChangeListener {
+
+    private static final Logger logger = LogManager.getLogger(CurrentPriceIndex.class);
+
+    private final PriceRepository priceRepository;
+    private final PriceDomainService priceDomainService;
+    private final Clock clock;
+    private final boolean enabled;
+    private final long windowMicros;
+    private final int maxEntries;
+    private final ConcurrentMap<PriceKey, CurrentPrice> entries = new ConcurrentHashMap<>();
+    // Cambia con cada lote de cambios para no publicar resoluciones anteriores a él
+    private final AtomicLong changeGeneration = new AtomicLong();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter bypassCounter;
+
+    public CurrentPriceIndex(PriceRepository priceRepository,
+            PriceDomainService priceDomainService,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${price.current.enabled:true}") boolean enabled,
+            @Value("${price.current.window-seconds:300}") long windowSeconds,
+            @Value("${price.current.max-entries:100000}") int maxEntries) {
+        this.priceRepository = priceRepository;
+        this.priceDomainService = priceDomainService;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.windowMicros = TimeUnit.SECONDS.toMicros(windowSeconds);
+        this.maxEntries = maxEntries;
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+        this.bypassCounter = lookupCounter(meterRegistry, "bypass");
+        Gauge.builder("price.current.entries", entries, ConcurrentMap::size)
+                .description("Productos con precio vigente materializado")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<CurrentPrice> findCurrentPrice(ProductId productId, BrandId brandId,
+            LocalDateTime applicationDate) {
+        if (!enabled || applicationDate == null) {
+            bypassCounter.increment();
+            return Optional.empty();
+        }
+        long epochMicros = EpochTime.toEpochMicros(applicationDate);
+        if (Math.abs(epochMicros - nowMicros()) > windowMicros) {
+            bypassCounter.increment();
+            return Optional.empty();
+        }
+
+        PriceKey key = PriceKey.of(brandId, productId);
+        CurrentPrice current = entries.get(key);
+        if (current != null && current.covers(epochMicros)) {
+            hitCounter.increment();
+            return Optional.of(current);
+        }
+
+        missCounter.increment();
+        long generation = changeGeneration.get();
+        long staleReadsBefore = PriceReadContext.staleReads();
+        CurrentPrice resolved = resolve(key, epochMicros);
+        // Un precio resuelto con datos de respaldo se sirve pero no se materializa
+        if (PriceReadContext.staleReads() == staleReadsBefore
+                && (entries.size() < maxEntries || entries.containsKey(key))) {
+            entries.compute(key, (k, existing) -> changeGeneration.get() == generation ? resolved : existing);
+        }
+        return Optional.of(resolved);
+    }
+
+    /**
+     * Recalcula la entrada del producto a partir del límite, si está materializada
+     */
+    @Override
+    public void onPriceBoundary(PriceKey key, long epochMicros) {
+        if (!entries.containsKey(key)) {
+            return;
+        }
+        long generation = changeGeneration.get();
+        CurrentPrice resolved = resolve(key, epochMicros);
+        entries.computeIfPresent(key, (k, existing) -> changeGeneration.get() == generation ? resolved : existing);
+    }
+
+    /**
+     * Recalcula las entradas de los productos modificados. El índice de
+     * búsqueda recibe los cambios antes, por lo que la resolución ya los ve
+     */
+    @Override
+    public void onPriceChanges(List<PriceChange> changes) {
+        changeGeneration.incrementAndGet();
+        Set<PriceKey> keys = new LinkedHashSet<>();
+        for (PriceChange change : changes) {
+            if (entries.containsKey(change.getKey())) {
+                keys.add(change.getKey());
+            }
+        }
+        long now = nowMicros();
+        for (PriceKey key : keys) {
+            CurrentPrice resolved = resolve(key, now);
+            entries.computeIfPresent(key, (k, existing) -> resolved);
+        }
+        if (!keys.isEmpty()) {
+            logger.debug("Recalculados {} precios vigentes por cambios en PRICES", keys.size());
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Descarta todas las entradas tras escrituras que no pasan por el log de
+     * cambios. Las resoluciones en curso, hechas con los datos anteriores, no
+     * se publican
+     */
+    public void clear() {
+        changeGeneration.incrementAndGet();
+        entries.clear();
+    }
+
+    private CurrentPrice resolve(PriceKey key, long epochMicros) {
+        return priceDomainService.resolveCurrentPrice(
+                priceRepository.findAllPrices(new ProductId(key.getProductId()), new BrandId(key.getBrandId())),
+                epochMicros);
+    }
+
+    private long nowMicros() {
+        return EpochTime.toEpochMicros(LocalDateTime.now(clock));
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("price.current.lookups")
+                .tag("result", result)
+                .description("Consultas al precio vigente materializado")
+                .register(meterRegistry);
+    }
+}
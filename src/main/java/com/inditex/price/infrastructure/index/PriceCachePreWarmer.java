@@ -0,0 +1,125 @@
+package com.inditex.price.infrastructure.index;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.boundary.PriceBoundaryListener;
+import com.inditex.price.infrastructure.boundary.PriceBoundaryWindow;
+import com.inditex.price.infrastructure.config.PriceStorageConfig;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Precarga del índice de búsqueda antes de los límites de tarifa
+ *
+ * Cuando miles de productos cambian de tarifa a la vez, los que no estaban en
+ * el índice se cargarían desde base de datos en la primera consulta tras el
+ * cambio, todos al mismo tiempo. El planificador de límites avisa a este
+ * componente con la antelación configurada y, en un pool acotado, se cargan
+ * las líneas temporales de esos productos y se resuelve su tarifa tras el
+ * límite, de modo que el cambio se sirve ya desde memoria
+ *
+ * Cada aviso abre además la ventana de límites que separa las métricas de
+ * aciertos y fallos del índice junto a los cambios de tarifa
+ */
+@Component
+@ConditionalOnProperty(name = { "price.index.enabled", "price.prewarm.enabled" }, havingValue = "true",
+        matchIfMissing = true)
+public class PriceCachePreWarmer implements PriceBoundaryListener {
+
+    private static final Logger logger = LogManager.getLogger(PriceCachePreWarmer.class);
+
+    private final PriceLookupIndex priceLookupIndex;
+    private final PriceRepository priceStorage;
+    private final PriceBoundaryWindow priceBoundaryWindow;
+    private final long leadTimeMicros;
+    private final ThreadPoolExecutor loaders;
+    private final Counter loadedCounter;
+    private final Counter cachedCounter;
+    private final Counter skippedCounter;
+
+    public PriceCachePreWarmer(PriceLookupIndex priceLookupIndex,
+            @Qualifier(PriceStorageConfig.PRICE_STORAGE) PriceRepository priceStorage,
+            PriceBoundaryWindow priceBoundaryWindow,
+            MeterRegistry meterRegistry,
+            @Value("${price.prewarm.lead-seconds:60}") long leadSeconds,
+            @Value("${price.prewarm.threads:2}") int threads,
+            @Value("${price.prewarm.queue-size:10000}") int queueSize) {
+        this.priceLookupIndex = priceLookupIndex;
+        this.priceStorage = priceStorage;
+        this.priceBoundaryWindow = priceBoundaryWindow;
+        this.leadTimeMicros = TimeUnit.SECONDS.toMicros(leadSeconds);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.loaders = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "price-prewarm-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.loadedCounter = prewarmCounter(meterRegistry, "loaded");
+        this.cachedCounter = prewarmCounter(meterRegistry, "cached");
+        this.skippedCounter = prewarmCounter(meterRegistry, "skipped");
+    }
+
+    @Override
+    public long leadTimeMicros() {
+        return leadTimeMicros;
+    }
+
+    /**
+     * Recibe el aviso anticipado del límite y encola la precarga del producto.
+     * Si la cola está llena el producto se cargará en su primera consulta
+     */
+    @Override
+    public void onPriceBoundary(PriceKey key, long epochMicros) {
+        priceBoundaryWindow.announce(epochMicros);
+        try {
+            loaders.execute(() -> preWarm(key, epochMicros));
+        } catch (RejectedExecutionException e) {
+            skippedCounter.increment();
+        }
+    }
+
+    /**
+     * Carga la línea temporal del producto si no estaba en el índice
+     */
+    void preWarm(PriceKey key, long epochMicros) {
+        try {
+            boolean cached = priceLookupIndex.get(key) != null || priceLookupIndex.isComplete();
+            priceLookupIndex.getOrLoad(key, k -> PriceTimeline.of(
+                    priceStorage.findAllPrices(new ProductId(k.getProductId()), new BrandId(k.getBrandId()))));
+            (cached ? cachedCounter : loadedCounter).increment();
+        } catch (RuntimeException e) {
+            skippedCounter.increment();
+            logger.warn("Error precargando {} antes del límite: {}", key, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loaders.shutdownNow();
+    }
+
+    private static Counter prewarmCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("price.prewarm.entries")
+                .tag("result", result)
+                .description("Productos precargados en el índice antes de un límite de tarifa")
+                .register(meterRegistry);
+    }
+}
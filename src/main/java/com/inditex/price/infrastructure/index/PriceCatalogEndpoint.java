@@ -0,0 +1,40 @@
+package com.inditex.price.infrastructure.index;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint de actuator para consultar y recargar el catálogo en memoria
+ * GET /actuator/pricecatalog devuelve el estado, POST lanza una recarga
+ */
+@Component
+@Endpoint(id = "pricecatalog")
+public class PriceCatalogEndpoint {
+
+    private final PriceLookupIndex priceLookupIndex;
+    private final PriceCatalogReloader priceCatalogReloader;
+
+    public PriceCatalogEndpoint(PriceLookupIndex priceLookupIndex, PriceCatalogReloader priceCatalogReloader) {
+        this.priceLookupIndex = priceLookupIndex;
+        this.priceCatalogReloader = priceCatalogReloader;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("version", priceLookupIndex.getVersion());
+        status.put("complete", priceLookupIndex.isComplete());
+        status.put("products", priceLookupIndex.size());
+        return status;
+    }
+
+    @WriteOperation
+    public PriceCatalogReloadResult reload() {
+        return priceCatalogReloader.reload();
+    }
+}
@@ -0,0 +1,57 @@
+package com.inditex.price.infrastructure.index;
+
+/**
+ * Resultado de una recarga completa del catálogo en memoria
+ */
+public class PriceCatalogReloadResult {
+
+    private final long version;
+    private final long prices;
+    private final int products;
+    private final long durationMillis;
+    private final long overheadBytes;
+
+    public PriceCatalogReloadResult(long version, long prices, int products, long durationMillis,
+            long overheadBytes) {
+        this.version = version;
+        this.prices = prices;
+        this.products = products;
+        this.durationMillis = durationMillis;
+        this.overheadBytes = overheadBytes;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getPrices() {
+        return prices;
+    }
+
+    public int getProducts() {
+        return products;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Memoria estimada del snapshot nuevo, que convive con el anterior durante
+     * el intercambio
+     */
+    public long getOverheadBytes() {
+        return overheadBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "PriceCatalogReloadResult{" +
+                "version=" + version +
+                ", prices=" + prices +
+                ", products=" + products +
+                ", durationMillis=" + durationMillis +
+                ", overheadBytes=" + overheadBytes +
+                '}';
+    }
+}
@@ -0,0 +1,180 @@
+package com.inditex.price.infrastructure.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.infrastructure.eventlog.PriceEventReplayer;
+import com.inditex.price.infrastructure.persitence.mappers.PriceRowMapper;
+import com.inditex.price.infrastructure.shard.PriceShards;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Recarga completa del catálogo de precios en memoria
+ *
+ * Recorre PRICES en una única lectura secuencial, construye en paralelo las
+ * líneas temporales del snapshot nuevo sin tocar el publicado y lo publica con
+ * un único intercambio de referencia. Con el catálogo repartido en shards
+ * (ver PriceShards) los recorre todos en paralelo y combina sus tarifas.
+ * Expone como métricas la duración de la
+ * recarga, la memoria estimada del snapshot nuevo y la versión publicada
+ *
+ * Cada recarga o invalidación vacía también los precios vigentes
+ * materializados, que no verían de otro modo las escrituras fuera del log
+ */
+@Component
+public class PriceCatalogReloader {
+
+    private static final Logger logger = LogManager.getLogger(PriceCatalogReloader.class);
+
+    private static final String SELECT_ALL_SQL = "SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES";
+
+    private final JdbcTemplate scanJdbcTemplate;
+    private final PriceRowMapper priceRowMapper;
+    private final PriceLookupIndex priceLookupIndex;
+    private final CurrentPriceIndex currentPriceIndex;
+    private final PriceShards priceShards;
+    private final PriceEventReplayer priceEventReplayer;
+    private final boolean preload;
+    private final Timer reloadTimer;
+    private final AtomicLong lastOverheadBytes = new AtomicLong();
+    private final AtomicLong lastPrices = new AtomicLong();
+
+    public PriceCatalogReloader(DataSource dataSource,
+            PriceRowMapper priceRowMapper,
+            PriceLookupIndex priceLookupIndex,
+            CurrentPriceIndex currentPriceIndex,
+            ObjectProvider<PriceShards> priceShards,
+            ObjectProvider<PriceEventReplayer> priceEventReplayer,
+            MeterRegistry meterRegistry,
+            @Value("${price.catalog.reload.fetch-size:1000}") int fetchSize,
+            @Value("${price.catalog.preload:false}") boolean preload) {
+        this.scanJdbcTemplate = new JdbcTemplate(dataSource);
+        this.scanJdbcTemplate.setFetchSize(fetchSize);
+        this.priceRowMapper = priceRowMapper;
+        this.priceLookupIndex = priceLookupIndex;
+        this.currentPriceIndex = currentPriceIndex;
+        this.priceShards = priceShards.getIfAvailable();
+        this.priceEventReplayer = priceEventReplayer.getIfAvailable();
+        this.preload = preload;
+
+        this.reloadTimer = Timer.builder("price.catalog.reload")
+                .description("Duración de las recargas completas del catálogo")
+                .register(meterRegistry);
+        Gauge.builder("price.catalog.version", priceLookupIndex, PriceLookupIndex::getVersion)
+                .description("Versión del snapshot del catálogo publicado")
+                .register(meterRegistry);
+        Gauge.builder("price.catalog.reload.overhead", lastOverheadBytes, AtomicLong::get)
+                .description("Memoria estimada del snapshot nuevo durante el último intercambio")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("price.catalog.prices", lastPrices, AtomicLong::get)
+                .description("Tarifas cargadas en la última recarga completa")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Con log de eventos intenta primero reconstruir el catálogo desde el
+     * último checkpoint y los eventos posteriores, y solo si no puede lo
+     * recarga desde la base de datos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadOnStartup() {
+        if (!preload) {
+            return;
+        }
+        if (priceEventReplayer == null || priceEventReplayer.recover() == null) {
+            reload();
+        } else {
+            currentPriceIndex.clear();
+        }
+    }
+
+    /**
+     * Pone al día el catálogo en memoria tras escrituras que no pasan por el
+     * log de cambios: un snapshot completo se recarga y uno parcial se vacía
+     * para que cada producto se vuelva a leer en su siguiente consulta
+     */
+    public void invalidate() {
+        if (priceLookupIndex.isComplete()) {
+            reload();
+        } else {
+            priceLookupIndex.clear();
+            currentPriceIndex.clear();
+        }
+    }
+
+    /**
+     * Construye y publica un snapshot completo del catálogo. Las consultas en
+     * curso siguen usando el snapshot anterior hasta el intercambio
+     */
+    public synchronized PriceCatalogReloadResult reload() {
+        long start = System.nanoTime();
+        priceLookupIndex.beginReload();
+        try {
+            Map<PriceKey, List<Price>> grouped = new HashMap<>();
+            AtomicLong rows = new AtomicLong();
+            if (priceShards == null) {
+                scanJdbcTemplate.query(SELECT_ALL_SQL, (RowCallbackHandler) rs -> {
+                    Price price = priceRowMapper.mapRow(rs, (int) rows.getAndIncrement());
+                    grouped.computeIfAbsent(PriceKey.of(price.getBrandId(), price.getProductId()),
+                            key -> new ArrayList<>()).add(price);
+                });
+            } else {
+                // Cada shard agrupa sus tarifas por separado; una clave solo vive en el shard de su marca
+                priceShards.fanOut(shard -> {
+                    Map<PriceKey, List<Price>> shardGroups = new HashMap<>();
+                    shard.getRepository().forEachPrice(price -> {
+                        rows.incrementAndGet();
+                        shardGroups.computeIfAbsent(PriceKey.of(price.getBrandId(), price.getProductId()),
+                                key -> new ArrayList<>()).add(price);
+                    });
+                    return shardGroups;
+                }).forEach(shardGroups -> shardGroups.forEach((key, prices) -> grouped
+                        .computeIfAbsent(key, k -> new ArrayList<>()).addAll(prices)));
+            }
+
+            Map<PriceKey, PriceTimeline> timelines = grouped.entrySet().parallelStream()
+                    .collect(Collectors.toConcurrentMap(Map.Entry::getKey, entry -> PriceTimeline.of(entry.getValue())));
+            long overheadBytes = timelines.values().parallelStream().mapToLong(PriceTimeline::estimatedBytes).sum();
+
+            long version = priceLookupIndex.publishReload(timelines);
+            currentPriceIndex.clear();
+
+            long elapsedNanos = System.nanoTime() - start;
+            reloadTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            lastOverheadBytes.set(overheadBytes);
+            lastPrices.set(rows.get());
+
+            PriceCatalogReloadResult result = new PriceCatalogReloadResult(version, rows.get(), timelines.size(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), overheadBytes);
+            logger.info("Catálogo de precios recargado: {}", result);
+            return result;
+
+        } catch (RuntimeException e) {
+            priceLookupIndex.abortReload();
+            logger.error("Error recargando el catálogo de precios: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.inditex.price.infrastructure.index;
+
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+
+/**
+ * Clave (marca, producto) de los índices en memoria
+ * Guarda los identificadores como primitivos para abaratar hash y equals
+ */
+public final class PriceKey {
+
+    private final long brandId;
+    private final long productId;
+
+    public PriceKey(long brandId, long productId) {
+        this.brandId = brandId;
+        this.productId = productId;
+    }
+
+    public static PriceKey of(BrandId brandId, ProductId productId) {
+        return new PriceKey(brandId.getValue(), productId.getValue());
+    }
+
+    public long getBrandId() {
+        return brandId;
+    }
+
+    public long getProductId() {
+        return productId;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        PriceKey that = (PriceKey) obj;
+        return brandId == that.brandId && productId == that.productId;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(brandId) + Long.hashCode(productId);
+    }
+
+    @Override
+    public String toString() {
+        return "PriceKey{brandId=" + brandId + ", productId=" + productId + "}";
+    }
+}
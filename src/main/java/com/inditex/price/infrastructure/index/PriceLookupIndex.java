@@ -0,0 +1,205 @@
+package com.inditex.price.infrastructure.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangeListener;
+
+/**
+ * Índice en memoria de líneas temporales de precios por (marca, producto)
+ * Las líneas temporales son inmutables, por lo que las lecturas concurrentes
+ * nunca observan un estado a medio construir
+ *
+ * Se mantiene al día aplicando los cambios capturados en PRICES solo sobre los
+ * productos afectados. Un contador de versiones por franja de claves evita que
+ * una carga desde base de datos que se solape con un cambio publique un estado
+ * anterior a ese cambio
+ *
+ * El contenido vive en un snapshot publicado con una única referencia atómica.
+ * Una recarga completa construye el snapshot siguiente aparte y lo publica de
+ * golpe: las lecturas nunca se bloquean ni ven un catálogo a medio cargar. Un
+ * snapshot completo contiene todo el catálogo, por lo que una clave ausente
+ * significa que no hay tarifas y no se consulta la base de datos
+ *
+ * Recibe los cambios antes que el resto de listeners para que estos resuelvan
+ * precios ya actualizados; solo le preceden los que guardan una copia de las
+ * tarifas, de la que relee las afectadas
+ */
+@Component
+@Order(PriceChangeListener.INDEX_ORDER)
+public class PriceLookupIndex implements PriceChangeListener {
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(
+            new Snapshot(0L, new ConcurrentHashMap<>(), false));
+    private final AtomicLongArray stripeVersions = new AtomicLongArray(VERSION_STRIPES);
+
+    // Serializa la aplicación de cambios con la publicación de snapshots
+    private final Object writeLock = new Object();
+    private List<PriceChange> changesDuringReload;
+
+    /**
+     * Devuelve la línea temporal de la clave o null si no está cargada
+     */
+    public PriceTimeline get(PriceKey key) {
+        return current.get().timelines.get(key);
+    }
+
+    /**
+     * Devuelve la línea temporal de la clave cargándola con el loader si no
+     * estaba. La carga se hace fuera del lock del mapa para no bloquear otras
+     * claves; si dos hilos cargan a la vez se conserva la primera publicada.
+     * Un loader que devuelve null o una línea temporal vacía no publica nada,
+     * para que las consultas de productos sin tarifas no llenen el índice
+     */
+    public PriceTimeline getOrLoad(PriceKey key, Function<PriceKey, PriceTimeline> loader) {
+        Snapshot snapshot = current.get();
+        PriceTimeline timeline = snapshot.timelines.get(key);
+        if (timeline != null) {
+            return timeline;
+        }
+        if (snapshot.complete) {
+            return PriceTimeline.empty();
+        }
+
+        int stripe = stripeOf(key);
+        long versionBeforeLoad = stripeVersions.get(stripe);
+        PriceTimeline loaded = loader.apply(key);
+        if (loaded == null || loaded.isEmpty()) {
+            return loaded;
+        }
+
+        // Solo se publica si ningún cambio sobre la franja se aplicó durante la carga
+        PriceTimeline published = snapshot.timelines.compute(key, (k, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            return stripeVersions.get(stripe) == versionBeforeLoad ? loaded : null;
+        });
+        return published != null ? published : loaded;
+    }
+
+    /**
+     * Aplica los deltas sobre el snapshot publicado. En un snapshot parcial las
+     * claves no cargadas se ignoran, se leerán actualizadas en su primera
+     * consulta. Si hay una recarga en curso los cambios se guardan para
+     * reaplicarlos sobre el snapshot nuevo
+     */
+    @Override
+    public void onPriceChanges(List<PriceChange> changes) {
+        synchronized (writeLock) {
+            Snapshot snapshot = current.get();
+            for (PriceChange change : changes) {
+                apply(snapshot, change);
+            }
+            if (changesDuringReload != null) {
+                changesDuringReload.addAll(changes);
+            }
+        }
+    }
+
+    /**
+     * Marca el inicio de una recarga completa. Desde este momento los cambios
+     * recibidos se reaplicarán sobre el snapshot que se publique
+     */
+    public void beginReload() {
+        synchronized (writeLock) {
+            changesDuringReload = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Publica como snapshot completo las líneas temporales construidas aparte,
+     * tras reaplicar los cambios recibidos durante la recarga
+     *
+     * @return versión del snapshot publicado
+     */
+    @SuppressWarnings("unchecked")
+    public long publishReload(Map<PriceKey, PriceTimeline> timelines) {
+        synchronized (writeLock) {
+            ConcurrentMap<PriceKey, PriceTimeline> published = timelines instanceof ConcurrentMap
+                    ? (ConcurrentMap<PriceKey, PriceTimeline>) timelines
+                    : new ConcurrentHashMap<>(timelines);
+            Snapshot next = new Snapshot(current.get().version + 1, published, true);
+            if (changesDuringReload != null) {
+                changesDuringReload.forEach(change -> apply(next, change));
+            }
+            current.set(next);
+            changesDuringReload = null;
+            return next.version;
+        }
+    }
+
+    public void abortReload() {
+        synchronized (writeLock) {
+            changesDuringReload = null;
+        }
+    }
+
+    public long getVersion() {
+        return current.get().version;
+    }
+
+    public boolean isComplete() {
+        return current.get().complete;
+    }
+
+    public int size() {
+        return current.get().timelines.size();
+    }
+
+    public void clear() {
+        synchronized (writeLock) {
+            current.set(new Snapshot(current.get().version + 1, new ConcurrentHashMap<>(), false));
+        }
+    }
+
+    private void apply(Snapshot snapshot, PriceChange change) {
+        int stripe = stripeOf(change.getKey());
+        snapshot.timelines.compute(change.getKey(), (key, timeline) -> {
+            stripeVersions.incrementAndGet(stripe);
+            if (timeline == null) {
+                if (!snapshot.complete || change.isDeletion()) {
+                    return null;
+                }
+                timeline = PriceTimeline.empty();
+            }
+            PriceTimeline updated = change.isDeletion()
+                    ? timeline.withoutPrice(change.getPriceId())
+                    : timeline.withPrice(change.getPrice());
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    private static int stripeOf(PriceKey key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    /**
+     * Estado publicado del índice
+     */
+    private static final class Snapshot {
+
+        private final long version;
+        private final ConcurrentMap<PriceKey, PriceTimeline> timelines;
+        private final boolean complete;
+
+        private Snapshot(long version, ConcurrentMap<PriceKey, PriceTimeline> timelines, boolean complete) {
+            this.version = version;
+            this.timelines = timelines;
+            this.complete = complete;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.inditex.price.infrastructure.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.service.PriceDomainService;
+
+/**
+ * Línea temporal inmutable con todas las tarifas de un producto de una marca
+ *
+ * Las fechas se guardan como microsegundos desde epoch (ver EpochTime) en
+ * arrays primitivos ordenados por fecha de inicio, de modo que la búsqueda por
+ * rango y el desempate por prioridad y fecha de inicio son comparaciones de
+ * long/int sin tocar los LocalDateTime
+ */
+public final class PriceTimeline {
+
+    private static final Comparator<Price> START_ORDER = Comparator.comparingLong(Price::getStartEpoch)
+            .thenComparing(Price::getId, Comparator.nullsFirst(Comparator.<Long>naturalOrder()));
+
+    // Estimación de memoria por tarifa: objeto Price con sus value objects y
+    // las posiciones de los arrays primitivos
+    private static final long ESTIMATED_BYTES_PER_PRICE = 320L;
+    private static final long ESTIMATED_BYTES_OVERHEAD = 112L;
+
+    private static final PriceTimeline EMPTY = new PriceTimeline(new Price[0]);
+
+    private final Price[] prices;
+    private final long[] starts;
+    private final long[] ends;
+    // Máximo de ends[0..i], permite cortar el recorrido hacia atrás
+    private final long[] maxEnds;
+    private final int[] priorities;
+
+    private PriceTimeline(Price[] sortedPrices) {
+        int size = sortedPrices.length;
+        this.prices = sortedPrices;
+        this.starts = new long[size];
+        this.ends = new long[size];
+        this.maxEnds = new long[size];
+        this.priorities = new int[size];
+
+        long maxEnd = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            Price price = sortedPrices[i];
+            starts[i] = price.getStartEpoch();
+            ends[i] = price.getEndEpoch();
+            priorities[i] = price.getPriority().getValue();
+            maxEnd = Math.max(maxEnd, ends[i]);
+            maxEnds[i] = maxEnd;
+        }
+    }
+
+    public static PriceTimeline empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Construye la línea temporal a partir de las tarifas de un único producto y
+     * marca, en cualquier orden
+     */
+    public static PriceTimeline of(Collection<Price> prices) {
+        if (prices == null || prices.isEmpty()) {
+            return EMPTY;
+        }
+        Price[] sorted = prices.toArray(new Price[0]);
+        Arrays.sort(sorted, START_ORDER);
+        return new PriceTimeline(sorted);
+    }
+
+    /**
+     * Tarifas aplicables en el instante dado, ordenadas por prioridad descendente
+     * y fecha de inicio descendente (mismo orden que la consulta JPA)
+     */
+    public List<Price> applicableAt(long epochMicros) {
+        List<Price> applicable = null;
+        for (int i = upperBound(epochMicros) - 1; i >= 0 && maxEnds[i] >= epochMicros; i--) {
+            if (ends[i] >= epochMicros) {
+                if (applicable == null) {
+                    applicable = new ArrayList<>(2);
+                }
+                applicable.add(prices[i]);
+            }
+        }
+        if (applicable == null) {
+            return Collections.emptyList();
+        }
+        applicable.sort(PriceDomainService.PRIORITY_ORDER.reversed());
+        return applicable;
+    }
+
+    /**
+     * Tarifa ganadora en el instante dado o null si no hay ninguna aplicable
+     * Recorre hacia atrás desde la última tarifa iniciada, por lo que la primera
+     * encontrada con la mayor prioridad es también la de inicio más tardío
+     */
+    public Price resolveAt(long epochMicros) {
+        int best = -1;
+        for (int i = upperBound(epochMicros) - 1; i >= 0 && maxEnds[i] >= epochMicros; i--) {
+            if (ends[i] >= epochMicros && (best < 0 || priorities[i] > priorities[best])) {
+                best = i;
+            }
+        }
+        return best < 0 ? null : prices[best];
+    }
+
+    /**
+     * Nueva línea temporal con la tarifa añadida o sustituida por identificador
+     */
+    public PriceTimeline withPrice(Price price) {
+        List<Price> updated = new ArrayList<>(prices.length + 1);
+        for (Price existing : prices) {
+            if (!Objects.equals(existing.getId(), price.getId())) {
+                updated.add(existing);
+            }
+        }
+        updated.add(price);
+        return of(updated);
+    }
+
+    /**
+     * Nueva línea temporal sin la tarifa indicada, o esta misma si no la contiene
+     */
+    public PriceTimeline withoutPrice(long priceId) {
+        List<Price> updated = new ArrayList<>(prices.length);
+        for (Price existing : prices) {
+            if (existing.getId() == null || existing.getId() != priceId) {
+                updated.add(existing);
+            }
+        }
+        return updated.size() == prices.length ? this : of(updated);
+    }
+
+    public List<Price> prices() {
+        return Collections.unmodifiableList(Arrays.asList(prices));
+    }
+
+    /**
+     * Tarifas situadas estrictamente después de la posición (afterEpoch,
+     * afterId) en orden de inicio e identificador, con inicio no posterior a
+     * untilEpoch, hasta un máximo de limit
+     */
+    public List<Price> pricesAfter(long afterEpoch, long afterId, long untilEpoch, int limit) {
+        List<Price> page = new ArrayList<>();
+        int i = afterEpoch == Long.MIN_VALUE ? 0 : upperBound(afterEpoch - 1);
+        for (; i < prices.length && starts[i] <= untilEpoch && page.size() < limit; i++) {
+            Long id = prices[i].getId();
+            if (starts[i] == afterEpoch && id != null && id <= afterId) {
+                continue;
+            }
+            page.add(prices[i]);
+        }
+        return page;
+    }
+
+    /**
+     * Estimación aproximada de la memoria retenida por la línea temporal
+     */
+    public long estimatedBytes() {
+        return ESTIMATED_BYTES_OVERHEAD + ESTIMATED_BYTES_PER_PRICE * prices.length;
+    }
+
+    public int size() {
+        return prices.length;
+    }
+
+    public boolean isEmpty() {
+        return prices.length == 0;
+    }
+
+    /**
+     * Primer índice cuya fecha de inicio es posterior al instante dado
+     */
+    private int upperBound(long epochMicros) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= epochMicros) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,324 @@
+package com.inditex.price.infrastructure.ingest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.infrastructure.eventlog.PriceEventReplayer;
+import com.inditex.price.infrastructure.index.PriceCatalogReloader;
+import com.inditex.price.infrastructure.kv.PriceKeyValueStore;
+import com.inditex.price.infrastructure.replica.PriceReplicas;
+import com.inditex.price.infrastructure.version.PriceCatalogVersions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Ingesta masiva de ficheros CSV de tarifas en PRICES
+ *
+ * El fichero se lee en streaming por bloques de batchSize líneas. Cada bloque
+ * se valida en un pool de parallelism hilos aplicando las invariantes de Price
+ * y los bloques válidos se escriben en orden con inserciones JDBC por lotes,
+ * confirmando cada batchesPerTransaction lotes. Como mucho hay parallelism + 1
+ * bloques en memoria, así que el consumo no depende del tamaño del fichero
+ *
+ * Las inserciones no pasan por Hibernate ni por el log de cambios, por lo que
+ * al terminar se invalida el catálogo en memoria, se publica una versión nueva
+ * del catálogo, con log de eventos se escribe un checkpoint y, con réplicas de lectura o almacén clave-valor, se
+ * vuelven a copiar; mientras dura la ingesta las lecturas van al primario.
+ * Si la ingesta falla, los lotes de las transacciones ya confirmadas
+ * permanecen en PRICES
+ */
+@Component
+public class PriceBulkIngestor {
+
+    private static final Logger logger = LogManager.getLogger(PriceBulkIngestor.class);
+
+    private static final String INSERT_SQL = "INSERT INTO PRICES "
+            + "(BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final PriceCatalogReloader priceCatalogReloader;
+    private final PriceReplicas priceReplicas;
+    private final PriceKeyValueStore priceKeyValueStore;
+    private final PriceEventReplayer priceEventReplayer;
+    private final PriceCatalogVersions priceCatalogVersions;
+    private final int batchSize;
+    private final int batchesPerTransaction;
+    private final int parallelism;
+    private final int maxReportedRejections;
+    private final Timer ingestTimer;
+    private final Counter writtenRows;
+    private final Counter rejectedRows;
+
+    public PriceBulkIngestor(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            PriceCatalogReloader priceCatalogReloader,
+            ObjectProvider<PriceReplicas> priceReplicas,
+            ObjectProvider<PriceKeyValueStore> priceKeyValueStore,
+            ObjectProvider<PriceEventReplayer> priceEventReplayer,
+            PriceCatalogVersions priceCatalogVersions,
+            MeterRegistry meterRegistry,
+            @Value("${price.ingest.batch-size:1000}") int batchSize,
+            @Value("${price.ingest.batches-per-transaction:10}") int batchesPerTransaction,
+            @Value("${price.ingest.parallelism:4}") int parallelism,
+            @Value("${price.ingest.max-reported-rejections:100}") int maxReportedRejections) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionManager = transactionManager;
+        this.priceCatalogReloader = priceCatalogReloader;
+        this.priceReplicas = priceReplicas.getIfAvailable();
+        this.priceKeyValueStore = priceKeyValueStore.getIfAvailable();
+        this.priceEventReplayer = priceEventReplayer.getIfAvailable();
+        this.priceCatalogVersions = priceCatalogVersions;
+        this.batchSize = batchSize;
+        this.batchesPerTransaction = batchesPerTransaction;
+        this.parallelism = parallelism;
+        this.maxReportedRejections = maxReportedRejections;
+
+        this.ingestTimer = Timer.builder("price.ingest")
+                .description("Duración de las ingestas masivas de tarifas")
+                .register(meterRegistry);
+        this.writtenRows = Counter.builder("price.ingest.rows")
+                .description("Filas procesadas por la ingesta masiva")
+                .tag("result", "written")
+                .register(meterRegistry);
+        this.rejectedRows = Counter.builder("price.ingest.rows")
+                .description("Filas procesadas por la ingesta masiva")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+    }
+
+    public PriceIngestReport ingest(Path file) throws IOException {
+        long start = System.nanoTime();
+        logger.info("Iniciando ingesta masiva de {}", file);
+
+        ExecutorService validators = Executors.newFixedThreadPool(parallelism);
+        Deque<Future<ValidatedChunk>> inFlight = new ArrayDeque<>();
+        IngestProgress progress = new IngestProgress();
+        if (priceReplicas != null) {
+            priceReplicas.beginBulkWrite();
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<NumberedLine> chunk = new ArrayList<>(batchSize);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty() || (lineNumber == 1 && PriceCsvParser.isHeader(line))) {
+                    continue;
+                }
+                chunk.add(new NumberedLine(lineNumber, line));
+                if (chunk.size() == batchSize) {
+                    submit(validators, inFlight, chunk);
+                    chunk = new ArrayList<>(batchSize);
+                    if (inFlight.size() > parallelism) {
+                        progress.write(await(inFlight.poll()));
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(validators, inFlight, chunk);
+            }
+            while (!inFlight.isEmpty()) {
+                progress.write(await(inFlight.poll()));
+            }
+            progress.commit();
+
+        } catch (IOException | RuntimeException e) {
+            progress.rollback();
+            inFlight.forEach(future -> future.cancel(true));
+            logger.error("Error en la ingesta de {}: {}", file, e.getMessage(), e);
+            throw e;
+        } finally {
+            validators.shutdownNow();
+            if (progress.written > 0 && priceKeyValueStore != null) {
+                priceKeyValueStore.reimport();
+            }
+            if (progress.written > 0) {
+                priceCatalogReloader.invalidate();
+                loadVersion();
+                checkpoint();
+            }
+            if (priceReplicas != null) {
+                priceReplicas.endBulkWrite();
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        ingestTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        PriceIngestReport report = new PriceIngestReport(file.toString(), progress.read, progress.written,
+                progress.rejected, progress.rejections, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        logger.info("Ingesta masiva terminada: {}", report);
+        return report;
+    }
+
+    private void submit(ExecutorService validators, Deque<Future<ValidatedChunk>> inFlight, List<NumberedLine> chunk) {
+        inFlight.add(validators.submit(() -> validate(chunk)));
+    }
+
+    private static ValidatedChunk validate(List<NumberedLine> chunk) {
+        ValidatedChunk validated = new ValidatedChunk(chunk.size());
+        for (NumberedLine numbered : chunk) {
+            try {
+                validated.prices.add(PriceCsvParser.parse(numbered.line));
+            } catch (IllegalArgumentException e) {
+                validated.rejections.add(new PriceIngestRejection(numbered.number, e.getMessage(), numbered.line));
+            }
+        }
+        return validated;
+    }
+
+    private static ValidatedChunk await(Future<ValidatedChunk> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ingesta interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error validando un bloque de tarifas", e.getCause());
+        }
+    }
+
+    /**
+     * Las filas ingeridas no generan cambios: se publica una versión del
+     * catálogo con ellas. Un fallo no debe impedir cerrar la ingesta
+     */
+    private void loadVersion() {
+        try {
+            priceCatalogVersions.load();
+        } catch (RuntimeException e) {
+            logger.error("No se pudo publicar la versión del catálogo tras la ingesta: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Las filas ingeridas no generan eventos: sin un checkpoint posterior la
+     * recuperación desde el log no las vería
+     */
+    private void checkpoint() {
+        if (priceEventReplayer == null) {
+            return;
+        }
+        try {
+            priceEventReplayer.checkpoint();
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("No se pudo escribir el checkpoint tras la ingesta: {}", e.getMessage(), e);
+        }
+    }
+
+    private void insertBatch(List<Price> prices) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, prices, prices.size(), (ps, price) -> {
+            ps.setLong(1, price.getBrandId().getValue());
+            ps.setTimestamp(2, Timestamp.valueOf(price.getStartDate()));
+            ps.setTimestamp(3, Timestamp.valueOf(price.getEndDate()));
+            ps.setInt(4, price.getPriceList());
+            ps.setLong(5, price.getProductId().getValue());
+            ps.setInt(6, price.getPriority().getValue());
+            ps.setBigDecimal(7, price.getPrice().getAmount());
+            ps.setString(8, price.getPrice().getCurrency());
+        });
+    }
+
+    /**
+     * Estado de una ingesta: contadores, rechazos a informar y transacción en curso
+     */
+    private final class IngestProgress {
+
+        private final List<PriceIngestRejection> rejections = new ArrayList<>();
+        private long read;
+        private long written;
+        private long rejected;
+        private TransactionStatus transaction;
+        private int batchesInTransaction;
+
+        private void write(ValidatedChunk chunk) {
+            read += chunk.size;
+            rejected += chunk.rejections.size();
+            rejectedRows.increment(chunk.rejections.size());
+            for (PriceIngestRejection rejection : chunk.rejections) {
+                if (rejections.size() < maxReportedRejections) {
+                    rejections.add(rejection);
+                }
+            }
+            if (chunk.prices.isEmpty()) {
+                return;
+            }
+
+            if (transaction == null) {
+                transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+            }
+            insertBatch(chunk.prices);
+            if (++batchesInTransaction == batchesPerTransaction) {
+                commit();
+            }
+            written += chunk.prices.size();
+            writtenRows.increment(chunk.prices.size());
+        }
+
+        private void commit() {
+            if (transaction != null) {
+                transactionManager.commit(transaction);
+                transaction = null;
+                batchesInTransaction = 0;
+            }
+        }
+
+        private void rollback() {
+            if (transaction != null && !transaction.isCompleted()) {
+                transactionManager.rollback(transaction);
+            }
+            transaction = null;
+        }
+    }
+
+    private static final class NumberedLine {
+
+        private final long number;
+        private final String line;
+
+        private NumberedLine(long number, String line) {
+            this.number = number;
+            this.line = line;
+        }
+    }
+
+    private static final class ValidatedChunk {
+
+        private final int size;
+        private final List<Price> prices;
+        private final List<PriceIngestRejection> rejections = new ArrayList<>();
+
+        private ValidatedChunk(int size) {
+            this.size = size;
+            this.prices = new ArrayList<>(size);
+        }
+    }
+}
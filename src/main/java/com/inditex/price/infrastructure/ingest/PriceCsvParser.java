@@ -0,0 +1,86 @@
+package com.inditex.price.infrastructure.ingest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.Money;
+import com.inditex.price.domain.valueobject.Priority;
+import com.inditex.price.domain.valueobject.ProductId;
+
+/**
+ * Parser de líneas CSV de tarifas con las columnas de PRICES:
+ * BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR
+ *
+ * Las fechas se aceptan en ISO (2020-06-14T00:00:00) o en el formato del
+ * enunciado (2020-06-14-00.00.00). La validación de la fila la hacen las
+ * invariantes de Price, por lo que cualquier fila rechazada lanza
+ * IllegalArgumentException con el motivo
+ */
+public final class PriceCsvParser {
+
+    public static final int COLUMNS = 8;
+
+    private static final DateTimeFormatter LEGACY_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH.mm.ss");
+
+    private PriceCsvParser() {
+    }
+
+    /**
+     * Indica si la línea es una cabecera (no empieza por un dígito)
+     */
+    public static boolean isHeader(String line) {
+        String trimmed = line.trim();
+        return !trimmed.isEmpty() && !Character.isDigit(trimmed.charAt(0));
+    }
+
+    public static Price parse(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != COLUMNS) {
+            throw new IllegalArgumentException(
+                    "Se esperaban " + COLUMNS + " columnas y hay " + fields.length);
+        }
+        return Price.builder()
+                .brandId(new BrandId(parseLong(fields[0], "BRAND_ID")))
+                .startDate(parseDate(fields[1], "START_DATE"))
+                .endDate(parseDate(fields[2], "END_DATE"))
+                .priceList((int) parseLong(fields[3], "PRICE_LIST"))
+                .productId(new ProductId(parseLong(fields[4], "PRODUCT_ID")))
+                .priority(new Priority((int) parseLong(fields[5], "PRIORITY")))
+                .price(new Money(parseDecimal(fields[6], "PRICE"), fields[7].trim()))
+                .build();
+    }
+
+    /**
+     * Convierte una fecha en cualquiera de los formatos admitidos
+     */
+    public static LocalDateTime parseDate(String value, String column) {
+        String trimmed = value.trim();
+        try {
+            return trimmed.indexOf('T') >= 0
+                    ? LocalDateTime.parse(trimmed)
+                    : LocalDateTime.parse(trimmed, LEGACY_DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(column + " no es una fecha válida: " + trimmed);
+        }
+    }
+
+    private static long parseLong(String value, String column) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " no es un número entero: " + value.trim());
+        }
+    }
+
+    private static BigDecimal parseDecimal(String value, String column) {
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " no es un importe válido: " + value.trim());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.inditex.price.infrastructure.ingest;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+
+/**
+ * Línea de un fichero de deltas de tarifas
+ *
+ * Una tarifa se identifica por su clave natural (BRAND_ID, PRODUCT_ID,
+ * PRICE_LIST, START_DATE), lo que hace idempotente reaplicar un fichero:
+ *   UPSERT,BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR
+ *     inserta la tarifa o actualiza fin, prioridad e importe si ya existe
+ *   EXPIRE,BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID
+ *     fija la fecha de fin de una tarifa existente
+ */
+public final class PriceDelta {
+
+    public enum Operation {
+        UPSERT,
+        EXPIRE
+    }
+
+    private static final int EXPIRE_COLUMNS = 5;
+
+    private final Operation operation;
+    private final long brandId;
+    private final long productId;
+    private final int priceList;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final Price price;
+
+    private PriceDelta(Operation operation, long brandId, long productId, int priceList,
+            LocalDateTime startDate, LocalDateTime endDate, Price price) {
+        this.operation = operation;
+        this.brandId = brandId;
+        this.productId = productId;
+        this.priceList = priceList;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.price = price;
+    }
+
+    /**
+     * Convierte una línea del fichero, validando la tarifa con las invariantes
+     * de Price
+     *
+     * @throws IllegalArgumentException si la línea no es válida
+     */
+    public static PriceDelta parse(String line) {
+        int separator = line.indexOf(',');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Falta la operación");
+        }
+        String operation = line.substring(0, separator).trim();
+        String fields = line.substring(separator + 1);
+
+        if (Operation.UPSERT.name().equalsIgnoreCase(operation)) {
+            Price price = PriceCsvParser.parse(fields);
+            return new PriceDelta(Operation.UPSERT, price.getBrandId().getValue(), price.getProductId().getValue(),
+                    price.getPriceList(), price.getStartDate(), price.getEndDate(), price);
+        }
+        if (Operation.EXPIRE.name().equalsIgnoreCase(operation)) {
+            return parseExpiration(fields.split(",", -1));
+        }
+        throw new IllegalArgumentException("Operación desconocida: " + operation);
+    }
+
+    private static PriceDelta parseExpiration(String[] fields) {
+        if (fields.length != EXPIRE_COLUMNS) {
+            throw new IllegalArgumentException(
+                    "Se esperaban " + EXPIRE_COLUMNS + " columnas tras EXPIRE y hay " + fields.length);
+        }
+        try {
+            BrandId brandId = new BrandId(Long.parseLong(fields[0].trim()));
+            LocalDateTime startDate = PriceCsvParser.parseDate(fields[1], "START_DATE");
+            LocalDateTime endDate = PriceCsvParser.parseDate(fields[2], "END_DATE");
+            int priceList = Integer.parseInt(fields[3].trim());
+            ProductId productId = new ProductId(Long.parseLong(fields[4].trim()));
+            if (startDate.isAfter(endDate)) {
+                throw new IllegalArgumentException("La fecha de inicio no puede ser posterior a la fecha de fin");
+            }
+            if (priceList <= 0) {
+                throw new IllegalArgumentException("La lista de precios debe ser un número positivo");
+            }
+            return new PriceDelta(Operation.EXPIRE, brandId.getValue(), productId.getValue(), priceList,
+                    startDate, endDate, null);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Identificador no numérico: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Clave natural como argumentos JDBC: BRAND_ID, PRODUCT_ID, PRICE_LIST, START_DATE
+     */
+    public Object[] naturalKey() {
+        return new Object[] { brandId, productId, priceList, Timestamp.valueOf(startDate) };
+    }
+
+    public String naturalKeyString() {
+        return brandId + "|" + productId + "|" + priceList + "|" + startDate;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public long getBrandId() {
+        return brandId;
+    }
+
+    public long getProductId() {
+        return productId;
+    }
+
+    public int getPriceList() {
+        return priceList;
+    }
+
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Tarifa completa de un UPSERT; null en un EXPIRE
+     */
+    public Price getPrice() {
+        return price;
+    }
+}
@@ -0,0 +1,236 @@
+package com.inditex.price.infrastructure.ingest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.infrastructure.changes.PriceChangeLog;
+import com.inditex.price.infrastructure.changes.PriceChangeType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Aplica ficheros de deltas de tarifas sobre PRICES
+ *
+ * Las líneas se agrupan en lotes de batchSize y cada lote se aplica en su
+ * propia transacción con sentencias JDBC por lotes, respetando el orden del
+ * fichero. Junto con cada escritura se registra el cambio en PRICE_CHANGES por
+ * clave natural, de modo que el consumidor del log actualiza los índices en
+ * memoria solo para los productos afectados
+ *
+ * Reaplicar un fichero total o parcialmente deja PRICES en el mismo estado,
+ * lo que permite reprocesarlo tras un fallo
+ */
+@Component
+public class PriceDeltaApplier {
+
+    private static final Logger logger = LogManager.getLogger(PriceDeltaApplier.class);
+
+    private static final String NATURAL_KEY_CONDITION =
+            " WHERE BRAND_ID = ? AND PRODUCT_ID = ? AND PRICE_LIST = ? AND START_DATE = ?";
+    private static final String UPDATE_SQL = "UPDATE PRICES SET END_DATE = ?, PRIORITY = ?, PRICE = ?, CURR = ?"
+            + NATURAL_KEY_CONDITION;
+    private static final String EXPIRE_SQL = "UPDATE PRICES SET END_DATE = ?" + NATURAL_KEY_CONDITION;
+    private static final String INSERT_SQL = "INSERT INTO PRICES "
+            + "(BRAND_ID, PRODUCT_ID, PRICE_LIST, START_DATE, END_DATE, PRIORITY, PRICE, CURR) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PriceChangeLog priceChangeLog;
+    private final int batchSize;
+    private final Timer fileTimer;
+    private final Map<String, Counter> rowCounters = new LinkedHashMap<>();
+
+    public PriceDeltaApplier(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            PriceChangeLog priceChangeLog,
+            MeterRegistry meterRegistry,
+            @Value("${price.delta.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.priceChangeLog = priceChangeLog;
+        this.batchSize = batchSize;
+
+        this.fileTimer = Timer.builder("price.delta.file")
+                .description("Duración de la aplicación de ficheros de deltas")
+                .register(meterRegistry);
+        for (String result : new String[] { "inserted", "updated", "expired", "missing", "rejected" }) {
+            rowCounters.put(result, Counter.builder("price.delta.rows")
+                    .description("Líneas de ficheros de deltas aplicadas")
+                    .tag("result", result)
+                    .register(meterRegistry));
+        }
+    }
+
+    public PriceDeltaReport apply(Path file) throws IOException {
+        long start = System.nanoTime();
+        DeltaCounts counts = new DeltaCounts();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<PriceDelta> batch = new ArrayList<>(batchSize);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    batch.add(PriceDelta.parse(line));
+                } catch (IllegalArgumentException e) {
+                    counts.rejected++;
+                    logger.warn("Delta rechazado en {} línea {}: {}", file.getFileName(), lineNumber, e.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    applyBatch(batch, counts);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                applyBatch(batch, counts);
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        fileTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        rowCounters.get("rejected").increment(counts.rejected);
+        PriceDeltaReport report = new PriceDeltaReport(file.getFileName().toString(), counts.inserted,
+                counts.updated, counts.expired, counts.missing, counts.rejected,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        logger.info("Fichero de deltas aplicado: {}", report);
+        return report;
+    }
+
+    /**
+     * Aplica un lote en una transacción, agrupando en sentencias por lotes las
+     * líneas consecutivas con la misma operación
+     */
+    private void applyBatch(List<PriceDelta> batch, DeltaCounts counts) {
+        DeltaCounts batchCounts = transactionTemplate.execute(status -> {
+            DeltaCounts applied = new DeltaCounts();
+            int from = 0;
+            while (from < batch.size()) {
+                PriceDelta.Operation operation = batch.get(from).getOperation();
+                int to = from;
+                while (to < batch.size() && batch.get(to).getOperation() == operation) {
+                    to++;
+                }
+                List<PriceDelta> run = batch.subList(from, to);
+                if (operation == PriceDelta.Operation.UPSERT) {
+                    upsert(run, applied);
+                } else {
+                    expire(run, applied);
+                }
+                from = to;
+            }
+            return applied;
+        });
+
+        counts.add(batchCounts);
+        rowCounters.get("inserted").increment(batchCounts.inserted);
+        rowCounters.get("updated").increment(batchCounts.updated);
+        rowCounters.get("expired").increment(batchCounts.expired);
+        rowCounters.get("missing").increment(batchCounts.missing);
+    }
+
+    private void upsert(List<PriceDelta> run, DeltaCounts counts) {
+        // Si la misma tarifa aparece varias veces en el tramo manda la última
+        Map<String, PriceDelta> latest = new LinkedHashMap<>();
+        for (PriceDelta delta : run) {
+            latest.remove(delta.naturalKeyString());
+            latest.put(delta.naturalKeyString(), delta);
+        }
+        List<PriceDelta> deltas = new ArrayList<>(latest.values());
+
+        List<Object[]> updateArgs = new ArrayList<>(deltas.size());
+        for (PriceDelta delta : deltas) {
+            Price price = delta.getPrice();
+            Object[] key = delta.naturalKey();
+            updateArgs.add(new Object[] { Timestamp.valueOf(price.getEndDate()), price.getPriority().getValue(),
+                    price.getPrice().getAmount(), price.getPrice().getCurrency(), key[0], key[1], key[2], key[3] });
+        }
+        int[] updatedRows = jdbcTemplate.batchUpdate(UPDATE_SQL, updateArgs);
+
+        List<Object[]> updatedKeys = new ArrayList<>();
+        List<Object[]> insertedKeys = new ArrayList<>();
+        List<Object[]> insertArgs = new ArrayList<>();
+        for (int i = 0; i < deltas.size(); i++) {
+            PriceDelta delta = deltas.get(i);
+            if (updatedRows[i] > 0) {
+                updatedKeys.add(delta.naturalKey());
+                continue;
+            }
+            Price price = delta.getPrice();
+            Object[] key = delta.naturalKey();
+            insertedKeys.add(key);
+            insertArgs.add(new Object[] { key[0], key[1], key[2], key[3], Timestamp.valueOf(price.getEndDate()),
+                    price.getPriority().getValue(), price.getPrice().getAmount(), price.getPrice().getCurrency() });
+        }
+        if (!insertArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, insertArgs);
+        }
+
+        priceChangeLog.recordByNaturalKey(PriceChangeType.UPDATE, updatedKeys);
+        priceChangeLog.recordByNaturalKey(PriceChangeType.INSERT, insertedKeys);
+        counts.updated += updatedKeys.size();
+        counts.inserted += insertedKeys.size();
+    }
+
+    private void expire(List<PriceDelta> run, DeltaCounts counts) {
+        List<Object[]> args = new ArrayList<>(run.size());
+        for (PriceDelta delta : run) {
+            Object[] key = delta.naturalKey();
+            args.add(new Object[] { Timestamp.valueOf(delta.getEndDate()), key[0], key[1], key[2], key[3] });
+        }
+        int[] updatedRows = jdbcTemplate.batchUpdate(EXPIRE_SQL, args);
+
+        List<Object[]> expiredKeys = new ArrayList<>();
+        for (int i = 0; i < run.size(); i++) {
+            if (updatedRows[i] > 0) {
+                expiredKeys.add(run.get(i).naturalKey());
+            } else {
+                counts.missing++;
+                logger.warn("Expiración de una tarifa inexistente: {}", run.get(i).naturalKeyString());
+            }
+        }
+        priceChangeLog.recordByNaturalKey(PriceChangeType.UPDATE, expiredKeys);
+        counts.expired += expiredKeys.size();
+    }
+
+    private static final class DeltaCounts {
+
+        private long inserted;
+        private long updated;
+        private long expired;
+        private long missing;
+        private long rejected;
+
+        private void add(DeltaCounts other) {
+            inserted += other.inserted;
+            updated += other.updated;
+            expired += other.expired;
+            missing += other.missing;
+            rejected += other.rejected;
+        }
+    }
+}
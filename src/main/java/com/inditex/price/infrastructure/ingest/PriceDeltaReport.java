@@ -0,0 +1,76 @@
+package com.inditex.price.infrastructure.ingest;
+
+/**
+ * Resultado de aplicar un fichero de deltas de tarifas
+ */
+public class PriceDeltaReport {
+
+    private final String file;
+    private final long inserted;
+    private final long updated;
+    private final long expired;
+    private final long missing;
+    private final long rejected;
+    private final long durationMillis;
+
+    public PriceDeltaReport(String file, long inserted, long updated, long expired, long missing, long rejected,
+            long durationMillis) {
+        this.file = file;
+        this.inserted = inserted;
+        this.updated = updated;
+        this.expired = expired;
+        this.missing = missing;
+        this.rejected = rejected;
+        this.durationMillis = durationMillis;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getExpired() {
+        return expired;
+    }
+
+    /**
+     * Expiraciones de tarifas que no existen en PRICES
+     */
+    public long getMissing() {
+        return missing;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public double getRowsPerSecond() {
+        long rows = inserted + updated + expired + missing + rejected;
+        return durationMillis == 0 ? rows : rows * 1000.0 / durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "PriceDeltaReport{" +
+                "file=" + file +
+                ", inserted=" + inserted +
+                ", updated=" + updated +
+                ", expired=" + expired +
+                ", missing=" + missing +
+                ", rejected=" + rejected +
+                ", durationMillis=" + durationMillis +
+                ", rowsPerSecond=" + String.format("%.0f", getRowsPerSecond()) +
+                '}';
+    }
+}
@@ -0,0 +1,189 @@
+package com.inditex.price.infrastructure.ingest;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Vigila el directorio de deltas y aplica los ficheros .csv que aparecen
+ *
+ * Un fichero se procesa cuando lleva settleMillis sin modificarse, para no
+ * leerlo mientras se está copiando, y en orden de nombre. Solo se mueve a
+ * processed/ después de confirmar todos sus lotes; si el servicio se detiene a
+ * mitad, el fichero sigue en el directorio y se reaplica completo en el
+ * siguiente arranque (al menos una vez, idempotente). Tras maxAttempts fallos
+ * se aparta a failed/
+ */
+@Component
+@ConditionalOnProperty(name = "price.delta.enabled", havingValue = "true")
+public class PriceDeltaWatcher {
+
+    private static final Logger logger = LogManager.getLogger(PriceDeltaWatcher.class);
+
+    private static final String FILE_SUFFIX = ".csv";
+
+    private final PriceDeltaApplier priceDeltaApplier;
+    private final Path directory;
+    private final Path processedDirectory;
+    private final Path failedDirectory;
+    private final long settleMillis;
+    private final int maxAttempts;
+    private final MeterRegistry meterRegistry;
+    private final Map<Path, Integer> failedAttempts = new HashMap<>();
+
+    private volatile boolean running;
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    public PriceDeltaWatcher(PriceDeltaApplier priceDeltaApplier,
+            MeterRegistry meterRegistry,
+            @Value("${price.delta.directory:price-deltas}") String directory,
+            @Value("${price.delta.settle-ms:1000}") long settleMillis,
+            @Value("${price.delta.max-attempts:3}") int maxAttempts) {
+        this.priceDeltaApplier = priceDeltaApplier;
+        this.meterRegistry = meterRegistry;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.processedDirectory = this.directory.resolve("processed");
+        this.failedDirectory = this.directory.resolve("failed");
+        this.settleMillis = settleMillis;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        Files.createDirectories(processedDirectory);
+        Files.createDirectories(failedDirectory);
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+
+        running = true;
+        watcherThread = new Thread(this::watch, "price-delta-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        logger.info("Vigilando ficheros de deltas de tarifas en {}", directory);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        running = false;
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Bucle del hilo vigilante. Los eventos solo despiertan el bucle; el
+     * directorio se revisa también en cada espera vencida para recoger los
+     * ficheros previos al arranque y los que terminan de asentarse
+     */
+    private void watch() {
+        try {
+            while (running) {
+                WatchKey key = watchService.poll(settleMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+                processReadyFiles();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Parada del servicio
+        }
+    }
+
+    /**
+     * Aplica los ficheros asentados del directorio
+     *
+     * @return número de ficheros aplicados correctamente
+     */
+    public synchronized int processReadyFiles() {
+        int processed = 0;
+        for (Path file : readyFiles()) {
+            if (process(file)) {
+                processed++;
+            }
+        }
+        return processed;
+    }
+
+    private List<Path> readyFiles() {
+        List<Path> files = new ArrayList<>();
+        long settledBefore = System.currentTimeMillis() - settleMillis;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file) && Files.getLastModifiedTime(file).toMillis() <= settledBefore) {
+                    files.add(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("No se puede leer el directorio de deltas {}: {}", directory, e.getMessage(), e);
+        }
+        files.sort(null);
+        return files;
+    }
+
+    private boolean process(Path file) {
+        try {
+            priceDeltaApplier.apply(file);
+            failedAttempts.remove(file);
+            move(file, processedDirectory);
+            meterRegistry.counter("price.delta.files", "result", "processed").increment();
+            return true;
+
+        } catch (IOException | RuntimeException e) {
+            int attempts = failedAttempts.merge(file, 1, Integer::sum);
+            logger.error("Error aplicando el fichero de deltas {} (intento {}/{}): {}",
+                    file.getFileName(), attempts, maxAttempts, e.getMessage(), e);
+            if (attempts >= maxAttempts) {
+                failedAttempts.remove(file);
+                moveQuietly(file, failedDirectory);
+                meterRegistry.counter("price.delta.files", "result", "failed").increment();
+            }
+            return false;
+        }
+    }
+
+    private static void move(Path file, Path targetDirectory) throws IOException {
+        Files.move(file, targetDirectory.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void moveQuietly(Path file, Path targetDirectory) {
+        try {
+            move(file, targetDirectory);
+        } catch (IOException e) {
+            logger.error("No se puede apartar el fichero {}: {}", file, e.getMessage(), e);
+        }
+    }
+}
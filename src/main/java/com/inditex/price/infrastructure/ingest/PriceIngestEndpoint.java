@@ -0,0 +1,45 @@
+package com.inditex.price.infrastructure.ingest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint de actuator para lanzar una ingesta masiva
+ * POST /actuator/priceingest {"file": "tarifas.csv"} ingesta un fichero del
+ * directorio configurado en price.ingest.directory; no se admiten rutas fuera
+ * de ese directorio
+ */
+@Component
+@Endpoint(id = "priceingest")
+public class PriceIngestEndpoint {
+
+    private final PriceBulkIngestor priceBulkIngestor;
+    private final Path directory;
+
+    public PriceIngestEndpoint(PriceBulkIngestor priceBulkIngestor,
+            @Value("${price.ingest.directory:price-files}") String directory) {
+        this.priceBulkIngestor = priceBulkIngestor;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+    }
+
+    @WriteOperation
+    public PriceIngestReport ingest(String file) {
+        Path path = directory.resolve(file).normalize();
+        if (!path.startsWith(directory) || !Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("Fichero no encontrado en " + directory + ": " + file);
+        }
+        try {
+            return priceBulkIngestor.ingest(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
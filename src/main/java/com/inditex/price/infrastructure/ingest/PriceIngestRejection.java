@@ -0,0 +1,36 @@
+package com.inditex.price.infrastructure.ingest;
+
+/**
+ * Fila rechazada durante una ingesta, con su número de línea y el motivo
+ */
+public class PriceIngestRejection {
+
+    private static final int MAX_LINE_LENGTH = 200;
+
+    private final long lineNumber;
+    private final String reason;
+    private final String line;
+
+    public PriceIngestRejection(long lineNumber, String reason, String line) {
+        this.lineNumber = lineNumber;
+        this.reason = reason;
+        this.line = line.length() > MAX_LINE_LENGTH ? line.substring(0, MAX_LINE_LENGTH) + "..." : line;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public String getLine() {
+        return line;
+    }
+
+    @Override
+    public String toString() {
+        return "línea " + lineNumber + ": " + reason;
+    }
+}
@@ -0,0 +1,69 @@
+package com.inditex.price.infrastructure.ingest;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de la ingesta de un fichero de tarifas
+ * Los detalles de rechazo se limitan a los primeros para acotar la memoria;
+ * rejectedRows cuenta todos
+ */
+public class PriceIngestReport {
+
+    private final String file;
+    private final long rowsRead;
+    private final long rowsWritten;
+    private final long rejectedRows;
+    private final List<PriceIngestRejection> rejections;
+    private final long durationMillis;
+
+    public PriceIngestReport(String file, long rowsRead, long rowsWritten, long rejectedRows,
+            List<PriceIngestRejection> rejections, long durationMillis) {
+        this.file = file;
+        this.rowsRead = rowsRead;
+        this.rowsWritten = rowsWritten;
+        this.rejectedRows = rejectedRows;
+        this.rejections = Collections.unmodifiableList(rejections);
+        this.durationMillis = durationMillis;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public long getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public List<PriceIngestRejection> getRejections() {
+        return rejections;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return durationMillis == 0 ? rowsRead : rowsRead * 1000.0 / durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "PriceIngestReport{" +
+                "file=" + file +
+                ", rowsRead=" + rowsRead +
+                ", rowsWritten=" + rowsWritten +
+                ", rejectedRows=" + rejectedRows +
+                ", durationMillis=" + durationMillis +
+                ", rowsPerSecond=" + String.format("%.0f", getRowsPerSecond()) +
+                '}';
+    }
+}
@@ -0,0 +1,430 @@
+package com.inditex.price.infrastructure.kv;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.h2.mvstore.tx.Transaction;
+import org.h2.mvstore.tx.TransactionMap;
+import org.h2.mvstore.tx.TransactionStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangeListener;
+import com.inditex.price.infrastructure.index.CurrentPriceIndex;
+import com.inditex.price.infrastructure.persitence.mappers.PriceRowMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Copia de PRICES en un almacén clave-valor ordenado embebido (H2 MVStore)
+ *
+ * Cada tarifa se guarda con la clave de PriceStoreKey, de modo que las
+ * tarifas de un producto son un rango contiguo ordenado por inicio y una
+ * consulta es un recorrido corto a partir del prefijo del producto. Un
+ * segundo mapa relaciona el identificador de cada tarifa con su clave para
+ * poder aplicar modificaciones y borrados
+ *
+ * Las escrituras van en transacciones de TransactionStore serializadas entre
+ * sí; las lecturas abren su propia transacción y no se bloquean con ellas.
+ * La importación completa escribe en una generación nueva de mapas y la
+ * publica al terminar, así que las lecturas siguen viendo la anterior hasta
+ * entonces. Después se mantiene al día con los cambios capturados en
+ * PRICE_CHANGES
+ *
+ * Los cambios se aplican por identificador de tarifa con el estado actual de
+ * la fila, así que reaplicar uno no altera nada y no se descarta ninguno por
+ * su id: un cambio con id menor puede confirmarse después que otros ya
+ * aplicados o que la última importación
+ *
+ * Con price.kv.file el almacén vive en un fichero y se reutiliza al arrancar
+ * si su contenido coincide con PRICES, comparando el número de tarifas y una
+ * suma de comprobación de todas sus columnas que se mantiene al aplicar cada
+ * cambio; si no, o en memoria, se importa de nuevo. Mientras no hay una copia completa isReady devuelve false
+ * y una importación fallida se reintenta cada retry-interval-ms
+ *
+ * Recibe los cambios antes que el índice en memoria, que relee del almacén
+ * las tarifas afectadas
+ */
+@Component
+@ConditionalOnProperty(name = "price.kv.enabled", havingValue = "true")
+@Order(PriceChangeListener.STORAGE_ORDER)
+public class PriceKeyValueStore implements PriceChangeListener {
+
+    private static final Logger logger = LogManager.getLogger(PriceKeyValueStore.class);
+
+    private static final String SELECT_ALL_SQL = "SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES";
+    private static final String HEAD_SQL = "SELECT COALESCE(MAX(CHANGE_ID), 0) FROM PRICE_CHANGES";
+
+    private static final String META_MAP = "price-meta";
+    private static final String GENERATION = "generation";
+    private static final String APPLIED_CHANGE_ID = "appliedChangeId";
+    private static final String ROWS = "rows";
+    private static final String CHECKSUM = "checksum";
+
+    private final MVStore mvStore;
+    private final TransactionStore transactionStore;
+    private final MVMap<String, Object> meta;
+    private final JdbcTemplate scanJdbcTemplate;
+    private final PriceRowMapper priceRowMapper;
+    private final int batchSize;
+    private final ObjectProvider<CurrentPriceIndex> currentPriceIndex;
+    private final Timer importTimer;
+    private final Counter appliedChanges;
+    private final Object writeLock = new Object();
+
+    private volatile long generation;
+    private volatile long appliedChangeId;
+    // Número de tarifas y suma de sus huellas en la generación publicada
+    private long rows;
+    private long checksum;
+    private volatile boolean ready;
+    private volatile boolean started;
+
+    public PriceKeyValueStore(DataSource dataSource,
+            PriceRowMapper priceRowMapper,
+            ObjectProvider<CurrentPriceIndex> currentPriceIndex,
+            MeterRegistry meterRegistry,
+            @Value("${price.kv.file:}") String file,
+            @Value("${price.kv.cache-size-mb:64}") int cacheSizeMb,
+            @Value("${price.kv.batch-size:10000}") int batchSize,
+            @Value("${price.catalog.reload.fetch-size:1000}") int fetchSize) {
+        this.scanJdbcTemplate = new JdbcTemplate(dataSource);
+        this.scanJdbcTemplate.setFetchSize(fetchSize);
+        this.priceRowMapper = priceRowMapper;
+        this.batchSize = batchSize;
+        this.currentPriceIndex = currentPriceIndex;
+
+        MVStore.Builder builder = new MVStore.Builder().cacheSize(cacheSizeMb);
+        if (!file.isEmpty()) {
+            createParentDirectories(file);
+            builder.fileName(file);
+        }
+        this.mvStore = builder.open();
+        this.transactionStore = new TransactionStore(mvStore);
+        this.transactionStore.init();
+        this.meta = mvStore.openMap(META_MAP);
+        this.generation = (Long) meta.getOrDefault(GENERATION, 0L);
+        this.appliedChangeId = (Long) meta.getOrDefault(APPLIED_CHANGE_ID, 0L);
+        this.rows = (Long) meta.getOrDefault(ROWS, 0L);
+        this.checksum = (Long) meta.getOrDefault(CHECKSUM, 0L);
+
+        this.importTimer = Timer.builder("price.kv.import")
+                .description("Duración de las importaciones completas de PRICES al almacén clave-valor")
+                .register(meterRegistry);
+        this.appliedChanges = Counter.builder("price.kv.changes")
+                .description("Cambios de PRICE_CHANGES aplicados al almacén clave-valor")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getAppliedChangeId() {
+        return appliedChangeId;
+    }
+
+    /**
+     * Reutiliza el contenido persistido si sigue coincidiendo con PRICES o, si
+     * no, importa la tabla completa. La comprobación recorre PRICES una vez,
+     * así que detecta también las modificaciones hechas por fuera del log
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        synchronized (writeLock) {
+            try {
+                if (generation > 0 && meta.containsKey(CHECKSUM) && matchesDatabase()) {
+                    ready = true;
+                    started = true;
+                    logger.info("Almacén clave-valor reutilizado: generación {}, último cambio {}", generation,
+                            appliedChangeId);
+                    return;
+                }
+            } catch (DataAccessException e) {
+                logger.warn("No se pudo comprobar el almacén clave-valor persistido: {}", e.getMessage());
+            }
+            reimport();
+            started = true;
+        }
+    }
+
+    /**
+     * Vuelve a importar PRICES si la última importación falló
+     */
+    @Scheduled(fixedDelayString = "${price.kv.retry-interval-ms:30000}")
+    public void retryImport() {
+        if (started && !ready) {
+            logger.info("Reintentando la importación de PRICES al almacén clave-valor");
+            reimport();
+        }
+    }
+
+    /**
+     * Importa PRICES completa en una generación nueva y la publica al terminar.
+     * La generación anterior se conserva hasta la siguiente importación para
+     * no cerrar mapas que aún estén recorriendo lecturas en curso
+     */
+    public void reimport() {
+        synchronized (writeLock) {
+            long start = System.nanoTime();
+            long previous = generation;
+            long next = previous + 1;
+            try {
+                removeGeneration(previous - 1);
+                // Restos de una importación anterior que no llegó a publicarse
+                removeGeneration(next);
+                long head = headChangeId();
+                long[] imported = { 0 };
+                long[] importedChecksum = { 0 };
+                List<Price> batch = new ArrayList<>(batchSize);
+                scanJdbcTemplate.query(SELECT_ALL_SQL, rs -> {
+                    Price price = priceRowMapper.mapRow(rs, (int) imported[0]++);
+                    importedChecksum[0] += rowHash(price);
+                    batch.add(price);
+                    if (batch.size() == batchSize) {
+                        writeBatch(next, batch);
+                        batch.clear();
+                    }
+                });
+                writeBatch(next, batch);
+
+                generation = next;
+                appliedChangeId = head;
+                rows = imported[0];
+                checksum = importedChecksum[0];
+                meta.put(GENERATION, next);
+                meta.put(APPLIED_CHANGE_ID, head);
+                meta.put(ROWS, rows);
+                meta.put(CHECKSUM, checksum);
+                mvStore.commit();
+                ready = true;
+                // Los precios vigentes materializados se resolvieron con la generación anterior
+                CurrentPriceIndex index = currentPriceIndex.getIfAvailable();
+                if (index != null) {
+                    index.clear();
+                }
+
+                long elapsedNanos = System.nanoTime() - start;
+                importTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                logger.info("Almacén clave-valor importado: {} tarifas en {}ms, generación {}", imported[0],
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos), next);
+            } catch (RuntimeException e) {
+                ready = false;
+                logger.error("Error importando PRICES al almacén clave-valor: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Aplica los cambios en una única transacción, sustituyendo o borrando
+     * cada tarifa por su identificador. Si falla, el almacén deja de usarse y
+     * se importa de nuevo
+     */
+    @Override
+    public void onPriceChanges(List<PriceChange> changes) {
+        synchronized (writeLock) {
+            if (generation == 0) {
+                return;
+            }
+            long lastChangeId = appliedChangeId;
+            long nextRows = rows;
+            long nextChecksum = checksum;
+            Transaction tx = transactionStore.begin();
+            try {
+                TransactionMap<String, Object[]> prices = tx.openMap(pricesMap(generation));
+                TransactionMap<Long, String> keys = tx.openMap(keysMap(generation));
+                int applied = 0;
+                for (PriceChange change : changes) {
+                    String previousKey = keys.get(change.getPriceId());
+                    if (previousKey != null) {
+                        Object[] previous = prices.remove(previousKey);
+                        if (previous != null) {
+                            nextRows--;
+                            nextChecksum -= rowHash(PriceStoreKey.toPrice(previousKey, previous));
+                        }
+                    }
+                    if (change.isDeletion()) {
+                        keys.remove(change.getPriceId());
+                    } else {
+                        put(prices, keys, change.getPrice());
+                        nextRows++;
+                        nextChecksum += rowHash(change.getPrice());
+                    }
+                    lastChangeId = Math.max(lastChangeId, change.getChangeId());
+                    applied++;
+                }
+                tx.commit();
+                appliedChangeId = lastChangeId;
+                rows = nextRows;
+                checksum = nextChecksum;
+                meta.put(APPLIED_CHANGE_ID, lastChangeId);
+                meta.put(ROWS, nextRows);
+                meta.put(CHECKSUM, nextChecksum);
+                appliedChanges.increment(applied);
+            } catch (RuntimeException e) {
+                tx.rollback();
+                ready = false;
+                logger.warn("Error aplicando cambios al almacén clave-valor, se importa de nuevo: {}",
+                        e.getMessage());
+                reimport();
+            }
+        }
+    }
+
+    /**
+     * Recorre en orden de clave las tarifas con clave en [fromKey, toKey]
+     * mientras visitor devuelva true, dentro de una transacción de lectura
+     * sobre la generación publicada
+     */
+    public void scan(String fromKey, String toKey, Predicate<Price> visitor) {
+        Transaction tx = transactionStore.begin();
+        try {
+            TransactionMap<String, Object[]> prices = tx.openMap(pricesMap(generation));
+            Iterator<Map.Entry<String, Object[]>> entries = prices.entryIterator(fromKey, toKey);
+            while (entries.hasNext()) {
+                Map.Entry<String, Object[]> entry = entries.next();
+                if (!visitor.test(PriceStoreKey.toPrice(entry.getKey(), entry.getValue()))) {
+                    return;
+                }
+            }
+        } finally {
+            tx.commit();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (writeLock) {
+            ready = false;
+            transactionStore.close();
+            mvStore.close();
+        }
+    }
+
+    private void writeBatch(long target, List<Price> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Transaction tx = transactionStore.begin();
+        try {
+            TransactionMap<String, Object[]> prices = tx.openMap(pricesMap(target));
+            TransactionMap<Long, String> keys = tx.openMap(keysMap(target));
+            for (Price price : batch) {
+                put(prices, keys, price);
+            }
+            tx.commit();
+        } catch (RuntimeException e) {
+            tx.rollback();
+            throw e;
+        }
+    }
+
+    private static void put(TransactionMap<String, Object[]> prices, TransactionMap<Long, String> keys,
+            Price price) {
+        String key = PriceStoreKey.of(price);
+        prices.put(key, PriceStoreKey.value(price));
+        keys.put(price.getId(), key);
+    }
+
+    /**
+     * Borra los mapas de una generación que ya no leen las consultas: la
+     * anterior a la publicada o una que no llegó a publicarse
+     */
+    private void removeGeneration(long target) {
+        if (target <= 0) {
+            return;
+        }
+        if (mvStore.hasMap(pricesMap(target))) {
+            mvStore.removeMap(pricesMap(target));
+        }
+        if (mvStore.hasMap(keysMap(target))) {
+            mvStore.removeMap(keysMap(target));
+        }
+    }
+
+    private long headChangeId() {
+        Long head = scanJdbcTemplate.queryForObject(HEAD_SQL, Long.class);
+        return head == null ? 0 : head;
+    }
+
+    /**
+     * Recorre PRICES y compara su número de tarifas y su suma de comprobación
+     * con las del contenido persistido
+     */
+    private boolean matchesDatabase() {
+        long[] databaseRows = { 0 };
+        long[] databaseChecksum = { 0 };
+        scanJdbcTemplate.query(SELECT_ALL_SQL, rs -> {
+            databaseChecksum[0] += rowHash(priceRowMapper.mapRow(rs, (int) databaseRows[0]++));
+        });
+        return databaseRows[0] == rows && databaseChecksum[0] == checksum;
+    }
+
+    /**
+     * Huella de todas las columnas de una tarifa. Se suman, así que la suma
+     * no depende del orden y se actualiza restando la huella anterior
+     */
+    static long rowHash(Price price) {
+        long hash = price.getId();
+        hash = 31 * hash + price.getBrandId().getValue();
+        hash = 31 * hash + price.getProductId().getValue();
+        hash = 31 * hash + EpochTime.toEpochMicros(price.getStartDate());
+        hash = 31 * hash + EpochTime.toEpochMicros(price.getEndDate());
+        hash = 31 * hash + price.getPriceList();
+        hash = 31 * hash + price.getPriority().getValue();
+        hash = 31 * hash + price.getPrice().getAmount().stripTrailingZeros().hashCode();
+        hash = 31 * hash + price.getPrice().getCurrency().hashCode();
+        // Mezcla final de MurmurHash3 para repartir los bits antes de sumar
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static String pricesMap(long generation) {
+        return "prices-" + generation;
+    }
+
+    private static String keysMap(long generation) {
+        return "price-keys-" + generation;
+    }
+
+    private static void createParentDirectories(String file) {
+        Path parent = Paths.get(file).toAbsolutePath().getParent();
+        try {
+            Files.createDirectories(parent);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el directorio de " + file, e);
+        }
+    }
+}
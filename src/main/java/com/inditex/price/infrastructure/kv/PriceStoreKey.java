@@ -0,0 +1,125 @@
+package com.inditex.price.infrastructure.kv;
+
+import java.math.BigDecimal;
+
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.Money;
+import com.inditex.price.domain.valueobject.Priority;
+import com.inditex.price.domain.valueobject.ProductId;
+
+/**
+ * Codificación de las tarifas en el almacén clave-valor
+ *
+ * La clave concatena marca, producto, inicio en microsegundos e identificador
+ * como campos hexadecimales de ancho fijo con el bit de signo invertido, así
+ * que el orden lexicográfico de las claves coincide con el orden numérico de
+ * (brandId, productId, startDate, id). Las tarifas de un producto quedan
+ * contiguas y ordenadas por inicio, y las de una marca agrupadas por producto
+ *
+ * El valor guarda el resto de campos: fin en microsegundos, lista de precios,
+ * prioridad, importe y moneda
+ */
+public final class PriceStoreKey {
+
+    private static final int FIELD_LENGTH = 16;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // Mayor que cualquier dígito hexadecimal: cierra por arriba un prefijo
+    private static final char UPPER_BOUND = '~';
+
+    private PriceStoreKey() {
+    }
+
+    public static String of(Price price) {
+        return of(price.getBrandId().getValue(), price.getProductId().getValue(),
+                EpochTime.toEpochMicros(price.getStartDate()), price.getId());
+    }
+
+    public static String of(long brandId, long productId, long startMicros, long id) {
+        char[] key = new char[FIELD_LENGTH * 4];
+        encode(brandId, key, 0);
+        encode(productId, key, 1);
+        encode(startMicros, key, 2);
+        encode(id, key, 3);
+        return new String(key);
+    }
+
+    /**
+     * Prefijo común a todas las tarifas de una marca
+     */
+    public static String brandPrefix(long brandId) {
+        char[] key = new char[FIELD_LENGTH];
+        encode(brandId, key, 0);
+        return new String(key);
+    }
+
+    /**
+     * Prefijo común a todas las tarifas de un producto de una marca
+     */
+    public static String productPrefix(long brandId, long productId) {
+        char[] key = new char[FIELD_LENGTH * 2];
+        encode(brandId, key, 0);
+        encode(productId, key, 1);
+        return new String(key);
+    }
+
+    /**
+     * Menor cadena posterior a todas las claves que empiezan por prefix
+     */
+    public static String upperBound(String prefix) {
+        return prefix + UPPER_BOUND;
+    }
+
+    public static long productId(String key) {
+        return decode(key, 1);
+    }
+
+    public static long startMicros(String key) {
+        return decode(key, 2);
+    }
+
+    public static long id(String key) {
+        return decode(key, 3);
+    }
+
+    public static Object[] value(Price price) {
+        return new Object[] { EpochTime.toEpochMicros(price.getEndDate()), price.getPriceList(),
+                price.getPriority().getValue(), price.getPrice().getAmount(), price.getPrice().getCurrency() };
+    }
+
+    public static long endMicros(Object[] value) {
+        return (Long) value[0];
+    }
+
+    public static Price toPrice(String key, Object[] value) {
+        return Price.builder()
+                .id(decode(key, 3))
+                .brandId(new BrandId(decode(key, 0)))
+                .startDate(EpochTime.fromEpochMicros(decode(key, 2)))
+                .endDate(EpochTime.fromEpochMicros((Long) value[0]))
+                .priceList((Integer) value[1])
+                .productId(new ProductId(decode(key, 1)))
+                .priority(new Priority((Integer) value[2]))
+                .price(new Money((BigDecimal) value[3], (String) value[4]))
+                .build();
+    }
+
+    private static void encode(long value, char[] key, int field) {
+        long unsigned = value ^ Long.MIN_VALUE;
+        int end = (field + 1) * FIELD_LENGTH;
+        for (int i = end - 1; i >= field * FIELD_LENGTH; i--) {
+            key[i] = HEX[(int) (unsigned & 0xF)];
+            unsigned >>>= 4;
+        }
+    }
+
+    private static long decode(String key, int field) {
+        long unsigned = 0;
+        for (int i = field * FIELD_LENGTH; i < (field + 1) * FIELD_LENGTH; i++) {
+            unsigned = (unsigned << 4) | Character.digit(key.charAt(i), 16);
+        }
+        return unsigned ^ Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,126 @@
+package com.inditex.price.infrastructure.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de peticiones concurrentes que se ajusta según la latencia observada
+ *
+ * Las latencias se agrupan en ventanas de un número fijo de muestras. Al
+ * cerrar cada ventana se compara su latencia media con una media de largo
+ * plazo: mientras la reciente no supera la de referencia en más del factor de
+ * tolerancia el límite crece en la raíz cuadrada del propio límite; si la
+ * supera, se reduce en proporción (como mucho a la mitad). El cambio se
+ * suaviza para no oscilar. Sin presión, con menos de la mitad del límite en
+ * vuelo, el límite no crece porque no se ha llegado a probar
+ *
+ * La admisión es una comparación y un CAS, sin bloqueo, para rechazar rápido
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // Peso de cada ventana en la latencia de referencia de largo plazo
+    private static final double LONG_RTT_SMOOTHING = 0.05;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int windowSamples;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Estado de la ventana y de la estimación, protegido por windowLock
+    private final Object windowLock = new Object();
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long windowRttSumNanos;
+    private int windowCount;
+    private int windowMaxInFlight;
+
+    /**
+     * @param tolerance     factor sobre la latencia de referencia que se tolera
+     *                      antes de reducir el límite
+     * @param smoothing     peso de cada nueva estimación, entre 0 y 1
+     * @param windowSamples muestras por ventana de ajuste
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance,
+            double smoothing, int windowSamples) {
+        if (minLimit <= 0 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Límites de concurrencia incoherentes: inicial " + initialLimit
+                    + ", mínimo " + minLimit + ", máximo " + maxLimit);
+        }
+        if (tolerance < 1.0 || smoothing <= 0.0 || smoothing > 1.0 || windowSamples <= 0) {
+            throw new IllegalArgumentException("Parámetros de ajuste del límite de concurrencia inválidos");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowSamples = windowSamples;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Reserva un hueco si hay menos peticiones en vuelo que el límite
+     *
+     * @return false si la petición debe rechazarse
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el hueco de una petición admitida y registra su latencia
+     */
+    public void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (windowLock) {
+            windowRttSumNanos += Math.max(1L, rttNanos);
+            windowCount++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlightBefore);
+            if (windowCount >= windowSamples) {
+                adjust((double) windowRttSumNanos / windowCount, windowMaxInFlight);
+                windowRttSumNanos = 0L;
+                windowCount = 0;
+                windowMaxInFlight = 0;
+            }
+        }
+    }
+
+    private void adjust(double shortRttNanos, int maxInFlight) {
+        longRttNanos = longRttNanos == 0.0 ? shortRttNanos
+                : longRttNanos * (1.0 - LONG_RTT_SMOOTHING) + shortRttNanos * LONG_RTT_SMOOTHING;
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        if (gradient < 1.0 || maxInFlight >= estimatedLimit / 2) {
+            double candidate = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                    estimatedLimit * (1.0 - smoothing) + candidate * smoothing));
+            limit = (int) estimatedLimit;
+        }
+
+        // Tras una sobrecarga la referencia queda inflada: se acerca a la reciente
+        // para que vuelva a detectar el siguiente aumento de latencia
+        if (longRttNanos > 2.0 * shortRttNanos) {
+            longRttNanos *= 0.9;
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,60 @@
+package com.inditex.price.infrastructure.limit;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.inditex.price.application.exceptions.ConcurrencyLimitExceededException;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * Interceptor que admite o rechaza cada petición según el límite de
+ * concurrencia del endpoint y le devuelve la latencia al terminar
+ *
+ * El rechazo se lanza como excepción para que el manejador global responda
+ * 503 con Retry-After. El instante de admisión queda en un atributo de la
+ * petición, de modo que un segundo paso por el interceptor (despacho
+ * asíncrono) no vuelve a reservar hueco
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private final String endpoint;
+    private final AdaptiveConcurrencyLimit limit;
+    private final Counter rejections;
+    private final long retryAfterSeconds;
+    private final String startAttribute;
+
+    public ConcurrencyLimitInterceptor(String endpoint, AdaptiveConcurrencyLimit limit, Counter rejections,
+            long retryAfterSeconds) {
+        this.endpoint = endpoint;
+        this.limit = limit;
+        this.rejections = rejections;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.startAttribute = ConcurrencyLimitInterceptor.class.getName() + "." + endpoint;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(startAttribute) != null) {
+            return true;
+        }
+        if (!limit.tryAcquire()) {
+            rejections.increment();
+            throw new ConcurrencyLimitExceededException(endpoint, limit.getLimit(), retryAfterSeconds);
+        }
+        request.setAttribute(startAttribute, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        Object start = request.getAttribute(startAttribute);
+        if (start != null) {
+            request.removeAttribute(startAttribute);
+            limit.release(System.nanoTime() - (Long) start);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.inditex.price.infrastructure.limit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Límites de concurrencia adaptativos de la consulta de precios
+ *
+ * La consulta individual y la de lotes tienen límites separados: un lote ocupa
+ * el servidor mucho más que una consulta y no debe dejar sin hueco a las
+ * individuales. Expone por endpoint el límite vigente, las peticiones en
+ * vuelo y los rechazos
+ */
+@Component
+@ConditionalOnProperty(name = "price.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class PriceConcurrencyLimiter {
+
+    public static final String SINGLE = "single";
+    public static final String BATCH = "batch";
+
+    private final AdaptiveConcurrencyLimit singleLimit;
+    private final AdaptiveConcurrencyLimit batchLimit;
+    private final Counter singleRejections;
+    private final Counter batchRejections;
+    private final long retryAfterSeconds;
+
+    public PriceConcurrencyLimiter(MeterRegistry meterRegistry,
+            @Value("${price.limiter.single.initial-limit:100}") int singleInitialLimit,
+            @Value("${price.limiter.single.max-limit:1000}") int singleMaxLimit,
+            @Value("${price.limiter.batch.initial-limit:10}") int batchInitialLimit,
+            @Value("${price.limiter.batch.max-limit:100}") int batchMaxLimit,
+            @Value("${price.limiter.min-limit:4}") int minLimit,
+            @Value("${price.limiter.tolerance:2.0}") double tolerance,
+            @Value("${price.limiter.smoothing:0.2}") double smoothing,
+            @Value("${price.limiter.window-samples:100}") int windowSamples,
+            @Value("${price.limiter.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.singleLimit = new AdaptiveConcurrencyLimit(singleInitialLimit, minLimit, singleMaxLimit, tolerance,
+                smoothing, windowSamples);
+        this.batchLimit = new AdaptiveConcurrencyLimit(batchInitialLimit, minLimit, batchMaxLimit, tolerance,
+                smoothing, windowSamples);
+        this.singleRejections = register(meterRegistry, SINGLE, singleLimit);
+        this.batchRejections = register(meterRegistry, BATCH, batchLimit);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public ConcurrencyLimitInterceptor singleInterceptor() {
+        return new ConcurrencyLimitInterceptor(SINGLE, singleLimit, singleRejections, retryAfterSeconds);
+    }
+
+    public ConcurrencyLimitInterceptor batchInterceptor() {
+        return new ConcurrencyLimitInterceptor(BATCH, batchLimit, batchRejections, retryAfterSeconds);
+    }
+
+    private static Counter register(MeterRegistry meterRegistry, String endpoint, AdaptiveConcurrencyLimit limit) {
+        Gauge.builder("price.limiter.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Límite de peticiones concurrentes vigente")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("price.limiter.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Peticiones admitidas en curso")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        return Counter.builder("price.limiter.rejected")
+                .description("Peticiones rechazadas por el límite de concurrencia")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+}
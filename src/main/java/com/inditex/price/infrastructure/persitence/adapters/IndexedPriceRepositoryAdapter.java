@@ -0,0 +1,145 @@
+package com.inditex.price.infrastructure.persitence.adapters;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import com.inditex.price.application.usecases.PriceReadContext;
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.archive.PriceArchive;
+import com.inditex.price.infrastructure.boundary.PriceBoundaryWindow;
+import com.inditex.price.infrastructure.index.PriceKey;
+import com.inditex.price.infrastructure.index.PriceLookupIndex;
+import com.inditex.price.infrastructure.index.PriceTimeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Adaptador que resuelve las consultas contra el índice en memoria
+ * Carga la línea temporal completa de un producto la primera vez que se
+ * consulta y a partir de ahí responde sin acceder a base de datos
+ *
+ * Los aciertos y fallos del índice se cuentan por separado dentro y fuera de
+ * la ventana de los límites de tarifa, donde se concentran los fallos si la
+ * precarga no llega a tiempo
+ *
+ * Las cargas pasan por la capa resiliente; si esta responde con una copia de
+ * respaldo, la línea temporal se usa para la consulta pero no se publica en
+ * el índice
+ *
+ * El índice solo guarda tarifas de PRICES. Las consultas con fechas dentro del
+ * horizonte del archivo van directamente a base de datos, que combina PRICES
+ * con PRICES_ARCHIVE
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(name = "price.index.enabled", havingValue = "true", matchIfMissing = true)
+public class IndexedPriceRepositoryAdapter implements PriceRepository {
+
+    private static final Logger logger = LogManager.getLogger(IndexedPriceRepositoryAdapter.class);
+
+    private final ResilientPriceRepositoryAdapter delegate;
+    private final PriceLookupIndex priceLookupIndex;
+    private final PriceBoundaryWindow priceBoundaryWindow;
+    private final PriceArchive priceArchive;
+    private final Counter[] lookupCounters = new Counter[4];
+    private final Counter archivedLookups;
+
+    public IndexedPriceRepositoryAdapter(ResilientPriceRepositoryAdapter delegate, PriceLookupIndex priceLookupIndex,
+            PriceBoundaryWindow priceBoundaryWindow, PriceArchive priceArchive, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.priceLookupIndex = priceLookupIndex;
+        this.priceBoundaryWindow = priceBoundaryWindow;
+        this.priceArchive = priceArchive;
+        for (int i = 0; i < lookupCounters.length; i++) {
+            lookupCounters[i] = Counter.builder("price.index.lookups")
+                    .tag("result", (i & 1) == 0 ? "hit" : "miss")
+                    .tag("window", (i & 2) == 0 ? "steady" : "boundary")
+                    .description("Consultas al índice de precios en memoria")
+                    .register(meterRegistry);
+        }
+        this.archivedLookups = Counter.builder("price.index.archive.lookups")
+                .description("Consultas históricas resueltas en base de datos junto con el archivo")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<Price> findApplicablePrices(ProductId productId, BrandId brandId, LocalDateTime applicationDate) {
+        if (priceArchive.covers(applicationDate)) {
+            archivedLookups.increment();
+            return delegate.findApplicablePrices(productId, brandId, applicationDate);
+        }
+
+        // Conversión única de la fecha de la petición, el resto son comparaciones primitivas
+        long epochMicros = EpochTime.toEpochMicros(applicationDate);
+
+        List<Price> applicablePrices = timelineFor(productId, brandId).applicableAt(epochMicros);
+        logger.debug("Consulta resuelta en índice - ProductId: {}, BrandId: {}, Resultados: {}",
+                productId.getValue(), brandId.getValue(), applicablePrices.size());
+        return applicablePrices;
+    }
+
+    @Override
+    public List<Price> findAllPrices(ProductId productId, BrandId brandId) {
+        return timelineFor(productId, brandId).prices();
+    }
+
+    /**
+     * Los recorridos por marca se delegan en base de datos, que ya devuelve las
+     * tarifas agrupadas por producto en un único recorrido ordenado
+     */
+    @Override
+    public void forEachApplicablePrice(BrandId brandId, LocalDateTime applicationDate, Consumer<Price> consumer) {
+        delegate.forEachApplicablePrice(brandId, applicationDate, consumer);
+    }
+
+    @Override
+    public void forEachPriceOfProductsChangingBetween(BrandId brandId, LocalDateTime from, LocalDateTime to,
+            Consumer<Price> consumer) {
+        delegate.forEachPriceOfProductsChangingBetween(brandId, from, to, consumer);
+    }
+
+    @Override
+    public boolean isPartitionedByBrand() {
+        return delegate.isPartitionedByBrand();
+    }
+
+    @Override
+    public List<Price> findPricesStartingAfter(ProductId productId, BrandId brandId, LocalDateTime afterStartDate,
+            long afterId, LocalDateTime until, int limit) {
+        if (priceArchive.covers(afterStartDate)) {
+            archivedLookups.increment();
+            return delegate.findPricesStartingAfter(productId, brandId, afterStartDate, afterId, until, limit);
+        }
+        return timelineFor(productId, brandId).pricesAfter(EpochTime.toEpochMicros(afterStartDate), afterId,
+                EpochTime.toEpochMicros(until), limit);
+    }
+
+    private PriceTimeline timelineFor(ProductId productId, BrandId brandId) {
+        boolean[] missed = new boolean[1];
+        PriceTimeline[] stale = new PriceTimeline[1];
+        PriceTimeline timeline = priceLookupIndex.getOrLoad(PriceKey.of(brandId, productId), key -> {
+            missed[0] = true;
+            long staleReadsBefore = PriceReadContext.staleReads();
+            PriceTimeline loaded = PriceTimeline.of(delegate.findAllPrices(productId, brandId));
+            if (PriceReadContext.staleReads() == staleReadsBefore) {
+                return loaded;
+            }
+            stale[0] = loaded;
+            return null;
+        });
+        lookupCounters[(missed[0] ? 1 : 0) | (priceBoundaryWindow.isOpen() ? 2 : 0)].increment();
+        return timeline != null ? timeline : stale[0];
+    }
+}
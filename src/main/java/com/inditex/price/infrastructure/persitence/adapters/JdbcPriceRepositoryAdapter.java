@@ -0,0 +1,111 @@
+package com.inditex.price.infrastructure.persitence.adapters;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.persitence.mappers.PriceRowMapper;
+
+/**
+ * Repositorio de precios sobre una base de datos cualquiera con la tabla
+ * PRICES, solo con JDBC
+ *
+ * Es el acceso a cada shard: el contexto JPA está ligado a la base de datos
+ * principal. Las consultas son las mismas que las de PriceRepositoryAdapter,
+ * con el mismo orden de resultados y el mismo límite por plazo. Los shards no
+ * tienen réplicas, así que sin plazo no se abre transacción
+ */
+public class JdbcPriceRepositoryAdapter implements PriceRepository {
+
+    private static final String APPLICABLE_SQL = "SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES "
+            + "WHERE BRAND_ID = ? AND PRODUCT_ID = ? AND START_DATE <= ? AND END_DATE >= ? "
+            + "ORDER BY PRIORITY DESC, START_DATE DESC";
+
+    private static final String ALL_SQL = "SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES "
+            + "WHERE BRAND_ID = ? AND PRODUCT_ID = ? ORDER BY START_DATE ASC, ID ASC";
+
+    private static final String STARTING_AFTER_SQL = "SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES "
+            + "WHERE BRAND_ID = ? AND PRODUCT_ID = ? AND START_DATE <= ? "
+            + "AND (START_DATE > ? OR (START_DATE = ? AND ID > ?)) "
+            + "ORDER BY START_DATE ASC, ID ASC FETCH FIRST ? ROWS ONLY";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate scanJdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final PriceRowMapper priceRowMapper;
+
+    public JdbcPriceRepositoryAdapter(DataSource dataSource, PriceRowMapper priceRowMapper, int scanFetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.scanJdbcTemplate = new JdbcTemplate(dataSource);
+        this.scanJdbcTemplate.setFetchSize(scanFetchSize);
+        this.transactionManager = new DataSourceTransactionManager(dataSource);
+        this.priceRowMapper = priceRowMapper;
+    }
+
+    @Override
+    public List<Price> findApplicablePrices(ProductId productId, BrandId brandId, LocalDateTime applicationDate) {
+        Timestamp date = Timestamp.valueOf(applicationDate);
+        return QueryDeadline.run(transactionManager, jdbcTemplate, false, () -> jdbcTemplate.query(
+                APPLICABLE_SQL, priceRowMapper,
+                brandId.getValue(), productId.getValue(), date, date));
+    }
+
+    @Override
+    public List<Price> findAllPrices(ProductId productId, BrandId brandId) {
+        return QueryDeadline.run(transactionManager, jdbcTemplate, false, () -> jdbcTemplate.query(
+                ALL_SQL, priceRowMapper,
+                brandId.getValue(), productId.getValue()));
+    }
+
+    @Override
+    public List<Price> findPricesStartingAfter(ProductId productId, BrandId brandId, LocalDateTime afterStartDate,
+            long afterId, LocalDateTime until, int limit) {
+        Timestamp after = Timestamp.valueOf(afterStartDate);
+        return QueryDeadline.run(transactionManager, jdbcTemplate, false, () -> jdbcTemplate.query(
+                STARTING_AFTER_SQL, priceRowMapper,
+                brandId.getValue(), productId.getValue(), Timestamp.valueOf(until), after, after, afterId, limit));
+    }
+
+    @Override
+    public void forEachApplicablePrice(BrandId brandId, LocalDateTime applicationDate, Consumer<Price> consumer) {
+        Timestamp date = Timestamp.valueOf(applicationDate);
+        int[] rows = { 0 };
+        scanJdbcTemplate.query(PriceRepositoryAdapter.APPLICABLE_BY_BRAND_SQL,
+                (RowCallbackHandler) rs -> consumer.accept(priceRowMapper.mapRow(rs, rows[0]++)),
+                brandId.getValue(), date, date);
+    }
+
+    @Override
+    public void forEachPriceOfProductsChangingBetween(BrandId brandId, LocalDateTime from, LocalDateTime to,
+            Consumer<Price> consumer) {
+        Timestamp fromDate = Timestamp.valueOf(from);
+        Timestamp toDate = Timestamp.valueOf(to);
+        int[] rows = { 0 };
+        scanJdbcTemplate.query(PriceRepositoryAdapter.CHANGING_BETWEEN_SQL,
+                (RowCallbackHandler) rs -> consumer.accept(priceRowMapper.mapRow(rs, rows[0]++)),
+                brandId.getValue(), toDate, fromDate,
+                brandId.getValue(), fromDate, toDate, fromDate, toDate);
+    }
+
+    /**
+     * Recorre todas las tarifas de la base de datos, para la recarga completa
+     * del catálogo
+     */
+    public void forEachPrice(Consumer<Price> consumer) {
+        int[] rows = { 0 };
+        scanJdbcTemplate.query("SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES",
+                (RowCallbackHandler) rs -> consumer.accept(priceRowMapper.mapRow(rs, rows[0]++)));
+    }
+}
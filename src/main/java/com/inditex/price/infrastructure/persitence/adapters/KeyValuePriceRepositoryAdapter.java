@@ -0,0 +1,180 @@
+package com.inditex.price.infrastructure.persitence.adapters;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.archive.PriceArchive;
+import com.inditex.price.infrastructure.kv.PriceKeyValueStore;
+import com.inditex.price.infrastructure.kv.PriceStoreKey;
+
+/**
+ * Repositorio de precios sobre el almacén clave-valor embebido
+ *
+ * Las consultas de un producto recorren solo el rango de claves de ese
+ * producto, en orden de inicio, y cortan en cuanto las tarifas empiezan
+ * después de la fecha buscada; los recorridos de una marca leen su rango en
+ * orden de producto. El almacén solo copia PRICES, así que las consultas
+ * dentro del horizonte de PRICES_ARCHIVE, y todas mientras no hay una copia
+ * completa, van al repositorio relacional
+ */
+public class KeyValuePriceRepositoryAdapter implements PriceRepository {
+
+    private static final Comparator<Price> APPLICABLE_ORDER = Comparator
+            .comparing((Price price) -> price.getPriority().getValue())
+            .thenComparing(Price::getStartDate)
+            .reversed();
+
+    private final PriceKeyValueStore priceKeyValueStore;
+    private final PriceArchive priceArchive;
+    private final PriceRepository fallback;
+
+    public KeyValuePriceRepositoryAdapter(PriceKeyValueStore priceKeyValueStore, PriceArchive priceArchive,
+            PriceRepository fallback) {
+        this.priceKeyValueStore = priceKeyValueStore;
+        this.priceArchive = priceArchive;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public List<Price> findApplicablePrices(ProductId productId, BrandId brandId, LocalDateTime applicationDate) {
+        if (!servesDate(applicationDate)) {
+            return fallback.findApplicablePrices(productId, brandId, applicationDate);
+        }
+
+        String prefix = PriceStoreKey.productPrefix(brandId.getValue(), productId.getValue());
+        List<Price> prices = new ArrayList<>();
+        priceKeyValueStore.scan(prefix, PriceStoreKey.upperBound(prefix), price -> {
+            if (price.getStartDate().isAfter(applicationDate)) {
+                return false;
+            }
+            if (!price.getEndDate().isBefore(applicationDate)) {
+                prices.add(price);
+            }
+            return true;
+        });
+        prices.sort(APPLICABLE_ORDER);
+        return prices;
+    }
+
+    @Override
+    public List<Price> findAllPrices(ProductId productId, BrandId brandId) {
+        if (!priceKeyValueStore.isReady()) {
+            return fallback.findAllPrices(productId, brandId);
+        }
+
+        String prefix = PriceStoreKey.productPrefix(brandId.getValue(), productId.getValue());
+        List<Price> prices = new ArrayList<>();
+        priceKeyValueStore.scan(prefix, PriceStoreKey.upperBound(prefix), prices::add);
+        return prices;
+    }
+
+    @Override
+    public List<Price> findPricesStartingAfter(ProductId productId, BrandId brandId, LocalDateTime afterStartDate,
+            long afterId, LocalDateTime until, int limit) {
+        if (!servesDate(afterStartDate)) {
+            return fallback.findPricesStartingAfter(productId, brandId, afterStartDate, afterId, until, limit);
+        }
+
+        // El rango empieza en la posición ya leída, incluida, y acaba en la última tarifa que empieza en until
+        String from = PriceStoreKey.of(brandId.getValue(), productId.getValue(),
+                EpochTime.toEpochMicros(afterStartDate), afterId);
+        String to = PriceStoreKey.of(brandId.getValue(), productId.getValue(), EpochTime.toEpochMicros(until),
+                Long.MAX_VALUE);
+        List<Price> prices = new ArrayList<>(Math.min(limit, 64));
+        priceKeyValueStore.scan(from, to, price -> {
+            if (price.getId() == afterId && price.getStartDate().equals(afterStartDate)) {
+                return true;
+            }
+            prices.add(price);
+            return prices.size() < limit;
+        });
+        return prices;
+    }
+
+    @Override
+    public void forEachApplicablePrice(BrandId brandId, LocalDateTime applicationDate, Consumer<Price> consumer) {
+        if (!servesDate(applicationDate)) {
+            fallback.forEachApplicablePrice(brandId, applicationDate, consumer);
+            return;
+        }
+
+        String prefix = PriceStoreKey.brandPrefix(brandId.getValue());
+        priceKeyValueStore.scan(prefix, PriceStoreKey.upperBound(prefix), price -> {
+            if (!price.getStartDate().isAfter(applicationDate) && !price.getEndDate().isBefore(applicationDate)) {
+                consumer.accept(price);
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public void forEachPriceOfProductsChangingBetween(BrandId brandId, LocalDateTime from, LocalDateTime to,
+            Consumer<Price> consumer) {
+        if (!servesDate(from)) {
+            fallback.forEachPriceOfProductsChangingBetween(brandId, from, to, consumer);
+            return;
+        }
+
+        ChangingProduct product = new ChangingProduct(from, to, consumer);
+        String prefix = PriceStoreKey.brandPrefix(brandId.getValue());
+        priceKeyValueStore.scan(prefix, PriceStoreKey.upperBound(prefix), price -> {
+            product.add(price);
+            return true;
+        });
+        product.flush();
+    }
+
+    private boolean servesDate(LocalDateTime date) {
+        return priceKeyValueStore.isReady() && !priceArchive.covers(date);
+    }
+
+    /**
+     * Acumula las tarifas vigentes en [from, to] del producto que se está
+     * recorriendo y las entrega al pasar al siguiente solo si alguna de sus
+     * tarifas empieza o termina en (from, to]
+     */
+    private static final class ChangingProduct {
+
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final Consumer<Price> consumer;
+        private final List<Price> overlapping = new ArrayList<>();
+        private ProductId productId;
+        private boolean changing;
+
+        ChangingProduct(LocalDateTime from, LocalDateTime to, Consumer<Price> consumer) {
+            this.from = from;
+            this.to = to;
+            this.consumer = consumer;
+        }
+
+        void add(Price price) {
+            if (!price.getProductId().equals(productId)) {
+                flush();
+                productId = price.getProductId();
+            }
+            LocalDateTime start = price.getStartDate();
+            LocalDateTime end = price.getEndDate();
+            changing |= (start.isAfter(from) && !start.isAfter(to)) || (!end.isBefore(from) && end.isBefore(to));
+            if (!start.isAfter(to) && !end.isBefore(from)) {
+                overlapping.add(price);
+            }
+        }
+
+        void flush() {
+            if (changing) {
+                overlapping.forEach(consumer);
+            }
+            overlapping.clear();
+            changing = false;
+        }
+    }
+}
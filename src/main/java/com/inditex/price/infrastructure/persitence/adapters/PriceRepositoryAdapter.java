@@ -1,49 +1,130 @@
 package com.inditex.price.infrastructure.persitence.adapters;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.sql.DataSource;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.inditex.price.domain.model.Price;
 import com.inditex.price.domain.repository.PriceRepository;
 import com.inditex.price.domain.valueobject.BrandId;
 import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.archive.PriceArchive;
 import com.inditex.price.infrastructure.persitence.entity.PriceJpaEntity;
 import com.inditex.price.infrastructure.persitence.mappers.PriceEntityMapper;
+import com.inditex.price.infrastructure.persitence.mappers.PriceRowMapper;
 import com.inditex.price.infrastructure.persitence.repositories.PriceJpaRepository;
 
 /**
  * Adaptador que implementa el repositorio de dominio
  * Conecta la capa de dominio con la infraestructura de persistencia
+ *
+ * Las consultas con fechas dentro del horizonte de PRICES_ARCHIVE leen
+ * también las tarifas archivadas; el resto solo recorren PRICES. El archivo
+ * existe únicamente en la base de datos principal, por lo que esas consultas
+ * no se envían a réplicas
  */
 @Repository
 public class PriceRepositoryAdapter implements PriceRepository {
 
     private static final Logger logger = LogManager.getLogger(PriceRepositoryAdapter.class);
 
+    static final String APPLICABLE_BY_BRAND_SQL = "SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES "
+            + "WHERE BRAND_ID = ? AND START_DATE <= ? AND END_DATE >= ? ORDER BY PRODUCT_ID";
+
+    // Tarifas vigentes en [from, to] de los productos con algún límite de tarifa en (from, to]
+    static final String CHANGING_BETWEEN_SQL = "SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES "
+            + "WHERE BRAND_ID = ? AND START_DATE <= ? AND END_DATE >= ? "
+            + "AND PRODUCT_ID IN (SELECT PRODUCT_ID FROM PRICES WHERE BRAND_ID = ? "
+            + "AND ((START_DATE > ? AND START_DATE <= ?) OR (END_DATE >= ? AND END_DATE < ?))) "
+            + "ORDER BY PRODUCT_ID";
+
+    private static final String APPLICABLE_WHERE = " WHERE BRAND_ID = ? AND PRODUCT_ID = ? "
+            + "AND START_DATE <= ? AND END_DATE >= ?";
+
+    static final String APPLICABLE_WITH_ARCHIVE_SQL = "SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES"
+            + APPLICABLE_WHERE + " UNION ALL SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES_ARCHIVE"
+            + APPLICABLE_WHERE + " ORDER BY PRIORITY DESC, START_DATE DESC";
+
+    private static final String STARTING_AFTER_WHERE = " WHERE BRAND_ID = ? AND PRODUCT_ID = ? "
+            + "AND START_DATE <= ? AND (START_DATE > ? OR (START_DATE = ? AND ID > ?))";
+
+    static final String STARTING_AFTER_WITH_ARCHIVE_SQL = "SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES"
+            + STARTING_AFTER_WHERE + " UNION ALL SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES_ARCHIVE"
+            + STARTING_AFTER_WHERE + " ORDER BY START_DATE ASC, ID ASC FETCH FIRST ? ROWS ONLY";
+
+    static final String APPLICABLE_BY_BRAND_WITH_ARCHIVE_SQL = "SELECT " + PriceRowMapper.COLUMNS
+            + " FROM PRICES WHERE BRAND_ID = ? AND START_DATE <= ? AND END_DATE >= ? "
+            + "UNION ALL SELECT " + PriceRowMapper.COLUMNS
+            + " FROM PRICES_ARCHIVE WHERE BRAND_ID = ? AND START_DATE <= ? AND END_DATE >= ? "
+            + "ORDER BY PRODUCT_ID";
+
+    private static final String CHANGING_PRODUCTS = "SELECT PRODUCT_ID FROM PRICES WHERE BRAND_ID = ? "
+            + "AND ((START_DATE > ? AND START_DATE <= ?) OR (END_DATE >= ? AND END_DATE < ?)) "
+            + "UNION SELECT PRODUCT_ID FROM PRICES_ARCHIVE WHERE BRAND_ID = ? "
+            + "AND ((START_DATE > ? AND START_DATE <= ?) OR (END_DATE >= ? AND END_DATE < ?))";
+
+    static final String CHANGING_BETWEEN_WITH_ARCHIVE_SQL = "SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES "
+            + "WHERE BRAND_ID = ? AND START_DATE <= ? AND END_DATE >= ? AND PRODUCT_ID IN (" + CHANGING_PRODUCTS
+            + ") UNION ALL SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES_ARCHIVE "
+            + "WHERE BRAND_ID = ? AND START_DATE <= ? AND END_DATE >= ? AND PRODUCT_ID IN (" + CHANGING_PRODUCTS
+            + ") ORDER BY PRODUCT_ID";
+
     private final PriceJpaRepository priceJpaRepostory;
     private final PriceEntityMapper priceEntityMapper;
+    private final PriceRowMapper priceRowMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate scanJdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final PriceArchive priceArchive;
+    private final boolean replicasEnabled;
 
-    public PriceRepositoryAdapter(PriceJpaRepository priceJpaRepostory, PriceEntityMapper priceEntityMapper) {
+    public PriceRepositoryAdapter(PriceJpaRepository priceJpaRepostory, PriceEntityMapper priceEntityMapper,
+            PriceRowMapper priceRowMapper, DataSource dataSource, PlatformTransactionManager transactionManager,
+            PriceArchive priceArchive, @Value("${price.scan.fetch-size:1000}") int scanFetchSize,
+            @Value("${price.replicas.enabled:false}") boolean replicasEnabled) {
         this.priceJpaRepostory = priceJpaRepostory;
         this.priceEntityMapper = priceEntityMapper;
+        this.priceRowMapper = priceRowMapper;
+        this.transactionManager = transactionManager;
+        this.priceArchive = priceArchive;
+        this.replicasEnabled = replicasEnabled;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
 
+        // Los recorridos masivos leen por bloques de scanFetchSize filas en lugar de materializar el resultado
+        this.scanJdbcTemplate = new JdbcTemplate(dataSource);
+        this.scanJdbcTemplate.setFetchSize(scanFetchSize);
     }
 
     @Override
     public List<Price> findApplicablePrices(ProductId productId, BrandId brandId, LocalDateTime applicationDate) {
 
+        if (priceArchive.covers(applicationDate)) {
+            return findApplicablePricesWithArchive(productId, brandId, applicationDate);
+        }
+
         long startTime = System.currentTimeMillis();
 
         try {
-            List<PriceJpaEntity> priceEntities = priceJpaRepostory.findApplicablePrices(
+            List<PriceJpaEntity> priceEntities = withinDeadline(() -> priceJpaRepostory.findApplicablePrices(
                     brandId.getValue(),
                     productId.getValue(),
-                    applicationDate);
+                    applicationDate));
 
             long queryTime = System.currentTimeMillis() - startTime;
 
@@ -70,4 +151,110 @@ public class PriceRepositoryAdapter implements PriceRepository {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<Price> findAllPrices(ProductId productId, BrandId brandId) {
+
+        long startTime = System.currentTimeMillis();
+
+        List<Price> domainPrices = withinDeadline(
+                () -> priceJpaRepostory.findAllByBrandAndProduct(brandId.getValue(), productId.getValue()))
+                .stream()
+                .map(priceEntityMapper::toDomain)
+                .collect(Collectors.toList());
+
+        logger.debug("Carga de tarifas completada - ProductId: {}, BrandId: {}, Resultados: {}, Tiempo: {}ms",
+                productId.getValue(), brandId.getValue(), domainPrices.size(), System.currentTimeMillis() - startTime);
+
+        return domainPrices;
+    }
+
+    @Override
+    public void forEachApplicablePrice(BrandId brandId, LocalDateTime applicationDate, Consumer<Price> consumer) {
+
+        long startTime = System.currentTimeMillis();
+        Timestamp date = Timestamp.valueOf(applicationDate);
+        int[] rows = { 0 };
+        RowCallbackHandler handler = rs -> consumer.accept(priceRowMapper.mapRow(rs, rows[0]++));
+
+        if (priceArchive.covers(applicationDate)) {
+            scanJdbcTemplate.query(APPLICABLE_BY_BRAND_WITH_ARCHIVE_SQL, handler,
+                    brandId.getValue(), date, date, brandId.getValue(), date, date);
+        } else {
+            scanJdbcTemplate.query(APPLICABLE_BY_BRAND_SQL, handler, brandId.getValue(), date, date);
+        }
+
+        logger.info("Recorrido de tarifas aplicables completado - BrandId: {}, Fecha: {}, Resultados: {}, Tiempo: {}ms",
+                brandId.getValue(), applicationDate, rows[0], System.currentTimeMillis() - startTime);
+    }
+
+    @Override
+    public List<Price> findPricesStartingAfter(ProductId productId, BrandId brandId, LocalDateTime afterStartDate,
+            long afterId, LocalDateTime until, int limit) {
+
+        if (priceArchive.covers(afterStartDate)) {
+            Timestamp after = Timestamp.valueOf(afterStartDate);
+            Timestamp untilDate = Timestamp.valueOf(until);
+            return QueryDeadline.runOnPrimary(transactionManager, jdbcTemplate, replicasEnabled,
+                    () -> jdbcTemplate.query(STARTING_AFTER_WITH_ARCHIVE_SQL, priceRowMapper,
+                    brandId.getValue(), productId.getValue(), untilDate, after, after, afterId,
+                    brandId.getValue(), productId.getValue(), untilDate, after, after, afterId, limit));
+        }
+
+        return withinDeadline(() -> priceJpaRepostory.findPricesStartingAfter(brandId.getValue(),
+                productId.getValue(), afterStartDate, afterId, until, PageRequest.of(0, limit)))
+                .stream()
+                .map(priceEntityMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void forEachPriceOfProductsChangingBetween(BrandId brandId, LocalDateTime from, LocalDateTime to,
+            Consumer<Price> consumer) {
+
+        long startTime = System.currentTimeMillis();
+        Timestamp fromDate = Timestamp.valueOf(from);
+        Timestamp toDate = Timestamp.valueOf(to);
+        int[] rows = { 0 };
+        RowCallbackHandler handler = rs -> consumer.accept(priceRowMapper.mapRow(rs, rows[0]++));
+
+        if (priceArchive.covers(from)) {
+            Object[] changing = { brandId.getValue(), fromDate, toDate, fromDate, toDate };
+            List<Object> args = new ArrayList<>();
+            for (int table = 0; table < 2; table++) {
+                args.addAll(List.of(brandId.getValue(), toDate, fromDate));
+                args.addAll(Arrays.asList(changing));
+                args.addAll(Arrays.asList(changing));
+            }
+            scanJdbcTemplate.query(CHANGING_BETWEEN_WITH_ARCHIVE_SQL, handler, args.toArray());
+        } else {
+            scanJdbcTemplate.query(CHANGING_BETWEEN_SQL, handler,
+                    brandId.getValue(), toDate, fromDate,
+                    brandId.getValue(), fromDate, toDate, fromDate, toDate);
+        }
+
+        logger.info("Recorrido de tarifas con cambios completado - BrandId: {}, Rango: {} a {}, Resultados: {}, Tiempo: {}ms",
+                brandId.getValue(), from, to, rows[0], System.currentTimeMillis() - startTime);
+    }
+
+    private List<Price> findApplicablePricesWithArchive(ProductId productId, BrandId brandId,
+            LocalDateTime applicationDate) {
+
+        long startTime = System.currentTimeMillis();
+        Timestamp date = Timestamp.valueOf(applicationDate);
+
+        List<Price> prices = QueryDeadline.runOnPrimary(transactionManager, jdbcTemplate, replicasEnabled,
+                () -> jdbcTemplate.query(APPLICABLE_WITH_ARCHIVE_SQL, priceRowMapper,
+                brandId.getValue(), productId.getValue(), date, date,
+                brandId.getValue(), productId.getValue(), date, date));
+
+        logger.info("Consulta histórica con archivo completada - ProductId: {}, BrandId: {}, Fecha: {}, Resultados: {}, Tiempo: {}ms",
+                productId.getValue(), brandId.getValue(), applicationDate, prices.size(),
+                System.currentTimeMillis() - startTime);
+        return prices;
+    }
+
+    private <T> T withinDeadline(Supplier<T> query) {
+        return QueryDeadline.run(transactionManager, jdbcTemplate, replicasEnabled, query);
+    }
+}
@@ -0,0 +1,79 @@
+package com.inditex.price.infrastructure.persitence.adapters;
+
+import java.util.function.Supplier;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.inditex.price.application.exceptions.DeadlineExceededException;
+import com.inditex.price.application.usecases.PriceReadContext;
+
+/**
+ * Ejecuta las consultas puntuales en una transacción de solo lectura limitada
+ * al plazo de la lectura en curso
+ *
+ * El tiempo restante se fija en milisegundos como QUERY_TIMEOUT de la sesión
+ * H2 de la transacción, de modo que la base de datos cancela la sentencia en
+ * cuanto vence el plazo en lugar de seguir trabajando para una petición que ya
+ * no espera la respuesta. El timeout de JDBC y el de la transacción van en
+ * segundos enteros y no sirven para plazos de unos cientos de milisegundos.
+ * Al terminar se restablece a 0 para no dejarlo en la conexión del pool
+ *
+ * Sin plazo solo se abre transacción si hay réplicas: marcarla de solo lectura
+ * es lo que permite enviarla a una de ellas (ver ReplicaRoutingDataSource).
+ * Sin plazo ni réplicas la consulta se ejecuta tal cual
+ */
+final class QueryDeadline {
+
+    private QueryDeadline() {
+    }
+
+    /**
+     * @param jdbcTemplate plantilla sobre el mismo DataSource que la transacción
+     * @param routed si el DataSource enruta las transacciones de solo lectura
+     *            a las réplicas
+     */
+    static <T> T run(PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate, boolean routed,
+            Supplier<T> query) {
+        return run(transactionManager, jdbcTemplate, routed, true, query);
+    }
+
+    /**
+     * Igual que run, pero en una transacción de lectura y escritura para que la
+     * consulta no salga de la base de datos principal
+     */
+    static <T> T runOnPrimary(PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate,
+            boolean routed, Supplier<T> query) {
+        return run(transactionManager, jdbcTemplate, routed, false, query);
+    }
+
+    private static <T> T run(PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate,
+            boolean routed, boolean readOnly, Supplier<T> query) {
+        long remainingNanos = PriceReadContext.remainingNanos();
+        if (remainingNanos <= 0) {
+            throw new DeadlineExceededException("query");
+        }
+        if (remainingNanos == Long.MAX_VALUE && !routed) {
+            return query.get();
+        }
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        if (remainingNanos == Long.MAX_VALUE) {
+            return template.execute(status -> query.get());
+        }
+        return template.execute(status -> {
+            // Se recalcula dentro de la transacción: abrirla ya ha consumido parte del plazo
+            long remainingMillis = (PriceReadContext.remainingNanos() + 999_999L) / 1_000_000L;
+            if (remainingMillis <= 0) {
+                throw new DeadlineExceededException("query");
+            }
+            jdbcTemplate.execute("SET QUERY_TIMEOUT " + Math.min(Integer.MAX_VALUE, remainingMillis));
+            try {
+                return query.get();
+            } finally {
+                jdbcTemplate.execute("SET QUERY_TIMEOUT 0");
+            }
+        });
+    }
+}
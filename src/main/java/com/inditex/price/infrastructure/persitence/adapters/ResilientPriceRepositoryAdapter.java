@@ -0,0 +1,422 @@
+package com.inditex.price.infrastructure.persitence.adapters;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Repository;
+
+import com.inditex.price.application.exceptions.DeadlineExceededException;
+import com.inditex.price.application.exceptions.PriceDataUnavailableException;
+import com.inditex.price.application.usecases.PriceReadContext;
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangeListener;
+import com.inditex.price.infrastructure.config.PriceStorageConfig;
+import com.inditex.price.infrastructure.index.PriceKey;
+import com.inditex.price.infrastructure.index.PriceTimeline;
+import com.inditex.price.infrastructure.resilience.CircuitBreaker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Adaptador que protege las consultas puntuales a base de datos
+ *
+ * Cada consulta se ejecuta en un pool acotado con un plazo máximo y pasa por
+ * un cortocircuito que deja de intentarlas tras varios fallos seguidos. Las
+ * cargas completas de producto que salen bien se guardan como última copia
+ * buena; si después la base de datos falla, tarda o el circuito está abierto
+ * se responde con esa copia, se anota en PriceReadContext que la respuesta
+ * es de respaldo y se revalida el producto en segundo plano
+ *
+ * Una consulta puntual correcta de un producto sin copia encola su carga
+ * completa, de modo que también hay respaldo sin índice en memoria o para
+ * consultas históricas. Las copias se guardan como mucho maxEntries, se
+ * descartan las menos usadas y las que superan la antigüedad máxima, y se
+ * mantienen al día aplicándoles los cambios capturados en PRICES
+ *
+ * La espera nunca pasa del plazo de la petición anotado en PriceReadContext.
+ * Agotar ese plazo no es culpa de la base de datos: no cuenta como fallo
+ * para el cortocircuito ni se responde con la copia de respaldo, porque el
+ * cliente ya no espera la respuesta
+ *
+ * Los recorridos por marca se entregan en streaming durante toda la
+ * petición, así que no tienen plazo ni respaldo y van directos
+ */
+@Repository
+public class ResilientPriceRepositoryAdapter implements PriceRepository, PriceChangeListener {
+
+    private static final Logger logger = LogManager.getLogger(ResilientPriceRepositoryAdapter.class);
+
+    private final PriceRepository delegate;
+    private final Clock clock;
+    private final CircuitBreaker circuitBreaker;
+    private final long timeoutMillis;
+    private final long maxStaleMillis;
+    private final int maxEntries;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor queries;
+    private final ThreadPoolExecutor revalidations;
+    private final Map<PriceKey, KnownGood> lastKnownGood;
+    private final Set<PriceKey> revalidating = ConcurrentHashMap.newKeySet();
+
+    private final Counter successCounter;
+    private final Counter failureCounter;
+    private final Counter timeoutCounter;
+    private final Counter rejectedCounter;
+    private final Counter deadlineCounter;
+    private final Counter staleCounter;
+    private final Counter unavailableCounter;
+
+    public ResilientPriceRepositoryAdapter(@Qualifier(PriceStorageConfig.PRICE_STORAGE) PriceRepository delegate,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${price.resilience.timeout-ms:500}") long timeoutMillis,
+            @Value("${price.resilience.failure-threshold:5}") int failureThreshold,
+            @Value("${price.resilience.open-ms:5000}") long openMillis,
+            @Value("${price.resilience.max-stale-seconds:600}") long maxStaleSeconds,
+            @Value("${price.resilience.max-entries:100000}") int maxEntries,
+            @Value("${price.resilience.threads:16}") int threads,
+            @Value("${price.resilience.queue-size:256}") int queueSize) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, TimeUnit.MILLISECONDS.toNanos(openMillis),
+                System::nanoTime);
+        this.timeoutMillis = timeoutMillis;
+        this.maxStaleMillis = TimeUnit.SECONDS.toMillis(maxStaleSeconds);
+        this.maxEntries = maxEntries;
+        this.lastKnownGood = new LinkedHashMap<PriceKey, KnownGood>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PriceKey, KnownGood> eldest) {
+                return size() > ResilientPriceRepositoryAdapter.this.maxEntries;
+            }
+        };
+        this.retryAfterSeconds = Math.max(1L, TimeUnit.MILLISECONDS.toSeconds(openMillis));
+        this.queries = newPool("price-db-", threads, queueSize);
+        this.revalidations = newPool("price-revalidate-", 1, queueSize);
+
+        this.successCounter = callCounter(meterRegistry, "success");
+        this.failureCounter = callCounter(meterRegistry, "failure");
+        this.timeoutCounter = callCounter(meterRegistry, "timeout");
+        this.rejectedCounter = callCounter(meterRegistry, "rejected");
+        this.deadlineCounter = callCounter(meterRegistry, "deadline");
+        this.staleCounter = fallbackCounter(meterRegistry, "stale");
+        this.unavailableCounter = fallbackCounter(meterRegistry, "unavailable");
+        Gauge.builder("price.resilience.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Estado del cortocircuito de base de datos (0 cerrado, 1 abierto, 2 semiabierto)")
+                .register(meterRegistry);
+        Gauge.builder("price.resilience.known.entries", this, ResilientPriceRepositoryAdapter::knownEntries)
+                .description("Productos con copia de respaldo")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<Price> findApplicablePrices(ProductId productId, BrandId brandId, LocalDateTime applicationDate) {
+        PriceKey key = PriceKey.of(brandId, productId);
+        try {
+            List<Price> prices = call(() -> delegate.findApplicablePrices(productId, brandId, applicationDate));
+            seed(key);
+            return prices;
+        } catch (PriceDataUnavailableException e) {
+            return fallback(key, e).applicableAt(EpochTime.toEpochMicros(applicationDate));
+        }
+    }
+
+    @Override
+    public List<Price> findAllPrices(ProductId productId, BrandId brandId) {
+        PriceKey key = PriceKey.of(brandId, productId);
+        try {
+            List<Price> prices = call(() -> delegate.findAllPrices(productId, brandId));
+            remember(key, prices);
+            return prices;
+        } catch (PriceDataUnavailableException e) {
+            return fallback(key, e).prices();
+        }
+    }
+
+    @Override
+    public List<Price> findPricesStartingAfter(ProductId productId, BrandId brandId, LocalDateTime afterStartDate,
+            long afterId, LocalDateTime until, int limit) {
+        PriceKey key = PriceKey.of(brandId, productId);
+        try {
+            List<Price> prices = call(() -> delegate.findPricesStartingAfter(productId, brandId, afterStartDate,
+                    afterId, until, limit));
+            seed(key);
+            return prices;
+        } catch (PriceDataUnavailableException e) {
+            return fallback(key, e).pricesAfter(
+                    EpochTime.toEpochMicros(afterStartDate), afterId, EpochTime.toEpochMicros(until), limit);
+        }
+    }
+
+    @Override
+    public void forEachApplicablePrice(BrandId brandId, LocalDateTime applicationDate, Consumer<Price> consumer) {
+        delegate.forEachApplicablePrice(brandId, applicationDate, consumer);
+    }
+
+    @Override
+    public void forEachPriceOfProductsChangingBetween(BrandId brandId, LocalDateTime from, LocalDateTime to,
+            Consumer<Price> consumer) {
+        delegate.forEachPriceOfProductsChangingBetween(brandId, from, to, consumer);
+    }
+
+    @Override
+    public boolean isPartitionedByBrand() {
+        return delegate.isPartitionedByBrand();
+    }
+
+    /**
+     * Aplica los cambios capturados a las copias de respaldo que se tienen, que
+     * quedan tan al día como el log de cambios. No añade productos nuevos: una
+     * copia solo se crea a partir de una carga completa
+     */
+    @Override
+    public void onPriceChanges(List<PriceChange> changes) {
+        long now = clock.millis();
+        synchronized (lastKnownGood) {
+            for (PriceChange change : changes) {
+                KnownGood knownGood = lastKnownGood.get(change.getKey());
+                if (knownGood != null) {
+                    PriceTimeline timeline = change.isDeletion()
+                            ? knownGood.timeline.withoutPrice(change.getPriceId())
+                            : knownGood.timeline.withPrice(change.getPrice());
+                    lastKnownGood.put(change.getKey(), new KnownGood(timeline, now));
+                }
+            }
+        }
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        revalidations.shutdownNow();
+        queries.shutdownNow();
+    }
+
+    /**
+     * Ejecuta la consulta con plazo a través del cortocircuito. Solo los
+     * errores de acceso a datos cuentan como fallo de la base de datos; el
+     * resto se relanzan tal cual. El hilo del pool hereda el plazo de la
+     * petición para que la sentencia JDBC se corte también en el servidor
+     */
+    private <T> T call(Callable<T> query) {
+        long deadlineNanos = PriceReadContext.deadlineNanos();
+        long remainingNanos = PriceReadContext.remainingNanos();
+        if (remainingNanos <= 0) {
+            deadlineCounter.increment();
+            throw new DeadlineExceededException("database");
+        }
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        boolean deadlineBound = remainingNanos < timeoutNanos;
+
+        if (!circuitBreaker.tryAcquire()) {
+            rejectedCounter.increment();
+            throw new PriceDataUnavailableException("Cortocircuito de base de datos abierto", retryAfterSeconds,
+                    null);
+        }
+        Future<T> future;
+        try {
+            future = queries.submit(() -> {
+                PriceReadContext.begin(deadlineNanos);
+                try {
+                    return query.call();
+                } finally {
+                    PriceReadContext.end();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Todas las conexiones ocupadas y la cola llena: la base de datos no da abasto
+            circuitBreaker.onFailure();
+            rejectedCounter.increment();
+            throw new PriceDataUnavailableException("Consultas a base de datos saturadas", retryAfterSeconds, e);
+        }
+        try {
+            T result = future.get(deadlineBound ? remainingNanos : timeoutNanos, TimeUnit.NANOSECONDS);
+            circuitBreaker.onSuccess();
+            successCounter.increment();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            if (deadlineBound) {
+                throw deadlineExceeded();
+            }
+            circuitBreaker.onFailure();
+            timeoutCounter.increment();
+            throw new PriceDataUnavailableException("Consulta a base de datos sin respuesta en " + timeoutMillis
+                    + " ms", retryAfterSeconds, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DeadlineExceededException
+                    || e.getCause() instanceof DataAccessException && PriceReadContext.remainingNanos() <= 0) {
+                // La sentencia la cortó el timeout derivado del plazo de la petición
+                throw deadlineExceeded();
+            }
+            if (e.getCause() instanceof DataAccessException) {
+                circuitBreaker.onFailure();
+                failureCounter.increment();
+                throw new PriceDataUnavailableException("Error de base de datos: " + e.getCause().getMessage(),
+                        retryAfterSeconds, e.getCause());
+            }
+            circuitBreaker.onSuccess();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            circuitBreaker.onFailure();
+            Thread.currentThread().interrupt();
+            throw new PriceDataUnavailableException("Consulta a base de datos interrumpida", retryAfterSeconds, e);
+        }
+    }
+
+    private DeadlineExceededException deadlineExceeded() {
+        circuitBreaker.release();
+        deadlineCounter.increment();
+        return new DeadlineExceededException("database");
+    }
+
+    /**
+     * Devuelve la copia de respaldo del producto si no supera la antigüedad
+     * máxima, anotándola como tal y pidiendo su revalidación
+     */
+    private PriceTimeline fallback(PriceKey key, PriceDataUnavailableException cause) {
+        KnownGood knownGood;
+        long ageMillis;
+        synchronized (lastKnownGood) {
+            knownGood = lastKnownGood.get(key);
+            ageMillis = knownGood == null ? Long.MAX_VALUE : clock.millis() - knownGood.fetchedAtMillis;
+            if (knownGood != null && ageMillis > maxStaleMillis) {
+                lastKnownGood.remove(key);
+            }
+        }
+        if (ageMillis > maxStaleMillis) {
+            unavailableCounter.increment();
+            throw cause;
+        }
+        staleCounter.increment();
+        PriceReadContext.markStale(ageMillis);
+        logger.debug("Respuesta de respaldo para {} con {} ms de antigüedad: {}", key, ageMillis,
+                cause.getMessage());
+        revalidate(key);
+        return knownGood.timeline;
+    }
+
+    /**
+     * Encola la recarga del producto; varias peticiones del mismo producto
+     * comparten una única revalidación
+     */
+    private void revalidate(PriceKey key) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        try {
+            revalidations.execute(() -> {
+                try {
+                    ProductId productId = new ProductId(key.getProductId());
+                    BrandId brandId = new BrandId(key.getBrandId());
+                    remember(key, call(() -> delegate.findAllPrices(productId, brandId)));
+                } catch (RuntimeException e) {
+                    logger.debug("Revalidación de {} fallida: {}", key, e.getMessage());
+                } finally {
+                    revalidating.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            revalidating.remove(key);
+        }
+    }
+
+    /**
+     * Encola la carga completa de un producto consultado que aún no tiene copia
+     */
+    private void seed(PriceKey key) {
+        boolean known;
+        synchronized (lastKnownGood) {
+            known = lastKnownGood.containsKey(key);
+        }
+        if (!known) {
+            revalidate(key);
+        }
+    }
+
+    private void remember(PriceKey key, List<Price> prices) {
+        KnownGood knownGood = new KnownGood(PriceTimeline.of(prices), clock.millis());
+        synchronized (lastKnownGood) {
+            lastKnownGood.put(key, knownGood);
+        }
+    }
+
+    private int knownEntries() {
+        synchronized (lastKnownGood) {
+            return lastKnownGood.size();
+        }
+    }
+
+    private static ThreadPoolExecutor newPool(String prefix, int threads, int queueSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("price.resilience.calls")
+                .tag("outcome", outcome)
+                .description("Consultas puntuales a base de datos por resultado")
+                .register(meterRegistry);
+    }
+
+    private static Counter fallbackCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("price.resilience.fallbacks")
+                .tag("result", result)
+                .description("Consultas fallidas respondidas con la copia de respaldo o sin ella")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Última línea temporal leída con éxito de un producto
+     */
+    private static final class KnownGood {
+
+        private final PriceTimeline timeline;
+        private final long fetchedAtMillis;
+
+        private KnownGood(PriceTimeline timeline, long fetchedAtMillis) {
+            this.timeline = timeline;
+            this.fetchedAtMillis = fetchedAtMillis;
+        }
+    }
+}
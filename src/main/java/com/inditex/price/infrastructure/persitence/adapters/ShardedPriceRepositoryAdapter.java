@@ -0,0 +1,64 @@
+package com.inditex.price.infrastructure.persitence.adapters;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.shard.PriceShards;
+
+/**
+ * Repositorio de precios con el catálogo repartido por marca entre varias
+ * bases de datos
+ *
+ * Todas las operaciones de PriceRepository son de una sola marca, así que
+ * cada una va entera al shard de su marca, recorridos incluidos. Los
+ * recorridos de todas las marcas usan PriceShards.fanOut
+ */
+public class ShardedPriceRepositoryAdapter implements PriceRepository {
+
+    private final PriceShards priceShards;
+
+    public ShardedPriceRepositoryAdapter(PriceShards priceShards) {
+        this.priceShards = priceShards;
+    }
+
+    @Override
+    public List<Price> findApplicablePrices(ProductId productId, BrandId brandId, LocalDateTime applicationDate) {
+        return shardOf(brandId).findApplicablePrices(productId, brandId, applicationDate);
+    }
+
+    @Override
+    public List<Price> findAllPrices(ProductId productId, BrandId brandId) {
+        return shardOf(brandId).findAllPrices(productId, brandId);
+    }
+
+    @Override
+    public List<Price> findPricesStartingAfter(ProductId productId, BrandId brandId, LocalDateTime afterStartDate,
+            long afterId, LocalDateTime until, int limit) {
+        return shardOf(brandId).findPricesStartingAfter(productId, brandId, afterStartDate, afterId, until, limit);
+    }
+
+    @Override
+    public void forEachApplicablePrice(BrandId brandId, LocalDateTime applicationDate, Consumer<Price> consumer) {
+        shardOf(brandId).forEachApplicablePrice(brandId, applicationDate, consumer);
+    }
+
+    @Override
+    public void forEachPriceOfProductsChangingBetween(BrandId brandId, LocalDateTime from, LocalDateTime to,
+            Consumer<Price> consumer) {
+        shardOf(brandId).forEachPriceOfProductsChangingBetween(brandId, from, to, consumer);
+    }
+
+    @Override
+    public boolean isPartitionedByBrand() {
+        return true;
+    }
+
+    private PriceRepository shardOf(BrandId brandId) {
+        return priceShards.shardFor(brandId).getRepository();
+    }
+}
@@ -0,0 +1,59 @@
+package com.inditex.price.infrastructure.persitence.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * JPA Entity for the archive partition of PRICES.
+ * Holds expired tariffs moved out of PRICES by the archival job, keeping their
+ * original ID. It only defines the table; rows are written and read with JDBC.
+ */
+@Entity
+@Table(name = "PRICES_ARCHIVE", indexes = @Index(name = "IDX_PRICES_ARCHIVE_BRAND_PRODUCT_START", columnList = "BRAND_ID, PRODUCT_ID, START_DATE"))
+public class PriceArchiveJpaEntity {
+
+    @Id
+    private Long id;
+
+    @Column(name = "BRAND_ID", nullable = false)
+    private Long brandId;
+
+    @Column(name = "START_DATE", nullable = false)
+    private LocalDateTime startDate;
+
+    @Column(name = "END_DATE", nullable = false)
+    private LocalDateTime endDate;
+
+    @Column(name = "PRICE_LIST", nullable = false)
+    private Integer priceList;
+
+    @Column(name = "PRODUCT_ID", nullable = false)
+    private Long productId;
+
+    @Column(name = "PRIORITY", nullable = false)
+    private Integer priority;
+
+    @Column(name = "PRICE", nullable = false)
+    private BigDecimal price;
+
+    @Column(name = "CURR", nullable = false)
+    private String currency;
+
+    // Default constructor for JPA
+    public PriceArchiveJpaEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+}
@@ -0,0 +1,124 @@
+package com.inditex.price.infrastructure.persitence.entity;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import com.inditex.price.infrastructure.changes.PriceChangeType;
+
+/**
+ * JPA Entity for the PRICES change log.
+ * Each row records that a price row was inserted, updated or deleted; the
+ * identity column gives the capture order consumed by the change poller.
+ */
+@Entity
+@Table(name = "PRICE_CHANGES")
+public class PriceChangeJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "CHANGE_ID")
+    private Long id;
+
+    @Column(name = "PRICE_ID", nullable = false)
+    private Long priceId;
+
+    @Column(name = "BRAND_ID", nullable = false)
+    private Long brandId;
+
+    @Column(name = "PRODUCT_ID", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "CHANGE_TYPE", nullable = false, length = 10)
+    private PriceChangeType changeType;
+
+    @Column(name = "CHANGED_AT", nullable = false)
+    private LocalDateTime changedAt;
+
+    // Default constructor for JPA
+    public PriceChangeJpaEntity() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPriceId() {
+        return priceId;
+    }
+
+    public void setPriceId(Long priceId) {
+        this.priceId = priceId;
+    }
+
+    public Long getBrandId() {
+        return brandId;
+    }
+
+    public void setBrandId(Long brandId) {
+        this.brandId = brandId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public PriceChangeType getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(PriceChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        PriceChangeJpaEntity that = (PriceChangeJpaEntity) obj;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "PriceChangeJpaEntity{" +
+                "id=" + id +
+                ", priceId=" + priceId +
+                ", brandId=" + brandId +
+                ", productId=" + productId +
+                ", changeType=" + changeType +
+                ", changedAt=" + changedAt +
+                '}';
+    }
+}
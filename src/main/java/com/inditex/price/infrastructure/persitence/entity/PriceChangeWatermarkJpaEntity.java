@@ -0,0 +1,89 @@
+package com.inditex.price.infrastructure.persitence.entity;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * JPA Entity for the change poller's restart point.
+ * A single row holds the highest change id already delivered to every
+ * listener, so a restart resumes the PRICES change log from there instead of
+ * from the beginning.
+ */
+@Entity
+@Table(name = "PRICE_CHANGE_WATERMARK")
+public class PriceChangeWatermarkJpaEntity {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    @Column(name = "ID")
+    private Integer id;
+
+    @Column(name = "CHANGE_ID", nullable = false)
+    private Long changeId;
+
+    @Column(name = "UPDATED_AT", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Default constructor for JPA
+    public PriceChangeWatermarkJpaEntity() {
+    }
+
+    public PriceChangeWatermarkJpaEntity(Long changeId, LocalDateTime updatedAt) {
+        this.id = SINGLETON_ID;
+        this.changeId = changeId;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Long getChangeId() {
+        return changeId;
+    }
+
+    public void setChangeId(Long changeId) {
+        this.changeId = changeId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        PriceChangeWatermarkJpaEntity that = (PriceChangeWatermarkJpaEntity) obj;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "PriceChangeWatermarkJpaEntity{" +
+                "id=" + id +
+                ", changeId=" + changeId +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
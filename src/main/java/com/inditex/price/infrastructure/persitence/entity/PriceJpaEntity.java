@@ -6,10 +6,15 @@ import java.util.Objects;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import com.inditex.price.infrastructure.changes.PriceChangeEntityListener;
 
 
 
@@ -17,9 +22,13 @@ import javax.persistence.Table;
  * JPA Entity for Price persistence.
  * This is the infrastructure layer representation of the Price aggregate.
  * Contains JPA annotations and is used only for persistence operations.
+ * Every write through Hibernate is recorded in the PRICE_CHANGES log.
  */
 @Entity
-@Table(name = "PRICES")
+@Table(name = "PRICES", indexes = {
+        @Index(name = "IDX_PRICES_BRAND_PRODUCT_START", columnList = "BRAND_ID, PRODUCT_ID, START_DATE"),
+        @Index(name = "IDX_PRICES_END_DATE", columnList = "END_DATE") })
+@EntityListeners(PriceChangeEntityListener.class)
 public class PriceJpaEntity {
 
     @Id
@@ -49,6 +58,13 @@ public class PriceJpaEntity {
 
     @Column(name = "CURR", nullable = false)
     private String currency;
+
+    // Brand and product as last stored, so that key changes can be recorded
+    @Transient
+    private Long persistedBrandId;
+
+    @Transient
+    private Long persistedProductId;
     
     // Default constructor for JPA
     public PriceJpaEntity() {
@@ -140,6 +156,19 @@ public class PriceJpaEntity {
         this.currency = currency;
     }
 
+    public Long getPersistedBrandId() {
+        return persistedBrandId;
+    }
+
+    public Long getPersistedProductId() {
+        return persistedProductId;
+    }
+
+    public void markPersisted() {
+        this.persistedBrandId = brandId;
+        this.persistedProductId = productId;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -0,0 +1,41 @@
+package com.inditex.price.infrastructure.persitence.mappers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.Money;
+import com.inditex.price.domain.valueobject.Priority;
+import com.inditex.price.domain.valueobject.ProductId;
+
+/**
+ * Mapper que convierte filas JDBC de PRICES en entidades de dominio
+ * Se usa en los recorridos masivos que no pasan por el contexto de persistencia
+ */
+@Component
+public class PriceRowMapper implements RowMapper<Price> {
+
+    /**
+     * Columnas esperadas, en el orden de la tabla PRICES
+     */
+    public static final String COLUMNS = "ID, BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR";
+
+    @Override
+    public Price mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return Price.builder()
+                .id(rs.getLong("ID"))
+                .brandId(new BrandId(rs.getLong("BRAND_ID")))
+                .startDate(rs.getObject("START_DATE", LocalDateTime.class))
+                .endDate(rs.getObject("END_DATE", LocalDateTime.class))
+                .priceList(rs.getInt("PRICE_LIST"))
+                .productId(new ProductId(rs.getLong("PRODUCT_ID")))
+                .priority(new Priority(rs.getInt("PRIORITY")))
+                .price(new Money(rs.getBigDecimal("PRICE"), rs.getString("CURR")))
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.inditex.price.infrastructure.persitence.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.inditex.price.infrastructure.persitence.entity.PriceChangeJpaEntity;
+
+/**
+ * Repositorio JPA del log de cambios de precios
+ */
+@Repository
+public interface PriceChangeJpaRepository extends JpaRepository<PriceChangeJpaEntity, Long> {
+
+    /**
+     * CAMBIOS POSTERIORES AL IDENTIFICADOR DADO EN ORDEN DE CAPTURA
+     */
+    @Query("SELECT c FROM PriceChangeJpaEntity c WHERE c.id > :afterId ORDER BY c.id ASC")
+    List<PriceChangeJpaEntity> findChangesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM PriceChangeJpaEntity c")
+    Long findMaxChangeId();
+
+    /**
+     * ELIMINA LOS CAMBIOS YA CONSUMIDOS Y MÁS ANTIGUOS QUE LA RETENCIÓN
+     * CONSERVA EL ÚLTIMO CONSUMIDO PARA QUE EL MÁXIMO DEL LOG NO BAJE DE ÉL
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PriceChangeJpaEntity c WHERE c.id < :lastConsumedId AND c.changedAt < :cutoff")
+    int deleteConsumed(@Param("lastConsumedId") Long lastConsumedId, @Param("cutoff") LocalDateTime cutoff);
+}
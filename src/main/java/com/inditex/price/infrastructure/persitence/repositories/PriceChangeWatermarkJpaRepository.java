@@ -0,0 +1,13 @@
+package com.inditex.price.infrastructure.persitence.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.inditex.price.infrastructure.persitence.entity.PriceChangeWatermarkJpaEntity;
+
+/**
+ * Repositorio JPA del punto de reanudación del consumidor del log de cambios
+ */
+@Repository
+public interface PriceChangeWatermarkJpaRepository extends JpaRepository<PriceChangeWatermarkJpaEntity, Integer> {
+}
@@ -3,6 +3,7 @@ package com.inditex.price.infrastructure.persitence.repositories;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -36,4 +37,35 @@ public interface PriceJpaRepository extends JpaRepository<PriceJpaEntity, Long>
             @Param("brandId") Long brandId,
             @Param("productId") Long productId,
             @Param("applicationDate") LocalDateTime applicationDate);
-}
\ No newline at end of file
+
+    /**
+     * TODAS LAS TARIFAS DE UN PRODUCTO DE UNA MARCA, ORDENADAS POR FECHA DE
+     * INICIO. SE USA PARA CONSTRUIR LOS ÍNDICES EN MEMORIA
+     */
+    @Query("SELECT p FROM PriceJpaEntity p " +
+            "WHERE p.brandId = :brandId " +
+            "AND p.productId = :productId " +
+            "ORDER BY p.startDate ASC, p.id ASC")
+    List<PriceJpaEntity> findAllByBrandAndProduct(
+            @Param("brandId") Long brandId,
+            @Param("productId") Long productId);
+
+    /**
+     * PÁGINA DE TARIFAS DE UN PRODUCTO POSTERIORES A LA POSICIÓN (AFTERSTART,
+     * AFTERID) EN ORDEN (STARTDATE, ID), CON INICIO NO POSTERIOR A UNTIL
+     * PAGINACIÓN POR CLAVE: CADA PÁGINA EMPIEZA CON UNA BÚSQUEDA EN EL ÍNDICE, SIN OFFSET
+     */
+    @Query("SELECT p FROM PriceJpaEntity p " +
+            "WHERE p.brandId = :brandId " +
+            "AND p.productId = :productId " +
+            "AND p.startDate <= :until " +
+            "AND (p.startDate > :afterStart OR (p.startDate = :afterStart AND p.id > :afterId)) " +
+            "ORDER BY p.startDate ASC, p.id ASC")
+    List<PriceJpaEntity> findPricesStartingAfter(
+            @Param("brandId") Long brandId,
+            @Param("productId") Long productId,
+            @Param("afterStart") LocalDateTime afterStart,
+            @Param("afterId") Long afterId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable);
+}
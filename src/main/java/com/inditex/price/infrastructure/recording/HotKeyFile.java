@@ -0,0 +1,101 @@
+package com.inditex.price.infrastructure.recording;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Formato binario de las grabaciones de consultas
+ *
+ * Cabecera de 4 bytes (PKR1) seguida de registros de 24 bytes: productId,
+ * brandId y fecha de aplicación en microsegundos desde epoch, los tres como
+ * long big-endian. Un registro truncado al final (fichero aún abierto por el
+ * grabador) se ignora
+ */
+public final class HotKeyFile {
+
+    public static final int MAGIC = 0x504B5231;
+    public static final int RECORD_BYTES = 24;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private HotKeyFile() {
+    }
+
+    /**
+     * Indica si el fichero empieza con la cabecera de grabación
+     */
+    public static boolean isRecording(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            return in.readInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Recorre los registros del fichero en orden
+     *
+     * @return número de registros leídos
+     */
+    public static long read(Path path, Consumer<RecordedLookup> consumer) throws IOException {
+        long count = 0;
+        try (InputStream file = Files.newInputStream(path);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(file, BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("No es un fichero de grabación de consultas: " + path);
+            }
+            while (true) {
+                long productId;
+                long brandId;
+                long epochMicros;
+                try {
+                    productId = in.readLong();
+                    brandId = in.readLong();
+                    epochMicros = in.readLong();
+                } catch (EOFException e) {
+                    return count;
+                }
+                consumer.accept(new RecordedLookup(productId, brandId, epochMicros));
+                count++;
+            }
+        }
+    }
+
+    /**
+     * Lee hasta max registros del fichero
+     */
+    public static List<RecordedLookup> readAll(Path path, int max) throws IOException {
+        List<RecordedLookup> lookups = new ArrayList<>();
+        try {
+            read(path, lookup -> {
+                if (lookups.size() >= max) {
+                    throw new LimitReached();
+                }
+                lookups.add(lookup);
+            });
+        } catch (LimitReached e) {
+            // Se ha alcanzado el máximo pedido
+        }
+        return lookups;
+    }
+
+    private static final class LimitReached extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private LimitReached() {
+            super(null, null, false, false);
+        }
+    }
+}
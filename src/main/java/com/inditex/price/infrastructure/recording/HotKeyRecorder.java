@@ -0,0 +1,205 @@
+package com.inditex.price.infrastructure.recording;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.domain.model.EpochTime;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Grabador por muestreo de las consultas de precio servidas
+ *
+ * El hilo de la petición solo decide si la muestrea y, en ese caso, deja el
+ * registro en una cola acotada sin bloquear; si la cola está llena el registro
+ * se descarta. Un hilo propio escribe los registros en hot-keys.bin (ver
+ * HotKeyFile) y, al superar el tamaño máximo, lo rota a hot-keys.1.bin,
+ * hot-keys.2.bin... conservando como mucho maxFiles ficheros
+ */
+@Component
+@ConditionalOnProperty(name = "price.recorder.enabled", havingValue = "true")
+public class HotKeyRecorder {
+
+    private static final Logger logger = LogManager.getLogger(HotKeyRecorder.class);
+
+    public static final String FILE_NAME = "hot-keys.bin";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long FLUSH_INTERVAL_MILLIS = 1000L;
+
+    private final Path directory;
+    private final int sampleRate;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final BlockingQueue<RecordedLookup> queue;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+
+    private Thread writer;
+    private volatile boolean running;
+    private DataOutputStream out;
+    private long fileBytes;
+
+    public HotKeyRecorder(MeterRegistry meterRegistry,
+            @Value("${price.recorder.directory:price-recordings}") String directory,
+            @Value("${price.recorder.sample-rate:100}") int sampleRate,
+            @Value("${price.recorder.max-file-bytes:67108864}") long maxFileBytes,
+            @Value("${price.recorder.max-files:5}") int maxFiles,
+            @Value("${price.recorder.queue-size:65536}") int queueSize) {
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.sampleRate = Math.max(1, sampleRate);
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = Math.max(1, maxFiles);
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.writtenCounter = sampleCounter(meterRegistry, "written");
+        this.droppedCounter = sampleCounter(meterRegistry, "dropped");
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        openFile();
+        running = true;
+        writer = new Thread(this::writeLoop, "price-hot-key-recorder");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Grabación de consultas activa en {} - Muestreo: 1 de cada {}", directory, sampleRate);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Decide si se graba la consulta en curso. Se llama antes de extraer sus
+     * parámetros para que las no muestreadas no cuesten nada más
+     */
+    public boolean shouldSample() {
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    /**
+     * Encola la consulta para su escritura, sin bloquear
+     */
+    public void record(long productId, long brandId, LocalDateTime applicationDate) {
+        if (!queue.offer(new RecordedLookup(productId, brandId, EpochTime.toEpochMicros(applicationDate)))) {
+            droppedCounter.increment();
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private void writeLoop() {
+        long lastFlush = System.currentTimeMillis();
+        try {
+            while (running || !queue.isEmpty()) {
+                RecordedLookup lookup = queue.poll(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (lookup != null) {
+                    write(lookup);
+                }
+                if (lookup == null || System.currentTimeMillis() - lastFlush >= FLUSH_INTERVAL_MILLIS) {
+                    out.flush();
+                    lastFlush = System.currentTimeMillis();
+                }
+            }
+        } catch (InterruptedException e) {
+            // Parada: se escribe lo que quede en la cola
+            drainRemaining();
+        } catch (IOException e) {
+            logger.error("Error escribiendo la grabación de consultas, se detiene: {}", e.getMessage(), e);
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    private void drainRemaining() {
+        try {
+            RecordedLookup lookup;
+            while ((lookup = queue.poll()) != null) {
+                write(lookup);
+            }
+        } catch (IOException e) {
+            logger.warn("No se pudieron escribir las últimas consultas grabadas: {}", e.getMessage());
+        }
+    }
+
+    private void write(RecordedLookup lookup) throws IOException {
+        if (fileBytes + HotKeyFile.RECORD_BYTES > maxFileBytes) {
+            rotate();
+        }
+        out.writeLong(lookup.getProductId());
+        out.writeLong(lookup.getBrandId());
+        out.writeLong(lookup.getApplicationEpochMicros());
+        fileBytes += HotKeyFile.RECORD_BYTES;
+        writtenCounter.increment();
+    }
+
+    private void rotate() throws IOException {
+        out.close();
+        Files.deleteIfExists(rotated(maxFiles - 1));
+        for (int i = maxFiles - 2; i >= 1; i--) {
+            if (Files.exists(rotated(i))) {
+                Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxFiles > 1) {
+            Files.move(directory.resolve(FILE_NAME), rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        openFile();
+    }
+
+    private void openFile() throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(directory.resolve(FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE),
+                BUFFER_SIZE));
+        out.writeInt(HotKeyFile.MAGIC);
+        fileBytes = Integer.BYTES;
+    }
+
+    private Path rotated(int index) {
+        return directory.resolve("hot-keys." + index + ".bin");
+    }
+
+    private void closeQuietly() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            logger.warn("Error cerrando la grabación de consultas: {}", e.getMessage());
+        }
+    }
+
+    private static Counter sampleCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("price.recorder.samples")
+                .tag("result", result)
+                .description("Consultas muestreadas por el grabador")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.inditex.price.infrastructure.recording;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Interceptor que entrega al grabador las consultas de precio servidas
+ * Los parámetros solo se leen de las peticiones muestreadas
+ */
+public class HotKeyRecordingInterceptor implements HandlerInterceptor {
+
+    private final HotKeyRecorder hotKeyRecorder;
+
+    public HotKeyRecordingInterceptor(HotKeyRecorder hotKeyRecorder) {
+        this.hotKeyRecorder = hotKeyRecorder;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (ex != null || response.getStatus() != HttpStatus.OK.value() || !hotKeyRecorder.shouldSample()) {
+            return;
+        }
+        try {
+            hotKeyRecorder.record(Long.parseLong(request.getParameter("productId")),
+                    Long.parseLong(request.getParameter("brandId")),
+                    LocalDateTime.parse(request.getParameter("applicationDate")));
+        } catch (NumberFormatException | NullPointerException | DateTimeParseException e) {
+            // Petición sin los parámetros esperados: no se graba
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.inditex.price.infrastructure.recording;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Herramienta de línea de comandos que reproduce una grabación de consultas
+ * contra el endpoint GET /api/v1/prices de una instancia en marcha
+ *
+ * Uso: java -cp price-service.jar
+ * -Dloader.main=com.inditex.price.infrastructure.recording.HotKeyReplayTool
+ * org.springframework.boot.loader.PropertiesLauncher --file=hot-keys.bin
+ * [--url=http://localhost:8080] [--rate=0] [--concurrency=8] [--requests=N]
+ *
+ * Un 404 (sin precio en esa fecha) es una respuesta válida; cualquier otro
+ * estado distinto de 200 cuenta como error
+ */
+public final class HotKeyReplayTool {
+
+    private HotKeyReplayTool() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        if (!options.containsKey("file")) {
+            System.err.println("Falta --file con la grabación a reproducir");
+            System.exit(2);
+        }
+        Path file = Paths.get(options.get("file"));
+        String baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "8"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+
+        List<RecordedLookup> lookups = HotKeyFile.readAll(file, Integer.MAX_VALUE);
+        long requests = Long.parseLong(options.getOrDefault("requests", Long.toString(lookups.size())));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HotKeyReplayer replayer = new HotKeyReplayer(lookup -> {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/prices?applicationDate="
+                    + lookup.getApplicationDate() + "&productId=" + lookup.getProductId()
+                    + "&brandId=" + lookup.getBrandId())).GET().build();
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status != 200 && status != 404) {
+                throw new IllegalStateException("Estado HTTP " + status);
+            }
+        }, concurrency, rate);
+
+        System.out.println("Reproduciendo " + requests + " peticiones de " + lookups.size()
+                + " consultas grabadas contra " + baseUrl);
+        System.out.println(replayer.replay(lookups, requests));
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,107 @@
+package com.inditex.price.infrastructure.recording;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Reproductor de consultas grabadas contra un destino (endpoint HTTP o caso de
+ * uso) con una concurrencia y una tasa dadas
+ *
+ * Cada petición tiene asignado el instante en que debe salir según la tasa;
+ * los hilos la lanzan al llegar ese instante y su latencia se cuenta desde él.
+ * Cada hilo registra en su propio histograma y se combinan al final
+ */
+public class HotKeyReplayer {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    /**
+     * Destino de la reproducción. Una excepción cuenta como error
+     */
+    @FunctionalInterface
+    public interface ReplayTarget {
+        void execute(RecordedLookup lookup) throws Exception;
+    }
+
+    private final ReplayTarget target;
+    private final int concurrency;
+    private final double ratePerSecond;
+
+    /**
+     * @param ratePerSecond peticiones por segundo; 0 o negativo para ir tan
+     *                      rápido como permita la concurrencia
+     */
+    public HotKeyReplayer(ReplayTarget target, int concurrency, double ratePerSecond) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("La concurrencia debe ser positiva");
+        }
+        this.target = target;
+        this.concurrency = concurrency;
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    /**
+     * Reproduce requests peticiones recorriendo las consultas de forma cíclica
+     */
+    public ReplayReport replay(List<RecordedLookup> lookups, long requests) throws InterruptedException {
+        if (lookups.isEmpty() || requests <= 0) {
+            return new ReplayReport(0L, 0L, newHistogram());
+        }
+        AtomicLong next = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        double intervalNanos = ratePerSecond > 0 ? 1_000_000_000.0 / ratePerSecond : 0.0;
+        long start = System.nanoTime();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Histogram>> results = new ArrayList<>(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            results.add(workers.submit(() -> {
+                Histogram histogram = newHistogram();
+                long i;
+                while ((i = next.getAndIncrement()) < requests) {
+                    long intended = start + (long) (i * intervalNanos);
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    long from = intervalNanos > 0 ? intended : System.nanoTime();
+                    try {
+                        target.execute(lookups.get((int) (i % lookups.size())));
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    histogram.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS,
+                            TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - from)));
+                }
+                return histogram;
+            }));
+        }
+        workers.shutdown();
+
+        Histogram total = newHistogram();
+        try {
+            for (Future<Histogram> result : results) {
+                total.add(result.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error en la reproducción de consultas", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        return new ReplayReport(errors.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), total);
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+}
@@ -0,0 +1,98 @@
+package com.inditex.price.infrastructure.recording;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.application.dto.PriceQueryRequestDTO;
+import com.inditex.price.application.exceptions.PriceNotFoundException;
+import com.inditex.price.application.usecases.FindApplicablePriceUseCase;
+
+/**
+ * Endpoint de actuator que reproduce una grabación directamente contra el
+ * caso de uso, sin HTTP
+ * POST /actuator/pricereplay {"file": "hot-keys.bin", "concurrency": 8,
+ * "rate": 0, "requests": 100000} reproduce un fichero del directorio de
+ * grabaciones; no se admiten rutas fuera de ese directorio
+ *
+ * Genera carga sobre el propio servicio, así que solo se registra con
+ * price.recorder.replay-endpoint.enabled=true y no se expone por defecto.
+ * La concurrencia, la tasa y el número de peticiones se limitan a los
+ * máximos configurados
+ */
+@Component
+@Endpoint(id = "pricereplay")
+@ConditionalOnProperty(name = "price.recorder.replay-endpoint.enabled", havingValue = "true")
+public class PriceReplayEndpoint {
+
+    private static final Logger logger = LogManager.getLogger(PriceReplayEndpoint.class);
+
+    private final FindApplicablePriceUseCase findApplicablePriceUseCase;
+    private final Path directory;
+    private final int maxConcurrency;
+    private final double maxRate;
+    private final long maxRequests;
+
+    public PriceReplayEndpoint(FindApplicablePriceUseCase findApplicablePriceUseCase,
+            @Value("${price.recorder.directory:price-recordings}") String directory,
+            @Value("${price.recorder.replay-endpoint.max-concurrency:16}") int maxConcurrency,
+            @Value("${price.recorder.replay-endpoint.max-rate:5000}") double maxRate,
+            @Value("${price.recorder.replay-endpoint.max-requests:1000000}") long maxRequests) {
+        this.findApplicablePriceUseCase = findApplicablePriceUseCase;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.maxConcurrency = maxConcurrency;
+        this.maxRate = maxRate;
+        this.maxRequests = maxRequests;
+    }
+
+    @WriteOperation
+    public ReplayReport replay(String file, @Nullable Integer concurrency, @Nullable Double rate,
+            @Nullable Long requests) throws InterruptedException {
+        int threads = concurrency != null ? concurrency : Math.min(8, maxConcurrency);
+        if (threads <= 0 || threads > maxConcurrency) {
+            throw new IllegalArgumentException("La concurrencia debe estar entre 1 y " + maxConcurrency);
+        }
+        // Sin tasa o con tasa 0 las peticiones salen tan rápido como permita la concurrencia
+        double ratePerSecond = rate != null ? rate : 0.0;
+        if (ratePerSecond < 0 || ratePerSecond > maxRate || Double.isNaN(ratePerSecond)) {
+            throw new IllegalArgumentException("La tasa debe estar entre 0 y " + maxRate + " peticiones por segundo");
+        }
+        if (requests != null && (requests <= 0 || requests > maxRequests)) {
+            throw new IllegalArgumentException("El número de peticiones debe estar entre 1 y " + maxRequests);
+        }
+
+        Path path = directory.resolve(file).normalize();
+        if (!path.startsWith(directory) || !HotKeyFile.isRecording(path)) {
+            throw new IllegalArgumentException("Grabación no encontrada en " + directory + ": " + file);
+        }
+        try {
+            List<RecordedLookup> lookups = HotKeyFile.readAll(path, Integer.MAX_VALUE);
+            HotKeyReplayer replayer = new HotKeyReplayer(lookup -> {
+                try {
+                    findApplicablePriceUseCase.execute(new PriceQueryRequestDTO(lookup.getApplicationDate(),
+                            lookup.getProductId(), lookup.getBrandId()));
+                } catch (PriceNotFoundException e) {
+                    // Sin precio en esa fecha: respuesta válida
+                }
+            }, threads, ratePerSecond);
+
+            ReplayReport report = replayer.replay(lookups,
+                    requests != null ? requests : Math.min(lookups.size(), maxRequests));
+            logger.info("Reproducción de {} contra el caso de uso - {}", path.getFileName(), report);
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
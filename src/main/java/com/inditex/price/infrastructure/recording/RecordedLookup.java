@@ -0,0 +1,49 @@
+package com.inditex.price.infrastructure.recording;
+
+import java.time.LocalDateTime;
+
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.infrastructure.index.PriceKey;
+
+/**
+ * Consulta de precio grabada: producto, marca y fecha de aplicación
+ * La fecha se guarda en microsegundos desde epoch (ver EpochTime)
+ */
+public final class RecordedLookup {
+
+    private final long productId;
+    private final long brandId;
+    private final long applicationEpochMicros;
+
+    public RecordedLookup(long productId, long brandId, long applicationEpochMicros) {
+        this.productId = productId;
+        this.brandId = brandId;
+        this.applicationEpochMicros = applicationEpochMicros;
+    }
+
+    public long getProductId() {
+        return productId;
+    }
+
+    public long getBrandId() {
+        return brandId;
+    }
+
+    public long getApplicationEpochMicros() {
+        return applicationEpochMicros;
+    }
+
+    public LocalDateTime getApplicationDate() {
+        return EpochTime.fromEpochMicros(applicationEpochMicros);
+    }
+
+    public PriceKey getKey() {
+        return new PriceKey(brandId, productId);
+    }
+
+    @Override
+    public String toString() {
+        return "RecordedLookup{productId=" + productId + ", brandId=" + brandId
+                + ", applicationDate=" + getApplicationDate() + "}";
+    }
+}
@@ -0,0 +1,87 @@
+package com.inditex.price.infrastructure.recording;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Resultado de una reproducción de consultas grabadas
+ * Las latencias están en microsegundos y se miden desde el instante en que
+ * debía salir cada petición según la tasa, no desde que salió, para no ocultar
+ * las esperas provocadas por peticiones lentas anteriores
+ */
+public class ReplayReport {
+
+    private final long requests;
+    private final long errors;
+    private final long durationMillis;
+    private final double requestsPerSecond;
+    private final long p50Micros;
+    private final long p90Micros;
+    private final long p99Micros;
+    private final long p999Micros;
+    private final long maxMicros;
+    private final Histogram latencies;
+
+    public ReplayReport(long errors, long durationMillis, Histogram latencies) {
+        this.requests = latencies.getTotalCount();
+        this.errors = errors;
+        this.durationMillis = durationMillis;
+        this.requestsPerSecond = durationMillis == 0 ? 0.0 : requests * 1000.0 / durationMillis;
+        this.p50Micros = latencies.getValueAtPercentile(50.0);
+        this.p90Micros = latencies.getValueAtPercentile(90.0);
+        this.p99Micros = latencies.getValueAtPercentile(99.0);
+        this.p999Micros = latencies.getValueAtPercentile(99.9);
+        this.maxMicros = latencies.getMaxValue();
+        this.latencies = latencies;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public long getP50Micros() {
+        return p50Micros;
+    }
+
+    public long getP90Micros() {
+        return p90Micros;
+    }
+
+    public long getP99Micros() {
+        return p99Micros;
+    }
+
+    public long getP999Micros() {
+        return p999Micros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    /**
+     * Distribución completa de latencias, para volcarla o combinarla con otras
+     */
+    public Histogram getLatencies() {
+        return latencies;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Peticiones: %d, Errores: %d, Duración: %d ms, Rendimiento: %.1f pet/s, "
+                + "p50: %d us, p90: %d us, p99: %d us, p99.9: %d us, máx: %d us",
+                requests, errors, durationMillis, requestsPerSecond, p50Micros, p90Micros, p99Micros,
+                p999Micros, maxMicros);
+    }
+}
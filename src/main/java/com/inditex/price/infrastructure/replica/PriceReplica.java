@@ -0,0 +1,132 @@
+package com.inditex.price.infrastructure.replica;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Réplica de solo lectura de PRICES y su estado de sincronización
+ *
+ * El estado lo actualizan PriceReplicas al aplicar cambios y la sonda
+ * periódica; las consultas lo leen sin bloqueo para decidir a dónde van
+ */
+public final class PriceReplica {
+
+    // Peso de la última medida en la media móvil de latencia
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final String name;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile boolean synced;
+    private volatile boolean up = true;
+    private volatile long appliedChangeId;
+    private volatile long behindSince;
+    private volatile long latencyNanos;
+
+    PriceReplica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isSynced() {
+        return synced;
+    }
+
+    public boolean isUp() {
+        return up;
+    }
+
+    /**
+     * Mayor cambio aplicado, solo para medir el retraso respecto al primario
+     */
+    public long getAppliedChangeId() {
+        return appliedChangeId;
+    }
+
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * Milisegundos que lleva la réplica sin haber aplicado el último cambio
+     * conocido del primario, 0 si está al día
+     */
+    public long lagMillis(long nowMillis) {
+        long since = behindSince;
+        return since == 0 ? 0 : Math.max(0, nowMillis - since);
+    }
+
+    /**
+     * Puede atender lecturas: copia completa hecha, responde a la sonda y su
+     * retraso no supera maxLagMillis
+     */
+    boolean isAvailable(long nowMillis, long maxLagMillis) {
+        return synced && up && lagMillis(nowMillis) <= maxLagMillis;
+    }
+
+    JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    TransactionTemplate getTransactionTemplate() {
+        return transactionTemplate;
+    }
+
+    void markSynced(long changeId, long headChangeId) {
+        appliedChangeId = changeId;
+        synced = true;
+        trackLag(headChangeId, System.currentTimeMillis());
+    }
+
+    void markUnsynced() {
+        synced = false;
+    }
+
+    void markApplied(long changeId, long headChangeId) {
+        appliedChangeId = Math.max(appliedChangeId, changeId);
+        trackLag(headChangeId, System.currentTimeMillis());
+    }
+
+    void markUp(long probeNanos) {
+        long previous = latencyNanos;
+        latencyNanos = previous == 0 ? probeNanos
+                : (long) (LATENCY_WEIGHT * probeNanos + (1 - LATENCY_WEIGHT) * previous);
+        up = true;
+    }
+
+    void markDown() {
+        up = false;
+    }
+
+    /**
+     * Empieza a contar el retraso al detectar por primera vez un cambio del
+     * primario sin aplicar y lo pone a cero en cuanto la réplica lo alcanza
+     */
+    void trackLag(long headChangeId, long nowMillis) {
+        if (appliedChangeId >= headChangeId) {
+            behindSince = 0;
+        } else if (behindSince == 0) {
+            behindSince = nowMillis;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
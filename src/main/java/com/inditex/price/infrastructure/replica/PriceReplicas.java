@@ -0,0 +1,412 @@
+package com.inditex.price.infrastructure.replica;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangeListener;
+import com.inditex.price.infrastructure.config.ReplicaRoutingConfig;
+import com.inditex.price.infrastructure.persitence.mappers.PriceRowMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Réplicas de lectura de PRICES para las consultas de precio
+ *
+ * Se activa con price.replicas.enabled=true. Cada réplica de
+ * price.replicas.names se configura con price.replicas.&lt;réplica&gt;.url,
+ * .username y .password. Las transacciones de solo lectura de las consultas
+ * puntuales se reparten entre las réplicas disponibles (ver
+ * ReplicaRoutingDataSource) por turno rotatorio o eligiendo la de menor
+ * latencia medida por la sonda, según price.replicas.strategy. El resto del
+ * tráfico, y las lecturas cuando ninguna réplica está disponible, van al
+ * primario
+ *
+ * Las réplicas se mantienen al día desde la propia aplicación: al arrancar se
+ * copian completas desde el primario, después reciben cada cambio del log
+ * PRICE_CHANGES y la ingesta masiva, que no pasa por el log, las vuelve a
+ * copiar al terminar. La sonda compara el último cambio del primario con el
+ * aplicado en cada réplica; una réplica que lleva más de max-lag-ms sin
+ * alcanzarlo deja de recibir lecturas hasta que se pone al día, y una que
+ * falla al aplicar cambios se vuelve a copiar. Recibe los cambios antes que
+ * el índice en memoria, que relee las tarifas afectadas y puede leerlas de
+ * una réplica
+ *
+ * Las sentencias de réplica (MERGE ... KEY) son de H2, la base de datos con la
+ * que se ejecuta el servicio
+ */
+@Component
+@ConditionalOnProperty(name = "price.replicas.enabled", havingValue = "true")
+@Order(PriceChangeListener.STORAGE_ORDER)
+public class PriceReplicas implements PriceChangeListener {
+
+    private static final Logger logger = LogManager.getLogger(PriceReplicas.class);
+
+    private static final String PREFIX = "price.replicas.";
+
+    private static final String HEAD_SQL = "SELECT COALESCE(MAX(CHANGE_ID), 0) FROM PRICE_CHANGES";
+    private static final String COPY_SQL = "SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES";
+    private static final String CLEAR_SQL = "DELETE FROM PRICES";
+    private static final String MERGE_SQL = "MERGE INTO PRICES (" + PriceRowMapper.COLUMNS + ") KEY (ID) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_SQL = "DELETE FROM PRICES WHERE ID = ?";
+    private static final String PROBE_SQL = "SELECT 1";
+    private static final int COLUMN_COUNT = 9;
+
+    /**
+     * Criterio para elegir réplica entre las disponibles
+     */
+    public enum Strategy {
+        ROUND_ROBIN, LEAST_LATENCY
+    }
+
+    private final List<PriceReplica> replicas = new ArrayList<>();
+    private final Map<String, Counter> routedCounters = new HashMap<>();
+    private final Counter primaryCounter;
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final Strategy strategy;
+    private final long maxLagMillis;
+    private final int copyBatchSize;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final AtomicInteger bulkWrites = new AtomicInteger();
+
+    private volatile long headChangeId;
+    private volatile boolean started;
+
+    public PriceReplicas(Environment environment,
+            @Qualifier(ReplicaRoutingConfig.PRIMARY_DATA_SOURCE) DataSource primaryDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${price.replicas.names:}") String replicaNames,
+            @Value("${price.replicas.strategy:round-robin}") String strategy,
+            @Value("${price.replicas.max-lag-ms:2000}") long maxLagMillis,
+            @Value("${price.replicas.copy-batch-size:1000}") int copyBatchSize,
+            @Value("${price.replicas.initialize-schema:false}") boolean initializeSchema,
+            @Value("${price.scan.fetch-size:1000}") int scanFetchSize) {
+        this.strategy = Strategy.valueOf(strategy.trim().toUpperCase().replace('-', '_'));
+        this.maxLagMillis = maxLagMillis;
+        this.copyBatchSize = copyBatchSize;
+        this.primaryJdbcTemplate = new JdbcTemplate(primaryDataSource);
+        this.primaryJdbcTemplate.setFetchSize(scanFetchSize);
+
+        List<String> names = Arrays.stream(replicaNames.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toList());
+        for (String name : names) {
+            DataSource dataSource = DataSourceBuilder.create()
+                    .url(required(environment, name, "url"))
+                    .username(environment.getProperty(PREFIX + name + ".username", "sa"))
+                    .password(environment.getProperty(PREFIX + name + ".password", ""))
+                    .build();
+            if (initializeSchema) {
+                new ResourceDatabasePopulator(new ClassPathResource("db/price-schema.sql")).execute(dataSource);
+            }
+            PriceReplica replica = new PriceReplica(name, dataSource);
+            replicas.add(replica);
+
+            routedCounters.put(name, Counter.builder("price.replica.routed")
+                    .tag("target", name)
+                    .description("Consultas de solo lectura enviadas a cada réplica o al primario")
+                    .register(meterRegistry));
+            Gauge.builder("price.replica.lag", replica, r -> r.lagMillis(System.currentTimeMillis()))
+                    .tag("replica", name)
+                    .description("Milisegundos que la réplica lleva sin alcanzar el último cambio del primario")
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("price.replica.available", replica,
+                    r -> r.isAvailable(System.currentTimeMillis(), maxLagMillis) ? 1 : 0)
+                    .tag("replica", name)
+                    .description("1 si la réplica puede atender lecturas")
+                    .register(meterRegistry);
+        }
+        this.primaryCounter = Counter.builder("price.replica.routed")
+                .tag("target", "primary")
+                .description("Consultas de solo lectura enviadas a cada réplica o al primario")
+                .register(meterRegistry);
+
+        logger.info("Lecturas de precios repartidas en {} réplicas ({}): {}", replicas.size(), this.strategy, names);
+    }
+
+    public List<PriceReplica> getReplicas() {
+        return Collections.unmodifiableList(replicas);
+    }
+
+    /**
+     * Nombre de la réplica que debe atender la siguiente lectura o null para
+     * leer del primario
+     */
+    public String route() {
+        PriceReplica chosen = bulkWrites.get() > 0 ? null : choose(System.currentTimeMillis());
+        if (chosen == null) {
+            primaryCounter.increment();
+            return null;
+        }
+        routedCounters.get(chosen.getName()).increment();
+        return chosen.getName();
+    }
+
+    /**
+     * Copia completa inicial, una vez cargados los datos del primario
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        resync();
+        started = true;
+    }
+
+    /**
+     * Vuelve a copiar todas las réplicas desde el primario
+     */
+    public void resync() {
+        for (PriceReplica replica : replicas) {
+            try {
+                resync(replica);
+            } catch (RuntimeException e) {
+                logger.error("No se pudo copiar la réplica {}: {}", replica.getName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Escritura masiva en el primario sin log de cambios: mientras dure las
+     * lecturas van al primario
+     */
+    public void beginBulkWrite() {
+        bulkWrites.incrementAndGet();
+    }
+
+    /**
+     * Fin de una escritura masiva: se copian las réplicas antes de volver a
+     * enviarles lecturas
+     */
+    public void endBulkWrite() {
+        try {
+            resync();
+        } finally {
+            bulkWrites.decrementAndGet();
+        }
+    }
+
+    /**
+     * Aplica los cambios en todas las réplicas. Cada cambio trae el estado
+     * actual de la fila en el primario y se escribe tal cual (MERGE o DELETE),
+     * así que reaplicarlo no altera nada: no se descarta ninguno por su id,
+     * porque un cambio con id menor puede confirmarse después que otros ya
+     * aplicados o que la última copia completa. Si una réplica falla se marca
+     * para volver a copiarla
+     */
+    @Override
+    public void onPriceChanges(List<PriceChange> changes) {
+        long lastChangeId = 0;
+        for (PriceChange change : changes) {
+            lastChangeId = Math.max(lastChangeId, change.getChangeId());
+        }
+        long head = Math.max(headChangeId, lastChangeId);
+        headChangeId = head;
+
+        for (PriceReplica replica : replicas) {
+            synchronized (replica) {
+                try {
+                    apply(replica, changes);
+                    replica.markApplied(lastChangeId, head);
+                } catch (DataAccessException e) {
+                    replica.markUnsynced();
+                    logger.warn("Réplica {} desincronizada al aplicar cambios: {}", replica.getName(),
+                            e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Mide la latencia de cada réplica, actualiza su retraso respecto al último
+     * cambio del primario y vuelve a copiar las que quedaron desincronizadas
+     */
+    @Scheduled(fixedDelayString = "${price.replicas.probe-interval-ms:1000}")
+    public void probe() {
+        try {
+            Long head = primaryJdbcTemplate.queryForObject(HEAD_SQL, Long.class);
+            headChangeId = Math.max(headChangeId, head == null ? 0 : head);
+        } catch (DataAccessException e) {
+            logger.warn("No se pudo leer el último cambio del primario: {}", e.getMessage());
+        }
+
+        long head = headChangeId;
+        for (PriceReplica replica : replicas) {
+            long probeStart = System.nanoTime();
+            try {
+                replica.getJdbcTemplate().queryForObject(PROBE_SQL, Integer.class);
+                replica.markUp(System.nanoTime() - probeStart);
+            } catch (DataAccessException e) {
+                if (replica.isUp()) {
+                    logger.warn("Réplica {} sin respuesta: {}", replica.getName(), e.getMessage());
+                }
+                replica.markDown();
+                continue;
+            }
+            if (started && bulkWrites.get() == 0 && !replica.isSynced()) {
+                try {
+                    resync(replica);
+                } catch (RuntimeException e) {
+                    logger.error("No se pudo copiar la réplica {}: {}", replica.getName(), e.getMessage(), e);
+                }
+            }
+            replica.trackLag(head, System.currentTimeMillis());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (PriceReplica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) replica.getDataSource()).close();
+                } catch (Exception e) {
+                    logger.warn("No se pudo cerrar la réplica {}: {}", replica.getName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private PriceReplica choose(long nowMillis) {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        if (strategy == Strategy.LEAST_LATENCY) {
+            PriceReplica fastest = null;
+            for (PriceReplica replica : replicas) {
+                if (replica.isAvailable(nowMillis, maxLagMillis)
+                        && (fastest == null || replica.getLatencyNanos() < fastest.getLatencyNanos())) {
+                    fastest = replica;
+                }
+            }
+            return fastest;
+        }
+        int first = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            PriceReplica replica = replicas.get((first + i) % size);
+            if (replica.isAvailable(nowMillis, maxLagMillis)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sustituye el contenido de la réplica por el del primario en una única
+     * transacción. Los cambios posteriores al último leído antes de copiar se
+     * aplican después con el lock de la réplica ya liberado
+     */
+    private void resync(PriceReplica replica) {
+        synchronized (replica) {
+            long startTime = System.currentTimeMillis();
+            replica.markUnsynced();
+            Long head = primaryJdbcTemplate.queryForObject(HEAD_SQL, Long.class);
+            long copiedChangeId = head == null ? 0 : head;
+            int[] copied = { 0 };
+
+            replica.getTransactionTemplate().executeWithoutResult(status -> {
+                replica.getJdbcTemplate().update(CLEAR_SQL);
+                List<Object[]> rows = new ArrayList<>(copyBatchSize);
+                primaryJdbcTemplate.query(COPY_SQL, (RowCallbackHandler) rs -> {
+                    rows.add(copyRow(rs));
+                    if (rows.size() == copyBatchSize) {
+                        replica.getJdbcTemplate().batchUpdate(MERGE_SQL, rows);
+                        copied[0] += rows.size();
+                        rows.clear();
+                    }
+                });
+                if (!rows.isEmpty()) {
+                    replica.getJdbcTemplate().batchUpdate(MERGE_SQL, rows);
+                    copied[0] += rows.size();
+                }
+            });
+
+            headChangeId = Math.max(headChangeId, copiedChangeId);
+            replica.markSynced(copiedChangeId, headChangeId);
+            logger.info("Réplica {} copiada: {} tarifas hasta el cambio {} en {}ms", replica.getName(), copied[0],
+                    copiedChangeId, System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private void apply(PriceReplica replica, List<PriceChange> changes) {
+        List<Object[]> merges = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (PriceChange change : changes) {
+            if (change.isDeletion()) {
+                deletes.add(new Object[] { change.getPriceId() });
+            } else {
+                merges.add(mergeRow(change.getPrice()));
+            }
+        }
+        if (merges.isEmpty() && deletes.isEmpty()) {
+            return;
+        }
+        // Primero los borrados: una tarifa que cambia de producto llega como borrado y alta con el mismo ID
+        replica.getTransactionTemplate().executeWithoutResult(status -> {
+            if (!deletes.isEmpty()) {
+                replica.getJdbcTemplate().batchUpdate(DELETE_SQL, deletes);
+            }
+            if (!merges.isEmpty()) {
+                replica.getJdbcTemplate().batchUpdate(MERGE_SQL, merges);
+            }
+        });
+    }
+
+    private static Object[] copyRow(ResultSet rs) throws SQLException {
+        Object[] row = new Object[COLUMN_COUNT];
+        for (int column = 0; column < COLUMN_COUNT; column++) {
+            row[column] = rs.getObject(column + 1);
+        }
+        return row;
+    }
+
+    private static Object[] mergeRow(Price price) {
+        return new Object[] { price.getId(), price.getBrandId().getValue(),
+                Timestamp.valueOf(price.getStartDate()), Timestamp.valueOf(price.getEndDate()),
+                price.getPriceList(), price.getProductId().getValue(), price.getPriority().getValue(),
+                price.getPrice().getAmount(), price.getPrice().getCurrency() };
+    }
+
+    private static String required(Environment environment, String replica, String property) {
+        String value = environment.getProperty(PREFIX + replica + "." + property);
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException("Falta " + PREFIX + replica + "." + property);
+        }
+        return value;
+    }
+}
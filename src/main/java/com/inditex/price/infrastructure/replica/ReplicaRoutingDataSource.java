@@ -0,0 +1,38 @@
+package com.inditex.price.infrastructure.replica;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource que envía las transacciones de solo lectura a una réplica y todo
+ * lo demás al primario
+ *
+ * La decisión se toma al pedir la conexión, por lo que debe envolverse en un
+ * LazyConnectionDataSourceProxy: así la conexión real se obtiene con la
+ * primera sentencia, cuando la transacción ya está marcada como de solo
+ * lectura
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final PriceReplicas priceReplicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, PriceReplicas priceReplicas) {
+        this.priceReplicas = priceReplicas;
+        Map<Object, Object> targets = new HashMap<>();
+        for (PriceReplica replica : priceReplicas.getReplicas()) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setDefaultTargetDataSource(primary);
+        setTargetDataSources(targets);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? priceReplicas.route() : null;
+    }
+}
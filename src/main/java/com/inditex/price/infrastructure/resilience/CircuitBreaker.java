@@ -0,0 +1,86 @@
+package com.inditex.price.infrastructure.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Cortocircuito de las llamadas a base de datos
+ *
+ * Tras un número de fallos consecutivos se abre y rechaza las llamadas sin
+ * intentarlas durante el tiempo de apertura. Pasado ese tiempo deja salir una
+ * única llamada de prueba: si va bien se cierra y si falla vuelve a abrirse
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openNanos, LongSupplier nanoClock) {
+        if (failureThreshold <= 0 || openNanos <= 0) {
+            throw new IllegalArgumentException("El umbral de fallos y el tiempo de apertura deben ser positivos");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Indica si la llamada puede intentarse. Quien obtiene true debe informar
+     * del resultado con onSuccess u onFailure
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nanoClock.getAsLong() - openedAtNanos < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtNanos = nanoClock.getAsLong();
+            consecutiveFailures = 0;
+        }
+    }
+
+    /**
+     * Libera la llamada sin contarla como éxito ni como fallo, para las que
+     * se abandonan por motivos ajenos a la base de datos
+     */
+    public synchronized void release() {
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,80 @@
+package com.inditex.price.infrastructure.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Decide en qué shard viven los precios de cada marca
+ *
+ * Las marcas asignadas explícitamente van a su shard. El resto se reparte
+ * con hashing consistente: cada shard ocupa varios puntos (nodos virtuales)
+ * de un anillo de 64 bits y una marca va al primer punto igual o posterior
+ * al hash de su identificador. Añadir o quitar un shard solo mueve las
+ * marcas de los tramos del anillo que cambian de dueño
+ */
+public final class BrandShardRouter {
+
+    private final Map<Long, String> assignments;
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public BrandShardRouter(List<String> shards, Map<Long, String> assignments, int virtualNodes) {
+        if (shards == null || shards.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos un shard");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Se necesita al menos un nodo virtual por shard");
+        }
+        for (Map.Entry<Long, String> assignment : assignments.entrySet()) {
+            if (!shards.contains(assignment.getValue())) {
+                throw new IllegalArgumentException("La marca " + assignment.getKey()
+                        + " está asignada al shard desconocido " + assignment.getValue());
+            }
+        }
+        this.assignments = Collections.unmodifiableMap(new HashMap<>(assignments));
+        for (String shard : shards) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.putIfAbsent(hash(shard + "#" + node), shard);
+            }
+        }
+    }
+
+    public String shardOf(long brandId) {
+        String assigned = assignments.get(brandId);
+        if (assigned != null) {
+            return assigned;
+        }
+        Map.Entry<Long, String> owner = ring.ceilingEntry(mix(brandId));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * FNV-1a de 64 bits con mezcla final, estable entre ejecuciones y JVMs
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Finalizador de MurmurHash3: reparte por todo el anillo valores
+     * consecutivos como los identificadores de marca
+     */
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,38 @@
+package com.inditex.price.infrastructure.shard;
+
+import javax.sql.DataSource;
+
+import com.inditex.price.infrastructure.persitence.adapters.JdbcPriceRepositoryAdapter;
+
+/**
+ * Una de las bases de datos entre las que se reparten las marcas
+ */
+public final class PriceShard {
+
+    private final String name;
+    private final DataSource dataSource;
+    private final JdbcPriceRepositoryAdapter repository;
+
+    public PriceShard(String name, DataSource dataSource, JdbcPriceRepositoryAdapter repository) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.repository = repository;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public JdbcPriceRepositoryAdapter getRepository() {
+        return repository;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,171 @@
+package com.inditex.price.infrastructure.shard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.infrastructure.persitence.adapters.JdbcPriceRepositoryAdapter;
+import com.inditex.price.infrastructure.persitence.mappers.PriceRowMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bases de datos entre las que se reparte el catálogo de precios por marca
+ *
+ * Se activa con price.sharding.enabled=true. Cada shard de
+ * price.sharding.shards se configura con price.sharding.&lt;shard&gt;.url,
+ * .username y .password. price.sharding.brands asigna marcas concretas a un
+ * shard (1=eu,2=us) y el resto se reparten con hashing consistente (ver
+ * BrandShardRouter)
+ *
+ * Las operaciones que recorren todas las marcas se lanzan en paralelo sobre
+ * todos los shards con fanOut y se combinan al terminar
+ */
+@Component
+@ConditionalOnProperty(name = "price.sharding.enabled", havingValue = "true")
+public class PriceShards {
+
+    private static final Logger logger = LogManager.getLogger(PriceShards.class);
+
+    private static final String PREFIX = "price.sharding.";
+
+    private final Map<String, PriceShard> shards = new LinkedHashMap<>();
+    private final Map<String, Counter> routedCounters = new HashMap<>();
+    private final BrandShardRouter router;
+    private final ExecutorService fanOutPool;
+
+    public PriceShards(Environment environment,
+            PriceRowMapper priceRowMapper,
+            MeterRegistry meterRegistry,
+            @Value("${price.sharding.shards:}") String shardNames,
+            @Value("${price.sharding.brands:}") String brandAssignments,
+            @Value("${price.sharding.virtual-nodes:64}") int virtualNodes,
+            @Value("${price.sharding.fan-out-threads:4}") int fanOutThreads,
+            @Value("${price.sharding.initialize-schema:false}") boolean initializeSchema,
+            @Value("${price.scan.fetch-size:1000}") int scanFetchSize) {
+        List<String> names = Arrays.stream(shardNames.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toList());
+        this.router = new BrandShardRouter(names, parseAssignments(brandAssignments), virtualNodes);
+
+        for (String name : names) {
+            DataSource dataSource = DataSourceBuilder.create()
+                    .url(required(environment, name, "url"))
+                    .username(environment.getProperty(PREFIX + name + ".username", "sa"))
+                    .password(environment.getProperty(PREFIX + name + ".password", ""))
+                    .build();
+            if (initializeSchema) {
+                new ResourceDatabasePopulator(new ClassPathResource("db/price-schema.sql")).execute(dataSource);
+            }
+            shards.put(name, new PriceShard(name, dataSource,
+                    new JdbcPriceRepositoryAdapter(dataSource, priceRowMapper, scanFetchSize)));
+            routedCounters.put(name, Counter.builder("price.shard.routed")
+                    .tag("shard", name)
+                    .description("Consultas de precio enviadas a cada shard")
+                    .register(meterRegistry));
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.fanOutPool = Executors.newFixedThreadPool(Math.max(1, fanOutThreads), runnable -> {
+            Thread thread = new Thread(runnable, "price-shard-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Catálogo de precios repartido en {} shards: {}", shards.size(), names);
+    }
+
+    /**
+     * Shard que guarda los precios de la marca
+     */
+    public PriceShard shardFor(BrandId brandId) {
+        String name = router.shardOf(brandId.getValue());
+        routedCounters.get(name).increment();
+        return shards.get(name);
+    }
+
+    public List<PriceShard> getShards() {
+        return Collections.unmodifiableList(new ArrayList<>(shards.values()));
+    }
+
+    /**
+     * Ejecuta la tarea en todos los shards a la vez y devuelve sus resultados
+     * en el orden de configuración. Si algún shard falla se relanza su error
+     */
+    public <T> List<T> fanOut(Function<PriceShard, T> task) {
+        List<CompletableFuture<T>> futures = shards.values().stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> task.apply(shard), fanOutPool))
+                .collect(Collectors.toList());
+        try {
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutPool.shutdownNow();
+        for (PriceShard shard : shards.values()) {
+            if (shard.getDataSource() instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) shard.getDataSource()).close();
+                } catch (Exception e) {
+                    logger.warn("No se pudo cerrar el shard {}: {}", shard.getName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static String required(Environment environment, String shard, String property) {
+        String value = environment.getProperty(PREFIX + shard + "." + property);
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException("Falta " + PREFIX + shard + "." + property);
+        }
+        return value;
+    }
+
+    private static Map<Long, String> parseAssignments(String brandAssignments) {
+        Map<Long, String> assignments = new HashMap<>();
+        for (String entry : brandAssignments.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalStateException("Asignación de marca inválida en " + PREFIX + "brands: " + entry);
+            }
+            assignments.put(Long.valueOf(parts[0].trim()), parts[1].trim());
+        }
+        return assignments;
+    }
+}
@@ -0,0 +1,323 @@
+package com.inditex.price.infrastructure.stream;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.inditex.price.application.dto.PriceChangeEventDTO;
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.service.PriceDomainService;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.boundary.PriceBoundaryListener;
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangeListener;
+import com.inditex.price.infrastructure.index.PriceKey;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registro de suscriptores SSE a los cambios de precio aplicable
+ *
+ * En cada límite de tarifa se resuelve el precio del producto a ambos lados
+ * del límite una sola vez, con independencia del número de suscriptores, y
+ * solo se publica si cambia. Los cambios capturados en PRICES se publican con
+ * el precio vigente en ese momento, salvo que coincida con el último enviado
+ * para ese producto
+ *
+ * Publicar nunca bloquea: cada suscriptor tiene una cola acotada que vacía un
+ * pool fijo de hilos de envío. Si un cliente no consume a tiempo se descartan
+ * sus eventos más antiguos, y si la conexión falla se da de baja
+ */
+@Component
+public class PriceSubscriptionHub implements PriceBoundaryListener, PriceChangeListener {
+
+    private static final Logger logger = LogManager.getLogger(PriceSubscriptionHub.class);
+
+    public static final String EVENT_NAME = "price-change";
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final PriceRepository priceRepository;
+    private final Clock clock;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final ExecutorService senders;
+    private final ConcurrentMap<Long, List<Subscriber>> subscribersByBrand = new ConcurrentHashMap<>();
+    private final ConcurrentMap<PriceKey, Optional<Price>> lastSent = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter droppedCounter;
+
+    public PriceSubscriptionHub(PriceRepository priceRepository,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${price.stream.buffer-size:64}") int bufferSize,
+            @Value("${price.stream.max-subscribers:10000}") int maxSubscribers,
+            @Value("${price.stream.sender-threads:4}") int senderThreads) {
+        this.priceRepository = priceRepository;
+        this.clock = clock;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "price-stream-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publishedCounter = Counter.builder("price.stream.events")
+                .tag("result", "queued")
+                .description("Eventos de cambio de precio encolados a suscriptores")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("price.stream.events")
+                .tag("result", "dropped")
+                .description("Eventos descartados por suscriptores que no consumen a tiempo")
+                .register(meterRegistry);
+        Gauge.builder("price.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Suscriptores SSE conectados")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Da de alta un suscriptor a los cambios de una marca
+     *
+     * @param productIds productos de interés; vacío para todos los de la marca
+     * @return false si se ha alcanzado el máximo de suscriptores
+     */
+    public boolean register(long brandId, Set<Long> productIds, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return false;
+        }
+        Subscriber subscriber = new Subscriber(brandId, productIds, emitter,
+                new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+        subscribersByBrand.computeIfAbsent(brandId, brand -> new CopyOnWriteArrayList<>()).add(subscriber);
+        logger.debug("Alta de suscriptor - BrandId: {}, Productos: {}", brandId, productIds);
+        return true;
+    }
+
+    @Override
+    public void onPriceBoundary(PriceKey key, long epochMicros) {
+        if (!hasSubscribers(key)) {
+            return;
+        }
+        Price before = resolve(key, epochMicros - 1);
+        Price after = resolve(key, epochMicros);
+        if (differs(before, after)) {
+            publish(key, EpochTime.fromEpochMicros(epochMicros), after);
+        }
+    }
+
+    @Override
+    public void onPriceChanges(List<PriceChange> changes) {
+        Set<PriceKey> keys = new LinkedHashSet<>();
+        for (PriceChange change : changes) {
+            if (hasSubscribers(change.getKey())) {
+                keys.add(change.getKey());
+            } else {
+                lastSent.remove(change.getKey());
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        long now = EpochTime.toEpochMicros(LocalDateTime.now(clock));
+        for (PriceKey key : keys) {
+            Price current = resolve(key, now);
+            Optional<Price> previous = lastSent.get(key);
+            if (previous == null || differs(previous.orElse(null), current)) {
+                publish(key, EpochTime.fromEpochMicros(now), current);
+            }
+        }
+    }
+
+    /**
+     * Envía un comentario a todos los suscriptores para mantener viva la
+     * conexión y detectar los clientes desconectados
+     */
+    @Scheduled(fixedDelayString = "${price.stream.heartbeat-ms:30000}")
+    public void heartbeat() {
+        subscribersByBrand.values().forEach(subscribers -> subscribers.forEach(s -> s.offer(HEARTBEAT)));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        subscribersByBrand.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    private boolean hasSubscribers(PriceKey key) {
+        List<Subscriber> subscribers = subscribersByBrand.get(key.getBrandId());
+        if (subscribers == null) {
+            return false;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(key.getProductId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void publish(PriceKey key, LocalDateTime effectiveAt, Price price) {
+        lastSent.put(key, Optional.ofNullable(price));
+        PriceChangeEventDTO event = toEvent(key, effectiveAt, price);
+        for (Subscriber subscriber : subscribersByBrand.getOrDefault(key.getBrandId(), Collections.emptyList())) {
+            if (subscriber.accepts(key.getProductId())) {
+                subscriber.offer(event);
+                publishedCounter.increment();
+            }
+        }
+    }
+
+    private Price resolve(PriceKey key, long epochMicros) {
+        return priceRepository.findApplicablePrices(new ProductId(key.getProductId()), new BrandId(key.getBrandId()),
+                EpochTime.fromEpochMicros(epochMicros)).stream()
+                .max(PriceDomainService.PRIORITY_ORDER)
+                .orElse(null);
+    }
+
+    private void unregister(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            List<Subscriber> subscribers = subscribersByBrand.get(subscriber.brandId);
+            if (subscribers != null) {
+                subscribers.remove(subscriber);
+                if (subscribers.isEmpty()) {
+                    lastSent.keySet().removeIf(key -> key.getBrandId() == subscriber.brandId);
+                }
+            }
+            subscriberCount.decrementAndGet();
+            logger.debug("Baja de suscriptor - BrandId: {}", subscriber.brandId);
+        }
+    }
+
+    private static boolean differs(Price before, Price after) {
+        if (before == null || after == null) {
+            return before != after;
+        }
+        return !Objects.equals(before.getPriceList(), after.getPriceList())
+                || before.getPrice().getAmount().compareTo(after.getPrice().getAmount()) != 0
+                || !before.getPrice().getCurrency().equals(after.getPrice().getCurrency());
+    }
+
+    private static PriceChangeEventDTO toEvent(PriceKey key, LocalDateTime effectiveAt, Price price) {
+        PriceChangeEventDTO event = new PriceChangeEventDTO();
+        event.setProductId(key.getProductId());
+        event.setBrandId(key.getBrandId());
+        event.setEffectiveAt(effectiveAt);
+        if (price != null) {
+            event.setPriceList(price.getPriceList());
+            event.setPrice(price.getPrice().getAmount());
+            event.setCurrency(price.getPrice().getCurrency());
+        }
+        return event;
+    }
+
+    /**
+     * Conexión de un suscriptor con su cola de eventos pendientes de envío
+     */
+    private final class Subscriber {
+
+        private final long brandId;
+        private final Set<Long> productIds;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(long brandId, Set<Long> productIds, SseEmitter emitter, BlockingQueue<Object> queue) {
+            this.brandId = brandId;
+            this.productIds = productIds;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        private boolean accepts(long productId) {
+            return productIds.isEmpty() || productIds.contains(productId);
+        }
+
+        /**
+         * Encola el evento descartando el más antiguo si la cola está llena
+         */
+        private void offer(Object event) {
+            while (!queue.offer(event)) {
+                if (queue.poll() != null) {
+                    droppedCounter.increment();
+                }
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (closed.get() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                Object event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    emitter.send(event == HEARTBEAT
+                            ? SseEmitter.event().comment("heartbeat")
+                            : SseEmitter.event().id(Long.toString(eventIds.incrementAndGet())).name(EVENT_NAME)
+                                    .data(event, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Suscriptor desconectado - BrandId: {}: {}", brandId, e.getMessage());
+                unregister(this);
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            // Un evento encolado mientras se liberaba el testigo no debe quedarse sin enviar
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.inditex.price.infrastructure.version;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+import com.inditex.price.infrastructure.index.PriceKey;
+import com.inditex.price.infrastructure.index.PriceTimeline;
+
+/**
+ * Mapa inmutable de líneas temporales por (marca, producto) con estructura
+ * compartida
+ *
+ * Es un trie de 32 ramas por nivel indexado por bloques de 5 bits del hash de
+ * la clave, con un mapa de bits por nodo para no reservar las ramas vacías.
+ * Añadir o quitar una clave copia solo los nodos del camino hasta ella (como
+ * mucho 7) y el resto se comparte con el mapa anterior, así que guardar muchas
+ * versiones del catálogo cuesta en memoria lo que cambia entre ellas
+ */
+final class PersistentPriceMap {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentPriceMap EMPTY = new PersistentPriceMap(new BitmapNode(0, new Object[0]), 0);
+
+    private final BitmapNode root;
+    private final int size;
+
+    private PersistentPriceMap(BitmapNode root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    static PersistentPriceMap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Línea temporal de la clave o null si no está
+     */
+    PriceTimeline get(PriceKey key) {
+        return root.get(key, hash(key), 0);
+    }
+
+    /**
+     * Mapa con la clave asociada a la línea temporal, o este mismo si ya lo
+     * estaba
+     */
+    PersistentPriceMap with(PriceKey key, PriceTimeline timeline) {
+        int[] added = { 0 };
+        Node updated = root.put(new Entry(hash(key), key, timeline), 0, added);
+        return updated == root ? this : new PersistentPriceMap((BitmapNode) updated, size + added[0]);
+    }
+
+    /**
+     * Mapa sin la clave, o este mismo si no la contenía
+     */
+    PersistentPriceMap without(PriceKey key) {
+        Node updated = root.remove(key, hash(key), 0);
+        if (updated == root) {
+            return this;
+        }
+        return new PersistentPriceMap(updated == null ? EMPTY.root : (BitmapNode) updated, size - 1);
+    }
+
+    void forEach(BiConsumer<PriceKey, PriceTimeline> consumer) {
+        root.forEach(consumer);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static int hash(PriceKey key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Nodo que contiene dos elementos distintos a partir del nivel shift; cada
+     * elemento es una Entry o un Node cuyas claves comparten el hash dado
+     */
+    private static Node pair(int shift, int hash1, Object item1, int hash2, Object item2) {
+        if (hash1 == hash2) {
+            // Solo puede ocurrir entre dos Entry: las colisiones completas van en un CollisionNode
+            return new CollisionNode(hash1, new Entry[] { (Entry) item1, (Entry) item2 });
+        }
+        int bit1 = 1 << ((hash1 >>> shift) & MASK);
+        int bit2 = 1 << ((hash2 >>> shift) & MASK);
+        if (bit1 == bit2) {
+            return new BitmapNode(bit1, new Object[] { pair(shift + BITS, hash1, item1, hash2, item2) });
+        }
+        Object[] slots = Integer.compareUnsigned(bit1, bit2) < 0
+                ? new Object[] { item1, item2 }
+                : new Object[] { item2, item1 };
+        return new BitmapNode(bit1 | bit2, slots);
+    }
+
+    private interface Node {
+
+        PriceTimeline get(PriceKey key, int hash, int shift);
+
+        /**
+         * Nodo con la entrada añadida o sustituida, o este mismo si no cambia
+         * nada. added[0] pasa a 1 si la clave no estaba
+         */
+        Node put(Entry entry, int shift, int[] added);
+
+        /**
+         * Nodo sin la clave, este mismo si no la contenía o null si queda vacío
+         */
+        Node remove(PriceKey key, int hash, int shift);
+
+        void forEach(BiConsumer<PriceKey, PriceTimeline> consumer);
+    }
+
+    private static final class Entry {
+
+        private final int hash;
+        private final PriceKey key;
+        private final PriceTimeline value;
+
+        private Entry(int hash, PriceKey key, PriceTimeline value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class BitmapNode implements Node {
+
+        private final int bitmap;
+        // Entry o Node, en el orden de los bits de bitmap
+        private final Object[] slots;
+
+        private BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        @Override
+        public PriceTimeline get(PriceKey key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = slots[index(bit)];
+            if (slot instanceof Entry) {
+                Entry entry = (Entry) slot;
+                return entry.key.equals(key) ? entry.value : null;
+            }
+            return ((Node) slot).get(key, hash, shift + BITS);
+        }
+
+        @Override
+        public Node put(Entry entry, int shift, int[] added) {
+            int bit = 1 << ((entry.hash >>> shift) & MASK);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] updated = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, updated, 0, index);
+                updated[index] = entry;
+                System.arraycopy(slots, index, updated, index + 1, slots.length - index);
+                added[0] = 1;
+                return new BitmapNode(bitmap | bit, updated);
+            }
+
+            Object slot = slots[index];
+            Object replacement;
+            if (slot instanceof Entry) {
+                Entry existing = (Entry) slot;
+                if (existing.key.equals(entry.key)) {
+                    if (existing.value == entry.value) {
+                        return this;
+                    }
+                    replacement = entry;
+                } else {
+                    replacement = pair(shift + BITS, existing.hash, existing, entry.hash, entry);
+                    added[0] = 1;
+                }
+            } else {
+                Node child = (Node) slot;
+                replacement = child.put(entry, shift + BITS, added);
+                if (replacement == child) {
+                    return this;
+                }
+            }
+            return withSlot(index, replacement);
+        }
+
+        @Override
+        public Node remove(PriceKey key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = index(bit);
+            Object slot = slots[index];
+            if (slot instanceof Entry) {
+                return ((Entry) slot).key.equals(key) ? withoutSlot(bit, index) : this;
+            }
+            Node child = (Node) slot;
+            Node updated = child.remove(key, hash, shift + BITS);
+            if (updated == child) {
+                return this;
+            }
+            return updated == null ? withoutSlot(bit, index) : withSlot(index, updated);
+        }
+
+        @Override
+        public void forEach(BiConsumer<PriceKey, PriceTimeline> consumer) {
+            for (Object slot : slots) {
+                if (slot instanceof Entry) {
+                    consumer.accept(((Entry) slot).key, ((Entry) slot).value);
+                } else {
+                    ((Node) slot).forEach(consumer);
+                }
+            }
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private BitmapNode withSlot(int index, Object slot) {
+            Object[] updated = slots.clone();
+            updated[index] = slot;
+            return new BitmapNode(bitmap, updated);
+        }
+
+        private BitmapNode withoutSlot(int bit, int index) {
+            if (slots.length == 1) {
+                return null;
+            }
+            Object[] updated = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, updated, 0, index);
+            System.arraycopy(slots, index + 1, updated, index, slots.length - index - 1);
+            return new BitmapNode(bitmap & ~bit, updated);
+        }
+    }
+
+    /**
+     * Claves distintas con el mismo hash completo
+     */
+    private static final class CollisionNode implements Node {
+
+        private final int hash;
+        private final Entry[] entries;
+
+        private CollisionNode(int hash, Entry[] entries) {
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        @Override
+        public PriceTimeline get(PriceKey key, int hash, int shift) {
+            int index = indexOf(key);
+            return index < 0 ? null : entries[index].value;
+        }
+
+        @Override
+        public Node put(Entry entry, int shift, int[] added) {
+            if (entry.hash != hash) {
+                added[0] = 1;
+                return pair(shift, hash, this, entry.hash, entry);
+            }
+            int index = indexOf(entry.key);
+            if (index >= 0) {
+                if (entries[index].value == entry.value) {
+                    return this;
+                }
+                Entry[] updated = entries.clone();
+                updated[index] = entry;
+                return new CollisionNode(hash, updated);
+            }
+            Entry[] updated = Arrays.copyOf(entries, entries.length + 1);
+            updated[entries.length] = entry;
+            added[0] = 1;
+            return new CollisionNode(hash, updated);
+        }
+
+        @Override
+        public Node remove(PriceKey key, int hash, int shift) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return this;
+            }
+            if (entries.length == 1) {
+                return null;
+            }
+            Entry[] updated = new Entry[entries.length - 1];
+            System.arraycopy(entries, 0, updated, 0, index);
+            System.arraycopy(entries, index + 1, updated, index, entries.length - index - 1);
+            return new CollisionNode(hash, updated);
+        }
+
+        @Override
+        public void forEach(BiConsumer<PriceKey, PriceTimeline> consumer) {
+            for (Entry entry : entries) {
+                consumer.accept(entry.key, entry.value);
+            }
+        }
+
+        private int indexOf(PriceKey key) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].key.equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
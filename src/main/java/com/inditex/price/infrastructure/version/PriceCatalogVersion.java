@@ -0,0 +1,70 @@
+package com.inditex.price.infrastructure.version;
+
+import java.time.Instant;
+
+import com.inditex.price.infrastructure.index.PriceKey;
+import com.inditex.price.infrastructure.index.PriceTimeline;
+
+/**
+ * Versión inmutable del catálogo completo de tarifas
+ * Comparte con las versiones vecinas todo lo que no cambió entre ellas
+ */
+public final class PriceCatalogVersion {
+
+    /**
+     * Origen de la versión: carga completa de PRICES o lote de cambios
+     * capturados
+     */
+    public enum Cause {
+        LOAD, CHANGES
+    }
+
+    private final long version;
+    private final Instant createdAt;
+    private final Cause cause;
+    private final PersistentPriceMap timelines;
+
+    PriceCatalogVersion(long version, Instant createdAt, Cause cause, PersistentPriceMap timelines) {
+        this.version = version;
+        this.createdAt = createdAt;
+        this.cause = cause;
+        this.timelines = timelines;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Cause getCause() {
+        return cause;
+    }
+
+    public int getProducts() {
+        return timelines.size();
+    }
+
+    /**
+     * Línea temporal de la clave en esta versión o null si no tenía tarifas
+     */
+    public PriceTimeline get(PriceKey key) {
+        return timelines.get(key);
+    }
+
+    PersistentPriceMap timelines() {
+        return timelines;
+    }
+
+    @Override
+    public String toString() {
+        return "PriceCatalogVersion{" +
+                "version=" + version +
+                ", createdAt=" + createdAt +
+                ", cause=" + cause +
+                ", products=" + timelines.size() +
+                '}';
+    }
+}
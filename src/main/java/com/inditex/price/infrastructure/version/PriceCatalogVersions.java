@@ -0,0 +1,357 @@
+package com.inditex.price.infrastructure.version;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.VersionedPriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangeListener;
+import com.inditex.price.infrastructure.index.PriceKey;
+import com.inditex.price.infrastructure.index.PriceTimeline;
+import com.inditex.price.infrastructure.persitence.mappers.PriceRowMapper;
+import com.inditex.price.infrastructure.shard.PriceShards;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Versiones recientes del catálogo completo para consultas "según lo que se
+ * conocía entonces"
+ *
+ * Al arrancar se carga PRICES como primera versión. Los cambios capturados y
+ * cada ingesta masiva publican versiones nuevas que comparten con la anterior
+ * todas las líneas temporales que no tocan (ver
+ * PersistentPriceMap), por lo que una versión cuesta en memoria lo que
+ * cambió y no el tamaño del catálogo. Una ingesta vuelve a leer PRICES y solo
+ * sustituye los productos cuyas tarifas difieren
+ *
+ * Los lotes de cambios se agrupan: si la última versión tiene menos de
+ * publishIntervalMs, el lote se acumula y se publica con los siguientes al
+ * cumplirse el intervalo. Así una ráfaga de cambios no consume la retención
+ * de versiones en segundos
+ *
+ * Se conservan como mucho maxVersions versiones y ninguna más antigua que
+ * retentionMinutes, salvo la última. La retención se aplica al publicar. Los
+ * números de versión son de este proceso y empiezan de nuevo al reiniciar
+ */
+@Component
+public class PriceCatalogVersions implements VersionedPriceRepository, PriceChangeListener {
+
+    private static final Logger logger = LogManager.getLogger(PriceCatalogVersions.class);
+
+    private static final String SELECT_ALL_SQL = "SELECT " + PriceRowMapper.COLUMNS + " FROM PRICES";
+
+    private final JdbcTemplate scanJdbcTemplate;
+    private final PriceRowMapper priceRowMapper;
+    private final PriceShards priceShards;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int maxVersions;
+    private final long retentionMillis;
+    private final long publishIntervalMillis;
+    private final Timer loadTimer;
+    private final ConcurrentNavigableMap<Long, PriceCatalogVersion> versions = new ConcurrentSkipListMap<>();
+
+    // Serializa la publicación de versiones
+    private final Object writeLock = new Object();
+    private List<PriceChange> changesDuringLoad;
+    // Cambios aplicados sobre la última versión que aún no se han publicado
+    private PersistentPriceMap pending;
+    private long nextVersion = 1;
+
+    public PriceCatalogVersions(DataSource dataSource,
+            PriceRowMapper priceRowMapper,
+            ObjectProvider<PriceShards> priceShards,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${price.catalog.reload.fetch-size:1000}") int fetchSize,
+            @Value("${price.versions.enabled:false}") boolean enabled,
+            @Value("${price.versions.max-versions:100}") int maxVersions,
+            @Value("${price.versions.retention-minutes:1440}") long retentionMinutes,
+            @Value("${price.versions.publish-interval-ms:1000}") long publishIntervalMillis) {
+        this.scanJdbcTemplate = new JdbcTemplate(dataSource);
+        this.scanJdbcTemplate.setFetchSize(fetchSize);
+        this.priceRowMapper = priceRowMapper;
+        this.priceShards = priceShards.getIfAvailable();
+        this.clock = clock;
+        this.enabled = enabled;
+        this.maxVersions = Math.max(1, maxVersions);
+        this.retentionMillis = TimeUnit.MINUTES.toMillis(retentionMinutes);
+        this.publishIntervalMillis = publishIntervalMillis;
+
+        this.loadTimer = Timer.builder("price.versions.load")
+                .description("Duración de las cargas de PRICES como versión nueva del catálogo")
+                .register(meterRegistry);
+        Gauge.builder("price.versions.retained", versions, Map::size)
+                .description("Versiones del catálogo conservadas para consultas por versión")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            load();
+        } catch (RuntimeException e) {
+            logger.error("No se pudo cargar la primera versión del catálogo: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lee PRICES y publica como versión nueva las diferencias con la última
+     * versión. Los cambios capturados durante la lectura se reaplican encima
+     *
+     * @return versión publicada, la última si no había diferencias o null si
+     *         las versiones están desactivadas
+     */
+    public synchronized PriceCatalogVersion load() {
+        if (!enabled) {
+            return null;
+        }
+        long start = System.nanoTime();
+        synchronized (writeLock) {
+            changesDuringLoad = new ArrayList<>();
+        }
+        try {
+            Map<PriceKey, List<Price>> grouped = scan();
+
+            synchronized (writeLock) {
+                PriceCatalogVersion latest = latest();
+                PersistentPriceMap base = latest == null ? PersistentPriceMap.empty() : latest.timelines();
+                PersistentPriceMap next = base;
+                for (Map.Entry<PriceKey, List<Price>> entry : grouped.entrySet()) {
+                    PriceTimeline known = base.get(entry.getKey());
+                    if (known == null || !sameTariffs(known.prices(), entry.getValue())) {
+                        next = next.with(entry.getKey(), PriceTimeline.of(entry.getValue()));
+                    }
+                }
+                List<PriceKey> removed = new ArrayList<>();
+                base.forEach((key, timeline) -> {
+                    if (!grouped.containsKey(key)) {
+                        removed.add(key);
+                    }
+                });
+                for (PriceKey key : removed) {
+                    next = next.without(key);
+                }
+                for (PriceChange change : changesDuringLoad) {
+                    next = apply(next, change);
+                }
+                changesDuringLoad = null;
+                // La lectura de PRICES ya incluye los cambios pendientes
+                pending = null;
+
+                PriceCatalogVersion published = next == base && latest != null
+                        ? latest
+                        : publish(next, PriceCatalogVersion.Cause.LOAD);
+                loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                logger.info("Catálogo cargado como versión {}: {} productos en {}ms", published.getVersion(),
+                        published.getProducts(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                return published;
+            }
+
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                changesDuringLoad = null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Aplica el lote de cambios sobre la última versión y los pendientes, y
+     * publica el resultado si la última versión tiene ya publishIntervalMs.
+     * Antes de la primera carga no hay versión sobre la que aplicarlos: solo
+     * se guardan si hay una carga en curso
+     */
+    @Override
+    public void onPriceChanges(List<PriceChange> changes) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (changesDuringLoad != null) {
+                changesDuringLoad.addAll(changes);
+            }
+            PriceCatalogVersion latest = latest();
+            if (latest == null) {
+                return;
+            }
+            PersistentPriceMap next = pending != null ? pending : latest.timelines();
+            for (PriceChange change : changes) {
+                next = apply(next, change);
+            }
+            pending = next;
+            if (clock.millis() - latest.getCreatedAt().toEpochMilli() >= publishIntervalMillis) {
+                publishPendingLocked();
+            }
+        }
+    }
+
+    /**
+     * Publica los cambios acumulados, si los hay
+     *
+     * @return versión publicada o null si no había nada pendiente
+     */
+    @Scheduled(fixedDelayString = "${price.versions.publish-interval-ms:1000}")
+    public PriceCatalogVersion publishPending() {
+        if (!enabled) {
+            return null;
+        }
+        synchronized (writeLock) {
+            return publishPendingLocked();
+        }
+    }
+
+    @Override
+    public Optional<List<Price>> findApplicablePricesAsOf(ProductId productId, BrandId brandId,
+            LocalDateTime applicationDate, long version) {
+        PriceCatalogVersion catalog = versions.get(version);
+        if (catalog == null) {
+            return Optional.empty();
+        }
+        PriceTimeline timeline = catalog.get(PriceKey.of(brandId, productId));
+        return Optional.of(timeline == null
+                ? Collections.emptyList()
+                : timeline.applicableAt(EpochTime.toEpochMicros(applicationDate)));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Última versión publicada o null si todavía no hay ninguna
+     */
+    public PriceCatalogVersion latest() {
+        Map.Entry<Long, PriceCatalogVersion> last = versions.lastEntry();
+        return last == null ? null : last.getValue();
+    }
+
+    /**
+     * Versiones conservadas, de la más antigua a la más reciente
+     */
+    public List<PriceCatalogVersion> getVersions() {
+        return new ArrayList<>(versions.values());
+    }
+
+    private Map<PriceKey, List<Price>> scan() {
+        Map<PriceKey, List<Price>> grouped = new HashMap<>();
+        if (priceShards == null) {
+            AtomicLong rows = new AtomicLong();
+            scanJdbcTemplate.query(SELECT_ALL_SQL, (RowCallbackHandler) rs -> {
+                Price price = priceRowMapper.mapRow(rs, (int) rows.getAndIncrement());
+                grouped.computeIfAbsent(PriceKey.of(price.getBrandId(), price.getProductId()),
+                        key -> new ArrayList<>()).add(price);
+            });
+        } else {
+            priceShards.fanOut(shard -> {
+                Map<PriceKey, List<Price>> shardGroups = new HashMap<>();
+                shard.getRepository().forEachPrice(price -> shardGroups.computeIfAbsent(
+                        PriceKey.of(price.getBrandId(), price.getProductId()), key -> new ArrayList<>()).add(price));
+                return shardGroups;
+            }).forEach(shardGroups -> shardGroups.forEach((key, prices) -> grouped
+                    .computeIfAbsent(key, k -> new ArrayList<>()).addAll(prices)));
+        }
+        return grouped;
+    }
+
+    private PriceCatalogVersion publishPendingLocked() {
+        PersistentPriceMap next = pending;
+        pending = null;
+        PriceCatalogVersion latest = latest();
+        if (next == null || latest == null || next == latest.timelines()) {
+            return null;
+        }
+        return publish(next, PriceCatalogVersion.Cause.CHANGES);
+    }
+
+    private PriceCatalogVersion publish(PersistentPriceMap timelines, PriceCatalogVersion.Cause cause) {
+        Instant now = clock.instant();
+        PriceCatalogVersion published = new PriceCatalogVersion(nextVersion++, now, cause, timelines);
+        versions.put(published.getVersion(), published);
+
+        Instant oldest = now.minusMillis(retentionMillis);
+        while (versions.size() > maxVersions
+                || (versions.size() > 1 && versions.firstEntry().getValue().getCreatedAt().isBefore(oldest))) {
+            versions.pollFirstEntry();
+        }
+        logger.debug("Publicada {}", published);
+        return published;
+    }
+
+    private static PersistentPriceMap apply(PersistentPriceMap timelines, PriceChange change) {
+        PriceTimeline timeline = timelines.get(change.getKey());
+        if (change.isDeletion()) {
+            if (timeline == null) {
+                return timelines;
+            }
+            PriceTimeline updated = timeline.withoutPrice(change.getPriceId());
+            if (updated == timeline) {
+                return timelines;
+            }
+            return updated.isEmpty() ? timelines.without(change.getKey()) : timelines.with(change.getKey(), updated);
+        }
+        PriceTimeline base = timeline == null ? PriceTimeline.empty() : timeline;
+        return timelines.with(change.getKey(), base.withPrice(change.getPrice()));
+    }
+
+    /**
+     * Compara las tarifas por identificador y contenido: Price.equals solo
+     * mira el identificador
+     */
+    private static boolean sameTariffs(List<Price> known, List<Price> loaded) {
+        if (known.size() != loaded.size()) {
+            return false;
+        }
+        Map<Long, Price> byId = new HashMap<>();
+        for (Price price : known) {
+            byId.put(price.getId(), price);
+        }
+        for (Price price : loaded) {
+            Price other = byId.get(price.getId());
+            if (other == null
+                    || other.getStartEpoch() != price.getStartEpoch()
+                    || other.getEndEpoch() != price.getEndEpoch()
+                    || !Objects.equals(other.getPriceList(), price.getPriceList())
+                    || !Objects.equals(other.getPriority(), price.getPriority())
+                    || !Objects.equals(other.getPrice(), price.getPrice())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
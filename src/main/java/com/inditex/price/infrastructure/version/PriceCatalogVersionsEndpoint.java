@@ -0,0 +1,49 @@
+package com.inditex.price.infrastructure.version;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint de actuator con las versiones del catálogo que se conservan
+ * GET /actuator/priceversions devuelve cada versión con su fecha de
+ * publicación, para elegir el asOfVersion de una consulta. Solo existe con
+ * price.versions.enabled=true
+ */
+@Component
+@Endpoint(id = "priceversions")
+@ConditionalOnProperty(name = "price.versions.enabled", havingValue = "true")
+public class PriceCatalogVersionsEndpoint {
+
+    private final PriceCatalogVersions priceCatalogVersions;
+
+    public PriceCatalogVersionsEndpoint(PriceCatalogVersions priceCatalogVersions) {
+        this.priceCatalogVersions = priceCatalogVersions;
+    }
+
+    @ReadOperation
+    public Map<String, Object> versions() {
+        List<Map<String, Object>> versions = priceCatalogVersions.getVersions().stream()
+                .map(PriceCatalogVersionsEndpoint::describe)
+                .collect(Collectors.toList());
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", priceCatalogVersions.isEnabled());
+        status.put("versions", versions);
+        return status;
+    }
+
+    private static Map<String, Object> describe(PriceCatalogVersion version) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("version", version.getVersion());
+        description.put("createdAt", version.getCreatedAt().toString());
+        description.put("cause", version.getCause());
+        description.put("products", version.getProducts());
+        return description;
+    }
+}
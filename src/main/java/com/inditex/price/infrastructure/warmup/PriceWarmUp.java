@@ -0,0 +1,297 @@
+package com.inditex.price.infrastructure.warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.inditex.price.application.exceptions.PriceNotFoundException;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.config.PriceStorageConfig;
+import com.inditex.price.infrastructure.index.PriceKey;
+import com.inditex.price.infrastructure.recording.HotKeyFile;
+import com.inditex.price.presentation.controllers.PriceController;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Fase de calentamiento de arranque
+ *
+ * Tras arrancar, y antes de que la instancia se declare lista, recorre el
+ * camino completo de consulta (controlador, caso de uso, índice, MapStruct y
+ * serialización JSON) con claves reales: las del fichero de claves calientes
+ * o de una grabación de consultas, si existe, completadas con claves del catálogo. La primera ronda pasa además
+ * por la consulta JPA para preparar sus planes y carga esas claves en el
+ * índice. Las rondas se repiten hasta que el rendimiento de varias seguidas
+ * varía menos que la tolerancia, señal de que el JIT ha compilado el camino
+ * caliente, o hasta agotar la duración máxima
+ *
+ * Cada ronda alterna consultas en el instante actual, que sirve el precio
+ * vigente materializado, con consultas del día anterior, que hacen búsqueda
+ * por rango
+ */
+@Component
+public class PriceWarmUp {
+
+    private static final Logger logger = LogManager.getLogger(PriceWarmUp.class);
+
+    private static final String CATALOG_KEYS_SQL = "SELECT DISTINCT BRAND_ID, PRODUCT_ID FROM PRICES "
+            + "ORDER BY BRAND_ID, PRODUCT_ID LIMIT ?";
+
+    private final PriceController priceController;
+    private final PriceRepository priceStorage;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Timer warmUpTimer;
+    private final boolean enabled;
+    private final String keysFile;
+    private final int maxKeys;
+    private final int roundLookups;
+    private final double tolerance;
+    private final int stableRounds;
+    private final long maxDurationMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile PriceWarmUpResult result;
+
+    public PriceWarmUp(PriceController priceController,
+            @Qualifier(PriceStorageConfig.PRICE_STORAGE) PriceRepository priceStorage,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${price.warmup.enabled:true}") boolean enabled,
+            @Value("${price.warmup.keys-file:}") String keysFile,
+            @Value("${price.warmup.max-keys:1000}") int maxKeys,
+            @Value("${price.warmup.round-lookups:2000}") int roundLookups,
+            @Value("${price.warmup.tolerance:0.1}") double tolerance,
+            @Value("${price.warmup.stable-rounds:3}") int stableRounds,
+            @Value("${price.warmup.max-duration-seconds:60}") long maxDurationSeconds) {
+        this.priceController = priceController;
+        this.priceStorage = priceStorage;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.warmUpTimer = Timer.builder("price.warmup")
+                .description("Duración de la fase de calentamiento de arranque")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.keysFile = keysFile;
+        this.maxKeys = maxKeys;
+        this.roundLookups = roundLookups;
+        this.tolerance = tolerance;
+        this.stableRounds = stableRounds;
+        this.maxDurationMillis = TimeUnit.SECONDS.toMillis(maxDurationSeconds);
+    }
+
+    /**
+     * Lanza el calentamiento en segundo plano después del resto de tareas de
+     * arranque (precarga del catálogo incluida)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void startOnReady() {
+        if (!enabled) {
+            result = new PriceWarmUpResult(0, 0, 0, 0L, 0L, 0.0, true);
+            logger.info("Calentamiento de arranque desactivado");
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "price-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Ejecuta el calentamiento completo
+     *
+     * @return resultado, también disponible en getResult()
+     */
+    public PriceWarmUpResult warmUp() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Ya hay un calentamiento en curso");
+        }
+        long start = System.nanoTime();
+        try {
+            List<PriceKey> recorded = readRecordedKeys();
+            List<PriceKey> keys = collectKeys(recorded);
+            logger.info("Iniciando calentamiento de arranque - Claves: {} ({} registradas)",
+                    keys.size(), recorded.size());
+
+            int rounds = 0;
+            long lookups = 0;
+            double previous = 0.0;
+            double throughput = 0.0;
+            int stable = 0;
+            boolean stabilized = keys.isEmpty();
+            while (!stabilized && elapsedMillis(start) < maxDurationMillis) {
+                long roundStart = System.nanoTime();
+                int done = runRound(keys, rounds == 0);
+                rounds++;
+                lookups += done;
+                throughput = done * 1_000_000_000.0 / Math.max(1L, System.nanoTime() - roundStart);
+
+                stable = previous > 0 && Math.abs(throughput - previous) <= tolerance * previous ? stable + 1 : 0;
+                stabilized = stable >= stableRounds;
+                previous = throughput;
+                logger.debug("Ronda de calentamiento {} - {} consultas/s", rounds, Math.round(throughput));
+            }
+
+            long durationMillis = elapsedMillis(start);
+            warmUpTimer.record(durationMillis, TimeUnit.MILLISECONDS);
+            result = new PriceWarmUpResult(keys.size(), recorded.size(), rounds, lookups, durationMillis,
+                    throughput, stabilized);
+            logger.info("Calentamiento de arranque completado - {}", result);
+            return result;
+        } catch (RuntimeException e) {
+            // Un fallo del calentamiento no debe dejar la instancia fuera de servicio
+            long durationMillis = elapsedMillis(start);
+            result = new PriceWarmUpResult(0, 0, 0, 0L, durationMillis, 0.0, false);
+            logger.error("Error en el calentamiento de arranque: {}", e.getMessage(), e);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public PriceWarmUpResult getResult() {
+        return result;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Una ronda de consultas repartidas cíclicamente entre las claves
+     */
+    private int runRound(List<PriceKey> keys, boolean firstRound) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime yesterday = now.minusDays(1);
+        int lookups = Math.max(roundLookups, firstRound ? keys.size() : 0);
+        for (int i = 0; i < lookups; i++) {
+            PriceKey key = keys.get(i % keys.size());
+            if (firstRound && i < keys.size()) {
+                priceStorage.findApplicablePrices(new ProductId(key.getProductId()),
+                        new BrandId(key.getBrandId()), now);
+            }
+            lookup(key, (i & 1) == 0 ? now : yesterday);
+        }
+        return lookups;
+    }
+
+    private void lookup(PriceKey key, LocalDateTime applicationDate) {
+        try {
+            objectMapper.writeValueAsBytes(priceController
+                    .getApplicablePrice(applicationDate, key.getProductId(), key.getBrandId(), null, null).join().getBody());
+        } catch (CompletionException e) {
+            // Una clave sin precio en esa fecha recorre igualmente el camino de error
+            if (!(e.getCause() instanceof PriceNotFoundException)) {
+                throw e;
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta de calentamiento", e);
+        }
+    }
+
+    /**
+     * Claves calientes registradas: una grabación de consultas (ver
+     * HotKeyFile), de la que se toman las claves más frecuentes, o un fichero
+     * de texto con una clave por línea como brandId,productId
+     */
+    private List<PriceKey> readRecordedKeys() {
+        List<PriceKey> keys = new ArrayList<>();
+        if (keysFile == null || keysFile.isBlank()) {
+            return keys;
+        }
+        Path path = Paths.get(keysFile);
+        if (!Files.isRegularFile(path)) {
+            logger.warn("No existe el fichero de claves calientes {}", path);
+            return keys;
+        }
+        if (HotKeyFile.isRecording(path)) {
+            return readHottestKeys(path);
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null && keys.size() < maxKeys) {
+                String[] fields = line.trim().split(",");
+                if (fields.length == 2) {
+                    try {
+                        keys.add(new PriceKey(Long.parseLong(fields[0].trim()), Long.parseLong(fields[1].trim())));
+                    } catch (NumberFormatException e) {
+                        logger.debug("Línea ignorada en el fichero de claves calientes: {}", line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Error leyendo el fichero de claves calientes {}: {}", path, e.getMessage());
+        }
+        return keys;
+    }
+
+    private List<PriceKey> readHottestKeys(Path path) {
+        Map<PriceKey, Long> frequencies = new HashMap<>();
+        try {
+            HotKeyFile.read(path, lookup -> frequencies.merge(lookup.getKey(), 1L, Long::sum));
+        } catch (IOException e) {
+            logger.warn("Error leyendo la grabación de consultas {}: {}", path, e.getMessage());
+        }
+        return frequencies.entrySet().stream()
+                .sorted(Map.Entry.<PriceKey, Long>comparingByValue().reversed())
+                .limit(maxKeys)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Claves registradas completadas con claves del catálogo hasta maxKeys
+     */
+    private List<PriceKey> collectKeys(List<PriceKey> recorded) {
+        Set<PriceKey> keys = new LinkedHashSet<>(recorded);
+        if (keys.size() < maxKeys) {
+            jdbcTemplate.query(CATALOG_KEYS_SQL, (RowCallbackHandler) rs -> {
+                if (keys.size() < maxKeys) {
+                    keys.add(new PriceKey(rs.getLong(1), rs.getLong(2)));
+                }
+            }, maxKeys);
+        }
+        return new ArrayList<>(keys);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,39 @@
+package com.inditex.price.infrastructure.warmup;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indicador de salud de la fase de calentamiento (priceWarmUp)
+ * Está DOWN mientras el calentamiento no ha terminado; incluido en el grupo
+ * readiness, mantiene la instancia fuera del balanceo hasta entonces
+ */
+@Component
+public class PriceWarmUpHealthIndicator extends AbstractHealthIndicator {
+
+    private final PriceWarmUp priceWarmUp;
+
+    public PriceWarmUpHealthIndicator(PriceWarmUp priceWarmUp) {
+        super("Error comprobando el calentamiento de arranque");
+        this.priceWarmUp = priceWarmUp;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        PriceWarmUpResult result = priceWarmUp.getResult();
+        if (result == null) {
+            builder.down().withDetail("state", priceWarmUp.isRunning() ? "running" : "pending");
+            return;
+        }
+        builder.up()
+                .withDetail("state", "completed")
+                .withDetail("durationMillis", result.getDurationMillis())
+                .withDetail("keys", result.getKeys())
+                .withDetail("recordedKeys", result.getRecordedKeys())
+                .withDetail("rounds", result.getRounds())
+                .withDetail("lookups", result.getLookups())
+                .withDetail("lookupsPerSecond", Math.round(result.getLookupsPerSecond()))
+                .withDetail("stabilized", result.isStabilized());
+    }
+}
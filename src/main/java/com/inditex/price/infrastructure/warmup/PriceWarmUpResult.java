@@ -0,0 +1,76 @@
+package com.inditex.price.infrastructure.warmup;
+
+/**
+ * Resultado de la fase de calentamiento de arranque
+ */
+public class PriceWarmUpResult {
+
+    private final int keys;
+    private final int recordedKeys;
+    private final int rounds;
+    private final long lookups;
+    private final long durationMillis;
+    private final double lookupsPerSecond;
+    private final boolean stabilized;
+
+    public PriceWarmUpResult(int keys, int recordedKeys, int rounds, long lookups, long durationMillis,
+            double lookupsPerSecond, boolean stabilized) {
+        this.keys = keys;
+        this.recordedKeys = recordedKeys;
+        this.rounds = rounds;
+        this.lookups = lookups;
+        this.durationMillis = durationMillis;
+        this.lookupsPerSecond = lookupsPerSecond;
+        this.stabilized = stabilized;
+    }
+
+    public int getKeys() {
+        return keys;
+    }
+
+    /**
+     * Claves leídas del fichero de claves calientes, incluidas en keys
+     */
+    public int getRecordedKeys() {
+        return recordedKeys;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public long getLookups() {
+        return lookups;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Rendimiento de la última ronda
+     */
+    public double getLookupsPerSecond() {
+        return lookupsPerSecond;
+    }
+
+    /**
+     * false si se alcanzó la duración máxima sin que el rendimiento se estabilizara
+     */
+    public boolean isStabilized() {
+        return stabilized;
+    }
+
+    @Override
+    public String toString() {
+        return "PriceWarmUpResult{" +
+                "keys=" + keys +
+                ", recordedKeys=" + recordedKeys +
+                ", rounds=" + rounds +
+                ", lookups=" + lookups +
+                ", durationMillis=" + durationMillis +
+                ", lookupsPerSecond=" + lookupsPerSecond +
+                ", stabilized=" + stabilized +
+                '}';
+    }
+}
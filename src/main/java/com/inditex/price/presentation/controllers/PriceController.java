@@ -1,29 +1,60 @@
 package com.inditex.price.presentation.controllers;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import com.inditex.price.application.dto.PriceBatchRequestDTO;
+import com.inditex.price.application.dto.PriceBatchResponseDTO;
+import com.inditex.price.application.dto.PriceHistoryResponseDTO;
 import com.inditex.price.application.dto.PriceQueryRequestDTO;
 import com.inditex.price.application.dto.PriceQueryResponseDTO;
+import com.inditex.price.application.usecases.DiffBrandPricesUseCase;
+import com.inditex.price.application.usecases.ExportBrandPricesUseCase;
 import com.inditex.price.application.usecases.FindApplicablePriceUseCase;
+import com.inditex.price.application.usecases.FindApplicablePricesBatchUseCase;
+import com.inditex.price.application.usecases.FindPriceHistoryUseCase;
+import com.inditex.price.infrastructure.executor.PriceLookupExecutor;
 import com.inditex.price.presentation.annotations.ApplicationDateParam;
 import com.inditex.price.presentation.annotations.BrandIdParam;
 import com.inditex.price.presentation.annotations.ProductIdParam;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 /**
  * Controlador REST para consultas de precios
  * Expone el endpoint de consulta de precios aplicables
+ *
+ * Las consultas de precio individuales y por lotes se resuelven en el pool
+ * de PriceLookupExecutor: el hilo de Tomcat queda libre en cuanto la
+ * consulta se encola y la respuesta se envía al completarse
  */
 @RestController
 @RequestMapping("/api/v1/prices")
@@ -32,10 +63,42 @@ public class PriceController {
 
 	private static final Logger logger = LogManager.getLogger(PriceController.class);
 
+	public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+	public static final String STALE_HEADER = "X-Price-Stale";
+
+	public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+	private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
 	private final FindApplicablePriceUseCase findApplicablePriceUseCase;
+	private final ExportBrandPricesUseCase exportBrandPricesUseCase;
+	private final FindPriceHistoryUseCase findPriceHistoryUseCase;
+	private final DiffBrandPricesUseCase diffBrandPricesUseCase;
+	private final FindApplicablePricesBatchUseCase findApplicablePricesBatchUseCase;
+	private final PriceLookupExecutor priceLookupExecutor;
+	private final ObjectWriter ndjsonWriter;
+	private final long defaultTimeoutMillis;
+	private final long maxTimeoutMillis;
 
-	public PriceController(FindApplicablePriceUseCase findApplicablePriceUseCase) {
+	public PriceController(FindApplicablePriceUseCase findApplicablePriceUseCase,
+			ExportBrandPricesUseCase exportBrandPricesUseCase,
+			FindPriceHistoryUseCase findPriceHistoryUseCase,
+			DiffBrandPricesUseCase diffBrandPricesUseCase,
+			FindApplicablePricesBatchUseCase findApplicablePricesBatchUseCase,
+			PriceLookupExecutor priceLookupExecutor,
+			ObjectMapper objectMapper,
+			@Value("${price.deadline.default-ms:1000}") long defaultTimeoutMillis,
+			@Value("${price.deadline.max-ms:10000}") long maxTimeoutMillis) {
 		this.findApplicablePriceUseCase = findApplicablePriceUseCase;
+		this.exportBrandPricesUseCase = exportBrandPricesUseCase;
+		this.findPriceHistoryUseCase = findPriceHistoryUseCase;
+		this.diffBrandPricesUseCase = diffBrandPricesUseCase;
+		this.findApplicablePricesBatchUseCase = findApplicablePricesBatchUseCase;
+		this.priceLookupExecutor = priceLookupExecutor;
+		this.ndjsonWriter = objectMapper.writer();
+		this.defaultTimeoutMillis = defaultTimeoutMillis;
+		this.maxTimeoutMillis = maxTimeoutMillis;
 	}
 
 	/**
@@ -45,33 +108,215 @@ public class PriceController {
 	 * @param applicationDate fecha de aplicación del precio
 	 * @param productId       identificador del producto
 	 * @param brandId         identificador de la marca/cadena
-	 * @return precio aplicable con mayor prioridad
+	 * @param asOfVersion     versión del catálogo con la que resolver la
+	 *                        consulta, o null para el catálogo actual
+	 * @param timeoutMillis   tiempo que el cliente espera la respuesta, o null
+	 *                        para el plazo por defecto
+	 * @return precio aplicable con mayor prioridad, cuando el pool de
+	 *         consultas lo resuelva
 	 */
 	@GetMapping
 	@Operation(summary = "Consultar precio aplicable", description = "Obtiene el precio aplicable para un producto de una marca en una fecha específica")
-	public ResponseEntity<PriceQueryResponseDTO> getApplicablePrice(
+	public CompletableFuture<ResponseEntity<PriceQueryResponseDTO>> getApplicablePrice(
 			@RequestParam("applicationDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @ApplicationDateParam LocalDateTime applicationDate,
 
 			@RequestParam("productId") @ProductIdParam Long productId,
 
+			@RequestParam("brandId") @BrandIdParam Long brandId,
+
+			@RequestParam(value = "asOfVersion", required = false) @Parameter(description = "Versión del catálogo con la que resolver la consulta (ver /actuator/priceversions); por defecto la actual", example = "12") Long asOfVersion,
+
+			@RequestHeader(value = TIMEOUT_HEADER, required = false) @Parameter(description = "Tiempo máximo que el cliente espera la respuesta, en milisegundos", example = "200") Long timeoutMillis) {
+
+		logger.info("Iniciando consulta de precio - productId: {}, brandId: {}, fecha: {}, versión: {}",
+				productId, brandId, applicationDate, asOfVersion);
+
+		// Se valida antes de encolar para devolver el 400 sin ocupar el pool de consultas
+		if (productId <= 0) {
+			throw new IllegalArgumentException("Product ID must be a positive integer");
+		}
+		if (brandId <= 0) {
+			throw new IllegalArgumentException("Brand ID must be a positive integer");
+		}
+
+		PriceQueryRequestDTO request = createPriceQueryRequest(applicationDate, productId, brandId);
+		request.setAsOfVersion(asOfVersion);
+		request.setDeadlineNanos(deadlineNanos(timeoutMillis));
+
+		return priceLookupExecutor.submit(() -> findApplicablePriceUseCase.execute(request))
+				.whenComplete((response, e) -> {
+					if (e != null) {
+						// El GlobalExceptionHandler responde con la causa al completarse la petición
+						Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+						logger.error("Error en consulta de precio - productId: {}, brandId: {}, fecha: {}, error: {}",
+								productId, brandId, applicationDate, cause.getMessage(), cause);
+					}
+				})
+				.thenApply(response -> ok(response.getStaleAgeSeconds()).body(response));
+	}
+
+	/**
+	 * Consulta en una sola petición el precio aplicable de varios productos
+	 * 
+	 * @param request       lote de consultas (máximo 100)
+	 * @param timeoutMillis tiempo que el cliente espera la respuesta, o null
+	 *                      para el plazo por defecto; se comparte entre todo
+	 *                      el lote
+	 * @return un resultado por consulta, sin precio si no hay tarifa aplicable,
+	 *         cuando el pool de consultas resuelva el lote
+	 */
+	@PostMapping("/batch")
+	@Operation(summary = "Consultar precios aplicables por lotes", description = "Resuelve hasta 100 consultas de precio aplicable; las que no tienen tarifa se devuelven sin precio")
+	public CompletableFuture<ResponseEntity<PriceBatchResponseDTO>> getApplicablePrices(@RequestBody PriceBatchRequestDTO request,
+
+			@RequestHeader(value = TIMEOUT_HEADER, required = false) @Parameter(description = "Tiempo máximo que el cliente espera la respuesta, en milisegundos", example = "200") Long timeoutMillis) {
+
+		logger.info("Iniciando consulta de precios por lotes - consultas: {}",
+				request.getQueries() == null ? 0 : request.getQueries().size());
+
+		if (request.getQueries() != null) {
+			Long deadlineNanos = deadlineNanos(timeoutMillis);
+			request.getQueries().stream()
+					.filter(query -> query != null)
+					.forEach(query -> query.setDeadlineNanos(deadlineNanos));
+		}
+
+		return priceLookupExecutor.submit(() -> findApplicablePricesBatchUseCase.execute(request.getQueries()))
+				.thenApply(response -> ok(response.getStaleAgeSeconds()).body(response));
+	}
+
+	/**
+	 * Exporta como NDJSON el precio aplicable de todos los productos de una marca
+	 * en una fecha, una línea por producto en orden de producto
+	 * 
+	 * @param applicationDate fecha de aplicación del precio
+	 * @param brandId         identificador de la marca/cadena
+	 * @return flujo NDJSON generado mientras se recorre el catálogo
+	 */
+	@GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+	@Operation(summary = "Exportar precios de una marca", description = "Devuelve en streaming (NDJSON) el precio aplicable de cada producto de una marca en una fecha específica")
+	public ResponseEntity<StreamingResponseBody> exportApplicablePrices(
+			@RequestParam("applicationDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @ApplicationDateParam LocalDateTime applicationDate,
+
 			@RequestParam("brandId") @BrandIdParam Long brandId) {
 
-		long startTime = System.currentTimeMillis();
+		logger.info("Iniciando exportación de precios - brandId: {}, fecha: {}", brandId, applicationDate);
 
-		logger.info("Iniciando consulta de precio - productId: {}, brandId: {}, fecha: {}",
-				productId, brandId, applicationDate);
+		return ndjsonResponse("exportación brandId " + brandId + " fecha " + applicationDate,
+				sink -> exportBrandPricesUseCase.execute(brandId, applicationDate, sink::accept));
+	}
 
-		try {
-			PriceQueryRequestDTO request = createPriceQueryRequest(applicationDate, productId, brandId);
+	/**
+	 * Exporta como NDJSON los productos de una marca cuyo precio aplicable cambia
+	 * entre dos instantes, con el precio y la tarifa anterior y nueva
+	 * 
+	 * @param brandId identificador de la marca/cadena
+	 * @param from    primer instante
+	 * @param to      segundo instante, posterior a from
+	 * @return flujo NDJSON con una línea por producto con cambios
+	 */
+	@GetMapping(value = "/diff", produces = APPLICATION_NDJSON_VALUE)
+	@Operation(summary = "Diferencias de precios de una marca", description = "Devuelve en streaming (NDJSON) los productos de una marca cuyo precio aplicable cambia entre dos fechas")
+	public ResponseEntity<StreamingResponseBody> diffApplicablePrices(
+			@RequestParam("brandId") @BrandIdParam Long brandId,
+
+			@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @Parameter(description = "Primer instante (ISO 8601)", example = "2020-06-14T10:00:00", required = true) LocalDateTime from,
+
+			@RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @Parameter(description = "Segundo instante, posterior a 'from' (ISO 8601)", example = "2020-06-14T16:00:00", required = true) LocalDateTime to) {
+
+		logger.info("Iniciando cálculo de diferencias - brandId: {}, rango: {} a {}", brandId, from, to);
+
+		// Se valida antes de empezar a escribir la respuesta para poder devolver un 400
+		if (!from.isBefore(to)) {
+			throw new IllegalArgumentException("La fecha 'from' debe ser anterior a 'to'");
+		}
+
+		return ndjsonResponse("diferencias brandId " + brandId + " rango " + from + " a " + to,
+				sink -> diffBrandPricesUseCase.execute(brandId, from, to, sink::accept));
+	}
+
+	/**
+	 * Construye una respuesta NDJSON que se escribe mientras el productor
+	 * entrega los elementos
+	 */
+	private ResponseEntity<StreamingResponseBody> ndjsonResponse(String description, Consumer<Consumer<Object>> producer) {
+		StreamingResponseBody body = outputStream -> {
+			OutputStream out = new BufferedOutputStream(outputStream, STREAM_BUFFER_SIZE);
+			try {
+				producer.accept(value -> writeLine(out, value));
+			} catch (UncheckedIOException e) {
+				// El cliente ha cerrado la conexión, no hay respuesta que enviar
+				logger.warn("Streaming interrumpido - {}, error: {}", description, e.getMessage());
+				return;
+			}
+			out.flush();
+		};
+
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+				.body(body);
+	}
+
+	/**
+	 * Consulta el historial de precios de un producto en un rango de fechas como
+	 * tramos con su tarifa aplicada, paginado por fecha
+	 * 
+	 * @param productId identificador del producto
+	 * @param brandId   identificador de la marca/cadena
+	 * @param from      inicio del rango, o nextFrom de la página anterior
+	 * @param to        fin del rango
+	 * @param pageSize  número máximo de tramos por página
+	 * @return página de tramos y cursor de la siguiente
+	 */
+	@GetMapping("/history")
+	@Operation(summary = "Consultar historial de precios", description = "Obtiene los tramos de precio aplicables a un producto entre dos fechas, paginados con el cursor nextFrom")
+	public ResponseEntity<PriceHistoryResponseDTO> getPriceHistory(
+			@RequestParam("productId") @ProductIdParam Long productId,
+
+			@RequestParam("brandId") @BrandIdParam Long brandId,
+
+			@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @Parameter(description = "Inicio del rango (ISO 8601)", example = "2020-06-14T00:00:00", required = true) LocalDateTime from,
+
+			@RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @Parameter(description = "Fin del rango (ISO 8601)", example = "2020-06-16T23:59:59", required = true) LocalDateTime to,
 
-			PriceQueryResponseDTO response = findApplicablePriceUseCase.execute(request);
+			@RequestParam(value = "pageSize", defaultValue = "50") @Parameter(description = "Tramos por página (máximo 500)", example = "50") int pageSize) {
 
-			return ResponseEntity.ok(response);
+		logger.info("Iniciando consulta de historial - productId: {}, brandId: {}, rango: {} a {}, pageSize: {}",
+				productId, brandId, from, to, pageSize);
 
-		} catch (Exception e) {
-			logger.error("Error en consulta de precio - productId: {}, brandId: {}, fecha: {}, error: {}",
-					productId, brandId, applicationDate, e.getMessage(), e);
-			throw e; // Re-lanzar para que el GlobalExceptionHandler la maneje
+		return ResponseEntity.ok(findPriceHistoryUseCase.execute(productId, brandId, from, to, pageSize));
+	}
+
+	/**
+	 * Respuesta 200 que, si los datos salieron de la copia de respaldo, lo
+	 * indica con X-Price-Stale y su antigüedad en Age
+	 */
+	private static ResponseEntity.BodyBuilder ok(Long staleAgeSeconds) {
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+		if (staleAgeSeconds != null) {
+			builder.header(STALE_HEADER, "true").header(HttpHeaders.AGE, Long.toString(staleAgeSeconds));
+		}
+		return builder;
+	}
+
+	/**
+	 * Plazo de la petición en la escala de System.nanoTime(): el que pide el
+	 * cliente, acotado por el máximo configurado, o el plazo por defecto. Un
+	 * plazo por defecto no positivo deja las peticiones sin plazo
+	 */
+	private Long deadlineNanos(Long timeoutMillis) {
+		long budgetMillis = timeoutMillis != null && timeoutMillis > 0
+				? Math.min(timeoutMillis, maxTimeoutMillis)
+				: defaultTimeoutMillis;
+		return budgetMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis) : null;
+	}
+
+	private void writeLine(OutputStream out, Object value) {
+		try {
+			out.write(ndjsonWriter.writeValueAsBytes(value));
+			out.write('\n');
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
 		}
 	}
 
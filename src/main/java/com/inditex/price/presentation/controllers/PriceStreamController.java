@@ -0,0 +1,74 @@
+package com.inditex.price.presentation.controllers;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.inditex.price.infrastructure.stream.PriceSubscriptionHub;
+import com.inditex.price.presentation.annotations.BrandIdParam;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Controlador REST para la suscripción a cambios de precios
+ * Expone un flujo Server-Sent Events con un evento por cada cambio del precio
+ * aplicable de los productos suscritos
+ */
+@RestController
+@RequestMapping("/api/v1/prices")
+@Tag(name = "Price Service", description = "API para consultar precios aplicables de productos")
+public class PriceStreamController {
+
+	private static final Logger logger = LogManager.getLogger(PriceStreamController.class);
+
+	private final PriceSubscriptionHub priceSubscriptionHub;
+	private final long timeoutMillis;
+
+	public PriceStreamController(PriceSubscriptionHub priceSubscriptionHub,
+			@Value("${price.stream.timeout-ms:3600000}") long timeoutMillis) {
+		this.priceSubscriptionHub = priceSubscriptionHub;
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	/**
+	 * Suscribe al cliente a los cambios de precio aplicable de una marca
+	 * 
+	 * @param brandId    identificador de la marca/cadena
+	 * @param productIds productos de interés; si se omite, todos los de la marca
+	 * @return flujo SSE con eventos "price-change", o 503 si se ha alcanzado el
+	 *         máximo de suscriptores
+	 */
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@Operation(summary = "Suscribirse a cambios de precios", description = "Envía por Server-Sent Events un evento cada vez que cambia el precio aplicable de un producto de la marca")
+	public ResponseEntity<SseEmitter> streamPriceChanges(
+			@RequestParam("brandId") @BrandIdParam Long brandId,
+
+			@RequestParam(value = "productIds", required = false) @Parameter(description = "Productos de interés, separados por comas", example = "35455") List<Long> productIds) {
+
+		Set<Long> products = productIds == null ? Collections.emptySet() : new HashSet<>(productIds);
+		SseEmitter emitter = new SseEmitter(timeoutMillis);
+
+		if (!priceSubscriptionHub.register(brandId, products, emitter)) {
+			logger.warn("Suscripción rechazada por límite de suscriptores - brandId: {}", brandId);
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+		}
+
+		logger.info("Nueva suscripción a cambios de precios - brandId: {}, productos: {}", brandId, products);
+		return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+	}
+}
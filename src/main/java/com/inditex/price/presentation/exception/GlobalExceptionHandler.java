@@ -2,15 +2,26 @@ package com.inditex.price.presentation.exception;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import com.inditex.price.application.exceptions.CatalogVersionNotAvailableException;
+import com.inditex.price.application.exceptions.CatalogVersionsDisabledException;
+import com.inditex.price.application.exceptions.ConcurrencyLimitExceededException;
+import com.inditex.price.application.exceptions.DeadlineExceededException;
+import com.inditex.price.application.exceptions.PriceDataUnavailableException;
+import com.inditex.price.application.exceptions.PriceLookupRejectedException;
 import com.inditex.price.application.exceptions.PriceNotFoundException;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Manejador global de excepciones para la capa de presentación
  * Centraliza el manejo de errores siguiendo principios de arquitectura
@@ -21,6 +32,12 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LogManager.getLogger(GlobalExceptionHandler.class);
 
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Manejo de excepción cuando no se encuentra un precio aplicable
      */
@@ -32,6 +49,94 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    /**
+     * Manejo de consultas por versión del catálogo que ya no se conserva
+     */
+    @ExceptionHandler(CatalogVersionNotAvailableException.class)
+    public ResponseEntity<ErrorResponse> handleCatalogVersionNotAvailable(CatalogVersionNotAvailableException ex) {
+        logger.warn("Versión del catálogo no disponible: {}", ex.getVersion());
+
+        ErrorResponse error = new ErrorResponse(HttpStatus.NOT_FOUND.value(), "Versión no disponible",
+                ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    /**
+     * Manejo de consultas por versión cuando el servicio no conserva versiones
+     */
+    @ExceptionHandler(CatalogVersionsDisabledException.class)
+    public ResponseEntity<ErrorResponse> handleCatalogVersionsDisabled(CatalogVersionsDisabledException ex) {
+        logger.warn("Consulta por versión con las versiones del catálogo desactivadas");
+
+        ErrorResponse error = new ErrorResponse(HttpStatus.NOT_IMPLEMENTED.value(),
+                "Versiones no disponibles", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(error);
+    }
+
+    /**
+     * Manejo de peticiones rechazadas por el límite de concurrencia
+     * Se registran en debug: bajo sobrecarga hay uno por petición rechazada
+     */
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyLimit(ConcurrencyLimitExceededException ex) {
+        logger.debug("Petición rechazada: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Servicio saturado",
+                ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    /**
+     * Manejo de consultas rechazadas con el pool de consultas de precio lleno
+     * Se registran en debug: bajo sobrecarga hay uno por consulta rechazada
+     */
+    @ExceptionHandler(PriceLookupRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleLookupRejected(PriceLookupRejectedException ex) {
+        logger.debug("Consulta rechazada: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Servicio saturado",
+                ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    /**
+     * Manejo de consultas que la base de datos no puede atender y sin copia de
+     * respaldo con la que responder
+     */
+    @ExceptionHandler(PriceDataUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handlePriceDataUnavailable(PriceDataUnavailableException ex) {
+        logger.warn("Datos de precios no disponibles: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Precios no disponibles",
+                "La base de datos de precios no está disponible temporalmente");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    /**
+     * Manejo de consultas abandonadas porque el plazo de la petición se agotó
+     * Se cuentan por paso en el que se cortaron
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDeadlineExceeded(DeadlineExceededException ex) {
+        logger.debug("Plazo agotado: {}", ex.getMessage());
+
+        Counter.builder("price.deadline.exceeded")
+                .tag("step", ex.getStep())
+                .description("Consultas abandonadas por agotar el plazo de la petición")
+                .register(meterRegistry)
+                .increment();
+
+        ErrorResponse error = new ErrorResponse(HttpStatus.GATEWAY_TIMEOUT.value(), "Plazo agotado",
+                ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(error);
+    }
+
     /**
      * Manejo de parámetros faltantes en la request
      */
@@ -58,6 +163,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    /**
+     * Manejo de cuerpos de petición ausentes o con JSON inválido
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        logger.warn("Cuerpo de request ilegible: {}", ex.getMostSpecificCause().getMessage());
+
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Cuerpo de petición inválido",
+                "El cuerpo de la petición no es un JSON válido");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     /**
      * Manejo de errores de validación
      */
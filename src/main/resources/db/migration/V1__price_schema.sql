@@ -0,0 +1,43 @@
+-- Esquema inicial del catálogo de precios (perfil persistent)
+-- Equivale a lo que Hibernate genera en memoria a partir de las entidades
+
+CREATE TABLE PRICES (
+    ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+    BRAND_ID BIGINT NOT NULL,
+    START_DATE TIMESTAMP NOT NULL,
+    END_DATE TIMESTAMP NOT NULL,
+    PRICE_LIST INT NOT NULL,
+    PRODUCT_ID BIGINT NOT NULL,
+    PRIORITY INT NOT NULL,
+    PRICE DECIMAL(19, 2) NOT NULL,
+    CURR VARCHAR(255) NOT NULL
+);
+
+-- Consultas puntuales y líneas temporales por producto
+CREATE INDEX IDX_PRICES_BRAND_PRODUCT_START ON PRICES (BRAND_ID, PRODUCT_ID, START_DATE);
+
+-- Búsqueda de tarifas caducadas del archivado
+CREATE INDEX IDX_PRICES_END_DATE ON PRICES (END_DATE);
+
+CREATE TABLE PRICE_CHANGES (
+    CHANGE_ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+    PRICE_ID BIGINT NOT NULL,
+    BRAND_ID BIGINT NOT NULL,
+    PRODUCT_ID BIGINT NOT NULL,
+    CHANGE_TYPE VARCHAR(10) NOT NULL,
+    CHANGED_AT TIMESTAMP NOT NULL
+);
+
+CREATE TABLE PRICES_ARCHIVE (
+    ID BIGINT PRIMARY KEY,
+    BRAND_ID BIGINT NOT NULL,
+    START_DATE TIMESTAMP NOT NULL,
+    END_DATE TIMESTAMP NOT NULL,
+    PRICE_LIST INT NOT NULL,
+    PRODUCT_ID BIGINT NOT NULL,
+    PRIORITY INT NOT NULL,
+    PRICE DECIMAL(19, 2) NOT NULL,
+    CURR VARCHAR(255) NOT NULL
+);
+
+CREATE INDEX IDX_PRICES_ARCHIVE_BRAND_PRODUCT_START ON PRICES_ARCHIVE (BRAND_ID, PRODUCT_ID, START_DATE);
@@ -0,0 +1,8 @@
+-- Punto de reanudación del consumidor de PRICE_CHANGES: una única fila con el
+-- último cambio entregado a todos los listeners
+
+CREATE TABLE PRICE_CHANGE_WATERMARK (
+    ID INT PRIMARY KEY,
+    CHANGE_ID BIGINT NOT NULL,
+    UPDATED_AT TIMESTAMP NOT NULL
+);
@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS PRICES (
+    ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+    BRAND_ID BIGINT NOT NULL,
+    START_DATE TIMESTAMP NOT NULL,
+    END_DATE TIMESTAMP NOT NULL,
+    PRICE_LIST INT NOT NULL,
+    PRODUCT_ID BIGINT NOT NULL,
+    PRIORITY INT NOT NULL,
+    PRICE DECIMAL(19, 2) NOT NULL,
+    CURR VARCHAR(255) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS IDX_PRICES_BRAND_PRODUCT_START ON PRICES (BRAND_ID, PRODUCT_ID, START_DATE);
+
+CREATE INDEX IF NOT EXISTS IDX_PRICES_END_DATE ON PRICES (END_DATE);
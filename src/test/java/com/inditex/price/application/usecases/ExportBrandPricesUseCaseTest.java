@@ -0,0 +1,110 @@
+package com.inditex.price.application.usecases;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.inditex.price.application.dto.PriceQueryResponseDTO;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.Money;
+import com.inditex.price.domain.valueobject.Priority;
+import com.inditex.price.domain.valueobject.ProductId;
+
+/**
+ * Tests unitarios para ExportBrandPricesUseCase
+ */
+@ExtendWith(MockitoExtension.class)
+class ExportBrandPricesUseCaseTest {
+
+        private static final LocalDateTime APPLICATION_DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+        @Mock
+        private PriceRepository priceRepository;
+
+        private ExportBrandPricesUseCase useCase;
+
+        @BeforeEach
+        void setUp() {
+                useCase = new ExportBrandPricesUseCase(priceRepository);
+        }
+
+        @Test
+        @DisplayName("Debería emitir la tarifa de mayor prioridad de cada producto en orden")
+        void shouldEmitHighestPriorityPricePerProduct() {
+                // Given - tarifas agrupadas por producto como las entrega el repositorio
+                givenScan(
+                                createPrice(1L, 100L, 0, LocalDateTime.of(2020, 6, 14, 0, 0)),
+                                createPrice(2L, 100L, 1, LocalDateTime.of(2020, 6, 14, 15, 0)),
+                                createPrice(3L, 200L, 1, LocalDateTime.of(2020, 6, 1, 0, 0)),
+                                createPrice(4L, 200L, 1, LocalDateTime.of(2020, 6, 10, 0, 0)),
+                                createPrice(5L, 300L, 0, LocalDateTime.of(2020, 6, 1, 0, 0)));
+                List<PriceQueryResponseDTO> exported = new ArrayList<>();
+
+                // When
+                long count = useCase.execute(1L, APPLICATION_DATE, exported::add);
+
+                // Then
+                assertEquals(3, count);
+                assertEquals(Long.valueOf(100L), exported.get(0).getProductId());
+                assertEquals(Integer.valueOf(2), exported.get(0).getPriceList());
+                assertEquals(Long.valueOf(200L), exported.get(1).getProductId());
+                assertEquals(Integer.valueOf(4), exported.get(1).getPriceList());
+                assertEquals(Long.valueOf(300L), exported.get(2).getProductId());
+                assertEquals(Integer.valueOf(5), exported.get(2).getPriceList());
+        }
+
+        @Test
+        @DisplayName("Debería no emitir nada cuando la marca no tiene tarifas aplicables")
+        void shouldEmitNothingWhenNoPrices() {
+                // Given
+                givenScan();
+                List<PriceQueryResponseDTO> exported = new ArrayList<>();
+
+                // When
+                long count = useCase.execute(1L, APPLICATION_DATE, exported::add);
+
+                // Then
+                assertEquals(0, count);
+                assertTrue(exported.isEmpty());
+        }
+
+        @SuppressWarnings("unchecked")
+        private void givenScan(Price... prices) {
+                doAnswer(invocation -> {
+                        Consumer<Price> consumer = invocation.getArgument(2);
+                        Arrays.asList(prices).forEach(consumer);
+                        return null;
+                }).when(priceRepository).forEachApplicablePrice(eq(new BrandId(1L)), eq(APPLICATION_DATE), any(Consumer.class));
+        }
+
+        private Price createPrice(Long id, Long productId, Integer priority, LocalDateTime startDate) {
+                return Price.builder()
+                                .id(id)
+                                .brandId(new BrandId(1L))
+                                .startDate(startDate)
+                                .endDate(LocalDateTime.of(2020, 12, 31, 23, 59))
+                                .priceList(id.intValue())
+                                .productId(new ProductId(productId))
+                                .priority(new Priority(priority))
+                                .price(new Money(BigDecimal.valueOf(10), "EUR"))
+                                .build();
+        }
+}
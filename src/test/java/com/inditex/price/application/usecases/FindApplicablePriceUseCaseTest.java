@@ -5,8 +5,11 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
@@ -31,9 +34,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.inditex.price.application.dto.PriceQueryRequestDTO;
 import com.inditex.price.application.dto.PriceQueryResponseDTO;
+import com.inditex.price.application.exceptions.CatalogVersionNotAvailableException;
+import com.inditex.price.application.exceptions.CatalogVersionsDisabledException;
+import com.inditex.price.application.exceptions.DeadlineExceededException;
 import com.inditex.price.application.exceptions.PriceNotFoundException;
+import com.inditex.price.domain.model.CurrentPrice;
 import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.CurrentPriceRepository;
 import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.repository.VersionedPriceRepository;
 import com.inditex.price.domain.service.PriceDomainService;
 import com.inditex.price.domain.valueobject.BrandId;
 import com.inditex.price.domain.valueobject.Money;
@@ -53,13 +62,20 @@ class FindApplicablePriceUseCaseTest {
         @Mock
         private PriceDomainService priceDomainService;
 
+        @Mock
+        private CurrentPriceRepository currentPriceRepository;
+
+        @Mock
+        private VersionedPriceRepository versionedPriceRepository;
+
         private FindApplicablePriceUseCase useCase;
 
         private Validator validator;
 
         @BeforeEach
         void setUp() {
-                useCase = new FindApplicablePriceUseCase(priceRepository, priceDomainService);
+                useCase = new FindApplicablePriceUseCase(priceRepository, priceDomainService,
+                                currentPriceRepository, versionedPriceRepository);
                 ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
                 validator = factory.getValidator();
         }
@@ -229,6 +245,123 @@ class FindApplicablePriceUseCaseTest {
                 assertThrows(PriceNotFoundException.class, () -> useCase.execute(request));
         }
 
+        @Test
+        @DisplayName("Debería responder desde el precio vigente sin consultar el repositorio")
+        void shouldAnswerFromCurrentPriceWithoutRangeSearch() {
+                // Given
+                LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 10, 0);
+                PriceQueryRequestDTO request = new PriceQueryRequestDTO(applicationDate, 35455L, 1L);
+                Price mockPrice = createMockPrice(1L, 0, BigDecimal.valueOf(35.50));
+
+                when(currentPriceRepository.findCurrentPrice(any(ProductId.class), any(BrandId.class),
+                                eq(applicationDate)))
+                                .thenReturn(Optional.of(new CurrentPrice(mockPrice, 0L, Long.MAX_VALUE)));
+
+                // When
+                PriceQueryResponseDTO result = useCase.execute(request);
+
+                // Then
+                assertEquals(Integer.valueOf(1), result.getPriceList());
+                verify(priceRepository, never()).findApplicablePrices(any(ProductId.class), any(BrandId.class),
+                                any(LocalDateTime.class));
+                verifyNoInteractions(priceDomainService);
+        }
+
+        @Test
+        @DisplayName("Debería lanzar excepción si el precio vigente indica que no aplica ninguna tarifa")
+        void shouldThrowWhenCurrentPriceHasNoWinner() {
+                // Given
+                LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 10, 0);
+                PriceQueryRequestDTO request = new PriceQueryRequestDTO(applicationDate, 35455L, 1L);
+
+                when(currentPriceRepository.findCurrentPrice(any(ProductId.class), any(BrandId.class),
+                                eq(applicationDate)))
+                                .thenReturn(Optional.of(new CurrentPrice(null, 0L, Long.MAX_VALUE)));
+
+                // When & Then
+                assertThrows(PriceNotFoundException.class, () -> useCase.execute(request));
+        }
+
+        @Test
+        @DisplayName("Debería abandonar la consulta sin ir al repositorio si el plazo ya se agotó")
+        void shouldNotQueryRepositoryWhenDeadlineExpired() {
+                // Given
+                LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 10, 0);
+                PriceQueryRequestDTO request = new PriceQueryRequestDTO(applicationDate, 35455L, 1L);
+                request.setDeadlineNanos(System.nanoTime() - 1L);
+
+                // When & Then
+                DeadlineExceededException exception = assertThrows(DeadlineExceededException.class,
+                                () -> useCase.execute(request));
+
+                assertEquals("lookup", exception.getStep());
+                verify(priceRepository, never()).findApplicablePrices(any(ProductId.class), any(BrandId.class),
+                                any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("Debería resolver con la versión pedida del catálogo sin pasar por el precio vigente")
+        void shouldResolveAgainstRequestedCatalogVersion() {
+                // Given
+                LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 10, 0);
+                PriceQueryRequestDTO request = new PriceQueryRequestDTO(applicationDate, 35455L, 1L);
+                request.setAsOfVersion(3L);
+                Price mockPrice = createMockPrice(1L, 0, BigDecimal.valueOf(35.50));
+
+                when(versionedPriceRepository.isEnabled()).thenReturn(true);
+                when(versionedPriceRepository.findApplicablePricesAsOf(any(ProductId.class), any(BrandId.class),
+                                eq(applicationDate), eq(3L)))
+                                .thenReturn(Optional.of(Arrays.asList(mockPrice)));
+                when(priceDomainService.selectHighestPriorityPrice(Arrays.asList(mockPrice)))
+                                .thenReturn(Optional.of(mockPrice));
+
+                // When
+                PriceQueryResponseDTO result = useCase.execute(request);
+
+                // Then
+                assertEquals(Integer.valueOf(1), result.getPriceList());
+                verifyNoInteractions(currentPriceRepository, priceRepository);
+        }
+
+        @Test
+        @DisplayName("Debería lanzar excepción si la versión pedida del catálogo ya no se conserva")
+        void shouldThrowWhenCatalogVersionNotAvailable() {
+                // Given
+                LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 10, 0);
+                PriceQueryRequestDTO request = new PriceQueryRequestDTO(applicationDate, 35455L, 1L);
+                request.setAsOfVersion(1L);
+
+                when(versionedPriceRepository.isEnabled()).thenReturn(true);
+                when(versionedPriceRepository.findApplicablePricesAsOf(any(ProductId.class), any(BrandId.class),
+                                eq(applicationDate), anyLong()))
+                                .thenReturn(Optional.empty());
+
+                // When & Then
+                CatalogVersionNotAvailableException exception = assertThrows(
+                                CatalogVersionNotAvailableException.class, () -> useCase.execute(request));
+
+                assertEquals(1L, exception.getVersion());
+                verifyNoInteractions(priceRepository);
+        }
+
+        @Test
+        @DisplayName("Debería lanzar excepción si se pide una versión del catálogo y no se conservan versiones")
+        void shouldThrowWhenCatalogVersionsDisabled() {
+                // Given
+                PriceQueryRequestDTO request = new PriceQueryRequestDTO(LocalDateTime.of(2020, 6, 14, 10, 0),
+                                35455L, 1L);
+                request.setAsOfVersion(1L);
+
+                when(versionedPriceRepository.isEnabled()).thenReturn(false);
+
+                // When & Then
+                assertThrows(CatalogVersionsDisabledException.class, () -> useCase.execute(request));
+
+                verify(versionedPriceRepository, never()).findApplicablePricesAsOf(any(ProductId.class),
+                                any(BrandId.class), any(LocalDateTime.class), anyLong());
+                verifyNoInteractions(priceRepository);
+        }
+
         private Price createMockPrice(Long id, Integer priorityValue, BigDecimal priceValue) {
                 return Price.builder()
                                 .id(id)
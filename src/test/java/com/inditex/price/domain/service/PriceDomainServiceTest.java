@@ -1,6 +1,7 @@
 package com.inditex.price.domain.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
@@ -9,11 +10,16 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.inditex.price.domain.model.CurrentPrice;
+import com.inditex.price.domain.model.EpochTime;
 import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.model.PriceHistoryPage;
+import com.inditex.price.domain.model.PriceSegment;
 import com.inditex.price.domain.valueobject.BrandId;
 import com.inditex.price.domain.valueobject.Money;
 import com.inditex.price.domain.valueobject.Priority;
@@ -91,6 +97,82 @@ class PriceDomainServiceTest {
         assertEquals(price3, result.get()); // reduce devuelve el último elemento cuando las prioridades son iguales
     }
 
+    @Test
+    void shouldResolveHistorySegmentsWithWinningPrice() {
+        // Given - tarifa base del 14 con promoción de 15:00 a 18:30
+        LocalDateTime from = LocalDateTime.of(2020, 6, 14, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2020, 6, 14, 23, 59, 59);
+        Price base = createPrice(1L, 0, from, LocalDateTime.of(2020, 12, 31, 23, 59, 59));
+        Price promotion = createPrice(2L, 1, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30));
+
+        // When
+        PriceHistoryPage page = priceDomainService.resolveSegments(Arrays.asList(base),
+                Arrays.asList(promotion).iterator(), from, to, 10);
+
+        // Then
+        assertEquals(Arrays.asList(1L, 2L, 1L), ids(page.getSegments()));
+        assertEquals(LocalDateTime.of(2020, 6, 14, 14, 59, 59, 999_999_000), page.getSegments().get(0).getEndDate());
+        assertEquals(LocalDateTime.of(2020, 6, 14, 18, 30), page.getSegments().get(1).getEndDate());
+        assertEquals(LocalDateTime.of(2020, 6, 14, 18, 30, 0, 1_000), page.getSegments().get(2).getStartDate());
+        assertEquals(to, page.getSegments().get(2).getEndDate());
+        assertNull(page.getNextFrom());
+    }
+
+    @Test
+    void shouldCutHistoryPageAndSkipGaps() {
+        // Given - dos tarifas separadas por un hueco y una tercera que no gana nunca
+        LocalDateTime from = LocalDateTime.of(2020, 6, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2020, 6, 30, 0, 0);
+        Price first = createPrice(1L, 1, LocalDateTime.of(2020, 6, 5, 0, 0), LocalDateTime.of(2020, 6, 10, 0, 0));
+        Price hidden = createPrice(2L, 0, LocalDateTime.of(2020, 6, 6, 0, 0), LocalDateTime.of(2020, 6, 9, 0, 0));
+        Price second = createPrice(3L, 0, LocalDateTime.of(2020, 6, 20, 0, 0), LocalDateTime.of(2020, 7, 10, 0, 0));
+
+        // When
+        PriceHistoryPage page = priceDomainService.resolveSegments(Collections.emptyList(),
+                Arrays.asList(first, hidden, second).iterator(), from, to, 1);
+
+        // Then
+        assertEquals(Arrays.asList(1L), ids(page.getSegments()));
+        assertEquals(LocalDateTime.of(2020, 6, 10, 0, 0), page.getSegments().get(0).getEndDate());
+        assertEquals(LocalDateTime.of(2020, 6, 20, 0, 0), page.getNextFrom());
+    }
+
+    @Test
+    void shouldResolveCurrentPriceWithValidityBetweenNearestBoundaries() {
+        // Given - tarifa base del 14 con promoción de 15:00 a 18:30
+        Price base = createPrice(1L, 0, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59));
+        Price promotion = createPrice(2L, 1, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30));
+
+        // When
+        CurrentPrice current = priceDomainService.resolveCurrentPrice(Arrays.asList(base, promotion),
+                EpochTime.toEpochMicros(LocalDateTime.of(2020, 6, 14, 16, 0)));
+
+        // Then - válida desde el inicio de la promoción hasta justo después de su fin
+        assertEquals(2L, current.getPrice().get().getId().longValue());
+        assertEquals(EpochTime.toEpochMicros(LocalDateTime.of(2020, 6, 14, 15, 0)), current.getValidFromEpoch());
+        assertEquals(EpochTime.toEpochMicros(LocalDateTime.of(2020, 6, 14, 18, 30)) + 1, current.getValidUntilEpoch());
+    }
+
+    @Test
+    void shouldResolveCurrentPriceWithoutWinnerInGap() {
+        // Given
+        Price first = createPrice(1L, 0, LocalDateTime.of(2020, 6, 1, 0, 0), LocalDateTime.of(2020, 6, 10, 0, 0));
+        Price second = createPrice(2L, 0, LocalDateTime.of(2020, 6, 20, 0, 0), LocalDateTime.of(2020, 6, 30, 0, 0));
+
+        // When
+        CurrentPrice current = priceDomainService.resolveCurrentPrice(Arrays.asList(first, second),
+                EpochTime.toEpochMicros(LocalDateTime.of(2020, 6, 15, 0, 0)));
+
+        // Then
+        assertTrue(current.getPrice().isEmpty());
+        assertTrue(current.covers(EpochTime.toEpochMicros(LocalDateTime.of(2020, 6, 19, 23, 59))));
+        assertTrue(!current.covers(EpochTime.toEpochMicros(LocalDateTime.of(2020, 6, 20, 0, 0))));
+    }
+
+    private static List<Long> ids(List<PriceSegment> segments) {
+        return segments.stream().map(segment -> segment.getPrice().getId()).collect(Collectors.toList());
+    }
+
     private Price createPrice(Long id, Integer priorityValue, LocalDateTime startDate, LocalDateTime endDate) {
         return Price.builder()
                 .id(id)
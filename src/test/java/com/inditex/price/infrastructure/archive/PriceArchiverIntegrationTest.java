@@ -0,0 +1,131 @@
+package com.inditex.price.infrastructure.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.changes.PriceChangePoller;
+
+/**
+ * Tests de integración del archivado de tarifas caducadas
+ *
+ * La retención se fija en unos 6000 días para que solo caduquen las tarifas
+ * del año 2000 que inserta el propio test y no los datos comunes de 2020
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "price.archive.enabled=true",
+        "price.archive.retention-days=6000",
+        "price.archive.batch-size=2" })
+class PriceArchiverIntegrationTest {
+
+    private static final long BRAND = 1L;
+    private static final long PRODUCT = 770001L;
+
+    private static final String INSERT_SQL = "INSERT INTO PRICES "
+            + "(BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 'EUR')";
+
+    @Autowired
+    private PriceArchiver priceArchiver;
+
+    @Autowired
+    private PriceArchive priceArchive;
+
+    @Autowired
+    private PriceRepository priceRepository;
+
+    @Autowired
+    private PriceChangePoller priceChangePoller;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedExpiredPrices() {
+        cleanUp();
+        insert(LocalDateTime.of(2000, 1, 1, 0, 0), LocalDateTime.of(2000, 12, 31, 23, 59), 1, 0, "10.00");
+        insert(LocalDateTime.of(2000, 6, 1, 0, 0), LocalDateTime.of(2000, 6, 30, 23, 59), 2, 1, "8.00");
+        insert(LocalDateTime.of(2000, 7, 1, 0, 0), LocalDateTime.of(2000, 7, 31, 23, 59), 3, 1, "9.00");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID = ?", PRODUCT);
+        jdbcTemplate.update("DELETE FROM PRICES_ARCHIVE WHERE PRODUCT_ID = ?", PRODUCT);
+    }
+
+    @Test
+    @DisplayName("Debería trasladar por lotes las tarifas caducadas a PRICES_ARCHIVE")
+    void shouldMoveExpiredPricesToArchive() {
+        // When
+        int archived = priceArchiver.archive();
+
+        // Then
+        assertEquals(3, archived);
+        assertEquals(0, count("PRICES"));
+        assertEquals(3, count("PRICES_ARCHIVE"));
+        assertTrue(priceArchive.covers(LocalDateTime.of(2000, 6, 15, 12, 0)));
+        assertFalse(priceArchive.covers(LocalDateTime.of(2020, 6, 14, 10, 0)));
+    }
+
+    @Test
+    @DisplayName("Debería resolver las consultas históricas con las tarifas archivadas")
+    void shouldResolveHistoricalLookupsFromArchive() {
+        // Given - línea temporal del producto ya cargada en el índice antes de archivar
+        priceRepository.findAllPrices(new ProductId(PRODUCT), new BrandId(BRAND));
+        priceArchiver.archive();
+        priceChangePoller.poll();
+
+        // When
+        List<Price> applicable = priceRepository.findApplicablePrices(new ProductId(PRODUCT), new BrandId(BRAND),
+                LocalDateTime.of(2000, 6, 15, 12, 0));
+
+        // Then - la promoción de mayor prioridad primero
+        assertEquals(2, applicable.size());
+        assertEquals(2, applicable.get(0).getPriceList());
+        assertEquals(0, new BigDecimal("8.00").compareTo(applicable.get(0).getPrice().getAmount()));
+    }
+
+    @Test
+    @DisplayName("Debería paginar el historial recorriendo PRICES y PRICES_ARCHIVE en orden")
+    void shouldPageHistoryAcrossArchive() {
+        // Given
+        priceArchiver.archive();
+
+        // When
+        List<Price> page = priceRepository.findPricesStartingAfter(new ProductId(PRODUCT), new BrandId(BRAND),
+                LocalDateTime.of(2000, 1, 1, 0, 0), Long.MIN_VALUE, LocalDateTime.of(2001, 1, 1, 0, 0), 2);
+
+        // Then
+        assertEquals(2, page.size());
+        assertEquals(1, page.get(0).getPriceList());
+        assertEquals(2, page.get(1).getPriceList());
+    }
+
+    private void insert(LocalDateTime start, LocalDateTime end, int priceList, int priority, String price) {
+        jdbcTemplate.update(INSERT_SQL, BRAND, start, end, priceList, PRODUCT, priority, new BigDecimal(price));
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE PRODUCT_ID = ?", Integer.class,
+                PRODUCT);
+    }
+}
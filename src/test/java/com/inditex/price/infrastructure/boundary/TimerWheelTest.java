@@ -0,0 +1,104 @@
+package com.inditex.price.infrastructure.boundary;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests unitarios para TimerWheel
+ * Tick de 100 microsegundos y 8 casillas, de modo que una vuelta son 800
+ */
+class TimerWheelTest {
+
+    private TimerWheel<String> wheel;
+    private List<String> fired;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimerWheel<>(100L, 8, 0L);
+        fired = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Debería entregar cada plazo al alcanzarlo y nunca antes")
+    void shouldFireWhenDeadlineIsReached() {
+        // Given
+        wheel.schedule(200L, "a");
+        wheel.schedule(250L, "b");
+
+        // When - 299 ha alcanzado 250, pero el tick que lo contiene aún no ha terminado
+        wheel.advance(299L, fired::add);
+
+        // Then
+        assertEquals(Arrays.asList("a"), fired);
+        assertEquals(1, wheel.size());
+
+        wheel.advance(300L, fired::add);
+        assertEquals(Arrays.asList("a", "b"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Debería respetar los plazos de vueltas posteriores que comparten casilla")
+    void shouldKeepLaterRoundsInSameBucket() {
+        // Given - 200 y 1000 caen en la misma casilla
+        wheel.schedule(200L, "first");
+        wheel.schedule(1000L, "second");
+
+        // When
+        wheel.advance(900L, fired::add);
+
+        // Then
+        assertEquals(Arrays.asList("first"), fired);
+
+        wheel.advance(1000L, fired::add);
+        assertEquals(Arrays.asList("first", "second"), fired);
+    }
+
+    @Test
+    @DisplayName("Debería entregar todos los plazos vencidos tras un salto mayor que una vuelta")
+    void shouldFireAllDueAfterLargeJump() {
+        // Given
+        for (long deadline = 100L; deadline <= 5000L; deadline += 350L) {
+            wheel.schedule(deadline, "t" + deadline);
+        }
+        wheel.schedule(9000L, "later");
+
+        // When
+        int count = wheel.advance(5000L, fired::add);
+
+        // Then
+        assertEquals(15, count);
+        assertEquals(1, wheel.size());
+        assertTrue(!fired.contains("later"));
+    }
+
+    @Test
+    @DisplayName("Debería entregar en el siguiente avance los plazos ya pasados")
+    void shouldFirePastDeadlinesOnNextAdvance() {
+        // Given
+        wheel.advance(1000L, fired::add);
+        wheel.schedule(500L, "late");
+
+        // When
+        wheel.advance(1000L, fired::add);
+        wheel.advance(1100L, fired::add);
+
+        // Then
+        assertEquals(Arrays.asList("late"), fired);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un tamaño que no sea potencia de dos")
+    void shouldRejectInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel<String>(100L, 6, 0L));
+    }
+}
@@ -0,0 +1,243 @@
+package com.inditex.price.infrastructure.changes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.persitence.entity.PriceChangeJpaEntity;
+import com.inditex.price.infrastructure.persitence.entity.PriceChangeWatermarkJpaEntity;
+import com.inditex.price.infrastructure.persitence.entity.PriceJpaEntity;
+import com.inditex.price.infrastructure.persitence.mappers.PriceEntityMapper;
+import com.inditex.price.infrastructure.persitence.repositories.PriceChangeJpaRepository;
+import com.inditex.price.infrastructure.persitence.repositories.PriceChangeWatermarkJpaRepository;
+import com.inditex.price.infrastructure.persitence.repositories.PriceJpaRepository;
+
+/**
+ * Test de consistencia de la captura de cambios
+ * Escribe en PRICES de forma concurrente mientras se leen precios a través del
+ * índice y comprueba que, una vez consumido el log, el índice coincide con la
+ * base de datos
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class PriceChangeCaptureIntegrationTest {
+
+    private static final long BRAND = 7L;
+    private static final long FIRST_PRODUCT = 900_000L;
+    private static final int PRODUCTS = 12;
+    private static final int WRITERS = 3;
+    private static final int WRITES_PER_WRITER = 120;
+    private static final LocalDateTime READ_DATE = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+    @Autowired
+    private PriceJpaRepository priceJpaRepository;
+
+    @Autowired
+    private PriceChangeJpaRepository priceChangeJpaRepository;
+
+    @Autowired
+    private PriceRepository priceRepository;
+
+    @Autowired
+    private PriceChangePoller priceChangePoller;
+
+    @Autowired
+    private PriceEntityMapper priceEntityMapper;
+
+    @Autowired
+    private PriceChangeWatermarkJpaRepository priceChangeWatermarkJpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Debería mantener el índice consistente con la base de datos bajo escrituras y lecturas concurrentes")
+    void shouldKeepIndexConsistentUnderConcurrentWritesAndReads() throws Exception {
+        // Given - catálogo inicial ya cargado en el índice
+        for (int i = 0; i < PRODUCTS; i++) {
+            priceJpaRepository.save(newEntity(FIRST_PRODUCT + i, 0, BigDecimal.TEN));
+            priceRepository.findApplicablePrices(productId(i), new BrandId(BRAND), READ_DATE);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 3);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> others = new ArrayList<>();
+
+        // When - escritores sobre productos disjuntos, lectores y consumo del log en paralelo
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.add(executor.submit(() -> {
+                Random random = new Random(writer);
+                for (int n = 0; n < WRITES_PER_WRITER; n++) {
+                    mutate(random, writer);
+                }
+            }));
+        }
+        for (int r = 0; r < 2; r++) {
+            others.add(executor.submit(() -> {
+                while (writing.get()) {
+                    for (int i = 0; i < PRODUCTS; i++) {
+                        List<Price> prices = priceRepository.findApplicablePrices(productId(i), new BrandId(BRAND),
+                                READ_DATE);
+                        prices.forEach(price -> assertTrue(price.isApplicableAt(READ_DATE)));
+                    }
+                }
+            }));
+        }
+        others.add(executor.submit(() -> {
+            while (writing.get()) {
+                priceChangePoller.poll();
+            }
+        }));
+
+        for (Future<?> future : writers) {
+            future.get();
+        }
+        writing.set(false);
+        for (Future<?> future : others) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then - tras consumir todo el log el índice refleja exactamente la base de datos
+        awaitChangesConsumed();
+        for (int i = 0; i < PRODUCTS; i++) {
+            List<String> expected = describe(priceJpaRepository.findAllByBrandAndProduct(BRAND, FIRST_PRODUCT + i)
+                    .stream().map(priceEntityMapper::toDomain).collect(Collectors.toList()));
+            List<String> indexed = describe(priceRepository.findAllPrices(productId(i), new BrandId(BRAND)));
+
+            assertEquals(expected, indexed, "Índice desalineado para el producto " + (FIRST_PRODUCT + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería retirar la tarifa del producto anterior cuando una modificación la cambia de producto")
+    void shouldMoveTariffBetweenProductsOnKeyUpdate() throws Exception {
+        // Given
+        ProductId from = new ProductId(950_000L);
+        ProductId to = new ProductId(950_001L);
+        PriceJpaEntity saved = priceJpaRepository.save(newEntity(from.getValue(), 0, BigDecimal.TEN));
+        awaitChangesConsumed();
+        assertEquals(1, priceRepository.findAllPrices(from, new BrandId(BRAND)).size());
+        assertTrue(priceRepository.findAllPrices(to, new BrandId(BRAND)).isEmpty());
+
+        // When
+        PriceJpaEntity entity = priceJpaRepository.findById(saved.getId()).orElseThrow();
+        entity.setProductId(to.getValue());
+        priceJpaRepository.save(entity);
+        awaitChangesConsumed();
+
+        // Then
+        try {
+            assertTrue(priceRepository.findAllPrices(from, new BrandId(BRAND)).isEmpty());
+            List<Price> moved = priceRepository.findAllPrices(to, new BrandId(BRAND));
+            assertEquals(1, moved.size());
+            assertEquals(saved.getId(), moved.get(0).getId());
+        } finally {
+            priceJpaRepository.deleteById(saved.getId());
+            awaitChangesConsumed();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería purgar lo consumido con escrituras en curso y reanudar desde la marca de agua guardada")
+    void shouldPurgeUnderWritesAndResumeFromSavedWatermark() throws Exception {
+        // Given - cambios consumidos fuera de la retención y dos pasadas de purga con una escritura
+        // pendiente entre ellas
+        priceJpaRepository.save(newEntity(FIRST_PRODUCT + PRODUCTS, 0, BigDecimal.ONE));
+        awaitChangesConsumed();
+        long consumed = priceChangePoller.getWatermark();
+        jdbcTemplate.update("UPDATE PRICE_CHANGES SET CHANGED_AT = DATEADD('DAY', -1, CHANGED_AT)");
+        priceChangePoller.purgeConsumed();
+        priceJpaRepository.save(newEntity(FIRST_PRODUCT + PRODUCTS, 1, BigDecimal.TEN));
+
+        // When
+        priceChangePoller.purgeConsumed();
+        PriceChangePoller restarted = new PriceChangePoller(priceChangeJpaRepository,
+                priceChangeWatermarkJpaRepository, priceJpaRepository, priceEntityMapper, Collections.emptyList(),
+                transactionManager, 500, 5000L, 0L);
+        int delivered = restarted.poll();
+
+        // Then - del log consumido solo queda el último cambio y el reinicio empieza tras él
+        List<PriceChangeJpaEntity> remaining = priceChangeJpaRepository.findChangesAfter(0L, PageRequest.of(0, 500));
+        assertTrue(remaining.stream().allMatch(change -> change.getId() >= consumed));
+        assertEquals(2, remaining.size());
+        assertEquals(consumed, priceChangeWatermarkJpaRepository.findById(PriceChangeWatermarkJpaEntity.SINGLETON_ID)
+                .orElseThrow().getChangeId().longValue());
+        assertEquals(1, delivered);
+        assertEquals(priceChangeJpaRepository.findMaxChangeId().longValue(), restarted.getWatermark());
+    }
+
+    /**
+     * Inserta, modifica o borra una tarifa de uno de los productos del escritor
+     */
+    private void mutate(Random random, int writer) {
+        int slot = writer + WRITERS * random.nextInt(PRODUCTS / WRITERS);
+        long productId = FIRST_PRODUCT + slot;
+        List<PriceJpaEntity> current = priceJpaRepository.findAllByBrandAndProduct(BRAND, productId);
+        int operation = random.nextInt(3);
+
+        if (operation == 0 || current.isEmpty()) {
+            priceJpaRepository.save(newEntity(productId, random.nextInt(3), BigDecimal.valueOf(random.nextInt(100))));
+        } else if (operation == 1) {
+            PriceJpaEntity entity = current.get(random.nextInt(current.size()));
+            entity.setPrice(BigDecimal.valueOf(random.nextInt(100)));
+            entity.setPriority(random.nextInt(3));
+            priceJpaRepository.save(entity);
+        } else {
+            priceJpaRepository.deleteById(current.get(random.nextInt(current.size())).getId());
+        }
+    }
+
+    private void awaitChangesConsumed() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (priceChangePoller.getWatermark() < priceChangeJpaRepository.findMaxChangeId()
+                && System.currentTimeMillis() < deadline) {
+            if (priceChangePoller.poll() == 0) {
+                Thread.sleep(50);
+            }
+        }
+        assertEquals(priceChangeJpaRepository.findMaxChangeId().longValue(), priceChangePoller.getWatermark());
+    }
+
+    private static List<String> describe(List<Price> prices) {
+        return prices.stream().map(Price::toString).sorted().collect(Collectors.toList());
+    }
+
+    private static ProductId productId(int index) {
+        return new ProductId(FIRST_PRODUCT + index);
+    }
+
+    private static PriceJpaEntity newEntity(long productId, int priority, BigDecimal price) {
+        return new PriceJpaEntity(BRAND, LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2022, 12, 31, 23, 59),
+                1, productId, priority, price.setScale(2), "EUR");
+    }
+}
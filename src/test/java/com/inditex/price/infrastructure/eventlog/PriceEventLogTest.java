@@ -0,0 +1,217 @@
+package com.inditex.price.infrastructure.eventlog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.Money;
+import com.inditex.price.domain.valueobject.Priority;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangeType;
+import com.inditex.price.infrastructure.index.PriceKey;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests del log de eventos de tarifas: formato, reapertura y recorte de
+ * escrituras cortadas
+ */
+class PriceEventLogTest {
+
+    private static final long BRAND = 1L;
+    private static final long PRODUCT = 35455L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Debería reproducir en orden los eventos añadidos tras reabrir el log")
+    void shouldReplayEventsAfterReopen() throws Exception {
+        // Given
+        PriceEventLog log = open(1_000_000L);
+        log.onPriceChanges(List.of(change(1L, PriceChangeType.INSERT, 10L, "35.50"),
+                change(2L, PriceChangeType.UPDATE, 10L, "30.00"),
+                change(3L, PriceChangeType.DELETE, 10L, null)));
+        log.close();
+
+        // When
+        PriceEventLog reopened = open(1_000_000L);
+        List<PriceEvent> events = replay(reopened, 0L);
+
+        // Then
+        assertEquals(3L, reopened.getLastSequence());
+        assertEquals(List.of(PriceEventType.CREATE, PriceEventType.UPDATE, PriceEventType.EXPIRE),
+                events.stream().map(PriceEvent::getType).collect(Collectors.toList()));
+        assertEquals(0, new BigDecimal("30.00").compareTo(events.get(1).getPrice().getPrice().getAmount()));
+        assertEquals(LocalDateTime.of(2020, 6, 14, 0, 0), events.get(1).getPrice().getStartDate());
+        assertNull(events.get(2).getPrice());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Debería no duplicar un cambio que el poller vuelve a entregar")
+    void shouldSkipRedeliveredChanges() throws Exception {
+        // Given
+        PriceEventLog log = open(1_000_000L);
+        log.onPriceChanges(List.of(change(1L, PriceChangeType.INSERT, 10L, "35.50")));
+
+        // When
+        log.onPriceChanges(List.of(change(1L, PriceChangeType.INSERT, 10L, "35.50"),
+                change(2L, PriceChangeType.INSERT, 11L, "20.00")));
+
+        // Then
+        assertEquals(2L, log.getLastSequence());
+        log.close();
+    }
+
+    @Test
+    @DisplayName("Debería ignorar tras reiniciar los cambios que ya se registraron antes")
+    void shouldSkipChangesLoggedBeforeRestart() throws Exception {
+        // Given
+        PriceEventLog log = open(1_000_000L);
+        log.onPriceChanges(List.of(change(1L, PriceChangeType.INSERT, 10L, "35.50"),
+                change(2L, PriceChangeType.INSERT, 11L, "20.00")));
+        log.close();
+
+        // When - el poller vuelve a entregar desde el principio de PRICE_CHANGES
+        PriceEventLog reopened = open(1_000_000L);
+        reopened.onPriceChanges(List.of(change(1L, PriceChangeType.INSERT, 10L, "35.50"),
+                change(2L, PriceChangeType.INSERT, 11L, "20.00"),
+                change(3L, PriceChangeType.INSERT, 12L, "15.00")));
+
+        // Then
+        List<PriceEvent> events = replay(reopened, 0L);
+        assertEquals(List.of(1L, 2L, 3L), events.stream().map(PriceEvent::getChangeId).collect(Collectors.toList()));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Debería recortar al reabrir un registro cortado por una caída y continuar la secuencia")
+    void shouldTruncateTornTail() throws Exception {
+        // Given - dos eventos completos y la mitad de un tercero
+        PriceEventLog log = open(1_000_000L);
+        log.onPriceChanges(List.of(change(1L, PriceChangeType.INSERT, 10L, "35.50"),
+                change(2L, PriceChangeType.INSERT, 11L, "20.00")));
+        log.close();
+        ByteBuffer torn = PriceEventCodec.encode(new PriceEvent(3L, 3L, 0L, PriceEventType.CREATE,
+                new PriceKey(BRAND, PRODUCT), 12L, price(12L, "15.00")));
+        torn.limit(torn.limit() / 2);
+        try (FileChannel channel = FileChannel.open(segments().get(0), StandardOpenOption.APPEND)) {
+            channel.write(torn);
+        }
+
+        // When
+        PriceEventLog reopened = open(1_000_000L);
+        reopened.onPriceChanges(List.of(change(4L, PriceChangeType.INSERT, 13L, "18.00")));
+
+        // Then
+        List<PriceEvent> events = replay(reopened, 0L);
+        assertEquals(3, events.size());
+        assertEquals(3L, events.get(2).getSequence());
+        assertEquals(13L, events.get(2).getPriceId());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Debería rotar segmentos y borrar solo los que cubre un checkpoint")
+    void shouldRollAndDeleteCoveredSegments() throws Exception {
+        // Given - segmentos de un solo evento
+        PriceEventLog log = open(1L);
+        for (long i = 1; i <= 4; i++) {
+            log.onPriceChanges(List.of(change(i, PriceChangeType.INSERT, 10L + i, "10.00")));
+        }
+
+        // When
+        int deleted = log.deleteSegmentsThrough(2L);
+
+        // Then
+        assertEquals(2, deleted);
+        assertEquals(2, segments().size());
+        List<PriceEvent> events = replay(log, 2L);
+        assertEquals(List.of(3L, 4L), events.stream().map(PriceEvent::getSequence).collect(Collectors.toList()));
+        log.close();
+    }
+
+    @Test
+    @DisplayName("Debería conservar los segmentos cubiertos por un checkpoint mientras no superen la retención")
+    void shouldKeepCoveredSegmentsWithinRetention() throws Exception {
+        // Given - cuatro segmentos de un evento; solo el primero es de hace más de una hora
+        PriceEventLog log = open(1L, 1L);
+        for (long i = 1; i <= 4; i++) {
+            log.onPriceChanges(List.of(change(i, PriceChangeType.INSERT, 10L + i, "10.00")));
+        }
+        Files.setLastModifiedTime(segments().get(0),
+                FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(2)));
+
+        // When
+        int deleted = log.deleteSegmentsThrough(3L);
+
+        // Then
+        assertEquals(1, deleted);
+        assertEquals(3, segments().size());
+        assertEquals(3, replay(log, 1L).size());
+        log.close();
+    }
+
+    private PriceEventLog open(long segmentSizeBytes) throws IOException {
+        return open(segmentSizeBytes, 0L);
+    }
+
+    private PriceEventLog open(long segmentSizeBytes, long retentionHours) throws IOException {
+        return new PriceEventLog(new SimpleMeterRegistry(), directory.toString(), segmentSizeBytes, 1_000_000L,
+                retentionHours);
+    }
+
+    private static List<PriceEvent> replay(PriceEventLog log, long afterSequence) throws IOException {
+        List<PriceEvent> events = new ArrayList<>();
+        log.replay(afterSequence, events::add);
+        return events;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static PriceChange change(long changeId, PriceChangeType type, long priceId, String amount) {
+        return new PriceChange(changeId, type, new PriceKey(BRAND, PRODUCT), priceId,
+                amount == null ? null : price(priceId, amount));
+    }
+
+    private static Price price(long priceId, String amount) {
+        return Price.builder()
+                .id(priceId)
+                .brandId(new BrandId(BRAND))
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59))
+                .priceList(1)
+                .productId(new ProductId(PRODUCT))
+                .priority(new Priority(0))
+                .price(new Money(new BigDecimal(amount), "EUR"))
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.inditex.price.infrastructure.eventlog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import com.inditex.price.infrastructure.changes.PriceChangePoller;
+import com.inditex.price.infrastructure.index.PriceKey;
+import com.inditex.price.infrastructure.index.PriceLookupIndex;
+import com.inditex.price.infrastructure.index.PriceTimeline;
+import com.inditex.price.infrastructure.persitence.entity.PriceJpaEntity;
+import com.inditex.price.infrastructure.persitence.repositories.PriceJpaRepository;
+
+/**
+ * Tests de integración de la reconstrucción del catálogo en memoria desde el
+ * último checkpoint y el log de eventos
+ * El log usa un directorio temporal propio y los checkpoints se fuerzan a mano
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "price.eventlog.enabled=true",
+        "price.eventlog.checkpoint-interval-ms=600000" })
+class PriceEventReplayerIntegrationTest {
+
+    private static final long BRAND = 1L;
+    private static final long PRODUCT = 35455L;
+    private static final Path DIRECTORY = createDirectory();
+
+    @Autowired
+    private PriceEventReplayer priceEventReplayer;
+
+    @Autowired
+    private PriceLookupIndex priceLookupIndex;
+
+    @Autowired
+    private PriceChangePoller priceChangePoller;
+
+    @Autowired
+    private PriceJpaRepository priceJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void eventLogDirectory(DynamicPropertyRegistry registry) {
+        registry.add("price.eventlog.dir", DIRECTORY::toString);
+    }
+
+    @Test
+    @DisplayName("Debería reconstruir el catálogo aplicando sobre el checkpoint solo los eventos posteriores")
+    void shouldRecoverFromCheckpointAndRecentEvents() throws IOException {
+        // Given - checkpoint y una tarifa nueva registrada después en el log
+        priceEventReplayer.checkpoint();
+        PriceJpaEntity saved = priceJpaRepository.save(new PriceJpaEntity(BRAND,
+                LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 7,
+                PRODUCT, 2, new BigDecimal("11.11"), "EUR"));
+        try {
+            priceChangePoller.poll();
+            priceLookupIndex.clear();
+
+            // When
+            PriceRecoveryResult result = priceEventReplayer.recover();
+
+            // Then
+            assertEquals(count(), result.getCheckpointPrices() + 1);
+            assertTrue(result.getReplayedEvents() >= 1);
+            assertTrue(priceLookupIndex.isComplete());
+            PriceTimeline timeline = priceLookupIndex.get(new PriceKey(BRAND, PRODUCT));
+            assertTrue(timeline.prices().stream().anyMatch(price -> price.getId().equals(saved.getId())));
+        } finally {
+            priceJpaRepository.deleteById(saved.getId());
+            priceChangePoller.poll();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería no reproducir ningún evento tras un checkpoint que los cubre todos")
+    void shouldReplayNothingAfterFreshCheckpoint() throws IOException {
+        // Given
+        priceEventReplayer.checkpoint();
+
+        // When
+        PriceRecoveryResult result = priceEventReplayer.recover();
+
+        // Then
+        assertEquals(0L, result.getReplayedEvents());
+        assertEquals(count(), result.getCheckpointPrices());
+    }
+
+    @Test
+    @DisplayName("Debería no reconstruir desde un log que ha perdido cambios hasta el siguiente checkpoint")
+    void shouldSkipRecoveryWhileLogIsIncomplete() throws IOException {
+        // Given - una escritura fallida deja el log marcado como incompleto
+        Files.createFile(DIRECTORY.resolve("incomplete"));
+
+        // When
+        PriceRecoveryResult skipped = priceEventReplayer.recover();
+        priceEventReplayer.checkpoint();
+        PriceRecoveryResult recovered = priceEventReplayer.recover();
+
+        // Then
+        assertNull(skipped);
+        assertNotNull(recovered);
+        assertEquals(count(), recovered.getCheckpointPrices());
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES", Long.class);
+    }
+
+    private static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("price-events");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.inditex.price.infrastructure.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.inditex.price.application.exceptions.PriceLookupRejectedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitarios para PriceLookupExecutor
+ * Un único hilo y una cola de una consulta
+ */
+class PriceLookupExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PriceLookupExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PriceLookupExecutor(meterRegistry, 1, 1, 2L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debería resolver la consulta en el pool y medir su espera en cola")
+    void shouldRunLookupAndRecordQueueTime() throws Exception {
+        // When
+        String result = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals("price-lookup-1", result);
+        assertEquals(1L, meterRegistry.get("price.lookup.executor.queue").timer().count());
+        assertEquals(1L, meterRegistry.get("price.lookup.executor.execution").timer().count());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar en el acto cuando el hilo y la cola están ocupados")
+    void shouldRejectWhenSaturated() throws Exception {
+        // Given - el único hilo bloqueado y la cola llena
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = executor.submit(() -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = executor.submit(() -> "en cola");
+
+        // When
+        PriceLookupRejectedException exception = assertThrows(PriceLookupRejectedException.class,
+                () -> executor.submit(() -> "rechazada"));
+
+        // Then - las aceptadas terminan al liberar el hilo
+        release.countDown();
+        assertEquals(2L, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("price.lookup.executor.rejected").counter().count());
+        assertEquals(Boolean.TRUE, running.get(5, TimeUnit.SECONDS));
+        assertEquals("en cola", queued.get(5, TimeUnit.SECONDS));
+    }
+}
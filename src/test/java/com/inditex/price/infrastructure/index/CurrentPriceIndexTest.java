@@ -0,0 +1,172 @@
+package com.inditex.price.infrastructure.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.inditex.price.application.usecases.PriceReadContext;
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.service.PriceDomainService;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.Money;
+import com.inditex.price.domain.valueobject.Priority;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangeType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitarios para CurrentPriceIndex
+ * El reloj está fijado a las 16:00 del 14 de junio de 2020, dentro de la
+ * promoción de 15:00 a 18:30 del producto 35455
+ */
+@ExtendWith(MockitoExtension.class)
+class CurrentPriceIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2020, 6, 14, 16, 0);
+    private static final ProductId PRODUCT = new ProductId(35455L);
+    private static final BrandId BRAND = new BrandId(1L);
+
+    @Mock
+    private PriceRepository priceRepository;
+
+    private CurrentPriceIndex currentPriceIndex;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        currentPriceIndex = new CurrentPriceIndex(priceRepository, new PriceDomainService(), clock,
+                new SimpleMeterRegistry(), true, 300L, 1000);
+    }
+
+    @Test
+    @DisplayName("Debería materializar el precio vigente y reutilizarlo en consultas cercanas")
+    void shouldMaterializeAndReuseCurrentPrice() {
+        // Given
+        when(priceRepository.findAllPrices(PRODUCT, BRAND)).thenReturn(tariffs());
+
+        // When
+        Price first = currentPriceIndex.findCurrentPrice(PRODUCT, BRAND, NOW).get().getPrice().get();
+        Price second = currentPriceIndex.findCurrentPrice(PRODUCT, BRAND, NOW.plusMinutes(2)).get().getPrice().get();
+
+        // Then
+        assertEquals(2L, first.getId().longValue());
+        assertEquals(first, second);
+        verify(priceRepository, times(1)).findAllPrices(PRODUCT, BRAND);
+    }
+
+    @Test
+    @DisplayName("No debería materializar un precio resuelto con la copia de respaldo")
+    void shouldNotMaterializeStaleReads() {
+        // Given - el repositorio responde con datos de respaldo
+        when(priceRepository.findAllPrices(PRODUCT, BRAND)).thenAnswer(invocation -> {
+            PriceReadContext.markStale(1_000L);
+            return tariffs();
+        });
+
+        // When
+        PriceReadContext.begin();
+        try {
+            currentPriceIndex.findCurrentPrice(PRODUCT, BRAND, NOW);
+            currentPriceIndex.findCurrentPrice(PRODUCT, BRAND, NOW);
+        } finally {
+            PriceReadContext.end();
+        }
+
+        // Then
+        assertEquals(0, currentPriceIndex.size());
+        verify(priceRepository, times(2)).findAllPrices(PRODUCT, BRAND);
+    }
+
+    @Test
+    @DisplayName("No debería responder fechas alejadas del instante actual")
+    void shouldBypassDatesFarFromNow() {
+        // When & Then
+        assertTrue(currentPriceIndex.findCurrentPrice(PRODUCT, BRAND, NOW.plusDays(1)).isEmpty());
+        verifyNoInteractions(priceRepository);
+    }
+
+    @Test
+    @DisplayName("Debería recalcular la entrada al llegar un límite de tarifa")
+    void shouldRecalculateOnBoundary() {
+        // Given
+        when(priceRepository.findAllPrices(PRODUCT, BRAND)).thenReturn(tariffs());
+        currentPriceIndex.findCurrentPrice(PRODUCT, BRAND, NOW);
+
+        // When - fin de la promoción
+        long boundary = EpochTime.toEpochMicros(LocalDateTime.of(2020, 6, 14, 18, 30)) + 1;
+        currentPriceIndex.onPriceBoundary(PriceKey.of(BRAND, PRODUCT), boundary);
+
+        // Then - la entrada pasa a la tarifa base desde el límite
+        verify(priceRepository, times(2)).findAllPrices(PRODUCT, BRAND);
+        assertEquals(1, currentPriceIndex.size());
+    }
+
+    @Test
+    @DisplayName("Debería recalcular la entrada cuando cambian las tarifas del producto")
+    void shouldRecalculateOnPriceChanges() {
+        // Given
+        when(priceRepository.findAllPrices(PRODUCT, BRAND)).thenReturn(tariffs(),
+                Collections.singletonList(tariffs().get(0)));
+        currentPriceIndex.findCurrentPrice(PRODUCT, BRAND, NOW);
+
+        // When - se borra la promoción
+        currentPriceIndex.onPriceChanges(Collections.singletonList(
+                new PriceChange(1L, PriceChangeType.DELETE, PriceKey.of(BRAND, PRODUCT), 2L, null)));
+
+        // Then
+        Price current = currentPriceIndex.findCurrentPrice(PRODUCT, BRAND, NOW).get().getPrice().get();
+        assertEquals(1L, current.getId().longValue());
+    }
+
+    @Test
+    @DisplayName("No debería materializar productos por límites o cambios si nadie los ha consultado")
+    void shouldIgnoreBoundariesOfUnknownProducts() {
+        // When
+        currentPriceIndex.onPriceBoundary(PriceKey.of(BRAND, PRODUCT), EpochTime.toEpochMicros(NOW));
+
+        // Then
+        assertEquals(0, currentPriceIndex.size());
+        verifyNoInteractions(priceRepository);
+    }
+
+    private static List<Price> tariffs() {
+        return Arrays.asList(
+                createPrice(1L, 0, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59)),
+                createPrice(2L, 1, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30)));
+    }
+
+    private static Price createPrice(Long id, int priority, LocalDateTime start, LocalDateTime end) {
+        return Price.builder()
+                .id(id)
+                .brandId(BRAND)
+                .startDate(start)
+                .endDate(end)
+                .priceList(id.intValue())
+                .productId(PRODUCT)
+                .priority(new Priority(priority))
+                .price(new Money(BigDecimal.valueOf(35.50), "EUR"))
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.inditex.price.infrastructure.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.infrastructure.boundary.PriceBoundaryWindow;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tests de integración de la precarga del índice antes de los límites de tarifa
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class PriceCachePreWarmerIntegrationTest {
+
+    private static final PriceKey KEY = new PriceKey(1L, 35455L);
+
+    @Autowired
+    private PriceCachePreWarmer priceCachePreWarmer;
+
+    @Autowired
+    private PriceLookupIndex priceLookupIndex;
+
+    @Autowired
+    private PriceBoundaryWindow priceBoundaryWindow;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        priceLookupIndex.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        priceLookupIndex.clear();
+    }
+
+    @Test
+    @DisplayName("Debería cargar en el índice la línea temporal del producto antes del límite")
+    void shouldLoadTimelineBeforeBoundary() {
+        // Given
+        assertNull(priceLookupIndex.get(KEY));
+        double loadedBefore = loadedCount();
+
+        // When - inicio de la tarifa 2 del producto 35455
+        priceCachePreWarmer.preWarm(KEY, EpochTime.toEpochMicros(LocalDateTime.of(2020, 6, 14, 15, 0)));
+
+        // Then
+        PriceTimeline timeline = priceLookupIndex.get(KEY);
+        assertNotNull(timeline);
+        assertEquals(2, timeline.resolveAt(EpochTime.toEpochMicros(LocalDateTime.of(2020, 6, 14, 15, 0)))
+                .getPriceList().intValue());
+        assertEquals(loadedBefore + 1, loadedCount());
+    }
+
+    @Test
+    @DisplayName("Debería abrir la ventana de límites y precargar en segundo plano al recibir el aviso")
+    void shouldOpenBoundaryWindowOnNotice() throws InterruptedException {
+        // Given - un límite dentro de la antelación configurada
+        long boundary = EpochTime.toEpochMicros(LocalDateTime.now(clock)) + TimeUnit.SECONDS.toMicros(30);
+
+        // When
+        priceCachePreWarmer.onPriceBoundary(KEY, boundary);
+
+        // Then
+        assertTrue(priceBoundaryWindow.isOpen());
+        long deadline = System.currentTimeMillis() + 5_000L;
+        while (priceLookupIndex.get(KEY) == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertNotNull(priceLookupIndex.get(KEY));
+    }
+
+    private double loadedCount() {
+        return meterRegistry.get("price.prewarm.entries").tag("result", "loaded").counter().count();
+    }
+}
@@ -0,0 +1,98 @@
+package com.inditex.price.infrastructure.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+
+/**
+ * Tests de integración de la recarga completa del catálogo en memoria
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class PriceCatalogReloaderIntegrationTest {
+
+    private static final ProductId PRODUCT = new ProductId(35455L);
+    private static final BrandId BRAND = new BrandId(1L);
+    private static final LocalDateTime OVERLAP_DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    @Autowired
+    private PriceCatalogReloader priceCatalogReloader;
+
+    @Autowired
+    private PriceLookupIndex priceLookupIndex;
+
+    @Autowired
+    private PriceRepository priceRepository;
+
+    @AfterEach
+    void tearDown() {
+        // Vuelve al modo de carga bajo demanda para no afectar a otros tests
+        priceLookupIndex.clear();
+    }
+
+    @Test
+    @DisplayName("Debería publicar un snapshot completo con una versión nueva")
+    void shouldPublishCompleteSnapshotWithNewVersion() {
+        // Given
+        long previousVersion = priceLookupIndex.getVersion();
+
+        // When
+        PriceCatalogReloadResult result = priceCatalogReloader.reload();
+
+        // Then
+        assertTrue(result.getVersion() > previousVersion);
+        assertEquals(result.getVersion(), priceLookupIndex.getVersion());
+        assertTrue(priceLookupIndex.isComplete());
+        assertTrue(result.getPrices() >= 4);
+        assertTrue(result.getOverheadBytes() > 0);
+        assertEquals(2, priceRepository.findApplicablePrices(PRODUCT, BRAND, OVERLAP_DATE).size());
+        assertTrue(priceRepository.findApplicablePrices(new ProductId(99999L), BRAND, OVERLAP_DATE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería servir siempre el catálogo completo durante recargas concurrentes")
+    void shouldServeCompleteCatalogDuringConcurrentReloads() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        AtomicBoolean reloading = new AtomicBoolean(true);
+
+        // When - lecturas continuas mientras se publican varios snapshots
+        Future<?> reader = executor.submit(() -> {
+            while (reloading.get()) {
+                List<Price> prices = priceRepository.findApplicablePrices(PRODUCT, BRAND, OVERLAP_DATE);
+                assertEquals(2, prices.size());
+                assertEquals(1, prices.get(0).getPriority().getValue().intValue());
+            }
+        });
+        Future<?> reloader = executor.submit(() -> {
+            for (int i = 0; i < 20; i++) {
+                priceCatalogReloader.reload();
+            }
+            reloading.set(false);
+        });
+
+        // Then
+        reloader.get();
+        reader.get();
+        executor.shutdown();
+        assertTrue(priceLookupIndex.isComplete());
+    }
+}
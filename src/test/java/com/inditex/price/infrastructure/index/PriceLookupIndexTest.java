@@ -0,0 +1,71 @@
+package com.inditex.price.infrastructure.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.Money;
+import com.inditex.price.domain.valueobject.Priority;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangeType;
+
+/**
+ * Tests unitarios para PriceLookupIndex
+ */
+class PriceLookupIndexTest {
+
+    private static final PriceKey KEY = new PriceKey(1L, 35455L);
+
+    @Test
+    @DisplayName("No debería publicar la línea temporal vacía de un producto sin tarifas")
+    void shouldNotPublishEmptyTimeline() {
+        // Given
+        PriceLookupIndex index = new PriceLookupIndex();
+
+        // When
+        PriceTimeline timeline = index.getOrLoad(KEY, key -> PriceTimeline.empty());
+
+        // Then
+        assertTrue(timeline.isEmpty());
+        assertNull(index.get(KEY));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Debería retirar la clave cuando un borrado deja su línea temporal vacía")
+    void shouldDropKeyWhenDeletionEmptiesTimeline() {
+        // Given
+        PriceLookupIndex index = new PriceLookupIndex();
+        index.getOrLoad(KEY, key -> PriceTimeline.of(Collections.singletonList(price(1L))));
+
+        // When
+        index.onPriceChanges(Collections.singletonList(new PriceChange(1L, PriceChangeType.DELETE, KEY, 1L, null)));
+
+        // Then
+        assertNull(index.get(KEY));
+        assertEquals(0, index.size());
+    }
+
+    private static Price price(long priceId) {
+        return Price.builder()
+                .id(priceId)
+                .brandId(new BrandId(1L))
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59))
+                .priceList(1)
+                .productId(new ProductId(35455L))
+                .priority(new Priority(0))
+                .price(new Money(new BigDecimal("35.50"), "EUR"))
+                .build();
+    }
+}
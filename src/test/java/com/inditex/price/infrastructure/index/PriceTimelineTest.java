@@ -0,0 +1,122 @@
+package com.inditex.price.infrastructure.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.Money;
+import com.inditex.price.domain.valueobject.Priority;
+import com.inditex.price.domain.valueobject.ProductId;
+
+/**
+ * Tests unitarios para PriceTimeline
+ * Usa las tarifas del ejercicio Inditex para el producto 35455
+ */
+class PriceTimelineTest {
+
+    private PriceTimeline timeline;
+
+    @BeforeEach
+    void setUp() {
+        // Orden de entrada desordenado a propósito
+        timeline = PriceTimeline.of(Arrays.asList(
+                createPrice(4L, 1, LocalDateTime.of(2020, 6, 15, 16, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59)),
+                createPrice(1L, 0, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59)),
+                createPrice(3L, 1, LocalDateTime.of(2020, 6, 15, 0, 0), LocalDateTime.of(2020, 6, 15, 11, 0)),
+                createPrice(2L, 1, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30))));
+    }
+
+    @Test
+    @DisplayName("Debería resolver las 5 casuísticas del ejercicio")
+    void shouldResolveClassicTestCases() {
+        assertEquals(1L, resolveAt(LocalDateTime.of(2020, 6, 14, 10, 0)).getId());
+        assertEquals(2L, resolveAt(LocalDateTime.of(2020, 6, 14, 16, 0)).getId());
+        assertEquals(1L, resolveAt(LocalDateTime.of(2020, 6, 14, 21, 0)).getId());
+        assertEquals(3L, resolveAt(LocalDateTime.of(2020, 6, 15, 10, 0)).getId());
+        assertEquals(4L, resolveAt(LocalDateTime.of(2020, 6, 16, 21, 0)).getId());
+    }
+
+    @Test
+    @DisplayName("Debería incluir los límites exactos de inicio y fin")
+    void shouldIncludeExactBoundaries() {
+        assertEquals(2L, resolveAt(LocalDateTime.of(2020, 6, 14, 15, 0)).getId());
+        assertEquals(2L, resolveAt(LocalDateTime.of(2020, 6, 14, 18, 30)).getId());
+        assertEquals(1L, resolveAt(LocalDateTime.of(2020, 6, 14, 18, 30, 0, 1_000)).getId());
+    }
+
+    @Test
+    @DisplayName("Debería devolver las tarifas aplicables ordenadas por prioridad descendente")
+    void shouldReturnApplicablePricesOrderedByPriority() {
+        // When
+        List<Price> applicable = timeline.applicableAt(EpochTime.toEpochMicros(LocalDateTime.of(2020, 6, 14, 16, 0)));
+
+        // Then
+        assertEquals(2, applicable.size());
+        assertEquals(2L, applicable.get(0).getId());
+        assertEquals(1L, applicable.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Debería desempatar por la fecha de inicio más tardía")
+    void shouldBreakTiesByLatestStartDate() {
+        // Given
+        PriceTimeline tied = PriceTimeline.of(Arrays.asList(
+                createPrice(1L, 1, LocalDateTime.of(2020, 6, 10, 0, 0), LocalDateTime.of(2020, 6, 20, 23, 59)),
+                createPrice(2L, 1, LocalDateTime.of(2020, 6, 15, 11, 0), LocalDateTime.of(2020, 6, 17, 11, 59))));
+
+        // When
+        Price result = tied.resolveAt(EpochTime.toEpochMicros(LocalDateTime.of(2020, 6, 16, 0, 0)));
+
+        // Then
+        assertEquals(2L, result.getId());
+    }
+
+    @Test
+    @DisplayName("Debería devolver vacío fuera de rango y en líneas temporales vacías")
+    void shouldReturnNothingOutOfRange() {
+        assertNull(resolveAt(LocalDateTime.of(2019, 1, 1, 0, 0)));
+        assertNull(resolveAt(LocalDateTime.of(2021, 1, 1, 0, 0)));
+        assertTrue(PriceTimeline.of(Collections.emptyList()).applicableAt(0L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería conservar el orden de LocalDateTime en la conversión a epoch")
+    void shouldPreserveOrderInEpochConversion() {
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 18, 30, 0, 123_456_000);
+
+        assertEquals(date, EpochTime.fromEpochMicros(EpochTime.toEpochMicros(date)));
+        assertTrue(EpochTime.toEpochMicros(LocalDateTime.of(1969, 12, 31, 23, 59, 59))
+                < EpochTime.toEpochMicros(LocalDateTime.of(1970, 1, 1, 0, 0)));
+        assertEquals(Long.MAX_VALUE, EpochTime.toEpochMicros(LocalDateTime.MAX));
+    }
+
+    private Price resolveAt(LocalDateTime dateTime) {
+        return timeline.resolveAt(EpochTime.toEpochMicros(dateTime));
+    }
+
+    private Price createPrice(Long id, Integer priority, LocalDateTime startDate, LocalDateTime endDate) {
+        return Price.builder()
+                .id(id)
+                .brandId(new BrandId(1L))
+                .startDate(startDate)
+                .endDate(endDate)
+                .priceList(id.intValue())
+                .productId(new ProductId(35455L))
+                .priority(new Priority(priority))
+                .price(new Money(BigDecimal.valueOf(35.50), "EUR"))
+                .build();
+    }
+}
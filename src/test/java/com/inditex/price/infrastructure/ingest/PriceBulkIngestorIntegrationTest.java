@@ -0,0 +1,146 @@
+package com.inditex.price.infrastructure.ingest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.inditex.price.domain.model.CurrentPrice;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.index.CurrentPriceIndex;
+
+/**
+ * Tests de integración de la ingesta masiva de ficheros CSV
+ * Usa lotes pequeños para forzar varios lotes y transacciones
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "price.ingest.batch-size=7",
+        "price.ingest.batches-per-transaction=3",
+        "price.ingest.parallelism=2"
+})
+class PriceBulkIngestorIntegrationTest {
+
+    private static final long BRAND = 8L;
+
+    @Autowired
+    private PriceBulkIngestor priceBulkIngestor;
+
+    @Autowired
+    private PriceRepository priceRepository;
+
+    @Autowired
+    private CurrentPriceIndex currentPriceIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM PRICES WHERE BRAND_ID = ?", BRAND);
+    }
+
+    @Test
+    @DisplayName("Debería insertar todas las filas válidas de un fichero en varios lotes")
+    void shouldInsertValidRowsInSeveralBatches() throws IOException {
+        // Given
+        Path file = tempDir.resolve("prices.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR\n");
+            for (int i = 0; i < 100; i++) {
+                writer.write(BRAND + ",2020-06-14-00.00.00,2020-12-31T23:59:59,1," + (500000 + i) + ",0,"
+                        + i + ".50,EUR\n");
+            }
+        }
+
+        // When
+        PriceIngestReport report = priceBulkIngestor.ingest(file);
+
+        // Then
+        assertEquals(100, report.getRowsRead());
+        assertEquals(100, report.getRowsWritten());
+        assertEquals(0, report.getRejectedRows());
+        assertEquals(100, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM PRICES WHERE BRAND_ID = ?", Long.class, BRAND).longValue());
+
+        List<Price> prices = priceRepository.findApplicablePrices(new ProductId(500042L), new BrandId(BRAND),
+                LocalDateTime.of(2020, 7, 1, 0, 0));
+        assertEquals(1, prices.size());
+        assertEquals("42.50", prices.get(0).getPrice().getAmount().toPlainString());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar las filas que incumplen las invariantes de Price indicando línea y motivo")
+    void shouldRejectInvalidRowsWithDetails() throws IOException {
+        // Given
+        Path file = tempDir.resolve("mixed.csv");
+        Files.write(file, List.of(
+                BRAND + ",2020-06-14T00:00:00,2020-12-31T23:59:59,1,600001,0,10.00,EUR",
+                BRAND + ",2020-12-31T00:00:00,2020-06-14T00:00:00,1,600002,0,10.00,EUR",
+                BRAND + ",2020-06-14T00:00:00,2020-12-31T23:59:59,0,600003,0,10.00,EUR",
+                BRAND + ",fecha,2020-12-31T23:59:59,1,600004,0,10.00,EUR",
+                BRAND + ",2020-06-14T00:00:00,2020-12-31T23:59:59,1,600005,0,-1,EUR",
+                BRAND + ",2020-06-14T00:00:00,2020-12-31T23:59:59,1,600006",
+                BRAND + ",2020-06-14T00:00:00,2020-12-31T23:59:59,1,600007,1,12.00,EUR"), StandardCharsets.UTF_8);
+
+        // When
+        PriceIngestReport report = priceBulkIngestor.ingest(file);
+
+        // Then
+        assertEquals(7, report.getRowsRead());
+        assertEquals(2, report.getRowsWritten());
+        assertEquals(5, report.getRejectedRows());
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L),
+                report.getRejections().stream().map(PriceIngestRejection::getLineNumber)
+                        .collect(Collectors.toList()));
+        assertTrue(report.getRejections().get(0).getReason().contains("fecha de inicio"));
+    }
+
+    @Test
+    @DisplayName("Debería servir el precio vigente de la ingesta aunque ya hubiera uno materializado")
+    void shouldRefreshCurrentPriceAfterIngest() throws IOException {
+        // Given - una tarifa abierta ya materializada como precio vigente
+        Path first = tempDir.resolve("first.csv");
+        Files.write(first, List.of(BRAND + ",2020-01-01T00:00:00,2099-12-31T23:59:59,1,700001,0,10.00,EUR"),
+                StandardCharsets.UTF_8);
+        priceBulkIngestor.ingest(first);
+        assertEquals("10.00", currentAmount());
+
+        // When - la ingesta trae otra con más prioridad, sin pasar por el log de cambios
+        Path second = tempDir.resolve("second.csv");
+        Files.write(second, List.of(BRAND + ",2020-01-01T00:00:00,2099-12-31T23:59:59,2,700001,1,20.00,EUR"),
+                StandardCharsets.UTF_8);
+        priceBulkIngestor.ingest(second);
+
+        // Then
+        assertEquals("20.00", currentAmount());
+    }
+
+    private String currentAmount() {
+        CurrentPrice current = currentPriceIndex.findCurrentPrice(new ProductId(700001L), new BrandId(BRAND),
+                LocalDateTime.now()).orElseThrow();
+        return current.getPrice().orElseThrow().getPrice().getAmount().toPlainString();
+    }
+}
@@ -0,0 +1,139 @@
+package com.inditex.price.infrastructure.ingest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.changes.PriceChangePoller;
+
+/**
+ * Tests de integración de la ingesta incremental de deltas
+ * El vigilante usa un directorio temporal propio y se dispara a mano
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "price.delta.enabled=true",
+        "price.delta.settle-ms=0",
+        "price.delta.batch-size=2"
+})
+class PriceDeltaWatcherIntegrationTest {
+
+    private static final long BRAND = 9L;
+    private static final LocalDateTime READ_DATE = LocalDateTime.of(2020, 7, 1, 0, 0);
+    private static final Path DIRECTORY = createDirectory();
+
+    @Autowired
+    private PriceDeltaWatcher priceDeltaWatcher;
+
+    @Autowired
+    private PriceDeltaApplier priceDeltaApplier;
+
+    @Autowired
+    private PriceChangePoller priceChangePoller;
+
+    @Autowired
+    private PriceRepository priceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void deltaDirectory(DynamicPropertyRegistry registry) {
+        registry.add("price.delta.directory", DIRECTORY::toString);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM PRICES WHERE BRAND_ID = ?", BRAND);
+    }
+
+    @Test
+    @DisplayName("Debería aplicar un fichero de deltas, moverlo a processed y actualizar el índice del producto")
+    void shouldApplyDeltaFileAndRefreshIndex() throws IOException {
+        // Given - el producto ya está cargado en el índice
+        assertTrue(findPrices(700001L).isEmpty());
+        Path file = write("0001-deltas.csv",
+                "UPSERT," + BRAND + ",2020-06-14T00:00:00,2020-12-31T23:59:59,1,700001,0,10.00,EUR",
+                "UPSERT," + BRAND + ",2020-06-14T00:00:00,2020-12-31T23:59:59,2,700001,1,8.00,EUR",
+                "UPSERT," + BRAND + ",2020-06-14T00:00:00,2020-12-31T23:59:59,1,700002,0,20.00,EUR",
+                "EXPIRE," + BRAND + ",2020-06-14T00:00:00,2020-06-30T23:59:59,2,700001",
+                "DELETE," + BRAND + ",2020-06-14T00:00:00");
+
+        // When - el hilo vigilante puede adelantarse, la llamada espera a que termine
+        priceDeltaWatcher.processReadyFiles();
+        priceChangePoller.poll();
+
+        // Then
+        assertFalse(Files.exists(file));
+        assertTrue(Files.exists(DIRECTORY.resolve("processed").resolve(file.getFileName())));
+
+        List<Price> prices = findPrices(700001L);
+        assertEquals(1, prices.size());
+        assertEquals(1, prices.get(0).getPriceList().intValue());
+    }
+
+    @Test
+    @DisplayName("Debería dejar PRICES igual al reaplicar el mismo fichero")
+    void shouldBeIdempotentOnReapply() throws IOException {
+        // Given - fuera del directorio vigilado para aplicarlo a mano
+        Path file = Files.createTempFile("price-deltas", ".csv");
+        Files.write(file, List.of(
+                "UPSERT," + BRAND + ",2020-06-14T00:00:00,2020-12-31T23:59:59,1,700010,0,10.00,EUR",
+                "UPSERT," + BRAND + ",2020-06-14T00:00:00,2020-12-31T23:59:59,1,700010,0,12.00,EUR",
+                "EXPIRE," + BRAND + ",2020-06-14T00:00:00,2020-11-30T23:59:59,1,700010"), StandardCharsets.UTF_8);
+
+        // When
+        PriceDeltaReport first = priceDeltaApplier.apply(file);
+        PriceDeltaReport second = priceDeltaApplier.apply(file);
+
+        // Then
+        assertEquals(1, first.getInserted());
+        assertEquals(0, second.getInserted());
+        assertEquals(1, second.getUpdated());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM PRICES WHERE BRAND_ID = ? AND PRODUCT_ID = 700010", Long.class, BRAND)
+                .longValue());
+        assertEquals("12.00", jdbcTemplate.queryForObject(
+                "SELECT PRICE FROM PRICES WHERE BRAND_ID = ? AND PRODUCT_ID = 700010", String.class, BRAND));
+        Files.delete(file);
+    }
+
+    private List<Price> findPrices(long productId) {
+        return priceRepository.findApplicablePrices(new ProductId(productId), new BrandId(BRAND), READ_DATE);
+    }
+
+    private static Path write(String name, String... lines) throws IOException {
+        Path file = DIRECTORY.resolve(name);
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("price-deltas");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.inditex.price.infrastructure.kv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.Money;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangePoller;
+import com.inditex.price.infrastructure.changes.PriceChangeType;
+import com.inditex.price.infrastructure.config.PriceStorageConfig;
+import com.inditex.price.infrastructure.index.PriceKey;
+import com.inditex.price.infrastructure.persitence.adapters.PriceRepositoryAdapter;
+import com.inditex.price.infrastructure.persitence.entity.PriceJpaEntity;
+import com.inditex.price.infrastructure.persitence.repositories.PriceJpaRepository;
+
+/**
+ * Tests de integración del repositorio sobre el almacén clave-valor embebido
+ *
+ * Sin índice en memoria, para que las consultas lleguen al almacén; cada test
+ * parte de una importación completa de PRICES
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "price.index.enabled=false",
+        "price.kv.enabled=true" })
+class PriceKeyValueStoreIntegrationTest {
+
+    private static final BrandId BRAND = new BrandId(1L);
+    private static final ProductId PRODUCT = new ProductId(35455L);
+
+    @Autowired
+    private PriceKeyValueStore priceKeyValueStore;
+
+    @Autowired
+    @Qualifier(PriceStorageConfig.PRICE_STORAGE)
+    private PriceRepository priceStorage;
+
+    @Autowired
+    private PriceRepositoryAdapter priceRepositoryAdapter;
+
+    @Autowired
+    private PriceJpaRepository priceJpaRepository;
+
+    @Autowired
+    private PriceChangePoller priceChangePoller;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void importPrices() {
+        priceKeyValueStore.reimport();
+    }
+
+    @Test
+    @DisplayName("Debería resolver las tarifas aplicables con un recorrido del rango del producto")
+    void shouldFindApplicablePricesFromStore() {
+        // When
+        List<Price> applicable = priceStorage.findApplicablePrices(PRODUCT, BRAND,
+                LocalDateTime.of(2020, 6, 14, 16, 0));
+
+        // Then - la promoción de mayor prioridad primero
+        assertTrue(priceKeyValueStore.isReady());
+        assertEquals(2, applicable.size());
+        assertEquals(2, applicable.get(0).getPriceList());
+        assertEquals(0, new BigDecimal("25.45").compareTo(applicable.get(0).getPrice().getAmount()));
+        assertEquals(1, applicable.get(1).getPriceList());
+    }
+
+    @Test
+    @DisplayName("Debería paginar el historial del producto en orden de inicio e identificador")
+    void shouldPageHistoryFromStore() {
+        // Given
+        List<Price> all = priceStorage.findAllPrices(PRODUCT, BRAND);
+        Price first = all.get(0);
+
+        // When
+        List<Price> page = priceStorage.findPricesStartingAfter(PRODUCT, BRAND, first.getStartDate(),
+                first.getId(), LocalDateTime.of(2021, 1, 1, 0, 0), 2);
+
+        // Then
+        assertEquals(7, all.size());
+        assertEquals(2, page.size());
+        assertEquals(all.get(1).getId(), page.get(0).getId());
+        assertEquals(all.get(2).getId(), page.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Debería recorrer las tarifas aplicables de la marca igual que el repositorio relacional")
+    void shouldScanBrandLikeRelationalRepository() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2020, 6, 15, 12, 0);
+        List<Long> expected = new ArrayList<>();
+        priceRepositoryAdapter.forEachApplicablePrice(BRAND, date, price -> expected.add(price.getId()));
+
+        // When
+        List<Long> scanned = new ArrayList<>();
+        priceStorage.forEachApplicablePrice(BRAND, date, price -> scanned.add(price.getId()));
+
+        // Then
+        expected.sort(null);
+        scanned.sort(null);
+        assertEquals(expected, scanned);
+    }
+
+    @Test
+    @DisplayName("Debería aplicar en el almacén los cambios capturados en PRICES")
+    void shouldApplyCapturedChanges() {
+        // Given
+        PriceJpaEntity saved = priceJpaRepository.save(new PriceJpaEntity(BRAND.getValue(),
+                LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 6,
+                PRODUCT.getValue(), 5, new BigDecimal("12.34"), "EUR"));
+        try {
+            // When
+            priceChangePoller.poll();
+
+            // Then
+            List<Price> applicable = priceStorage.findApplicablePrices(PRODUCT, BRAND,
+                    LocalDateTime.of(2020, 6, 14, 10, 0));
+            assertEquals(saved.getId(), applicable.get(0).getId());
+        } finally {
+            priceJpaRepository.deleteById(saved.getId());
+        }
+
+        // Then - el borrado también se aplica
+        priceChangePoller.poll();
+        List<Price> applicable = priceStorage.findApplicablePrices(PRODUCT, BRAND,
+                LocalDateTime.of(2020, 6, 14, 10, 0));
+        assertEquals(1, applicable.size());
+        assertEquals(1, applicable.get(0).getPriceList());
+    }
+
+    @Test
+    @DisplayName("Debería aplicar un cambio con id anterior al último aplicado que se confirma tarde")
+    void shouldApplyLateCommittedChangeWithLowerId() {
+        // Given - la importación ya cubre cambios posteriores
+        Price base = priceStorage.findAllPrices(PRODUCT, BRAND).get(0);
+        Price updated = Price.builder()
+                .id(base.getId())
+                .brandId(base.getBrandId())
+                .startDate(base.getStartDate())
+                .endDate(base.getEndDate())
+                .priceList(base.getPriceList())
+                .productId(base.getProductId())
+                .priority(base.getPriority())
+                .price(new Money(new BigDecimal("55.55"), "EUR"))
+                .build();
+
+        // When
+        priceKeyValueStore.onPriceChanges(Collections.singletonList(new PriceChange(0L, PriceChangeType.UPDATE,
+                PriceKey.of(BRAND, PRODUCT), base.getId(), updated)));
+
+        // Then
+        Price stored = priceStorage.findAllPrices(PRODUCT, BRAND).get(0);
+        assertEquals(0, new BigDecimal("55.55").compareTo(stored.getPrice().getAmount()));
+    }
+
+    @Test
+    @DisplayName("No debería reutilizar el almacén al arrancar si una fila cambió por fuera del log")
+    void shouldReimportWhenRowChangedOutsideLog() {
+        // Given
+        Price base = priceStorage.findAllPrices(PRODUCT, BRAND).get(0);
+        jdbcTemplate.update("UPDATE PRICES SET PRICE = ? WHERE ID = ?", new BigDecimal("66.66"), base.getId());
+        try {
+            // When
+            priceKeyValueStore.start();
+
+            // Then
+            Price stored = priceStorage.findAllPrices(PRODUCT, BRAND).get(0);
+            assertEquals(0, new BigDecimal("66.66").compareTo(stored.getPrice().getAmount()));
+        } finally {
+            jdbcTemplate.update("UPDATE PRICES SET PRICE = ? WHERE ID = ?", base.getPrice().getAmount(),
+                    base.getId());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.inditex.price.infrastructure.kv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.Money;
+import com.inditex.price.domain.valueobject.Priority;
+import com.inditex.price.domain.valueobject.ProductId;
+
+/**
+ * Tests unitarios para la codificación de claves de PriceStoreKey
+ */
+class PriceStoreKeyTest {
+
+    @Test
+    @DisplayName("Debería ordenar las claves como la tupla numérica, negativos incluidos")
+    void shouldPreserveNumericOrder() {
+        // Given
+        String before1970 = PriceStoreKey.of(1L, 35455L, -1L, 9L);
+        String epoch = PriceStoreKey.of(1L, 35455L, 0L, 1L);
+        String sameStartHigherId = PriceStoreKey.of(1L, 35455L, 0L, 2L);
+        String nextProduct = PriceStoreKey.of(1L, 35456L, Long.MIN_VALUE, Long.MIN_VALUE);
+        String nextBrand = PriceStoreKey.of(2L, 0L, 0L, 0L);
+
+        // When & Then
+        assertTrue(before1970.compareTo(epoch) < 0);
+        assertTrue(epoch.compareTo(sameStartHigherId) < 0);
+        assertTrue(sameStartHigherId.compareTo(nextProduct) < 0);
+        assertTrue(nextProduct.compareTo(nextBrand) < 0);
+    }
+
+    @Test
+    @DisplayName("Debería acotar entre el prefijo y su cota superior todas las claves del producto")
+    void shouldBoundProductRange() {
+        // Given
+        String prefix = PriceStoreKey.productPrefix(1L, 35455L);
+        String first = PriceStoreKey.of(1L, 35455L, Long.MIN_VALUE, Long.MIN_VALUE);
+        String last = PriceStoreKey.of(1L, 35455L, Long.MAX_VALUE, Long.MAX_VALUE);
+
+        // When & Then
+        assertTrue(prefix.compareTo(first) <= 0);
+        assertTrue(last.compareTo(PriceStoreKey.upperBound(prefix)) < 0);
+        assertTrue(PriceStoreKey.upperBound(prefix).compareTo(PriceStoreKey.of(1L, 35456L, 0L, 0L)) < 0);
+    }
+
+    @Test
+    @DisplayName("Debería reconstruir la tarifa a partir de su clave y su valor")
+    void shouldRoundTripPrice() {
+        // Given
+        Price price = Price.builder()
+                .id(4L)
+                .brandId(new BrandId(1L))
+                .startDate(LocalDateTime.of(2020, 6, 15, 16, 0))
+                .endDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59))
+                .priceList(4)
+                .productId(new ProductId(35455L))
+                .priority(new Priority(1))
+                .price(new Money(new BigDecimal("38.95"), "EUR"))
+                .build();
+
+        // When
+        Price decoded = PriceStoreKey.toPrice(PriceStoreKey.of(price), PriceStoreKey.value(price));
+
+        // Then
+        assertEquals(price.getId(), decoded.getId());
+        assertEquals(price.getBrandId(), decoded.getBrandId());
+        assertEquals(price.getProductId(), decoded.getProductId());
+        assertEquals(price.getStartDate(), decoded.getStartDate());
+        assertEquals(price.getEndDate(), decoded.getEndDate());
+        assertEquals(price.getPriceList(), decoded.getPriceList());
+        assertEquals(price.getPriority(), decoded.getPriority());
+        assertEquals(price.getPrice(), decoded.getPrice());
+    }
+}
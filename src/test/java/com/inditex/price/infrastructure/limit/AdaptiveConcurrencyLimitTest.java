@@ -0,0 +1,101 @@
+package com.inditex.price.infrastructure.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests unitarios para AdaptiveConcurrencyLimit
+ * Límite inicial 20 entre 4 y 100, tolerancia 2 y ventanas de 10 muestras
+ */
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private AdaptiveConcurrencyLimit limit;
+
+    @BeforeEach
+    void setUp() {
+        limit = new AdaptiveConcurrencyLimit(20, 4, 100, 2.0, 0.5, 10);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar al alcanzar el límite y admitir de nuevo al liberar")
+    void shouldRejectAtLimit() {
+        // Given
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+
+        // When / Then
+        assertFalse(limit.tryAcquire());
+        assertEquals(20, limit.getInFlight());
+
+        limit.release(FAST);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Debería crecer mientras la latencia se mantiene estable bajo presión")
+    void shouldGrowUnderPressureWithSteadyLatency() {
+        // When
+        saturate(FAST, 5);
+
+        // Then
+        assertTrue(limit.getLimit() > 20, "Límite final " + limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("No debería crecer si nunca se acerca al límite")
+    void shouldNotGrowWithoutPressure() {
+        // When - una sola petición en vuelo cada vez
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(FAST);
+        }
+
+        // Then
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Debería reducirse mientras la latencia supera la tolerancia")
+    void shouldShrinkWhenLatencyRises() {
+        // Given - latencia de referencia estable
+        saturate(FAST, 3);
+        int before = limit.getLimit();
+
+        // When
+        saturate(SLOW, 1);
+        int after = limit.getLimit();
+        saturate(SLOW * 10, 3);
+
+        // Then
+        assertTrue(after < before, "Límite " + before + " -> " + after);
+        assertTrue(limit.getLimit() < after, "Límite " + after + " -> " + limit.getLimit());
+        assertTrue(limit.getLimit() >= 4);
+    }
+
+    /**
+     * Ocupa todos los huecos y los libera con la latencia dada, tantas veces
+     * como rounds
+     */
+    private void saturate(long rttNanos, int rounds) {
+        for (int r = 0; r < rounds; r++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(rttNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.inditex.price.infrastructure.persitence.adapters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.inditex.price.application.usecases.PriceReadContext;
+
+/**
+ * Tests unitarios para QueryDeadline sobre una base de datos H2 en memoria
+ * con una única conexión, como la que devolvería el pool
+ */
+class QueryDeadlineTest {
+
+    private static final String SLOW_SQL = "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 1000000) A, "
+            + "SYSTEM_RANGE(1, 1000000) B WHERE A.X + B.X = 0";
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:query-deadline", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        // Abre la conexión fuera del plazo medido
+        jdbcTemplate.execute("SELECT 1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        PriceReadContext.end();
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("Debería cancelar la sentencia en la base de datos al vencer un plazo de milisegundos")
+    void shouldCancelStatementWhenDeadlinePasses() {
+        // Given - una primera cancelación en frío y 200 ms de plazo para una consulta de varios minutos
+        assertThrows(QueryTimeoutException.class, () -> runSlowQuery(50L));
+        long start = System.nanoTime();
+
+        // When
+        assertThrows(QueryTimeoutException.class, () -> runSlowQuery(200L));
+
+        // Then - cortada al plazo, no al segundo entero siguiente
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis < 1_000L, "Cancelada en " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Debería dejar la conexión sin timeout de sesión al terminar la consulta")
+    void shouldResetSessionTimeoutAfterQuery() {
+        // Given
+        PriceReadContext.begin(System.nanoTime() + TimeUnit.SECONDS.toNanos(5L));
+
+        // When
+        Long one = QueryDeadline.run(transactionManager, jdbcTemplate, false,
+                () -> jdbcTemplate.queryForObject("SELECT 1", Long.class));
+        PriceReadContext.end();
+
+        // Then
+        assertEquals(1L, one);
+        assertEquals("0", jdbcTemplate.queryForObject(
+                "SELECT VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE NAME = 'QUERY_TIMEOUT'", String.class));
+    }
+
+    private Long runSlowQuery(long deadlineMillis) {
+        PriceReadContext.begin(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis));
+        return QueryDeadline.run(transactionManager, jdbcTemplate, false,
+                () -> jdbcTemplate.queryForObject(SLOW_SQL, Long.class));
+    }
+}
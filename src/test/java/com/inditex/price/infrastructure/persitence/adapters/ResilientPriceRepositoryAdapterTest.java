@@ -0,0 +1,254 @@
+package com.inditex.price.infrastructure.persitence.adapters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.inditex.price.application.exceptions.DeadlineExceededException;
+import com.inditex.price.application.exceptions.PriceDataUnavailableException;
+import com.inditex.price.application.usecases.PriceReadContext;
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.Money;
+import com.inditex.price.domain.valueobject.Priority;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangeType;
+import com.inditex.price.infrastructure.index.PriceKey;
+import com.inditex.price.infrastructure.resilience.CircuitBreaker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitarios para ResilientPriceRepositoryAdapter
+ * Plazo de 100 ms por consulta y cortocircuito tras 2 fallos seguidos
+ */
+class ResilientPriceRepositoryAdapterTest {
+
+    private static final ProductId PRODUCT = new ProductId(35455L);
+    private static final BrandId BRAND = new BrandId(1L);
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 10, 0);
+
+    private PriceRepositoryAdapter delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private ResilientPriceRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(PriceRepositoryAdapter.class);
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new ResilientPriceRepositoryAdapter(delegate, meterRegistry, Clock.systemUTC(),
+                100L, 2, 60_000L, 600L, 1000, 2, 16);
+        PriceReadContext.begin();
+    }
+
+    @AfterEach
+    void tearDown() {
+        PriceReadContext.end();
+        adapter.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debería servir la última copia buena anotada como respaldo cuando la base de datos falla")
+    void shouldServeLastKnownGoodWhenDatabaseFails() {
+        // Given - una carga correcta y después la base de datos caída
+        List<Price> tariffs = Collections.singletonList(createPrice());
+        when(delegate.findAllPrices(PRODUCT, BRAND))
+                .thenReturn(tariffs)
+                .thenThrow(new DataAccessResourceFailureException("Base de datos caída"));
+        when(delegate.findApplicablePrices(PRODUCT, BRAND, DATE))
+                .thenThrow(new DataAccessResourceFailureException("Base de datos caída"));
+        adapter.findAllPrices(PRODUCT, BRAND);
+        assertEquals(-1L, PriceReadContext.maxStaleAgeMillis());
+
+        // When
+        List<Price> applicable = adapter.findApplicablePrices(PRODUCT, BRAND, DATE);
+
+        // Then
+        assertEquals(tariffs, applicable);
+        assertEquals(1L, PriceReadContext.staleReads());
+    }
+
+    @Test
+    @DisplayName("Debería responder con respaldo cuando la consulta supera el plazo")
+    void shouldFallBackOnTimeout() {
+        // Given
+        List<Price> tariffs = Collections.singletonList(createPrice());
+        when(delegate.findAllPrices(PRODUCT, BRAND))
+                .thenReturn(tariffs)
+                .thenAnswer(invocation -> {
+                    Thread.sleep(2_000L);
+                    return tariffs;
+                });
+        adapter.findAllPrices(PRODUCT, BRAND);
+
+        // When
+        long start = System.nanoTime();
+        List<Price> prices = adapter.findAllPrices(PRODUCT, BRAND);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        // Then
+        assertEquals(tariffs, prices);
+        assertEquals(1L, PriceReadContext.staleReads());
+        assertTrue(elapsedMillis < 1_000L, "Tardó " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Debería fallar sin copia de respaldo y dejar de llamar a la base de datos con el circuito abierto")
+    void shouldOpenCircuitWithoutFallback() {
+        // Given
+        when(delegate.findApplicablePrices(PRODUCT, BRAND, DATE))
+                .thenThrow(new DataAccessResourceFailureException("Base de datos caída"));
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThrows(PriceDataUnavailableException.class,
+                    () -> adapter.findApplicablePrices(PRODUCT, BRAND, DATE));
+        }
+
+        // Then - el tercer intento ya no llega a la base de datos
+        verify(delegate, times(2)).findApplicablePrices(PRODUCT, BRAND, DATE);
+        assertEquals(CircuitBreaker.State.OPEN, adapter.getCircuitState());
+    }
+
+    @Test
+    @DisplayName("Debería cortar la espera en el plazo de la petición sin respaldo ni fallo del circuito")
+    void shouldStopAtRequestDeadline() {
+        // Given - copia de respaldo disponible y una base de datos lenta
+        List<Price> tariffs = Collections.singletonList(createPrice());
+        when(delegate.findAllPrices(PRODUCT, BRAND))
+                .thenReturn(tariffs)
+                .thenAnswer(invocation -> {
+                    Thread.sleep(2_000L);
+                    return tariffs;
+                });
+        adapter.findAllPrices(PRODUCT, BRAND);
+
+        // When - 20 ms de plazo, por debajo de los 100 ms del adaptador, dos veces
+        for (int i = 0; i < 2; i++) {
+            PriceReadContext.begin(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(20L));
+            assertThrows(DeadlineExceededException.class, () -> adapter.findAllPrices(PRODUCT, BRAND));
+        }
+
+        // Then - el cliente ya no espera: ni respaldo ni fallos contados
+        assertEquals(0L, PriceReadContext.staleReads());
+        assertEquals(CircuitBreaker.State.CLOSED, adapter.getCircuitState());
+    }
+
+    @Test
+    @DisplayName("Debería no llamar a la base de datos con el plazo ya agotado")
+    void shouldNotCallDatabaseWhenDeadlineExpired() {
+        // Given
+        PriceReadContext.begin(System.nanoTime() - 1L);
+
+        // When & Then
+        assertThrows(DeadlineExceededException.class, () -> adapter.findApplicablePrices(PRODUCT, BRAND, DATE));
+        verify(delegate, never()).findApplicablePrices(PRODUCT, BRAND, DATE);
+    }
+
+    @Test
+    @DisplayName("Debería cargar la copia de respaldo de un producto tras su primera consulta puntual")
+    void shouldSeedFallbackAfterApplicableLookup() throws InterruptedException {
+        // Given - solo consultas puntuales, sin cargas completas de los clientes
+        List<Price> tariffs = Collections.singletonList(createPrice());
+        when(delegate.findApplicablePrices(PRODUCT, BRAND, DATE))
+                .thenReturn(tariffs)
+                .thenThrow(new DataAccessResourceFailureException("Base de datos caída"));
+        when(delegate.findAllPrices(PRODUCT, BRAND)).thenReturn(tariffs);
+        adapter.findApplicablePrices(PRODUCT, BRAND, DATE);
+        long deadline = System.currentTimeMillis() + 2_000L;
+        while (meterRegistry.get("price.resilience.known.entries").gauge().value() < 1
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        // When
+        List<Price> applicable = adapter.findApplicablePrices(PRODUCT, BRAND, DATE);
+
+        // Then
+        assertEquals(tariffs, applicable);
+        assertEquals(1L, PriceReadContext.staleReads());
+    }
+
+    @Test
+    @DisplayName("Debería aplicar los cambios capturados a la copia de respaldo")
+    void shouldApplyChangesToFallback() {
+        // Given
+        Price updated = createPrice(BigDecimal.valueOf(19.99));
+        when(delegate.findAllPrices(PRODUCT, BRAND))
+                .thenReturn(Collections.singletonList(createPrice()))
+                .thenThrow(new DataAccessResourceFailureException("Base de datos caída"));
+        adapter.findAllPrices(PRODUCT, BRAND);
+
+        // When
+        adapter.onPriceChanges(Collections.singletonList(new PriceChange(1L, PriceChangeType.UPDATE,
+                PriceKey.of(BRAND, PRODUCT), 1L, updated)));
+
+        // Then
+        assertEquals(Collections.singletonList(updated), adapter.findAllPrices(PRODUCT, BRAND));
+        assertEquals(1L, PriceReadContext.staleReads());
+    }
+
+    @Test
+    @DisplayName("Debería descartar la copia de respaldo menos usada al llegar al máximo de productos")
+    void shouldEvictLeastRecentlyUsedFallback() {
+        // Given - espacio para un único producto
+        ProductId other = new ProductId(35456L);
+        ResilientPriceRepositoryAdapter bounded = new ResilientPriceRepositoryAdapter(delegate,
+                new SimpleMeterRegistry(), Clock.systemUTC(), 100L, 5, 60_000L, 600L, 1, 2, 16);
+        when(delegate.findAllPrices(PRODUCT, BRAND))
+                .thenReturn(Collections.singletonList(createPrice()))
+                .thenThrow(new DataAccessResourceFailureException("Base de datos caída"));
+        when(delegate.findAllPrices(other, BRAND))
+                .thenReturn(Collections.emptyList())
+                .thenThrow(new DataAccessResourceFailureException("Base de datos caída"));
+
+        try {
+            // When
+            bounded.findAllPrices(PRODUCT, BRAND);
+            bounded.findAllPrices(other, BRAND);
+
+            // Then - el último producto cargado desplaza al primero
+            assertEquals(Collections.emptyList(), bounded.findAllPrices(other, BRAND));
+            assertThrows(PriceDataUnavailableException.class, () -> bounded.findAllPrices(PRODUCT, BRAND));
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    private static Price createPrice() {
+        return createPrice(BigDecimal.valueOf(35.50));
+    }
+
+    private static Price createPrice(BigDecimal amount) {
+        return Price.builder()
+                .id(1L)
+                .brandId(BRAND)
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59))
+                .priceList(1)
+                .productId(PRODUCT)
+                .priority(new Priority(0))
+                .price(new Money(amount, "EUR"))
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.inditex.price.infrastructure.recording;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests del grabador de consultas y de su reproducción
+ */
+class HotKeyRecorderTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Debería grabar las consultas en el formato binario y rotar al superar el tamaño máximo")
+    void shouldRecordAndRotate() throws Exception {
+        // Given - muestreo total y ficheros de 10 registros como máximo
+        HotKeyRecorder recorder = new HotKeyRecorder(new SimpleMeterRegistry(), directory.toString(), 1,
+                4 + 10 * HotKeyFile.RECORD_BYTES, 3, 1000);
+        recorder.start();
+
+        // When
+        for (int i = 0; i < 25; i++) {
+            assertTrue(recorder.shouldSample());
+            recorder.record(35455L + i, 1L, DATE);
+        }
+        recorder.stop();
+
+        // Then - 10 + 10 rotados y 5 en el fichero actual
+        Path current = directory.resolve(HotKeyRecorder.FILE_NAME);
+        assertTrue(HotKeyFile.isRecording(current));
+        List<RecordedLookup> latest = HotKeyFile.readAll(current, Integer.MAX_VALUE);
+        assertEquals(5, latest.size());
+        assertEquals(35475L, latest.get(0).getProductId());
+        assertEquals(DATE, latest.get(0).getApplicationDate());
+        assertEquals(10, HotKeyFile.readAll(directory.resolve("hot-keys.1.bin"), Integer.MAX_VALUE).size());
+        assertEquals(10, HotKeyFile.readAll(directory.resolve("hot-keys.2.bin"), Integer.MAX_VALUE).size());
+        assertFalse(Files.exists(directory.resolve("hot-keys.3.bin")));
+    }
+
+    @Test
+    @DisplayName("Debería reproducir las consultas con la concurrencia pedida y medir latencias")
+    void shouldReplayLookups() throws Exception {
+        // Given
+        List<RecordedLookup> lookups = Arrays.asList(new RecordedLookup(35455L, 1L, 0L),
+                new RecordedLookup(12345L, 1L, 0L));
+        AtomicInteger calls = new AtomicInteger();
+        List<Long> failing = new ArrayList<>(Arrays.asList(12345L));
+        HotKeyReplayer replayer = new HotKeyReplayer(lookup -> {
+            calls.incrementAndGet();
+            if (failing.contains(lookup.getProductId())) {
+                throw new IllegalStateException("fallo simulado");
+            }
+        }, 4, 0.0);
+
+        // When
+        ReplayReport report = replayer.replay(lookups, 100L);
+
+        // Then
+        assertEquals(100, calls.get());
+        assertEquals(100L, report.getRequests());
+        assertEquals(50L, report.getErrors());
+        assertTrue(report.getP99Micros() <= report.getMaxMicros());
+    }
+}
@@ -0,0 +1,71 @@
+package com.inditex.price.infrastructure.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests unitarios para el seguimiento del retraso de PriceReplica
+ */
+class PriceReplicaTest {
+
+    private static final long MAX_LAG_MILLIS = 2_000L;
+
+    @Test
+    @DisplayName("No debería atender lecturas hasta completar la primera copia")
+    void shouldBeUnavailableUntilSynced() {
+        // Given
+        PriceReplica replica = new PriceReplica("r1", mock(DataSource.class));
+
+        // When & Then
+        assertFalse(replica.isAvailable(System.currentTimeMillis(), MAX_LAG_MILLIS));
+        replica.markSynced(10L, 10L);
+        assertTrue(replica.isAvailable(System.currentTimeMillis(), MAX_LAG_MILLIS));
+    }
+
+    @Test
+    @DisplayName("Debería dejar de atender lecturas cuando el retraso supera el máximo y volver al alcanzar al primario")
+    void shouldTrackLagAgainstPrimaryHead() {
+        // Given
+        PriceReplica replica = new PriceReplica("r1", mock(DataSource.class));
+        replica.markSynced(10L, 10L);
+
+        // When - el primario avanza y la réplica no
+        replica.trackLag(12L, 1_000L);
+
+        // Then
+        assertEquals(500L, replica.lagMillis(1_500L));
+        assertTrue(replica.isAvailable(1_500L, MAX_LAG_MILLIS));
+        assertFalse(replica.isAvailable(3_500L, MAX_LAG_MILLIS));
+
+        // When - la réplica aplica los cambios pendientes
+        replica.markApplied(12L, 12L);
+
+        // Then
+        assertEquals(0L, replica.lagMillis(3_500L));
+        assertTrue(replica.isAvailable(3_500L, MAX_LAG_MILLIS));
+    }
+
+    @Test
+    @DisplayName("No debería atender lecturas si la sonda falla o queda desincronizada")
+    void shouldBeUnavailableWhenDownOrUnsynced() {
+        // Given
+        PriceReplica replica = new PriceReplica("r1", mock(DataSource.class));
+        replica.markSynced(10L, 10L);
+        long now = System.currentTimeMillis();
+
+        // When & Then
+        replica.markDown();
+        assertFalse(replica.isAvailable(now, MAX_LAG_MILLIS));
+        replica.markUp(1_000L);
+        assertTrue(replica.isAvailable(now, MAX_LAG_MILLIS));
+        replica.markUnsynced();
+        assertFalse(replica.isAvailable(now, MAX_LAG_MILLIS));
+    }
+}
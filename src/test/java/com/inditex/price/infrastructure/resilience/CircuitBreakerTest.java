@@ -0,0 +1,92 @@
+package com.inditex.price.infrastructure.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests unitarios para CircuitBreaker
+ * Se abre tras 3 fallos seguidos y permanece abierto 1000 nanosegundos
+ */
+class CircuitBreakerTest {
+
+    private AtomicLong now;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong();
+        breaker = new CircuitBreaker(3, 1000L, now::get);
+    }
+
+    @Test
+    @DisplayName("Debería abrirse tras los fallos consecutivos y rechazar mientras está abierto")
+    void shouldOpenAfterConsecutiveFailures() {
+        // Given - un éxito intermedio reinicia la cuenta
+        failOnce();
+        failOnce();
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+
+        // When
+        failOnce();
+        failOnce();
+        failOnce();
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        now.set(999L);
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Debería dejar pasar una sola prueba al vencer la apertura y cerrarse si va bien")
+    void shouldCloseAfterSuccessfulProbe() {
+        // Given
+        failOnce();
+        failOnce();
+        failOnce();
+
+        // When
+        now.set(1000L);
+
+        // Then
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Debería reabrirse si la prueba falla")
+    void shouldReopenAfterFailedProbe() {
+        // Given
+        failOnce();
+        failOnce();
+        failOnce();
+        now.set(1000L);
+
+        // When
+        failOnce();
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        now.set(1999L);
+        assertFalse(breaker.tryAcquire());
+        now.set(2000L);
+        assertTrue(breaker.tryAcquire());
+    }
+
+    private void failOnce() {
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+    }
+}
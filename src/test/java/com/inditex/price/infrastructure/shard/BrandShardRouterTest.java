@@ -0,0 +1,76 @@
+package com.inditex.price.infrastructure.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests unitarios para BrandShardRouter
+ */
+class BrandShardRouterTest {
+
+    private static final int BRANDS = 10_000;
+
+    @Test
+    @DisplayName("Debería respetar las asignaciones explícitas de marca")
+    void shouldHonourExplicitAssignments() {
+        // Given
+        BrandShardRouter router = new BrandShardRouter(Arrays.asList("eu", "us"),
+                Collections.singletonMap(1L, "us"), 64);
+
+        // When & Then
+        assertEquals("us", router.shardOf(1L));
+    }
+
+    @Test
+    @DisplayName("Debería repartir las marcas sin asignar entre todos los shards de forma estable")
+    void shouldSpreadUnassignedBrands() {
+        // Given
+        List<String> shards = Arrays.asList("a", "b", "c");
+        BrandShardRouter router = new BrandShardRouter(shards, Collections.emptyMap(), 64);
+
+        // When
+        Map<String, Integer> counts = new HashMap<>();
+        for (long brand = 1; brand <= BRANDS; brand++) {
+            counts.merge(router.shardOf(brand), 1, Integer::sum);
+        }
+
+        // Then - ningún shard se queda con menos de la mitad de su parte
+        for (String shard : shards) {
+            assertTrue(counts.getOrDefault(shard, 0) > BRANDS / shards.size() / 2, "Reparto: " + counts);
+        }
+        assertEquals(router.shardOf(42L), new BrandShardRouter(shards, Collections.emptyMap(), 64).shardOf(42L));
+    }
+
+    @Test
+    @DisplayName("Debería mover solo las marcas del shard nuevo al añadir uno")
+    void shouldMoveOnlyBrandsOfNewShard() {
+        // Given
+        BrandShardRouter before = new BrandShardRouter(Arrays.asList("a", "b", "c"), Collections.emptyMap(), 64);
+        BrandShardRouter after = new BrandShardRouter(Arrays.asList("a", "b", "c", "d"), Collections.emptyMap(), 64);
+
+        // When & Then - toda marca que cambia de shard va al nuevo
+        for (long brand = 1; brand <= BRANDS; brand++) {
+            String moved = after.shardOf(brand);
+            if (!moved.equals(before.shardOf(brand))) {
+                assertEquals("d", moved, "Marca " + brand);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debería rechazar asignaciones a shards desconocidos")
+    void shouldRejectUnknownShard() {
+        assertThrows(IllegalArgumentException.class, () -> new BrandShardRouter(Arrays.asList("a"),
+                Collections.singletonMap(1L, "z"), 64));
+    }
+}
@@ -0,0 +1,125 @@
+package com.inditex.price.infrastructure.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.inditex.price.application.dto.PriceChangeEventDTO;
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangeType;
+import com.inditex.price.infrastructure.index.PriceKey;
+
+/**
+ * Test de integración de las suscripciones a cambios de precio
+ * Entrega límites de tarifa del producto 35455 de los datos de prueba y
+ * comprueba qué eventos reciben los suscriptores
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class PriceSubscriptionHubIntegrationTest {
+
+    private static final PriceKey KEY = new PriceKey(1L, 35455L);
+
+    @Autowired
+    private PriceSubscriptionHub priceSubscriptionHub;
+
+    @Test
+    @DisplayName("Debería enviar el nuevo precio cuando un límite cambia la tarifa aplicable")
+    void shouldSendEventWhenBoundaryChangesPrice() throws InterruptedException {
+        // Given
+        CapturingEmitter emitter = new CapturingEmitter();
+        priceSubscriptionHub.register(1L, Collections.singleton(35455L), emitter);
+
+        // When - a las 15:00 del 14 empieza la tarifa 2
+        priceSubscriptionHub.onPriceBoundary(KEY, EpochTime.toEpochMicros(LocalDateTime.of(2020, 6, 14, 15, 0)));
+
+        // Then
+        PriceChangeEventDTO event = emitter.events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertEquals(35455L, event.getProductId().longValue());
+        assertEquals(LocalDateTime.of(2020, 6, 14, 15, 0), event.getEffectiveAt());
+        assertEquals(2, event.getPriceList().intValue());
+        assertEquals(0, new BigDecimal("25.45").compareTo(event.getPrice()));
+    }
+
+    @Test
+    @DisplayName("No debería enviar nada si el límite no cambia el precio aplicable")
+    void shouldNotSendEventWhenPriceDoesNotChange() throws InterruptedException {
+        // Given
+        CapturingEmitter emitter = new CapturingEmitter();
+        priceSubscriptionHub.register(1L, Collections.emptySet(), emitter);
+
+        // When - a las 12:00 del 14 sigue aplicando la tarifa 1
+        priceSubscriptionHub.onPriceBoundary(KEY, EpochTime.toEpochMicros(LocalDateTime.of(2020, 6, 14, 12, 0)));
+
+        // Then
+        assertNull(emitter.events.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("No debería enviar cambios de productos fuera del filtro del suscriptor")
+    void shouldFilterByProduct() throws InterruptedException {
+        // Given
+        CapturingEmitter emitter = new CapturingEmitter();
+        priceSubscriptionHub.register(1L, Collections.singleton(12345L), emitter);
+
+        // When
+        priceSubscriptionHub.onPriceBoundary(KEY, EpochTime.toEpochMicros(LocalDateTime.of(2020, 6, 14, 15, 0)));
+
+        // Then
+        assertNull(emitter.events.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("No debería reenviar un cambio capturado si el precio vigente es el último enviado")
+    void shouldNotResendUnchangedPriceOnCapturedChanges() throws InterruptedException {
+        // Given
+        PriceKey key = new PriceKey(1L, 99999L);
+        CapturingEmitter emitter = new CapturingEmitter();
+        priceSubscriptionHub.register(1L, Collections.singleton(99999L), emitter);
+        priceSubscriptionHub.onPriceChanges(Collections.singletonList(
+                new PriceChange(1L, PriceChangeType.DELETE, key, 1L, null)));
+        assertNotNull(emitter.events.poll(5, TimeUnit.SECONDS));
+
+        // When
+        priceSubscriptionHub.onPriceChanges(Collections.singletonList(
+                new PriceChange(2L, PriceChangeType.DELETE, key, 1L, null)));
+
+        // Then
+        assertNull(emitter.events.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Emisor que guarda los eventos enviados en lugar de escribirlos en una
+     * respuesta HTTP
+     */
+    private static final class CapturingEmitter extends SseEmitter {
+
+        private final BlockingQueue<PriceChangeEventDTO> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof PriceChangeEventDTO) {
+                    events.add((PriceChangeEventDTO) data.getData());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.inditex.price.infrastructure.version;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.Money;
+import com.inditex.price.domain.valueobject.Priority;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.index.PriceKey;
+import com.inditex.price.infrastructure.index.PriceTimeline;
+
+/**
+ * Tests unitarios para PersistentPriceMap
+ */
+class PersistentPriceMapTest {
+
+    @Test
+    @DisplayName("Debería dejar intacta la versión anterior y compartir las claves no modificadas")
+    void shouldKeepPreviousVersionAndShareUntouchedKeys() {
+        // Given
+        PriceKey changed = new PriceKey(1L, 35455L);
+        PriceKey untouched = new PriceKey(1L, 35456L);
+        PriceTimeline original = timeline(1L, "35.50");
+        PriceTimeline shared = timeline(2L, "20.00");
+        PersistentPriceMap first = PersistentPriceMap.empty().with(changed, original).with(untouched, shared);
+
+        // When
+        PersistentPriceMap second = first.with(changed, timeline(3L, "25.45"));
+
+        // Then
+        assertSame(original, first.get(changed));
+        assertEquals(3L, second.get(changed).prices().get(0).getId());
+        assertSame(shared, second.get(untouched));
+        assertEquals(2, second.size());
+        assertSame(second, second.with(untouched, shared));
+    }
+
+    @Test
+    @DisplayName("Debería comportarse como un HashMap ante altas, sustituciones y bajas aleatorias")
+    void shouldMatchHashMapUnderRandomOperations() {
+        // Given
+        Random random = new Random(42L);
+        Map<PriceKey, PriceTimeline> expected = new HashMap<>();
+        PersistentPriceMap map = PersistentPriceMap.empty();
+        PriceTimeline timeline = timeline(1L, "10.00");
+
+        // When
+        for (int i = 0; i < 50_000; i++) {
+            PriceKey key = new PriceKey(random.nextInt(50), random.nextInt(1_000));
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.without(key);
+            } else {
+                PriceTimeline value = random.nextBoolean() ? timeline : timeline(i, "10.00");
+                expected.put(key, value);
+                map = map.with(key, value);
+            }
+        }
+
+        // Then
+        assertEquals(expected.size(), map.size());
+        Map<PriceKey, PriceTimeline> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+        for (Map.Entry<PriceKey, PriceTimeline> entry : expected.entrySet()) {
+            assertSame(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería distinguir claves distintas con el mismo hash")
+    void shouldHandleFullHashCollisions() {
+        // Given - 31 * 0 + 31 == 31 * 1 + 0
+        PriceKey first = new PriceKey(0L, 31L);
+        PriceKey second = new PriceKey(1L, 0L);
+        assertEquals(first.hashCode(), second.hashCode());
+        PriceTimeline firstTimeline = timeline(1L, "10.00");
+        PriceTimeline secondTimeline = timeline(2L, "20.00");
+
+        // When
+        PersistentPriceMap map = PersistentPriceMap.empty().with(first, firstTimeline).with(second, secondTimeline);
+        PersistentPriceMap removed = map.without(first);
+
+        // Then
+        assertSame(firstTimeline, map.get(first));
+        assertSame(secondTimeline, map.get(second));
+        assertNull(removed.get(first));
+        assertSame(secondTimeline, removed.get(second));
+        assertEquals(1, removed.size());
+        assertEquals(0, removed.without(second).size());
+    }
+
+    private static PriceTimeline timeline(long priceId, String amount) {
+        return PriceTimeline.of(Collections.singletonList(Price.builder()
+                .id(priceId)
+                .brandId(new BrandId(1L))
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59))
+                .priceList(1)
+                .productId(new ProductId(35455L))
+                .priority(new Priority(0))
+                .price(new Money(new BigDecimal(amount), "EUR"))
+                .build()));
+    }
+}
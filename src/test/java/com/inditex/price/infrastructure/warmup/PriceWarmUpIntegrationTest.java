@@ -0,0 +1,67 @@
+package com.inditex.price.infrastructure.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Tests de integración de la fase de calentamiento de arranque
+ * El calentamiento automático está desactivado en tests; se lanza a mano con
+ * rondas cortas y un fichero de claves calientes
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "price.warmup.round-lookups=50",
+        "price.warmup.stable-rounds=2",
+        "price.warmup.max-duration-seconds=10" })
+class PriceWarmUpIntegrationTest {
+
+    @TempDir
+    static Path keysDirectory;
+
+    @Autowired
+    private PriceWarmUp priceWarmUp;
+
+    @Autowired
+    private PriceWarmUpHealthIndicator priceWarmUpHealthIndicator;
+
+    @DynamicPropertySource
+    static void keysFile(DynamicPropertyRegistry registry) throws IOException {
+        Path keysFile = keysDirectory.resolve("hot-keys.csv");
+        Files.write(keysFile, Arrays.asList("1,35455", "no-es-una-clave", "2,35455"), StandardCharsets.UTF_8);
+        registry.add("price.warmup.keys-file", keysFile::toString);
+    }
+
+    @Test
+    @DisplayName("Debería recorrer las claves registradas y del catálogo y marcar la instancia como lista")
+    void shouldWarmUpAndReportReadiness() {
+        // When
+        PriceWarmUpResult result = priceWarmUp.warmUp();
+
+        // Then
+        assertEquals(2, result.getRecordedKeys());
+        assertTrue(result.getKeys() >= 3, "Debe completar con claves del catálogo");
+        assertTrue(result.getRounds() > 0);
+        assertTrue(result.getLookups() >= 50L);
+
+        Health health = priceWarmUpHealthIndicator.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("completed", health.getDetails().get("state"));
+    }
+}
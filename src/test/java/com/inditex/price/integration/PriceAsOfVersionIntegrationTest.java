@@ -0,0 +1,135 @@
+package com.inditex.price.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.inditex.price.infrastructure.changes.PriceChangePoller;
+import com.inditex.price.infrastructure.persitence.entity.PriceJpaEntity;
+import com.inditex.price.infrastructure.persitence.repositories.PriceJpaRepository;
+import com.inditex.price.infrastructure.version.PriceCatalogVersions;
+import com.inditex.price.infrastructure.version.PriceCatalogVersionsEndpoint;
+
+/**
+ * Tests de integración de las consultas por versión del catálogo
+ * Una tarifa nueva publica una versión; las versiones anteriores siguen
+ * resolviendo con las tarifas que se conocían entonces. Los cambios se
+ * publican a mano para no esperar al intervalo de agrupación
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+                "price.versions.enabled=true",
+                "price.versions.max-versions=10" })
+class PriceAsOfVersionIntegrationTest {
+
+        private static final String PRICES_URL = "/api/v1/prices";
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private PriceCatalogVersions priceCatalogVersions;
+
+        @Autowired
+        private PriceCatalogVersionsEndpoint priceCatalogVersionsEndpoint;
+
+        @Autowired
+        private PriceChangePoller priceChangePoller;
+
+        @Autowired
+        private PriceJpaRepository priceJpaRepository;
+
+        @Test
+        @DisplayName("Debería resolver con las tarifas de la versión pedida aunque después haya llegado otra con más prioridad")
+        void shouldResolveAgainstOlderVersion() throws Exception {
+                // Given
+                long before = priceCatalogVersions.latest().getVersion();
+                PriceJpaEntity saved = priceJpaRepository.save(new PriceJpaEntity(1L,
+                                LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 6, 14, 23, 59, 59), 7,
+                                35455L, 9, new BigDecimal("11.11"), "EUR"));
+                try {
+                        priceChangePoller.poll();
+                        priceCatalogVersions.publishPending();
+                        long after = priceCatalogVersions.latest().getVersion();
+                        assertTrue(after > before);
+
+                        // When & Then
+                        performAsync(lookup(before))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.priceList").value(1))
+                                        .andExpect(jsonPath("$.price").value(35.50));
+
+                        performAsync(lookup(after))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.priceList").value(7))
+                                        .andExpect(jsonPath("$.price").value(11.11));
+                } finally {
+                        priceJpaRepository.deleteById(saved.getId());
+                        priceChangePoller.poll();
+                }
+        }
+
+        @Test
+        @DisplayName("Debería responder 404 para una versión que no se conserva")
+        void shouldRejectUnknownVersion() throws Exception {
+                performAsync(lookup(priceCatalogVersions.latest().getVersion() + 1000))
+                                .andExpect(status().isNotFound())
+                                .andExpect(jsonPath("$.error").value("Versión no disponible"));
+        }
+
+        @Test
+        @DisplayName("Debería listar las versiones conservadas hasta la última publicada")
+        @SuppressWarnings("unchecked")
+        void shouldListRetainedVersions() {
+                // When
+                Map<String, Object> status = priceCatalogVersionsEndpoint.versions();
+
+                // Then
+                assertEquals(true, status.get("enabled"));
+                List<Map<String, Object>> versions = (List<Map<String, Object>>) status.get("versions");
+                assertTrue(versions.size() <= 10);
+                assertEquals(priceCatalogVersions.latest().getVersion(),
+                                versions.get(versions.size() - 1).get("version"));
+        }
+
+        /**
+         * La consulta se resuelve en el pool de consultas de precio: se espera a que
+         * termine y se despacha la respuesta
+         */
+        private ResultActions performAsync(RequestBuilder builder) throws Exception {
+                MvcResult result = mockMvc.perform(builder)
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                return mockMvc.perform(asyncDispatch(result));
+        }
+
+        private static RequestBuilder lookup(long asOfVersion) {
+                return get(PRICES_URL)
+                                .param("applicationDate", "2020-06-14T10:00:00")
+                                .param("productId", "35455")
+                                .param("brandId", "1")
+                                .param("asOfVersion", Long.toString(asOfVersion));
+        }
+}
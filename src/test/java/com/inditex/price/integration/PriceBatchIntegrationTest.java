@@ -0,0 +1,71 @@
+package com.inditex.price.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Tests de integración para la consulta de precios por lotes
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class PriceBatchIntegrationTest {
+
+        private static final String BATCH_URL = "/api/v1/prices/batch";
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("Debería resolver cada consulta del lote en orden y dejar sin precio las que no tienen tarifa")
+        void shouldResolveBatchInOrder() throws Exception {
+                String body = "{\"queries\":["
+                                + "{\"applicationDate\":\"2020-06-14T16:00:00\",\"productId\":35455,\"brandId\":1},"
+                                + "{\"applicationDate\":\"2018-01-01T00:00:00\",\"productId\":35455,\"brandId\":1},"
+                                + "{\"applicationDate\":\"2020-06-14T10:00:00\",\"productId\":35455,\"brandId\":1}]}";
+
+                batch(body)
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.found").value(2))
+                                .andExpect(jsonPath("$.results[0].price.priceList").value(2))
+                                .andExpect(jsonPath("$.results[1].price").doesNotExist())
+                                .andExpect(jsonPath("$.results[1].applicationDate").value("2018-01-01T00:00:00"))
+                                .andExpect(jsonPath("$.results[2].price.priceList").value(1));
+        }
+
+        @Test
+        @DisplayName("Debería rechazar un lote vacío o con JSON inválido")
+        void shouldRejectInvalidBatch() throws Exception {
+                batch("{\"queries\":[]}")
+                                .andExpect(status().isBadRequest());
+
+                mockMvc.perform(post(BATCH_URL).contentType(MediaType.APPLICATION_JSON).content("{\"queries\":"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        /**
+         * El lote se resuelve en el pool de consultas de precio: se espera a que
+         * termine y se despacha la respuesta
+         */
+        private ResultActions batch(String body) throws Exception {
+                MvcResult result = mockMvc.perform(post(BATCH_URL).contentType(MediaType.APPLICATION_JSON).content(body))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                return mockMvc.perform(asyncDispatch(result));
+        }
+}
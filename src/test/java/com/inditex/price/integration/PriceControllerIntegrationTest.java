@@ -1,8 +1,10 @@
 package com.inditex.price.integration;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +18,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 /**
  * Tests de integración para el API REST de consulta de precios
@@ -36,7 +41,7 @@ class PriceControllerIntegrationTest {
         @Order(1)
         @DisplayName("Test 1: Consulta día 14 a las 10:00 - Debe devolver precio 35.50")
         void shouldReturnBasePriceAt14th10AM() throws Exception {
-                mockMvc.perform(get(BASE_URL)
+                performAsync(get(BASE_URL)
                                 .param("applicationDate", "2020-06-14T10:00:00")
                                 .param("productId", "35455")
                                 .param("brandId", "1"))
@@ -53,7 +58,7 @@ class PriceControllerIntegrationTest {
         @Order(2)
         @DisplayName("Test 2: Consulta día 14 a las 16:00 - Debe devolver precio 25.45")
         void shouldReturnPromotionalPriceAt14th4PM() throws Exception {
-                mockMvc.perform(get(BASE_URL)
+                performAsync(get(BASE_URL)
                                 .param("applicationDate", "2020-06-14T16:00:00")
                                 .param("productId", "35455")
                                 .param("brandId", "1"))
@@ -70,7 +75,7 @@ class PriceControllerIntegrationTest {
         @Order(3)
         @DisplayName("Test 3: Consulta día 14 a las 21:00 - Debe devolver precio 35.50")
         void shouldReturnBasePriceAt14th9PM() throws Exception {
-                mockMvc.perform(get(BASE_URL)
+                performAsync(get(BASE_URL)
                                 .param("applicationDate", "2020-06-14T21:00:00")
                                 .param("productId", "35455")
                                 .param("brandId", "1"))
@@ -87,7 +92,7 @@ class PriceControllerIntegrationTest {
         @Order(4)
         @DisplayName("Test 4: Consulta día 15 a las 10:00 - Debe devolver precio 30.50")
         void shouldReturnMorningSpecialPriceAt15th10AM() throws Exception {
-                mockMvc.perform(get(BASE_URL)
+                performAsync(get(BASE_URL)
                                 .param("applicationDate", "2020-06-15T10:00:00")
                                 .param("productId", "35455")
                                 .param("brandId", "1"))
@@ -106,7 +111,7 @@ class PriceControllerIntegrationTest {
         // aqui la consulta aparecera 3 registros con la misma prioridad seleccionamos
         // el de mayor fecha.
         void shouldReturnPremiumPriceAt16th9PM() throws Exception {
-                mockMvc.perform(get(BASE_URL)
+                performAsync(get(BASE_URL)
                                 .param("applicationDate", "2020-06-16T21:00:00")
                                 .param("productId", "35455")
                                 .param("brandId", "1"))
@@ -123,7 +128,7 @@ class PriceControllerIntegrationTest {
         @Order(6)
         @DisplayName("Error: Producto no existente - Debe devolver Error 404")
         void shouldReturn404ForNonExistentProduct() throws Exception {
-                mockMvc.perform(get(BASE_URL)
+                performAsync(get(BASE_URL)
                                 .param("applicationDate", "2020-06-14T10:00:00")
                                 .param("productId", "99999")
                                 .param("brandId", "1"))
@@ -137,7 +142,7 @@ class PriceControllerIntegrationTest {
         @Order(7)
         @DisplayName("Error: Marca no existente - Debe devolver Error 404")
         void shouldReturn404ForNonExistentBrand() throws Exception {
-                mockMvc.perform(get(BASE_URL)
+                performAsync(get(BASE_URL)
                                 .param("applicationDate", "2020-06-14T10:00:00")
                                 .param("productId", "35455")
                                 .param("brandId", "999"))
@@ -151,7 +156,7 @@ class PriceControllerIntegrationTest {
         @Order(8)
         @DisplayName("Error: Fecha fuera de rango - Debe devolver Error 404")
         void shouldReturn404ForDateOutOfRange() throws Exception {
-                mockMvc.perform(get(BASE_URL)
+                performAsync(get(BASE_URL)
                                 .param("applicationDate", "2014-06-14T10:00:00")
                                 .param("productId", "35455")
                                 .param("brandId", "1"))
@@ -214,7 +219,7 @@ class PriceControllerIntegrationTest {
         @Order(11)
         @DisplayName("Test de límites: Inicio exacto de periodo promocional")
         void shouldWorkAtExactStartOfPromotionalPeriod() throws Exception {
-                mockMvc.perform(get(BASE_URL)
+                performAsync(get(BASE_URL)
                                 .param("applicationDate", "2020-06-14T15:00:00")
                                 .param("productId", "35455")
                                 .param("brandId", "1"))
@@ -227,7 +232,7 @@ class PriceControllerIntegrationTest {
         @Order(12)
         @DisplayName("Test de límites: Final exacto de periodo promocional")
         void shouldWorkAtExactEndOfPromotionalPeriod() throws Exception {
-                mockMvc.perform(get(BASE_URL)
+                performAsync(get(BASE_URL)
                                 .param("applicationDate", "2020-06-14T18:30:00")
                                 .param("productId", "35455")
                                 .param("brandId", "1"))
@@ -242,7 +247,7 @@ class PriceControllerIntegrationTest {
         void shouldHandleConcurrentRequests() throws Exception {
                 // Simulamos varias consultas concurrentes
                 for (int i = 0; i < 10; i++) {
-                        mockMvc.perform(get(BASE_URL)
+                        performAsync(get(BASE_URL)
                                         .param("applicationDate", "2020-06-14T16:00:00")
                                         .param("productId", "35455")
                                         .param("brandId", "1"))
@@ -250,4 +255,29 @@ class PriceControllerIntegrationTest {
                                         .andExpect(jsonPath("$.price").value(25.45));
                 }
         }
-}
\ No newline at end of file
+
+        @Test
+        @Order(14)
+        @DisplayName("Error: Consulta por versión sin versiones del catálogo - Debe devolver Error 501")
+        void shouldReturn501ForVersionLookupWhenVersionsDisabled() throws Exception {
+                performAsync(get(BASE_URL)
+                                .param("applicationDate", "2020-06-14T10:00:00")
+                                .param("productId", "35455")
+                                .param("brandId", "1")
+                                .param("asOfVersion", "1"))
+                                .andExpect(status().isNotImplemented())
+                                .andExpect(jsonPath("$.error").value("Versiones no disponibles"));
+        }
+
+        /**
+         * La consulta se resuelve en el pool de consultas de precio: se espera a que
+         * termine y se despacha la respuesta
+         */
+        private ResultActions performAsync(RequestBuilder builder) throws Exception {
+                MvcResult result = mockMvc.perform(builder)
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                return mockMvc.perform(asyncDispatch(result));
+        }
+}
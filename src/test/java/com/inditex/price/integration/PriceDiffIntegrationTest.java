@@ -0,0 +1,69 @@
+package com.inditex.price.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Tests de integración para las diferencias de precios de una marca entre dos
+ * instantes
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class PriceDiffIntegrationTest {
+
+        private static final String DIFF_URL = "/api/v1/prices/diff";
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("Debería devolver solo los productos cuyo precio cambia entre los dos instantes")
+        void shouldStreamOnlyChangedProducts() throws Exception {
+                String body = diff("2020-06-14T10:00:00", "2020-06-14T16:00:00");
+
+                assertEquals("{\"productId\":35455,\"brandId\":1,\"oldPriceList\":1,\"oldPrice\":35.50,\"oldCurrency\":\"EUR\","
+                                + "\"newPriceList\":2,\"newPrice\":25.45,\"newCurrency\":\"EUR\"}\n", body);
+        }
+
+        @Test
+        @DisplayName("Debería devolver un cuerpo vacío cuando ningún precio cambia")
+        void shouldStreamNothingWithoutChanges() throws Exception {
+                assertEquals("", diff("2020-06-14T19:00:00", "2020-06-14T20:00:00"));
+        }
+
+        @Test
+        @DisplayName("Debería rechazar instantes no ordenados")
+        void shouldRejectUnorderedInstants() throws Exception {
+                mockMvc.perform(get(DIFF_URL)
+                                .param("brandId", "1")
+                                .param("from", "2020-06-14T16:00:00")
+                                .param("to", "2020-06-14T10:00:00"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        private String diff(String from, String to) throws Exception {
+                MvcResult result = mockMvc.perform(get(DIFF_URL)
+                                .param("brandId", "1")
+                                .param("from", from)
+                                .param("to", to))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                return mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsString();
+        }
+}
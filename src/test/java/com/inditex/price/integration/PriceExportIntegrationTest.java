@@ -0,0 +1,77 @@
+package com.inditex.price.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Tests de integración para la exportación NDJSON de precios de una marca
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class PriceExportIntegrationTest {
+
+        private static final String EXPORT_URL = "/api/v1/prices/export";
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("Debería exportar una línea por producto con su precio aplicable")
+        void shouldExportOneLinePerProduct() throws Exception {
+                // When
+                MvcResult result = mockMvc.perform(get(EXPORT_URL)
+                                .param("applicationDate", "2020-06-14T16:00:00")
+                                .param("brandId", "1"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // Then
+                String body = mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("application/x-ndjson"))
+                                .andReturn().getResponse().getContentAsString();
+
+                String[] lines = body.split("\n");
+                assertEquals(2, lines.length);
+                assertEquals("{\"productId\":12345,\"brandId\":1,\"priceList\":1,\"price\":99.99,\"currency\":\"EUR\"}",
+                                lines[0]);
+                assertEquals("{\"productId\":35455,\"brandId\":1,\"priceList\":2,\"price\":25.45,\"currency\":\"EUR\"}",
+                                lines[1]);
+        }
+
+        @Test
+        @DisplayName("Debería devolver un cuerpo vacío si la marca no tiene precios en la fecha")
+        void shouldExportNothingWhenNoPricesApply() throws Exception {
+                MvcResult result = mockMvc.perform(get(EXPORT_URL)
+                                .param("applicationDate", "2030-01-01T00:00:00")
+                                .param("brandId", "1"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("Debería rechazar la exportación sin marca")
+        void shouldRejectExportWithoutBrand() throws Exception {
+                mockMvc.perform(get(EXPORT_URL)
+                                .param("applicationDate", "2020-06-14T16:00:00"))
+                                .andExpect(status().isBadRequest());
+        }
+}
@@ -0,0 +1,73 @@
+package com.inditex.price.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+/**
+ * Tests de integración para el historial de precios paginado
+ * Recorre los tramos del producto 35455 entre el 14 y el 16 de junio
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class PriceHistoryIntegrationTest {
+
+        private static final String HISTORY_URL = "/api/v1/prices/history";
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("Debería recorrer el historial en páginas encadenadas con nextFrom")
+        void shouldWalkHistoryThroughPages() throws Exception {
+                mockMvc.perform(history("2020-06-14T00:00:00"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.segments[*].priceList", Matchers.contains(1, 2, 1)))
+                                .andExpect(jsonPath("$.segments[1].startDate").value("2020-06-14T15:00:00"))
+                                .andExpect(jsonPath("$.segments[1].endDate").value("2020-06-14T18:30:00"))
+                                .andExpect(jsonPath("$.nextFrom").value("2020-06-15T00:00:00"));
+
+                mockMvc.perform(history("2020-06-15T00:00:00"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.segments[*].priceList", Matchers.contains(3, 1, 4)))
+                                .andExpect(jsonPath("$.nextFrom").value("2020-06-16T10:00:00"));
+
+                mockMvc.perform(history("2020-06-16T10:00:00"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.segments[*].priceList", Matchers.contains(5, 4)))
+                                .andExpect(jsonPath("$.segments[0].price").value(40.25))
+                                .andExpect(jsonPath("$.segments[1].endDate").value("2020-06-16T23:59:59"))
+                                .andExpect(jsonPath("$.nextFrom").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Debería rechazar un rango invertido")
+        void shouldRejectInvertedRange() throws Exception {
+                mockMvc.perform(get(HISTORY_URL)
+                                .param("productId", "35455")
+                                .param("brandId", "1")
+                                .param("from", "2020-06-16T00:00:00")
+                                .param("to", "2020-06-14T00:00:00"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        private static RequestBuilder history(String from) {
+                return get(HISTORY_URL)
+                                .param("productId", "35455")
+                                .param("brandId", "1")
+                                .param("from", from)
+                                .param("to", "2020-06-16T23:59:59")
+                                .param("pageSize", "3");
+        }
+}
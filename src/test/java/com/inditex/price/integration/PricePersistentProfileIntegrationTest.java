@@ -0,0 +1,65 @@
+package com.inditex.price.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.inditex.price.PriceServiceApplication;
+
+/**
+ * Tests de integración del perfil persistent: la base de datos H2 en fichero
+ * se crea con las migraciones Flyway en el primer arranque y se reabre con
+ * sus datos en los siguientes
+ */
+class PricePersistentProfileIntegrationTest {
+
+        private static final String INSERT_SQL = "INSERT INTO PRICES "
+                        + "(BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                        + "VALUES (1, '2030-01-01 00:00:00', '2030-12-31 23:59:59', 9, 880001, 0, 19.99, 'EUR')";
+
+        @TempDir
+        Path dataDir;
+
+        @Test
+        @DisplayName("Debería conservar los datos y el esquema versionado entre reinicios")
+        void shouldReopenExistingStoreOnRestart() {
+                // Given - primer arranque: migraciones y una tarifa nueva
+                try (ConfigurableApplicationContext first = start()) {
+                        JdbcTemplate jdbcTemplate = first.getBean(JdbcTemplate.class);
+                        assertEquals(4, count(jdbcTemplate, "SELECT COUNT(*) FROM PRICES"));
+                        jdbcTemplate.update(INSERT_SQL);
+                }
+
+                // When
+                try (ConfigurableApplicationContext second = start()) {
+                        JdbcTemplate jdbcTemplate = second.getBean(JdbcTemplate.class);
+
+                        // Then - sin recargar las tarifas de ejemplo ni repetir migraciones
+                        assertEquals(5, count(jdbcTemplate, "SELECT COUNT(*) FROM PRICES"));
+                        assertEquals(1, count(jdbcTemplate, "SELECT COUNT(*) FROM PRICES WHERE PRODUCT_ID = 880001"));
+                        assertEquals(3, count(jdbcTemplate,
+                                        "SELECT COUNT(*) FROM \"flyway_schema_history\" WHERE \"type\" = 'SQL' AND \"success\" = TRUE"));
+                }
+        }
+
+        private ConfigurableApplicationContext start() {
+                String[] args = { "--spring.profiles.active=persistent",
+                                "--price.data-dir=" + dataDir.toAbsolutePath(),
+                                "--server.port=0",
+                                "--price.archive.enabled=false",
+                                "--price.warmup.enabled=false",
+                                "--price.recorder.enabled=false" };
+                return new SpringApplicationBuilder(PriceServiceApplication.class).run(args);
+        }
+
+        private static int count(JdbcTemplate jdbcTemplate, String sql) {
+                return jdbcTemplate.queryForObject(sql, Integer.class);
+        }
+}
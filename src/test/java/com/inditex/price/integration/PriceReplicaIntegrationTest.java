@@ -0,0 +1,199 @@
+package com.inditex.price.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.Money;
+import com.inditex.price.domain.valueobject.Priority;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.changes.PriceChange;
+import com.inditex.price.infrastructure.changes.PriceChangePoller;
+import com.inditex.price.infrastructure.changes.PriceChangeType;
+import com.inditex.price.infrastructure.index.PriceKey;
+import com.inditex.price.infrastructure.persitence.entity.PriceJpaEntity;
+import com.inditex.price.infrastructure.persitence.repositories.PriceJpaRepository;
+import com.inditex.price.infrastructure.replica.PriceReplica;
+import com.inditex.price.infrastructure.replica.PriceReplicas;
+
+/**
+ * Tests de integración de las réplicas de lectura con dos bases de datos H2
+ * copiadas desde la principal. Sin índice en memoria, para que cada consulta
+ * llegue a base de datos
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+                "price.index.enabled=false",
+                "price.replicas.enabled=true",
+                "price.replicas.names=r1,r2",
+                "price.replicas.r1.url=jdbc:h2:mem:replica-1;DB_CLOSE_DELAY=-1",
+                "price.replicas.r2.url=jdbc:h2:mem:replica-2;DB_CLOSE_DELAY=-1",
+                "price.replicas.initialize-schema=true",
+                "price.replicas.probe-interval-ms=600000" })
+class PriceReplicaIntegrationTest {
+
+        private static final long BRAND = 1L;
+        private static final long PRODUCT = 424242L;
+
+        private static final String INSERT_SQL = "INSERT INTO PRICES "
+                        + "(BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                        + "VALUES (?, '2020-06-14 00:00:00', '2020-12-31 23:59:59', 5, ?, 0, 10.00, 'EUR')";
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private PriceReplicas priceReplicas;
+
+        @Autowired
+        private PriceJpaRepository priceJpaRepository;
+
+        @Autowired
+        private PriceChangePoller priceChangePoller;
+
+        @BeforeEach
+        void seedPrimaryAndCopyReplicas() {
+                jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID = ?", PRODUCT);
+                jdbcTemplate.update(INSERT_SQL, BRAND, PRODUCT);
+                priceReplicas.resync();
+        }
+
+        @Test
+        @DisplayName("Debería copiar en cada réplica las tarifas de la base de datos principal")
+        void shouldCopyPrimaryIntoReplicas() {
+                for (PriceReplica replica : priceReplicas.getReplicas()) {
+                        // Then
+                        assertEquals(new BigDecimal("10.00"), replicaPrice(replica), replica.getName());
+                }
+        }
+
+        @Test
+        @DisplayName("Debería resolver las consultas en las réplicas")
+        void shouldServeLookupsFromReplicas() throws Exception {
+                // Given - las réplicas difieren de la principal solo para detectar de dónde se lee
+                setReplicaPrices("77.77");
+
+                // When / Then
+                lookup().andExpect(status().isOk())
+                                .andExpect(jsonPath("$.price").value(77.77));
+        }
+
+        @Test
+        @DisplayName("Debería leer de la base de datos principal durante una escritura masiva y volver a copiar las réplicas al terminar")
+        void shouldFallBackToPrimaryDuringBulkWrite() throws Exception {
+                // Given
+                setReplicaPrices("77.77");
+
+                // When
+                priceReplicas.beginBulkWrite();
+                try {
+                        // Then - ninguna réplica disponible
+                        lookup().andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.price").value(10.00));
+                } finally {
+                        priceReplicas.endBulkWrite();
+                }
+
+                // Then - réplicas copiadas de nuevo desde la principal
+                for (PriceReplica replica : priceReplicas.getReplicas()) {
+                        assertEquals(new BigDecimal("10.00"), replicaPrice(replica), replica.getName());
+                }
+        }
+
+        @Test
+        @DisplayName("Debería aplicar en las réplicas los cambios capturados en la base de datos principal")
+        void shouldApplyCapturedChangesToReplicas() {
+                // Given
+                PriceJpaEntity saved = priceJpaRepository.save(new PriceJpaEntity(BRAND,
+                                LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 6,
+                                PRODUCT, 1, new BigDecimal("12.34"), "EUR"));
+
+                // When
+                priceChangePoller.poll();
+
+                // Then
+                for (PriceReplica replica : priceReplicas.getReplicas()) {
+                        BigDecimal replicated = new JdbcTemplate(replica.getDataSource()).queryForObject(
+                                        "SELECT PRICE FROM PRICES WHERE ID = ?", BigDecimal.class, saved.getId());
+                        assertEquals(new BigDecimal("12.34"), replicated, replica.getName());
+                        assertEquals(0L, replica.lagMillis(System.currentTimeMillis()), replica.getName());
+                }
+        }
+
+        @Test
+        @DisplayName("Debería aplicar un cambio con id anterior al último aplicado que se confirma tarde")
+        void shouldApplyLateCommittedChangeWithLowerId() {
+                // Given - la copia completa ya cubre cambios posteriores
+                Long priceId = jdbcTemplate.queryForObject("SELECT ID FROM PRICES WHERE PRODUCT_ID = ?", Long.class,
+                                PRODUCT);
+                Price updated = Price.builder()
+                                .id(priceId)
+                                .brandId(new BrandId(BRAND))
+                                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                                .endDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59))
+                                .priceList(5)
+                                .productId(new ProductId(PRODUCT))
+                                .priority(new Priority(0))
+                                .price(new Money(new BigDecimal("55.55"), "EUR"))
+                                .build();
+
+                // When
+                priceReplicas.onPriceChanges(Collections.singletonList(new PriceChange(0L, PriceChangeType.UPDATE,
+                                new PriceKey(BRAND, PRODUCT), priceId, updated)));
+
+                // Then
+                for (PriceReplica replica : priceReplicas.getReplicas()) {
+                        assertEquals(new BigDecimal("55.55"), replicaPrice(replica), replica.getName());
+                }
+        }
+
+        private void setReplicaPrices(String price) {
+                for (PriceReplica replica : priceReplicas.getReplicas()) {
+                        new JdbcTemplate(replica.getDataSource()).update(
+                                        "UPDATE PRICES SET PRICE = ? WHERE PRODUCT_ID = ?", new BigDecimal(price),
+                                        PRODUCT);
+                }
+        }
+
+        private BigDecimal replicaPrice(PriceReplica replica) {
+                return new JdbcTemplate(replica.getDataSource()).queryForObject(
+                                "SELECT PRICE FROM PRICES WHERE PRODUCT_ID = ? AND PRICE_LIST = 5", BigDecimal.class,
+                                PRODUCT);
+        }
+
+        private ResultActions lookup() throws Exception {
+                MvcResult result = mockMvc.perform(get("/api/v1/prices")
+                                .param("applicationDate", "2020-06-14T10:00:00")
+                                .param("productId", String.valueOf(PRODUCT))
+                                .param("brandId", String.valueOf(BRAND)))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                return mockMvc.perform(asyncDispatch(result));
+        }
+}
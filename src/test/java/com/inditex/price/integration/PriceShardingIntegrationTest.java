@@ -0,0 +1,127 @@
+package com.inditex.price.integration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.infrastructure.shard.PriceShard;
+import com.inditex.price.infrastructure.shard.PriceShards;
+
+/**
+ * Tests de integración del catálogo repartido por marca en dos bases de datos
+ * H2: la marca 1 vive en el shard a y la 2 en el b, con tarifas distintas de
+ * las de la base de datos principal
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+                "price.sharding.enabled=true",
+                "price.sharding.shards=a,b",
+                "price.sharding.a.url=jdbc:h2:mem:shard-a;DB_CLOSE_DELAY=-1",
+                "price.sharding.b.url=jdbc:h2:mem:shard-b;DB_CLOSE_DELAY=-1",
+                "price.sharding.brands=1=a,2=b",
+                "price.sharding.initialize-schema=true",
+                "price.changes.enabled=false" })
+class PriceShardingIntegrationTest {
+
+        private static final String INSERT_SQL = "INSERT INTO PRICES "
+                        + "(BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                        + "VALUES (?, '2020-06-14 00:00:00', '2020-12-31 23:59:59', ?, 35455, 0, ?, 'EUR')";
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private PriceShards priceShards;
+
+        @Autowired
+        private PriceRepository priceRepository;
+
+        @BeforeEach
+        void seedShards() {
+                for (PriceShard shard : priceShards.getShards()) {
+                        new JdbcTemplate(shard.getDataSource()).update("DELETE FROM PRICES");
+                }
+                insert("a", 1L, 7, "11.11");
+                insert("b", 2L, 8, "22.22");
+        }
+
+        @Test
+        @DisplayName("Debería indicar a través del repositorio principal que el catálogo está repartido por marca")
+        void shouldExposePartitioningThroughPrimaryRepository() {
+                // When & Then
+                assertTrue(priceRepository.isPartitionedByBrand());
+        }
+
+        @Test
+        @DisplayName("Debería leer cada marca de su shard y no de la base de datos principal")
+        void shouldRouteLookupsByBrand() throws Exception {
+                performAsync(get("/api/v1/prices")
+                                .param("applicationDate", "2020-06-14T10:00:00")
+                                .param("productId", "35455")
+                                .param("brandId", "1"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.priceList").value(7))
+                                .andExpect(jsonPath("$.price").value(11.11));
+
+                performAsync(get("/api/v1/prices")
+                                .param("applicationDate", "2020-06-14T10:00:00")
+                                .param("productId", "35455")
+                                .param("brandId", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.priceList").value(8))
+                                .andExpect(jsonPath("$.price").value(22.22));
+        }
+
+        @Test
+        @DisplayName("Debería resolver un lote con marcas de varios shards en el orden de la petición")
+        void shouldResolveBatchAcrossShards() throws Exception {
+                String body = "{\"queries\":["
+                                + "{\"applicationDate\":\"2020-06-14T10:00:00\",\"productId\":35455,\"brandId\":2},"
+                                + "{\"applicationDate\":\"2020-06-14T10:00:00\",\"productId\":35455,\"brandId\":1}]}";
+
+                performAsync(post("/api/v1/prices/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.found").value(2))
+                                .andExpect(jsonPath("$.results[0].price.priceList").value(8))
+                                .andExpect(jsonPath("$.results[1].price.priceList").value(7));
+        }
+
+        private void insert(String shard, long brandId, int priceList, String price) {
+                PriceShard target = priceShards.getShards().stream()
+                                .filter(candidate -> candidate.getName().equals(shard))
+                                .findFirst()
+                                .orElseThrow();
+                new JdbcTemplate(target.getDataSource()).update(INSERT_SQL, brandId, priceList,
+                                new BigDecimal(price));
+        }
+
+        private ResultActions performAsync(RequestBuilder builder) throws Exception {
+                MvcResult result = mockMvc.perform(builder)
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                return mockMvc.perform(asyncDispatch(result));
+        }
+}
@@ -1,8 +1,10 @@
 package com.inditex.price.integration;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +18,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 /**
  * Tests de sistema con las 5 casuísticas específicas del ejercicio Inditex
@@ -38,7 +43,7 @@ class PriceSystemTestCases {
     @Order(1)
     @DisplayName("Caso 1: petición a las 10:00 del día 14 del producto 35455 para la brand 1 (ZARA)")
     void testCase1_Day14At10AM() throws Exception {
-        mockMvc.perform(get(BASE_URL)
+        performAsync(get(BASE_URL)
                 .param("applicationDate", "2020-06-14T10:00:00")
                 .param("productId", PRODUCT_ID)
                 .param("brandId", BRAND_ID))
@@ -55,7 +60,7 @@ class PriceSystemTestCases {
     @Order(2)
     @DisplayName("Caso 2: petición a las 16:00 del día 14 del producto 35455 para la brand 1 (ZARA)")
     void testCase2_Day14At4PM() throws Exception {
-        mockMvc.perform(get(BASE_URL)
+        performAsync(get(BASE_URL)
                 .param("applicationDate", "2020-06-14T16:00:00")
                 .param("productId", PRODUCT_ID)
                 .param("brandId", BRAND_ID))
@@ -72,7 +77,7 @@ class PriceSystemTestCases {
     @Order(3)
     @DisplayName("Caso 3: petición a las 21:00 del día 14 del producto 35455 para la brand 1 (ZARA)")
     void testCase3_Day14At9PM() throws Exception {
-        mockMvc.perform(get(BASE_URL)
+        performAsync(get(BASE_URL)
                 .param("applicationDate", "2020-06-14T21:00:00")
                 .param("productId", PRODUCT_ID)
                 .param("brandId", BRAND_ID))
@@ -89,7 +94,7 @@ class PriceSystemTestCases {
     @Order(4)
     @DisplayName("Caso 4: petición a las 10:00 del día 15 del producto 35455 para la brand 1 (ZARA)")
     void testCase4_Day15At10AM() throws Exception {
-        mockMvc.perform(get(BASE_URL)
+        performAsync(get(BASE_URL)
                 .param("applicationDate", "2020-06-15T10:00:00")
                 .param("productId", PRODUCT_ID)
                 .param("brandId", BRAND_ID))
@@ -106,7 +111,7 @@ class PriceSystemTestCases {
     @Order(5)
     @DisplayName("Caso 5: petición a las 21:00 del día 16 del producto 35455 para la brand 1 (ZARA)")
     void testCase5_Day16At9PM() throws Exception {
-        mockMvc.perform(get(BASE_URL)
+        performAsync(get(BASE_URL)
                 .param("applicationDate", "2020-06-16T21:00:00")
                 .param("productId", PRODUCT_ID)
                 .param("brandId", BRAND_ID))
@@ -124,7 +129,7 @@ class PriceSystemTestCases {
     @DisplayName("Caso adicional: Verificación de límites exactos de periodo promocional")
     void testCase_ExactBoundaries() throws Exception {
         // Inicio exacto de la promoción del día 14 (15:00)
-        mockMvc.perform(get(BASE_URL)
+        performAsync(get(BASE_URL)
                 .param("applicationDate", "2020-06-14T15:00:00")
                 .param("productId", PRODUCT_ID)
                 .param("brandId", BRAND_ID))
@@ -133,7 +138,7 @@ class PriceSystemTestCases {
                 .andExpect(jsonPath("$.price").value(25.45));
 
         // Final exacto de la promoción del día 14 (18:30)
-        mockMvc.perform(get(BASE_URL)
+        performAsync(get(BASE_URL)
                 .param("applicationDate", "2020-06-14T18:30:00")
                 .param("productId", PRODUCT_ID)
                 .param("brandId", BRAND_ID))
@@ -143,7 +148,7 @@ class PriceSystemTestCases {
 
         // Un minuto después del final de la promoción (18:31) - debe volver al precio
         // base
-        mockMvc.perform(get(BASE_URL)
+        performAsync(get(BASE_URL)
                 .param("applicationDate", "2020-06-14T18:31:00")
                 .param("productId", PRODUCT_ID)
                 .param("brandId", BRAND_ID))
@@ -159,7 +164,7 @@ class PriceSystemTestCases {
         // Durante el solapamiento entre precio base (prioridad 0) y promocional
         // (prioridad 1)
         // Debe devolver el de mayor prioridad (promocional)
-        mockMvc.perform(get(BASE_URL)
+        performAsync(get(BASE_URL)
                 .param("applicationDate", "2020-06-15T10:30:00")
                 .param("productId", PRODUCT_ID)
                 .param("brandId", BRAND_ID))
@@ -177,7 +182,7 @@ class PriceSystemTestCases {
         int numberOfRequests = 50;
 
         for (int i = 0; i < numberOfRequests; i++) {
-            mockMvc.perform(get(BASE_URL)
+            performAsync(get(BASE_URL)
                     .param("applicationDate", "2020-06-14T16:00:00")
                     .param("productId", PRODUCT_ID)
                     .param("brandId", BRAND_ID))
@@ -186,4 +191,16 @@ class PriceSystemTestCases {
                     .andExpect(jsonPath("$.price").value(25.45));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * La consulta se resuelve en el pool de consultas de precio: se espera a que
+     * termine y se despacha la respuesta
+     */
+    private ResultActions performAsync(RequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,196 @@
+package com.inditex.price.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.inditex.price.domain.model.Price;
+import com.inditex.price.domain.repository.PriceRepository;
+import com.inditex.price.domain.valueobject.BrandId;
+import com.inditex.price.domain.valueobject.ProductId;
+import com.inditex.price.infrastructure.config.PriceStorageConfig;
+import com.inditex.price.infrastructure.kv.PriceKeyValueStore;
+import com.inditex.price.infrastructure.persitence.adapters.PriceRepositoryAdapter;
+
+/**
+ * Test de carga del almacén clave-valor frente al adaptador JPA
+ *
+ * Genera un catálogo de price.loadtest.kv-rows tarifas (10M con el perfil
+ * load-test) en una base de datos H2 en fichero, lo importa al almacén
+ * clave-valor, también en fichero para no depender del tamaño del heap, y
+ * resuelve las mismas consultas puntuales aleatorias con los dos adaptadores
+ * en un solo hilo. Las latencias se registran en histogramas HdrHistogram que
+ * se vuelcan en target/load-test/kv-store.txt, y el test falla si la mediana
+ * del almacén clave-valor no es mejor que la del adaptador JPA
+ *
+ * Solo se ejecuta con el perfil Maven load-test
+ */
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/load-test/kv/prices;DB_CLOSE_ON_EXIT=FALSE",
+        "logging.level.com.inditex.price=WARN",
+        "price.recorder.enabled=false",
+        "price.index.enabled=false",
+        "price.kv.enabled=true",
+        "price.kv.file=target/load-test/kv/prices-kv.mv.db" })
+class PriceKeyValueStoreLoadTest {
+
+    private static final Logger logger = LogManager.getLogger(PriceKeyValueStoreLoadTest.class);
+
+    private static final long BRAND = 99L;
+    private static final long FIRST_PRODUCT = 5_000_000L;
+    private static final int TARIFFS_PER_PRODUCT = 4;
+    private static final int INSERT_CHUNK = 10_000;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(10);
+
+    private static final String INSERT_SQL = "INSERT INTO PRICES "
+            + "(BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final long rows = Long.getLong("price.loadtest.kv-rows", 1_000_000L);
+    private final int lookups = Integer.getInteger("price.loadtest.kv-lookups", 100_000);
+    private final int warmUpLookups = Integer.getInteger("price.loadtest.warmup-requests", 5_000);
+    private final Path reportDir = Paths.get(System.getProperty("price.loadtest.report-dir", "target/load-test"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PriceKeyValueStore priceKeyValueStore;
+
+    @Autowired
+    private PriceRepositoryAdapter priceRepositoryAdapter;
+
+    @Autowired
+    @Qualifier(PriceStorageConfig.PRICE_STORAGE)
+    private PriceRepository priceStorage;
+
+    private long products;
+    private long importMillis;
+
+    @BeforeAll
+    void generateCatalog() {
+        products = rows / TARIFFS_PER_PRODUCT;
+        Random random = new Random(42L);
+        List<Object[]> chunk = new ArrayList<>(INSERT_CHUNK + TARIFFS_PER_PRODUCT);
+        for (long p = 0; p < products; p++) {
+            long productId = FIRST_PRODUCT + p;
+            // Tarifa base de todo el año y promociones de prioridad mayor dentro de él
+            chunk.add(row(productId, LocalDateTime.of(2021, 1, 1, 0, 0), LocalDateTime.of(2021, 12, 31, 23, 59, 59),
+                    1, 0, 10 + random.nextInt(90)));
+            for (int t = 1; t < TARIFFS_PER_PRODUCT; t++) {
+                LocalDateTime start = LocalDateTime.of(2021, 1 + random.nextInt(11), 1 + random.nextInt(28), 0, 0);
+                chunk.add(row(productId, start, start.plusDays(1 + random.nextInt(30)), 1 + t, 1,
+                        5 + random.nextInt(90)));
+            }
+            if (chunk.size() >= INSERT_CHUNK) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, chunk);
+                chunk.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, chunk);
+
+        long start = System.nanoTime();
+        priceKeyValueStore.reimport();
+        importMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @Test
+    @DisplayName("Debería resolver las consultas puntuales antes con el almacén clave-valor que con JPA")
+    void shouldLookUpFasterThanJpa() throws Exception {
+        // Given
+        BrandId brand = new BrandId(BRAND);
+        Random random = new Random(7L);
+        List<ProductId> productIds = new ArrayList<>(lookups);
+        List<LocalDateTime> dates = new ArrayList<>(lookups);
+        for (int i = 0; i < lookups; i++) {
+            productIds.add(new ProductId(FIRST_PRODUCT + (long) (random.nextDouble() * products)));
+            dates.add(LocalDateTime.of(2021, 1 + random.nextInt(12), 1 + random.nextInt(28), 12, 0));
+        }
+        assertTrue(priceKeyValueStore.isReady());
+
+        // When
+        Histogram jpa = measure(priceRepositoryAdapter, brand, productIds, dates);
+        Histogram keyValue = measure(priceStorage, brand, productIds, dates);
+
+        // Then - mismas tarifas con los dos adaptadores, sin depender del orden entre empates
+        for (int i = 0; i < 100; i++) {
+            List<Price> expected = priceRepositoryAdapter.findApplicablePrices(productIds.get(i), brand, dates.get(i));
+            List<Price> actual = priceStorage.findApplicablePrices(productIds.get(i), brand, dates.get(i));
+            assertEquals(ids(expected), ids(actual));
+        }
+
+        Files.createDirectories(reportDir);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(reportDir.resolve("kv-store.txt")), true,
+                "UTF-8")) {
+            out.printf("Catálogo: %d tarifas, importación al almacén clave-valor: %d ms%n", products
+                    * TARIFFS_PER_PRODUCT, importMillis);
+            out.printf("%n== JPA (p50 %d us, p99 %d us) ==%n", jpa.getValueAtPercentile(50),
+                    jpa.getValueAtPercentile(99));
+            jpa.outputPercentileDistribution(out, 1.0);
+            out.printf("%n== Clave-valor (p50 %d us, p99 %d us) ==%n", keyValue.getValueAtPercentile(50),
+                    keyValue.getValueAtPercentile(99));
+            keyValue.outputPercentileDistribution(out, 1.0);
+        }
+        logger.warn("Consultas puntuales sobre {} tarifas: JPA p50 {} us, clave-valor p50 {} us",
+                products * TARIFFS_PER_PRODUCT, jpa.getValueAtPercentile(50), keyValue.getValueAtPercentile(50));
+
+        assertTrue(keyValue.getValueAtPercentile(50) < jpa.getValueAtPercentile(50),
+                "La mediana del almacén clave-valor no mejora la de JPA");
+    }
+
+    private Histogram measure(PriceRepository repository, BrandId brand, List<ProductId> productIds,
+            List<LocalDateTime> dates) {
+        for (int i = 0; i < Math.min(warmUpLookups, productIds.size()); i++) {
+            repository.findApplicablePrices(productIds.get(i), brand, dates.get(i));
+        }
+        Histogram histogram = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        for (int i = 0; i < productIds.size(); i++) {
+            long start = System.nanoTime();
+            repository.findApplicablePrices(productIds.get(i), brand, dates.get(i));
+            histogram.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS,
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start)));
+        }
+        return histogram;
+    }
+
+    private static List<Long> ids(List<Price> prices) {
+        List<Long> ids = new ArrayList<>(prices.size());
+        prices.forEach(price -> ids.add(price.getId()));
+        ids.sort(null);
+        return ids;
+    }
+
+    private static Object[] row(long productId, LocalDateTime start, LocalDateTime end, int priceList,
+            int priority, int euros) {
+        return new Object[] { BRAND, Timestamp.valueOf(start), Timestamp.valueOf(end), priceList, productId,
+                priority, BigDecimal.valueOf(euros * 100L, 2), "EUR" };
+    }
+}
@@ -0,0 +1,226 @@
+package com.inditex.price.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.inditex.price.domain.model.EpochTime;
+import com.inditex.price.infrastructure.index.PriceCatalogReloader;
+import com.inditex.price.infrastructure.recording.HotKeyReplayer;
+import com.inditex.price.infrastructure.recording.RecordedLookup;
+import com.inditex.price.infrastructure.recording.ReplayReport;
+
+/**
+ * Test de carga del servicio de precios
+ *
+ * Arranca la aplicación en un puerto aleatorio con un catálogo generado y
+ * lanza tráfico mixto por HTTP (aciertos, consultas sin tarifa y lotes) con
+ * cada nivel de concurrencia configurado. Las latencias se registran en
+ * histogramas HdrHistogram, que se vuelcan en target/load-test, y el test
+ * falla si el p99 o el rendimiento se salen del presupuesto
+ *
+ * Solo se ejecuta con el perfil Maven load-test; los parámetros llegan como
+ * propiedades de sistema desde ese perfil
+ */
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "logging.level.com.inditex.price=WARN",
+        "price.recorder.enabled=false" })
+class PriceLoadTest {
+
+    private static final Logger logger = LogManager.getLogger(PriceLoadTest.class);
+
+    private static final long BRAND = 99L;
+    private static final long FIRST_PRODUCT = 5_000_000L;
+    private static final int TARIFFS_PER_PRODUCT = 4;
+    private static final int BATCH_SIZE = 20;
+    private static final int INSERT_CHUNK = 5_000;
+    private static final LocalDateTime MISS_DATE = LocalDateTime.of(2019, 1, 1, 0, 0);
+
+    private static final String INSERT_SQL = "INSERT INTO PRICES "
+            + "(BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final int products = Integer.getInteger("price.loadtest.products", 20_000);
+    private final long requestsPerLevel = Long.getLong("price.loadtest.requests-per-level", 20_000L);
+    private final long warmUpRequests = Long.getLong("price.loadtest.warmup-requests", 5_000L);
+    private final List<Integer> concurrencyLevels = Arrays
+            .stream(System.getProperty("price.loadtest.concurrency", "1,8,32").split(","))
+            .map(String::trim).map(Integer::valueOf).collect(Collectors.toList());
+    private final long p99BudgetMicros = Long.getLong("price.loadtest.p99-budget-ms", 50L) * 1000L;
+    private final double minThroughput = Double
+            .parseDouble(System.getProperty("price.loadtest.min-throughput", "500"));
+    private final Path reportDir = Paths.get(System.getProperty("price.loadtest.report-dir", "target/load-test"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PriceCatalogReloader priceCatalogReloader;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private List<RecordedLookup> lookups;
+
+    @BeforeAll
+    void generateCatalog() {
+        Random random = new Random(42L);
+        List<Object[]> rows = new ArrayList<>(INSERT_CHUNK + TARIFFS_PER_PRODUCT);
+        lookups = new ArrayList<>(products);
+
+        for (int p = 0; p < products; p++) {
+            long productId = FIRST_PRODUCT + p;
+            // Tarifa base de todo el año y promociones de prioridad mayor dentro de él
+            rows.add(row(productId, LocalDateTime.of(2021, 1, 1, 0, 0), LocalDateTime.of(2021, 12, 31, 23, 59, 59),
+                    1, 0, 10 + random.nextInt(90)));
+            for (int t = 1; t < TARIFFS_PER_PRODUCT; t++) {
+                LocalDateTime start = LocalDateTime.of(2021, 1 + random.nextInt(11), 1 + random.nextInt(28), 0, 0);
+                rows.add(row(productId, start, start.plusDays(1 + random.nextInt(30)), 1 + t, 1,
+                        5 + random.nextInt(90)));
+            }
+            if (rows.size() >= INSERT_CHUNK) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                rows.clear();
+            }
+            LocalDateTime applicationDate = LocalDateTime.of(2021, 1 + random.nextInt(12), 1 + random.nextInt(28),
+                    random.nextInt(24), 0);
+            lookups.add(new RecordedLookup(productId, BRAND, EpochTime.toEpochMicros(applicationDate)));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+
+        // Las inserciones JDBC no pasan por el log de cambios
+        priceCatalogReloader.invalidate();
+        logger.warn("Catálogo de carga generado: {} productos, {} tarifas", products,
+                (long) products * TARIFFS_PER_PRODUCT);
+    }
+
+    @Test
+    @DisplayName("Debería mantener el p99 y el rendimiento dentro del presupuesto con tráfico mixto")
+    void shouldStayWithinLatencyAndThroughputBudgets() throws Exception {
+        // Given - servidor caliente antes de medir
+        new HotKeyReplayer(mixedTraffic(), 8, 0).replay(lookups, warmUpRequests);
+        Files.createDirectories(reportDir);
+
+        // When - una ronda por nivel de concurrencia
+        List<ReplayReport> reports = new ArrayList<>();
+        for (int concurrency : concurrencyLevels) {
+            ReplayReport report = new HotKeyReplayer(mixedTraffic(), concurrency, 0).replay(lookups,
+                    requestsPerLevel);
+            reports.add(report);
+            logger.warn("Concurrencia {}: {}", concurrency, report);
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(reportDir.resolve("price-c" + concurrency + ".hgrm")))) {
+                report.getLatencies().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        // Then - sin errores, p99 en presupuesto en todos los niveles y
+        // rendimiento mínimo con la concurrencia más alta
+        List<Executable> checks = new ArrayList<>();
+        for (int i = 0; i < reports.size(); i++) {
+            int concurrency = concurrencyLevels.get(i);
+            ReplayReport report = reports.get(i);
+            checks.add(() -> assertEquals(0L, report.getErrors(), "Errores con concurrencia " + concurrency));
+            checks.add(() -> assertTrue(report.getP99Micros() <= p99BudgetMicros,
+                    "p99 de " + report.getP99Micros() + " us con concurrencia " + concurrency
+                            + " supera el presupuesto de " + p99BudgetMicros + " us"));
+        }
+        ReplayReport busiest = reports.get(reports.size() - 1);
+        checks.add(() -> assertTrue(busiest.getRequestsPerSecond() >= minThroughput,
+                String.format("Rendimiento de %.1f pet/s por debajo del mínimo de %.1f pet/s",
+                        busiest.getRequestsPerSecond(), minThroughput)));
+        assertAll(checks);
+    }
+
+    /**
+     * Reparte las peticiones de forma fija: de cada diez, siete consultas con
+     * tarifa, dos en una fecha sin tarifas y un lote de consultas consecutivas
+     */
+    private HotKeyReplayer.ReplayTarget mixedTraffic() {
+        AtomicLong sequence = new AtomicLong();
+        return lookup -> {
+            long slot = sequence.getAndIncrement() % 10;
+            if (slot == 0) {
+                expect(200, post("/api/v1/prices/batch", batchBody(lookup)));
+            } else if (slot <= 2) {
+                expect(404, get(lookup.getProductId(), MISS_DATE));
+            } else {
+                expect(200, get(lookup.getProductId(), lookup.getApplicationDate()));
+            }
+        };
+    }
+
+    private void expect(int expectedStatus, HttpRequest request) throws Exception {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != expectedStatus) {
+            throw new IllegalStateException("Estado HTTP " + status + " en " + request.uri());
+        }
+    }
+
+    private HttpRequest get(long productId, LocalDateTime applicationDate) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/prices?applicationDate="
+                + applicationDate + "&productId=" + productId + "&brandId=" + BRAND)).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private String batchBody(RecordedLookup first) {
+        StringBuilder body = new StringBuilder("{\"queries\":[");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long productId = FIRST_PRODUCT + (first.getProductId() - FIRST_PRODUCT + i) % products;
+            body.append(i == 0 ? "" : ",")
+                    .append("{\"applicationDate\":\"").append(first.getApplicationDate())
+                    .append("\",\"productId\":").append(productId)
+                    .append(",\"brandId\":").append(BRAND).append('}');
+        }
+        return body.append("]}").toString();
+    }
+
+    private static Object[] row(long productId, LocalDateTime start, LocalDateTime end, int priceList,
+            int priority, int euros) {
+        return new Object[] { BRAND, Timestamp.valueOf(start), Timestamp.valueOf(end), priceList, productId,
+                priority, BigDecimal.valueOf(euros).setScale(2), "EUR" };
+    }
+}
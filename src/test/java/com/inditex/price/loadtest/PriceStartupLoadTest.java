@@ -0,0 +1,165 @@
+package com.inditex.price.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.inditex.price.PriceServiceApplication;
+import com.inditex.price.infrastructure.ingest.PriceBulkIngestor;
+
+/**
+ * Test de carga del arranque del servicio de precios
+ *
+ * Compara el tiempo desde que arranca la aplicación hasta la primera
+ * respuesta correcta en dos modos con el mismo catálogo generado:
+ * - en memoria, que reconstruye el catálogo en cada arranque (aquí con una
+ *   ingesta masiva del CSV)
+ * - con el perfil persistent, que reabre una base de datos en fichero cargada
+ *   en un arranque anterior
+ *
+ * Cada modo arranca la aplicación completa en un puerto aleatorio. El
+ * resultado se vuelca en target/load-test/startup.txt y el test falla si
+ * reabrir el fichero no es más rápido que recargar en memoria
+ *
+ * Solo se ejecuta con el perfil Maven load-test
+ */
+@Tag("load")
+class PriceStartupLoadTest {
+
+    private static final Logger logger = LogManager.getLogger(PriceStartupLoadTest.class);
+
+    private static final long BRAND = 99L;
+    private static final long FIRST_PRODUCT = 5_000_000L;
+    private static final int TARIFFS_PER_PRODUCT = 4;
+    private static final LocalDateTime LOOKUP_DATE = LocalDateTime.of(2021, 6, 1, 12, 0);
+
+    private final int products = Integer.getInteger("price.loadtest.products", 20_000);
+    private final Path reportDir = Paths.get(System.getProperty("price.loadtest.report-dir", "target/load-test"));
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    @DisplayName("Debería responder antes reabriendo la base de datos en fichero que recargando el catálogo en memoria")
+    void shouldReachFirstRequestSoonerWithPersistentStore() throws Exception {
+        // Given - catálogo en CSV y base de datos en fichero ya cargada en un arranque previo
+        Path catalog = writeCatalog(dataDir.resolve("catalog.csv"));
+        try (ConfigurableApplicationContext seeding = start(persistentMode())) {
+            seeding.getBean(PriceBulkIngestor.class).ingest(catalog);
+        }
+
+        // When
+        long inMemoryNanos = timeToFirstRequest(inMemoryMode(), catalog);
+        long persistentNanos = timeToFirstRequest(persistentMode(), null);
+
+        // Then
+        String report = String.format("Catálogo: %d tarifas%nEn memoria con recarga: %d ms%n"
+                + "Fichero reabierto: %d ms%n", (long) products * TARIFFS_PER_PRODUCT,
+                TimeUnit.NANOSECONDS.toMillis(inMemoryNanos), TimeUnit.NANOSECONDS.toMillis(persistentNanos));
+        logger.warn("Tiempo hasta la primera respuesta\n{}", report);
+        Files.createDirectories(reportDir);
+        Files.writeString(reportDir.resolve("startup.txt"), report);
+
+        assertTrue(persistentNanos < inMemoryNanos, report);
+    }
+
+    /**
+     * Arranca la aplicación, recarga el catálogo si se indica y espera a la
+     * primera consulta respondida con 200
+     */
+    private long timeToFirstRequest(String[] properties, Path catalogToReload) throws Exception {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = start(properties)) {
+            if (catalogToReload != null) {
+                context.getBean(PriceBulkIngestor.class).ingest(catalogToReload);
+            }
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                    + "/api/v1/prices?applicationDate=" + LOOKUP_DATE + "&productId=" + FIRST_PRODUCT
+                    + "&brandId=" + BRAND)).GET().build();
+            assertEquals(200, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+            return System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Las propiedades se pasan como argumentos de línea de comandos para que
+     * prevalezcan sobre application.properties
+     */
+    private ConfigurableApplicationContext start(String[] properties) {
+        return new SpringApplicationBuilder(PriceServiceApplication.class)
+                .run(Arrays.stream(properties).map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    private String[] inMemoryMode() {
+        return withCommon("spring.datasource.url=jdbc:h2:mem:startup-load-test");
+    }
+
+    private String[] persistentMode() {
+        return withCommon("spring.profiles.active=persistent", "price.data-dir=" + dataDir.toAbsolutePath());
+    }
+
+    private static String[] withCommon(String... properties) {
+        String[] common = { "server.port=0",
+                "logging.level.com.inditex.price=WARN",
+                "spring.jpa.show-sql=false",
+                "price.recorder.enabled=false",
+                "price.archive.enabled=false" };
+        String[] all = Arrays.copyOf(common, common.length + properties.length);
+        System.arraycopy(properties, 0, all, common.length, properties.length);
+        return all;
+    }
+
+    /**
+     * Tarifa base de todo 2021 y promociones de prioridad mayor dentro del año
+     * para cada producto, con el mismo reparto que PriceLoadTest
+     */
+    private Path writeCatalog(Path file) throws Exception {
+        Random random = new Random(42L);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR\n");
+            for (int p = 0; p < products; p++) {
+                long productId = FIRST_PRODUCT + p;
+                writeRow(writer, productId, LocalDateTime.of(2021, 1, 1, 0, 0),
+                        LocalDateTime.of(2021, 12, 31, 23, 59, 59), 1, 0, 10 + random.nextInt(90));
+                for (int t = 1; t < TARIFFS_PER_PRODUCT; t++) {
+                    LocalDateTime start = LocalDateTime.of(2021, 1 + random.nextInt(11), 1 + random.nextInt(28), 0, 0);
+                    writeRow(writer, productId, start, start.plusDays(1 + random.nextInt(30)), 1 + t, 1,
+                            5 + random.nextInt(90));
+                }
+            }
+        }
+        return file;
+    }
+
+    private static void writeRow(BufferedWriter writer, long productId, LocalDateTime start, LocalDateTime end,
+            int priceList, int priority, int euros) throws Exception {
+        writer.write(BRAND + "," + start + "," + end + "," + priceList + "," + productId + "," + priority + ","
+                + euros + ".00,EUR\n");
+    }
+}
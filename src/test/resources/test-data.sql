@@ -15,6 +15,43 @@ CREATE TABLE PRICES (
     CURR VARCHAR(10) NOT NULL
 );
 
+CREATE INDEX IDX_PRICES_BRAND_PRODUCT_START ON PRICES (BRAND_ID, PRODUCT_ID, START_DATE);
+
+DROP TABLE IF EXISTS PRICE_CHANGES;
+
+CREATE TABLE PRICE_CHANGES (
+    CHANGE_ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+    PRICE_ID BIGINT NOT NULL,
+    BRAND_ID BIGINT NOT NULL,
+    PRODUCT_ID BIGINT NOT NULL,
+    CHANGE_TYPE VARCHAR(10) NOT NULL,
+    CHANGED_AT TIMESTAMP NOT NULL
+);
+
+DROP TABLE IF EXISTS PRICE_CHANGE_WATERMARK;
+
+CREATE TABLE PRICE_CHANGE_WATERMARK (
+    ID INT PRIMARY KEY,
+    CHANGE_ID BIGINT NOT NULL,
+    UPDATED_AT TIMESTAMP NOT NULL
+);
+
+DROP TABLE IF EXISTS PRICES_ARCHIVE;
+
+CREATE TABLE PRICES_ARCHIVE (
+    ID BIGINT PRIMARY KEY,
+    BRAND_ID BIGINT NOT NULL,
+    START_DATE TIMESTAMP NOT NULL,
+    END_DATE TIMESTAMP NOT NULL,
+    PRICE_LIST INT NOT NULL,
+    PRODUCT_ID BIGINT NOT NULL,
+    PRIORITY INT NOT NULL,
+    PRICE DECIMAL(10, 2) NOT NULL,
+    CURR VARCHAR(10) NOT NULL
+);
+
+CREATE INDEX IDX_PRICES_ARCHIVE_BRAND_PRODUCT_START ON PRICES_ARCHIVE (BRAND_ID, PRODUCT_ID, START_DATE);
+
 
 
 